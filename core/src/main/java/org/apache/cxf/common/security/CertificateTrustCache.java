@@ -0,0 +1,163 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.common.security;
+
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.cxf.common.util.BoundedConcurrentMap;
+import org.apache.cxf.common.util.CacheStatistics;
+
+/**
+ * A bounded cache of trust verdicts for X.509 certificate chains. Verdicts are keyed by the
+ * DER encoding of the certificates in the chain (so two equal certificates always share a verdict)
+ * together with an arbitrary context object identifying the trust store and constraints that the
+ * chain was evaluated against. A verdict never outlives the validity period of the chain.
+ */
+public class CertificateTrustCache {
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    public static final long DEFAULT_TTL = 300L;
+
+    private final Map<Key, Verdict> verdicts;
+    private final int maxEntries;
+    private final long ttl;
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    public CertificateTrustCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL);
+    }
+
+    /**
+     * @param maxEntries the maximum number of verdicts to cache
+     * @param ttl the default time in seconds for which a verdict is cached
+     */
+    public CertificateTrustCache(int maxEntries, long ttl) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.verdicts = new BoundedConcurrentMap<>(maxEntries, v -> v.expiry <= System.currentTimeMillis());
+    }
+
+    /**
+     * Return the cached verdict for the given chain, or null if there is no (unexpired) verdict.
+     * @param context the trust store and/or constraints the chain is evaluated against, may be null
+     * @param chain the certificate chain
+     */
+    public Boolean getVerdict(Object context, X509Certificate[] chain) {
+        if (chain == null || chain.length == 0) {
+            return null;
+        }
+        Key key = new Key(context, chain);
+        Verdict verdict = verdicts.get(key);
+        if (verdict != null) {
+            if (verdict.expiry > System.currentTimeMillis()) {
+                statistics.hit();
+                return verdict.trusted;
+            }
+            verdicts.remove(key, verdict);
+        }
+        statistics.miss();
+        return null;
+    }
+
+    /**
+     * Cache a verdict for the given chain for the default TTL.
+     */
+    public void putVerdict(Object context, X509Certificate[] chain, boolean trusted) {
+        putVerdict(context, chain, trusted, ttl);
+    }
+
+    /**
+     * Cache a verdict for the given chain. The verdict expires after the given number of seconds, or
+     * when the first certificate in the chain expires, whichever comes first.
+     */
+    public void putVerdict(Object context, X509Certificate[] chain, boolean trusted, long ttlSeconds) {
+        if (chain == null || chain.length == 0 || maxEntries <= 0 || ttlSeconds <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiry = now + ttlSeconds * 1000L;
+        for (X509Certificate cert : chain) {
+            if (cert.getNotAfter() != null) {
+                expiry = Math.min(expiry, cert.getNotAfter().getTime());
+            }
+        }
+        if (expiry <= now) {
+            return;
+        }
+        verdicts.put(new Key(context, chain), new Verdict(trusted, expiry));
+    }
+
+    public void clear() {
+        verdicts.clear();
+    }
+
+    public int size() {
+        return verdicts.size();
+    }
+
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    private static final class Key {
+        private final Object context;
+        private final List<X509Certificate> chain;
+        private final int hashCode;
+
+        Key(Object context, X509Certificate[] chain) {
+            this.context = context;
+            // X509Certificate equality (and the hash code) is based on the encoded form
+            this.chain = Arrays.asList(chain.clone());
+            this.hashCode = Objects.hash(context, this.chain);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key)obj;
+            return hashCode == other.hashCode
+                && Objects.equals(context, other.context)
+                && chain.equals(other.chain);
+        }
+    }
+
+    private static final class Verdict {
+        private final boolean trusted;
+        private final long expiry;
+
+        Verdict(boolean trusted, long expiry) {
+            this.trusted = trusted;
+            this.expiry = expiry;
+        }
+    }
+}
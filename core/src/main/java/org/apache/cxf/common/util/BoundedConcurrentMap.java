@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.common.util;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * A concurrent map for caches that holds at most a given number of entries. When {@link #put}
+ * would exceed the maximum, the expired entries are removed first and then arbitrary entries
+ * until there is room for the new one. Only {@link #put} enforces the bound.
+ */
+public class BoundedConcurrentMap<K, V> extends ConcurrentHashMap<K, V> {
+
+    private static final long serialVersionUID = 5402981534687329384L;
+
+    private final int maxEntries;
+    private final transient Predicate<? super V> expired;
+
+    public BoundedConcurrentMap(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    /**
+     * @param maxEntries the maximum number of entries
+     * @param expired tests whether a value has expired and can be removed ahead of the others,
+     *        may be null
+     */
+    public BoundedConcurrentMap(int maxEntries, Predicate<? super V> expired) {
+        this.maxEntries = maxEntries;
+        this.expired = expired;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (size() >= maxEntries && !containsKey(key)) {
+            evict();
+        }
+        return super.put(key, value);
+    }
+
+    private void evict() {
+        if (expired != null) {
+            values().removeIf(expired);
+        }
+        // still full, so drop arbitrary entries to make room
+        Iterator<K> iterator = keySet().iterator();
+        while (size() >= maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.common.xmlschema;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.common.util.BoundedConcurrentMap;
+import org.apache.cxf.common.util.CacheStatistics;
+
+/**
+ * A bus-wide cache of compiled schemas (such as {@link javax.xml.validation.Schema} or the Woodstox
+ * validation schemas) keyed by a digest of the schema documents they were compiled from, so that
+ * endpoints and clients created from the same WSDL share a single compiled instance.
+ */
+public class CompiledSchemaCache {
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+
+    private final Map<String, Object> schemas;
+    private final int maxEntries;
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    public CompiledSchemaCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries the maximum number of compiled schemas to cache
+     */
+    public CompiledSchemaCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.schemas = new BoundedConcurrentMap<>(maxEntries);
+    }
+
+    /**
+     * Return the cache registered on the bus, registering a new one if there is none yet.
+     * @param bus the bus, may be null in which case null is returned
+     */
+    public static CompiledSchemaCache getInstance(Bus bus) {
+        if (bus == null) {
+            return null;
+        }
+        CompiledSchemaCache cache = bus.getExtension(CompiledSchemaCache.class);
+        if (cache == null) {
+            synchronized (bus) {
+                cache = bus.getExtension(CompiledSchemaCache.class);
+                if (cache == null) {
+                    cache = new CompiledSchemaCache();
+                    bus.setExtension(cache, CompiledSchemaCache.class);
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Compute the digest of a schema set.
+     * @param documents the serialized schema documents keyed by their location, in a stable order
+     */
+    public static String digest(Map<String, byte[]> documents) {
+        final MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        for (Map.Entry<String, byte[]> entry : documents.entrySet()) {
+            md.update(String.valueOf(entry.getKey()).getBytes(StandardCharsets.UTF_8));
+            md.update((byte)0);
+            byte[] bytes = entry.getValue();
+            int length = bytes == null ? 0 : bytes.length;
+            md.update(new byte[] {(byte)(length >>> 24), (byte)(length >>> 16), (byte)(length >>> 8),
+                                  (byte)length});
+            if (bytes != null) {
+                md.update(bytes);
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        for (byte b : md.digest()) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Return the compiled schema of the given type for the schema set with the given digest,
+     * or null if it has not been cached.
+     */
+    public <T> T get(Class<T> type, String digest) {
+        Object schema = schemas.get(key(type, digest));
+        if (schema != null) {
+            statistics.hit();
+            return type.cast(schema);
+        }
+        statistics.miss();
+        return null;
+    }
+
+    public <T> void put(Class<T> type, String digest, T schema) {
+        if (schema == null || maxEntries <= 0) {
+            return;
+        }
+        schemas.put(key(type, digest), schema);
+    }
+
+    public void clear() {
+        schemas.clear();
+    }
+
+    public int size() {
+        return schemas.size();
+    }
+
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    private static String key(Class<?> type, String digest) {
+        return type.getName() + ':' + digest;
+    }
+}
@@ -229,7 +229,8 @@ public class XMLStreamDataReader implements DataReader<XMLStreamReader> {
         if (impl.canValidate()) {
             nullWriter = StaxUtils.createXMLStreamWriter(new NUllOutputStream());
             impl.setupValidation(nullWriter, message.getExchange().getEndpoint(),
-                                 message.getExchange().getService().getServiceInfos().get(0));
+                                 message.getExchange().getService().getServiceInfos().get(0),
+                                 message.getExchange().getBus());
         }
         //check if the impl can still validate after the setup, possible issue loading schemas or similar
         if (impl.canValidate()) {
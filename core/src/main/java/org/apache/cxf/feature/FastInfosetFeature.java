@@ -50,8 +50,26 @@ public class FastInfosetFeature extends DelegatingFeature<FastInfosetFeature.Por
         return delegate.getForce();
     }
 
+    public void setUseVocabulary(boolean b) {
+        delegate.setUseVocabulary(b);
+    }
+
+    public boolean getUseVocabulary() {
+        return delegate.getUseVocabulary();
+    }
+
+    public void setPoolSize(int size) {
+        delegate.setPoolSize(size);
+    }
+
+    public int getPoolSize() {
+        return delegate.getPoolSize();
+    }
+
     public static class Portable implements AbstractPortableFeature {
         boolean force;
+        private boolean useVocabulary = true;
+        private int poolSize = FIStaxOutInterceptor.DEFAULT_POOL_SIZE;
         private Integer serializerAttributeValueMapMemoryLimit;
         private Integer serializerMinAttributeValueSize;
         private Integer serializerMaxAttributeValueSize;
@@ -63,8 +81,11 @@ public class FastInfosetFeature extends DelegatingFeature<FastInfosetFeature.Por
         public void doInitializeProvider(InterceptorProvider provider, Bus bus) {
 
             FIStaxInInterceptor in = new FIStaxInInterceptor();
+            in.setPoolSize(poolSize);
 
             FIStaxOutInterceptor out = new FIStaxOutInterceptor(force);
+            out.setUseVocabulary(useVocabulary);
+            out.setPoolSize(poolSize);
             if (serializerAttributeValueMapMemoryLimit != null && serializerAttributeValueMapMemoryLimit > 0) {
                 out.setSerializerAttributeValueMapMemoryLimit(serializerAttributeValueMapMemoryLimit);
             }
@@ -106,5 +127,29 @@ public class FastInfosetFeature extends DelegatingFeature<FastInfosetFeature.Por
         public boolean getForce() {
             return force;
         }
+
+        /**
+         * Set if a vocabulary built from the names in the service model is negotiated with peers
+         * that know the same vocabulary. True by default.
+         */
+        public void setUseVocabulary(boolean b) {
+            useVocabulary = b;
+        }
+
+        public boolean getUseVocabulary() {
+            return useVocabulary;
+        }
+
+        /**
+         * Set the maximum number of idle parsers and serializers kept for reuse,
+         * they are not pooled if this is 0.
+         */
+        public void setPoolSize(int size) {
+            poolSize = size;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
     }
 }
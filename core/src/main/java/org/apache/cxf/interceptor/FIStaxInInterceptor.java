@@ -21,6 +21,8 @@ package org.apache.cxf.interceptor;
 
 
 import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import javax.xml.stream.XMLStreamReader;
 
@@ -38,6 +40,12 @@ import org.apache.cxf.phase.Phase;
 public class FIStaxInInterceptor extends AbstractPhaseInterceptor<Message> {
     public static final String FI_GET_SUPPORTED = "org.apache.cxf.fastinfoset.get.supported";
 
+    private static final String PARSER_HOLDER = FIStaxInInterceptor.class.getName() + ".parser";
+
+    private final StaxInEndingInterceptor ending = new ParserEndingInterceptor();
+    private volatile BlockingQueue<StAXDocumentParser> parsers =
+        new ArrayBlockingQueue<>(FIStaxOutInterceptor.DEFAULT_POOL_SIZE);
+
     public FIStaxInInterceptor() {
         this(Phase.POST_STREAM);
     }
@@ -51,14 +59,32 @@ public class FIStaxInInterceptor extends AbstractPhaseInterceptor<Message> {
         return Boolean.TRUE.equals(message.containsKey(Message.REQUESTOR_ROLE));
     }
 
-    private XMLStreamReader getParser(InputStream in) {
-        StAXDocumentParser parser = new StAXDocumentParser(in);
-        parser.setStringInterning(true);
-        parser.setForceStreamClose(true);
+    private StAXDocumentParser getParser(InputStream in, FIVocabulary vocabulary) {
+        BlockingQueue<StAXDocumentParser> queue = parsers;
+        StAXDocumentParser parser = queue == null ? null : queue.poll();
+        if (parser == null) {
+            parser = new StAXDocumentParser();
+            parser.setStringInterning(true);
+            parser.setForceStreamClose(true);
+        }
+        // the peer only references the vocabulary if it knows it is registered here
+        parser.setExternalVocabularies(vocabulary == null ? null : vocabulary.getParserVocabularies());
         parser.setInputStream(in);
         return parser;
     }
 
+    public int getPoolSize() {
+        BlockingQueue<StAXDocumentParser> queue = parsers;
+        return queue == null ? 0 : queue.remainingCapacity() + queue.size();
+    }
+
+    /**
+     * Sets the maximum number of idle parsers kept for reuse, parsers are not pooled if this is 0.
+     */
+    public void setPoolSize(int poolSize) {
+        parsers = poolSize > 0 ? new ArrayBlockingQueue<>(poolSize) : null;
+    }
+
     public void handleMessage(Message message) {
         if (message.getContent(XMLStreamReader.class) != null
             || !isHttpVerbSupported(message)) {
@@ -69,9 +95,15 @@ public class FIStaxInInterceptor extends AbstractPhaseInterceptor<Message> {
         if (ct != null && ct.indexOf("fastinfoset") != -1
             && message.getContent(InputStream.class) != null
             && message.getContent(XMLStreamReader.class) == null) {
-            message.setContent(XMLStreamReader.class, getParser(message.getContent(InputStream.class)));
-            //add the StaxInEndingInterceptor which will close the reader
-            message.getInterceptorChain().add(StaxInEndingInterceptor.INSTANCE);
+            FIVocabulary vocabulary = FIVocabulary.getVocabulary(message);
+            StAXDocumentParser parser = getParser(message.getContent(InputStream.class), vocabulary);
+            message.setContent(XMLStreamReader.class, parser);
+            message.put(PARSER_HOLDER, parser);
+            //add the ending interceptor which will close the reader
+            message.getInterceptorChain().add(ending);
+
+            String vocabularyURI = FIVocabulary.getParameter(ct);
+            ct = FIVocabulary.removeParameter(ct);
 
             ct = ct.replace("fastinfoset", "xml");
             if (ct.contains("application/xml")) {
@@ -85,6 +117,10 @@ public class FIStaxInInterceptor extends AbstractPhaseInterceptor<Message> {
                 //automatically be FI enabled
                 Endpoint ep = message.getExchange().getEndpoint();
                 ep.put(FIStaxOutInterceptor.FI_ENABLED, Boolean.TRUE);
+                if (vocabulary != null && vocabulary.getURI().equals(vocabularyURI)) {
+                    // the server knows our vocabulary, so it can be used for the requests too
+                    ep.put(FIStaxOutInterceptor.FI_VOCABULARY, vocabularyURI);
+                }
             }
         }
     }
@@ -96,4 +132,21 @@ public class FIStaxInInterceptor extends AbstractPhaseInterceptor<Message> {
         }
         return true;
     }
+
+    private final class ParserEndingInterceptor extends StaxInEndingInterceptor {
+        @Override
+        public void handleMessage(Message message) {
+            Object parser = message.get(PARSER_HOLDER);
+            XMLStreamReader reader = message.getContent(XMLStreamReader.class);
+            super.handleMessage(message);
+            // only reuse the parser if it was closed here, so nothing else can still be reading from it
+            BlockingQueue<StAXDocumentParser> queue = parsers;
+            if (queue != null && parser != null && parser == reader
+                && message.getContent(XMLStreamReader.class) == null) {
+                message.remove(PARSER_HOLDER);
+                ((StAXDocumentParser)parser).setInputStream(null);
+                queue.offer((StAXDocumentParser)parser);
+            }
+        }
+    }
 }
@@ -24,6 +24,9 @@ import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -31,9 +34,11 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 
 import com.sun.xml.fastinfoset.stax.StAXDocumentSerializer;
+import com.sun.xml.fastinfoset.vocab.SerializerVocabulary;
 
 import org.apache.cxf.common.logging.LogUtils;
 import org.apache.cxf.common.util.PropertyUtils;
+import org.apache.cxf.endpoint.Endpoint;
 import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.phase.AbstractPhaseInterceptor;
@@ -45,12 +50,20 @@ import org.apache.cxf.phase.Phase;
  */
 public class FIStaxOutInterceptor extends AbstractPhaseInterceptor<Message> {
     public static final String FI_ENABLED = "org.apache.cxf.fastinfoset.enabled";
+    /**
+     * Set on the client endpoint to the URI of the vocabulary the server has confirmed it knows.
+     */
+    public static final String FI_VOCABULARY = "org.apache.cxf.fastinfoset.vocabulary";
+    public static final int DEFAULT_POOL_SIZE = 16;
 
     private static final Logger LOG = LogUtils.getL7dLogger(FIStaxOutInterceptor.class);
     private static final String OUTPUT_STREAM_HOLDER = FIStaxOutInterceptor.class.getName() + ".outputstream";
-    private static final StaxOutEndingInterceptor ENDING = new StaxOutEndingInterceptor(OUTPUT_STREAM_HOLDER);
 
     boolean force;
+    private final StaxOutEndingInterceptor ending = new SerializerEndingInterceptor();
+    private final Map<String, BlockingQueue<PooledSerializer>> serializers = new ConcurrentHashMap<>();
+    private int poolSize = DEFAULT_POOL_SIZE;
+    private boolean useVocabulary = true;
     private Integer serializerAttributeValueMapMemoryLimit;
     private Integer serializerMinAttributeValueSize;
     private Integer serializerMaxAttributeValueSize;
@@ -86,15 +99,22 @@ public class FIStaxOutInterceptor extends AbstractPhaseInterceptor<Message> {
 
         boolean req = isRequestor(message);
         Object o = message.getContextualProperty(FI_ENABLED);
+        FIVocabulary vocabulary = useVocabulary ? FIVocabulary.getVocabulary(message) : null;
+        boolean vocabularyKnown = false;
         if (!req) {
             if (message.getExchange().getInMessage() != null) {
                 //check incoming accept header
                 String s = (String)message.getExchange().getInMessage().get(Message.ACCEPT_CONTENT_TYPE);
                 if (s != null && s.contains("fastinfoset")) {
                     o = Boolean.TRUE;
+                    vocabularyKnown = vocabulary != null
+                        && vocabulary.getURI().equals(FIVocabulary.getParameter(s));
                 }
             }
         } else {
+            Endpoint ep = message.getExchange().getEndpoint();
+            vocabularyKnown = vocabulary != null && ep != null
+                && vocabulary.getURI().equals(ep.get(FI_VOCABULARY));
             Map<String, List<String>> headers
                 = CastUtils.cast((Map<?, ?>)message.get(Message.PROTOCOL_HEADERS));
             List<String> accepts = headers.get("Accept");
@@ -103,6 +123,9 @@ public class FIStaxOutInterceptor extends AbstractPhaseInterceptor<Message> {
                 headers.put("Accept", accepts);
             }
             String a = "application/fastinfoset";
+            if (vocabulary != null) {
+                a += "; " + FIVocabulary.PARAMETER + "=\"" + vocabulary.getURI() + "\"";
+            }
             if (!accepts.isEmpty()) {
                 a += ", " + accepts.get(0);
                 accepts.set(0, a);
@@ -113,7 +136,10 @@ public class FIStaxOutInterceptor extends AbstractPhaseInterceptor<Message> {
 
         if (force
             || PropertyUtils.isTrue(o)) {
-            XMLStreamWriter serializer = getOutput(out);
+            if (!vocabularyKnown) {
+                vocabulary = null;
+            }
+            XMLStreamWriter serializer = getOutput(out, vocabulary);
             message.setContent(XMLStreamWriter.class, serializer);
 
             message.removeContent(OutputStream.class);
@@ -124,32 +150,44 @@ public class FIStaxOutInterceptor extends AbstractPhaseInterceptor<Message> {
             String s = (String)message.get(Message.CONTENT_TYPE);
             if (s != null && s.contains("application/soap+xml")) {
                 s = s.replace("application/soap+xml", "application/soap+fastinfoset");
-                message.put(Message.CONTENT_TYPE, s);
             } else {
-                message.put(Message.CONTENT_TYPE, "application/fastinfoset");
+                s = "application/fastinfoset";
+            }
+            if (vocabulary != null && !req) {
+                // tell the client that its vocabulary can be used for the requests as well
+                s += "; " + FIVocabulary.PARAMETER + "=\"" + vocabulary.getURI() + "\"";
             }
+            message.put(Message.CONTENT_TYPE, s);
 
             try {
                 serializer.writeStartDocument();
             } catch (XMLStreamException e) {
                 throw new Fault(e);
             }
-            message.getInterceptorChain().add(ENDING);
+            message.getInterceptorChain().add(ending);
         }
     }
 
-    private XMLStreamWriter getOutput(OutputStream out) {
-        /*
-        StAXDocumentSerializer serializer = (StAXDocumentSerializer)m.getExchange().getEndpoint()
-            .remove(StAXDocumentSerializer.class.getName());
-        if (serializer != null) {
-            serializer.setOutputStream(out);
-        } else {
-            serializer = new StAXDocumentSerializer(out);
+    private XMLStreamWriter getOutput(OutputStream out, FIVocabulary vocabulary) {
+        String key = vocabulary == null ? "" : vocabulary.getURI();
+        BlockingQueue<PooledSerializer> queue = poolSize > 0 ? serializers.get(key) : null;
+        PooledSerializer serializer = queue == null ? null : queue.poll();
+        if (serializer == null) {
+            serializer = new PooledSerializer(key, vocabulary == null ? null : vocabulary.createSerializerVocabulary());
+            configure(serializer);
         }
+        serializer.reuse(out);
         return serializer;
-        */
-        final StAXDocumentSerializer stAXDocumentSerializer = new StAXDocumentSerializer(out);
+    }
+
+    private void release(PooledSerializer serializer) {
+        if (poolSize > 0) {
+            serializer.reuse(null);
+            serializers.computeIfAbsent(serializer.key, k -> new ArrayBlockingQueue<>(poolSize)).offer(serializer);
+        }
+    }
+
+    private void configure(StAXDocumentSerializer stAXDocumentSerializer) {
         if (serializerAttributeValueMapMemoryLimit != null && serializerAttributeValueMapMemoryLimit.intValue() > 0) {
             stAXDocumentSerializer.setAttributeValueMapMemoryLimit(serializerAttributeValueMapMemoryLimit.intValue());
         }
@@ -170,7 +208,31 @@ public class FIStaxOutInterceptor extends AbstractPhaseInterceptor<Message> {
         if (serializerMaxCharacterContentChunkSize != null && serializerMaxCharacterContentChunkSize.intValue() > 0) {
             stAXDocumentSerializer.setMaxCharacterContentChunkSize(serializerMaxCharacterContentChunkSize.intValue());
         }
-        return stAXDocumentSerializer;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Sets the maximum number of idle serializers kept for reuse per vocabulary, serializers are not
+     * pooled if this is 0. The default is {@value #DEFAULT_POOL_SIZE}.
+     */
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+        serializers.clear();
+    }
+
+    public boolean isUseVocabulary() {
+        return useVocabulary;
+    }
+
+    /**
+     * Sets whether an external vocabulary built from the names in the service model is offered to,
+     * and used with, peers that know the same vocabulary. True by default.
+     */
+    public void setUseVocabulary(boolean useVocabulary) {
+        this.useVocabulary = useVocabulary;
     }
 
     public Integer getSerializerMinAttributeValueSize() {
@@ -285,4 +347,40 @@ public class FIStaxOutInterceptor extends AbstractPhaseInterceptor<Message> {
             LOG.config("Setting " + propertyName + " to " + propertyValue);
         }
     }
+
+    private static final class PooledSerializer extends StAXDocumentSerializer {
+        private final String key;
+        private final SerializerVocabulary vocabulary;
+
+        PooledSerializer(String key, SerializerVocabulary vocabulary) {
+            this.key = key;
+            this.vocabulary = vocabulary;
+            if (vocabulary != null) {
+                setVocabulary(vocabulary);
+            }
+        }
+
+        void reuse(OutputStream out) {
+            // a vocabulary that was set explicitly is not cleared at the start of a document
+            if (vocabulary != null) {
+                vocabulary.clear();
+            }
+            setOutputStream(out);
+        }
+    }
+
+    private final class SerializerEndingInterceptor extends StaxOutEndingInterceptor {
+        SerializerEndingInterceptor() {
+            super(OUTPUT_STREAM_HOLDER);
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            XMLStreamWriter writer = message.getContent(XMLStreamWriter.class);
+            super.handleMessage(message);
+            if (writer instanceof PooledSerializer) {
+                release((PooledSerializer)writer);
+            }
+        }
+    }
 }
@@ -0,0 +1,306 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.interceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+
+import com.sun.xml.fastinfoset.vocab.ParserVocabulary;
+import com.sun.xml.fastinfoset.vocab.SerializerVocabulary;
+
+import org.apache.cxf.endpoint.Endpoint;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.service.model.AbstractMessageContainer;
+import org.apache.cxf.service.model.FaultInfo;
+import org.apache.cxf.service.model.MessagePartInfo;
+import org.apache.cxf.service.model.OperationInfo;
+import org.apache.cxf.service.model.SchemaInfo;
+import org.apache.cxf.service.model.ServiceInfo;
+import org.apache.ws.commons.schema.XmlSchema;
+import org.apache.ws.commons.schema.XmlSchemaAll;
+import org.apache.ws.commons.schema.XmlSchemaAttribute;
+import org.apache.ws.commons.schema.XmlSchemaAttributeOrGroupRef;
+import org.apache.ws.commons.schema.XmlSchemaChoice;
+import org.apache.ws.commons.schema.XmlSchemaComplexContentExtension;
+import org.apache.ws.commons.schema.XmlSchemaComplexContentRestriction;
+import org.apache.ws.commons.schema.XmlSchemaComplexType;
+import org.apache.ws.commons.schema.XmlSchemaContent;
+import org.apache.ws.commons.schema.XmlSchemaElement;
+import org.apache.ws.commons.schema.XmlSchemaObject;
+import org.apache.ws.commons.schema.XmlSchemaParticle;
+import org.apache.ws.commons.schema.XmlSchemaSequence;
+import org.apache.ws.commons.schema.XmlSchemaType;
+
+/**
+ * A Fast Infoset external vocabulary seeded with the namespaces and the element and attribute names
+ * of a service, so that a document only has to carry indexes for them. The URI of the vocabulary is
+ * derived from its content; two peers only use it once they have seen that they both know the same URI.
+ */
+final class FIVocabulary {
+    static final String URI_PREFIX = "urn:cxf:fastinfoset:";
+    static final String PARAMETER = "vocabulary";
+
+    private static final Pattern PARAMETER_PATTERN =
+        Pattern.compile("\\s*;\\s*" + PARAMETER + "=(?:\"([^\"]*)\"|([^;,\\s]*))");
+
+    private static final String[] SOAP_NAMESPACES = {
+        "http://schemas.xmlsoap.org/soap/envelope/",
+        "http://www.w3.org/2003/05/soap-envelope",
+        XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI
+    };
+    private static final String[] SOAP_NAMES = {
+        "Envelope", "Header", "Body", "Fault", "faultcode", "faultstring", "faultactor", "detail",
+        "Code", "Value", "Subcode", "Reason", "Text", "Node", "Role", "Detail",
+        "mustUnderstand", "actor", "role", "encodingStyle", "type", "nil"
+    };
+
+    private final String uri;
+    private final SerializerVocabulary serializerVocabulary;
+    private final Map<String, ParserVocabulary> parserVocabularies;
+
+    private FIVocabulary(Set<String> namespaces, Set<String> localNames) {
+        org.jvnet.fastinfoset.Vocabulary vocabulary = new org.jvnet.fastinfoset.Vocabulary();
+        vocabulary.namespaceNames.addAll(namespaces);
+        vocabulary.localNames.addAll(localNames);
+
+        uri = URI_PREFIX + digest(namespaces, localNames);
+        serializerVocabulary = new SerializerVocabulary(vocabulary, false);
+        parserVocabularies = Collections.singletonMap(uri, new ParserVocabulary(vocabulary));
+    }
+
+    /**
+     * Return the vocabulary of the service of the exchange, creating it on first use. The vocabulary
+     * is kept on the endpoint.
+     */
+    static FIVocabulary getVocabulary(Message message) {
+        Exchange exchange = message.getExchange();
+        Endpoint ep = exchange == null ? null : exchange.getEndpoint();
+        if (ep == null || ep.getEndpointInfo() == null || ep.getEndpointInfo().getService() == null) {
+            return null;
+        }
+        Object vocabulary = ep.get(FIVocabulary.class.getName());
+        if (vocabulary == null) {
+            synchronized (ep) {
+                vocabulary = ep.get(FIVocabulary.class.getName());
+                if (vocabulary == null) {
+                    vocabulary = create(ep.getEndpointInfo().getService());
+                    ep.put(FIVocabulary.class.getName(), vocabulary);
+                }
+            }
+        }
+        return (FIVocabulary)vocabulary;
+    }
+
+    static FIVocabulary create(ServiceInfo service) {
+        Set<String> namespaces = new TreeSet<>();
+        Set<String> localNames = new TreeSet<>();
+        Collections.addAll(namespaces, SOAP_NAMESPACES);
+        Collections.addAll(localNames, SOAP_NAMES);
+
+        if (service.getInterface() != null) {
+            for (OperationInfo op : service.getInterface().getOperations()) {
+                add(op.getName(), namespaces, localNames);
+                addParts(op.getInput(), namespaces, localNames);
+                addParts(op.getOutput(), namespaces, localNames);
+                for (FaultInfo fault : op.getFaults()) {
+                    addParts(fault, namespaces, localNames);
+                }
+            }
+        }
+        for (SchemaInfo schemaInfo : service.getSchemas()) {
+            XmlSchema schema = schemaInfo.getSchema();
+            if (schema == null) {
+                continue;
+            }
+            if (schema.getTargetNamespace() != null) {
+                namespaces.add(schema.getTargetNamespace());
+            }
+            for (XmlSchemaElement element : schema.getElements().values()) {
+                addElement(element, namespaces, localNames);
+            }
+            for (XmlSchemaType type : schema.getSchemaTypes().values()) {
+                addType(type, namespaces, localNames);
+            }
+        }
+        namespaces.remove("");
+        localNames.remove("");
+        return new FIVocabulary(namespaces, localNames);
+    }
+
+    String getURI() {
+        return uri;
+    }
+
+    /**
+     * Create the vocabulary of a serializer that references this vocabulary. The returned instance
+     * is not cleared by the serializer between documents.
+     */
+    SerializerVocabulary createSerializerVocabulary() {
+        SerializerVocabulary vocabulary = new SerializerVocabulary();
+        vocabulary.setExternalVocabulary(uri, serializerVocabulary, false);
+        return vocabulary;
+    }
+
+    Map<String, ParserVocabulary> getParserVocabularies() {
+        return parserVocabularies;
+    }
+
+    /**
+     * Return the value of the vocabulary parameter of the fastinfoset media type in the given
+     * Accept or Content-Type header, or null if there is none.
+     */
+    static String getParameter(String header) {
+        int idx = header == null ? -1 : header.indexOf("fastinfoset");
+        if (idx == -1) {
+            return null;
+        }
+        Matcher m = PARAMETER_PATTERN.matcher(header);
+        if (!m.find(idx)) {
+            return null;
+        }
+        return m.group(1) != null ? m.group(1) : m.group(2);
+    }
+
+    /**
+     * Strip the vocabulary parameter from the given Content-Type header.
+     */
+    static String removeParameter(String header) {
+        return PARAMETER_PATTERN.matcher(header).replaceAll("");
+    }
+
+    private static void addParts(AbstractMessageContainer container, Set<String> namespaces,
+                                 Set<String> localNames) {
+        if (container == null) {
+            return;
+        }
+        for (MessagePartInfo part : container.getMessageParts()) {
+            add(part.getConcreteName(), namespaces, localNames);
+        }
+    }
+
+    private static void addElement(XmlSchemaElement element, Set<String> namespaces, Set<String> localNames) {
+        if (element.isRef()) {
+            add(element.getRef().getTargetQName(), namespaces, localNames);
+            return;
+        }
+        localNames.add(element.getName());
+        // named types are added along with the other types of the schema
+        if (element.getSchemaTypeName() == null && element.getSchemaType() != null) {
+            addType(element.getSchemaType(), namespaces, localNames);
+        }
+    }
+
+    private static void addType(XmlSchemaType type, Set<String> namespaces, Set<String> localNames) {
+        if (!(type instanceof XmlSchemaComplexType)) {
+            return;
+        }
+        XmlSchemaComplexType complexType = (XmlSchemaComplexType)type;
+        addParticle(complexType.getParticle(), namespaces, localNames);
+        addAttributes(complexType.getAttributes(), namespaces, localNames);
+        if (complexType.getContentModel() != null) {
+            XmlSchemaContent content = complexType.getContentModel().getContent();
+            if (content instanceof XmlSchemaComplexContentExtension) {
+                XmlSchemaComplexContentExtension extension = (XmlSchemaComplexContentExtension)content;
+                addParticle(extension.getParticle(), namespaces, localNames);
+                addAttributes(extension.getAttributes(), namespaces, localNames);
+            } else if (content instanceof XmlSchemaComplexContentRestriction) {
+                XmlSchemaComplexContentRestriction restriction = (XmlSchemaComplexContentRestriction)content;
+                addParticle(restriction.getParticle(), namespaces, localNames);
+                addAttributes(restriction.getAttributes(), namespaces, localNames);
+            }
+        }
+    }
+
+    private static void addParticle(XmlSchemaParticle particle, Set<String> namespaces, Set<String> localNames) {
+        List<?> items = null;
+        if (particle instanceof XmlSchemaSequence) {
+            items = ((XmlSchemaSequence)particle).getItems();
+        } else if (particle instanceof XmlSchemaChoice) {
+            items = ((XmlSchemaChoice)particle).getItems();
+        } else if (particle instanceof XmlSchemaAll) {
+            items = ((XmlSchemaAll)particle).getItems();
+        } else if (particle instanceof XmlSchemaElement) {
+            addElement((XmlSchemaElement)particle, namespaces, localNames);
+        }
+        if (items != null) {
+            for (Object item : items) {
+                if (item instanceof XmlSchemaParticle) {
+                    addParticle((XmlSchemaParticle)item, namespaces, localNames);
+                }
+            }
+        }
+    }
+
+    private static void addAttributes(List<XmlSchemaAttributeOrGroupRef> attributes, Set<String> namespaces,
+                                      Set<String> localNames) {
+        for (XmlSchemaObject attribute : attributes) {
+            if (attribute instanceof XmlSchemaAttribute) {
+                XmlSchemaAttribute att = (XmlSchemaAttribute)attribute;
+                if (att.isRef()) {
+                    add(att.getRef().getTargetQName(), namespaces, localNames);
+                } else {
+                    localNames.add(att.getName());
+                }
+            }
+        }
+    }
+
+    private static void add(QName name, Set<String> namespaces, Set<String> localNames) {
+        if (name != null) {
+            namespaces.add(name.getNamespaceURI());
+            localNames.add(name.getLocalPart());
+        }
+    }
+
+    private static String digest(Set<String> namespaces, Set<String> localNames) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            for (String ns : namespaces) {
+                md.update(ns.getBytes(StandardCharsets.UTF_8));
+                md.update((byte)0);
+            }
+            md.update((byte)1);
+            for (String name : localNames) {
+                md.update(name.getBytes(StandardCharsets.UTF_8));
+                md.update((byte)0);
+            }
+            StringBuilder b = new StringBuilder();
+            byte[] bytes = md.digest();
+            for (int i = 0; i < 16; i++) {
+                b.append(Character.forDigit((bytes[i] >> 4) & 0xF, 16))
+                    .append(Character.forDigit(bytes[i] & 0xF, 16));
+            }
+            return b.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -170,19 +170,24 @@ public abstract class AbstractInvoker implements Invoker {
 
     protected Object performInvocation(Exchange exchange, final Object serviceObject, Method m,
                                        Object[] paramArray) throws Exception {
-        paramArray = insertExchange(m, paramArray, exchange);
+        MethodInvocationHandle handle = MethodInvocationHandle.get(m, exchange == null ? null : exchange.getBus());
+        paramArray = insertExchange(handle.getParameterTypes(), paramArray, exchange);
         if (LOG.isLoggable(Level.FINER)) {
             LOG.log(Level.FINER, "INVOKING_METHOD", new Object[] {serviceObject,
                                                                   m,
                                                                   Arrays.asList(paramArray)});
         }
-        return m.invoke(serviceObject, paramArray);
+        return handle.invoke(serviceObject, paramArray);
     }
 
     public Object[] insertExchange(Method method, Object[] params, Exchange context) {
+        return insertExchange(method.getParameterTypes(), params, context);
+    }
+
+    private static Object[] insertExchange(Class<?>[] parameterTypes, Object[] params, Exchange context) {
         Object[] newParams = params;
-        for (int i = 0; i < method.getParameterTypes().length; i++) {
-            if (method.getParameterTypes()[i].equals(Exchange.class)) {
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i].equals(Exchange.class)) {
                 newParams = new Object[params.length + 1];
 
                 for (int j = 0; j < newParams.length; j++) {
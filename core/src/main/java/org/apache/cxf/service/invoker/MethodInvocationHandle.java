@@ -0,0 +1,185 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.service.invoker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.cxf.Bus;
+
+/**
+ * Invokes a service method through an {@link Accessor} generated for the method when a bus with ASM
+ * is available, so that the call site is not shared with every other invocation in the runtime.
+ * Otherwise the method is invoked through a {@link MethodHandle}, which avoids the reflective
+ * argument checks but whose call site here is shared by all the methods. Falls back to
+ * {@link Method#invoke(Object, Object...)} when the method cannot be accessed either way, or when
+ * the arguments would need a conversion that only reflection performs.
+ */
+public final class MethodInvocationHandle {
+    private static final MethodType INVOKER_TYPE =
+        MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final ClassValue<Map<Method, MethodInvocationHandle>> HANDLES =
+        new ClassValue<Map<Method, MethodInvocationHandle>>() {
+            @Override
+            protected Map<Method, MethodInvocationHandle> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+    private final Method method;
+    private final Class<?>[] parameterTypes;
+    private final Class<?>[] wrapperTypes;
+    private final MethodHandle handle;
+    private final boolean isStatic;
+    private final boolean generationAttempted;
+    private final Accessor accessor;
+
+    private MethodInvocationHandle(Method method, Bus bus) {
+        this.method = method;
+        this.parameterTypes = method.getParameterTypes();
+        this.isStatic = Modifier.isStatic(method.getModifiers());
+        this.wrapperTypes = new Class<?>[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            wrapperTypes[i] = parameterTypes[i].isPrimitive()
+                ? MethodType.methodType(parameterTypes[i]).wrap().returnType() : null;
+        }
+        this.handle = createHandle(method, isStatic, parameterTypes.length);
+        this.generationAttempted = bus != null;
+        this.accessor = bus == null ? null : new MethodInvokerClassGenerator(bus).createAccessor(method);
+    }
+
+    /**
+     * Return the (cached) invocation handle for the given method, which does not use a generated accessor
+     * unless one has been created by {@link #get(Method, Bus)} already.
+     */
+    public static MethodInvocationHandle get(Method method) {
+        return get(method, null);
+    }
+
+    /**
+     * Return the (cached) invocation handle for the given method. A handle cached without a bus is
+     * replaced by one with a generated accessor as soon as a bus is given.
+     * @param bus the bus used to generate the accessor, may be null
+     */
+    public static MethodInvocationHandle get(Method method, Bus bus) {
+        Map<Method, MethodInvocationHandle> handles = HANDLES.get(method.getDeclaringClass());
+        MethodInvocationHandle h = handles.get(method);
+        if (h == null || bus != null && !h.generationAttempted) {
+            h = handles.compute(method, (m, cached) -> cached != null && (bus == null || cached.generationAttempted)
+                ? cached : new MethodInvocationHandle(m, bus));
+        }
+        return h;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the method parameter types, the returned array must not be modified
+     */
+    public Class<?>[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    /**
+     * @return true if the method is invoked through a method handle rather than reflection
+     */
+    public boolean isMethodHandle() {
+        return handle != null;
+    }
+
+    /**
+     * @return true if the method is invoked through an accessor generated for it
+     */
+    public boolean isGenerated() {
+        return accessor != null;
+    }
+
+    /**
+     * Invoke the method, with the same contract as {@link Method#invoke(Object, Object...)}:
+     * an exception thrown by the method itself is wrapped in an {@link InvocationTargetException}.
+     */
+    public Object invoke(Object target, Object[] args) throws IllegalAccessException, InvocationTargetException {
+        if (handle == null && accessor == null || !isApplicable(target, args)) {
+            return method.invoke(target, args);
+        }
+        Object[] arguments = args == null ? new Object[0] : args;
+        try {
+            if (accessor != null) {
+                return accessor.invoke(target, arguments);
+            }
+            return handle.invokeExact(target, arguments);
+        } catch (Throwable t) {
+            // the arguments have been checked already, so this can only come from the method
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private boolean isApplicable(Object target, Object[] args) {
+        if (!isStatic && !method.getDeclaringClass().isInstance(target)) {
+            return false;
+        }
+        int length = args == null ? 0 : args.length;
+        if (length != parameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            Object arg = args[i];
+            if (wrapperTypes[i] != null) {
+                // the method handle only unboxes the exact wrapper type, reflection also widens
+                if (arg == null || arg.getClass() != wrapperTypes[i]) {
+                    return false;
+                }
+            } else if (arg != null && !parameterTypes[i].isInstance(arg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calls one given method, the implementations are generated by {@link MethodInvokerClassGenerator}.
+     */
+    public interface Accessor {
+        Object invoke(Object target, Object[] args) throws Exception;
+    }
+
+    private static MethodHandle createHandle(Method method, boolean isStatic, int parameterCount) {
+        MethodHandle mh;
+        try {
+            mh = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException | RuntimeException ex) {
+            // not accessible from here (e.g. a non public class), so stick to reflection
+            return null;
+        }
+        mh = mh.asFixedArity();
+        if (isStatic) {
+            mh = MethodHandles.dropArguments(mh, 0, Object.class);
+        }
+        return mh.asSpreader(Object[].class, parameterCount).asType(INVOKER_TYPE);
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.service.invoker;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.common.spi.ClassGeneratorClassLoader;
+import org.apache.cxf.common.util.ASMHelper;
+import org.apache.cxf.common.util.OpcodesProxy;
+import org.apache.cxf.common.util.StringUtils;
+
+/**
+ * Generates a {@link MethodInvocationHandle.Accessor} per service method which calls the method
+ * directly, so that every operation has its own call site which the JIT can inline.
+ */
+class MethodInvokerClassGenerator extends ClassGeneratorClassLoader {
+    private static final String ACCESSOR_NAME = StringUtils.periodToSlashes(
+        MethodInvocationHandle.Accessor.class.getName());
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private final ASMHelper helper;
+
+    MethodInvokerClassGenerator(Bus bus) {
+        super(bus);
+        helper = bus.getExtension(ASMHelper.class);
+    }
+
+    /**
+     * Return the accessor for the given method, or null if the method can not be called from
+     * a generated class (it is not public or it refers to the non public types) or ASM is not available.
+     */
+    MethodInvocationHandle.Accessor createAccessor(Method method) {
+        if (helper == null || !isAccessible(method)) {
+            return null;
+        }
+        Class<?> cls = method.getDeclaringClass();
+        String className = cls.getName() + "$$CXFInvoker" + COUNTER.incrementAndGet();
+        try {
+            byte[] bytes = createAccessorClass(StringUtils.periodToSlashes(className), method);
+            if (bytes == null) {
+                return null;
+            }
+            return (MethodInvocationHandle.Accessor)loadClass(className, cls, bytes)
+                .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException ex) {
+            // f.e. ASM is not available or the accessor interface is not visible from the service class loader
+            return null;
+        }
+    }
+
+    private static boolean isAccessible(Method method) {
+        if (!Modifier.isPublic(method.getModifiers()) || !isPublic(method.getDeclaringClass())
+            || Modifier.isStatic(method.getModifiers()) && method.getDeclaringClass().isInterface()) {
+            // the static interface methods would need a newer class file version
+            return false;
+        }
+        for (Class<?> type : method.getParameterTypes()) {
+            if (!isPublic(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPublic(Class<?> type) {
+        Class<?> cls = type;
+        while (cls.isArray()) {
+            cls = cls.getComponentType();
+        }
+        return cls.isPrimitive() || Modifier.isPublic(cls.getModifiers());
+    }
+
+    /*
+    // This is the "prototype" for the ASM generated class below
+    public final class ServiceImpl$$CXFInvoker1 implements MethodInvocationHandle.Accessor {
+        public Object invoke(Object target, Object[] args) {
+            return Long.valueOf(((ServiceImpl)target).sayHi((String)args[0], ((Integer)args[1]).intValue()));
+        }
+    }
+    */
+    private byte[] createAccessorClass(String slashedName, Method method) {
+        OpcodesProxy opcodes = helper.getOpCodes();
+        ASMHelper.ClassWriter cw = helper.createClassWriter();
+        if (cw == null) {
+            return null;
+        }
+        cw.visit(opcodes.V1_6, opcodes.ACC_PUBLIC + opcodes.ACC_FINAL + opcodes.ACC_SUPER + opcodes.ACC_SYNTHETIC,
+                 slashedName, null, "java/lang/Object", new String[] {ACCESSOR_NAME});
+
+        ASMHelper.MethodVisitor mv = cw.visitMethod(opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(opcodes.ALOAD, 0);
+        mv.visitMethodInsn(opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitInsn(opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(opcodes.ACC_PUBLIC, "invoke",
+                            "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;", null, null);
+        mv.visitCode();
+        Class<?> cls = method.getDeclaringClass();
+        String owner = StringUtils.periodToSlashes(cls.getName());
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        if (!isStatic) {
+            mv.visitVarInsn(opcodes.ALOAD, 1);
+            mv.visitTypeInsn(opcodes.CHECKCAST, owner);
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            mv.visitVarInsn(opcodes.ALOAD, 2);
+            mv.visitIntInsn(opcodes.SIPUSH, i);
+            mv.visitInsn(opcodes.AALOAD);
+            Class<?> type = parameterTypes[i];
+            if (type.isPrimitive()) {
+                String wrapper = helper.getNonPrimitive(type);
+                mv.visitTypeInsn(opcodes.CHECKCAST, wrapper);
+                mv.visitMethodInsn(opcodes.INVOKEVIRTUAL, wrapper, type.getName() + "Value",
+                                   "()" + helper.getPrimitive(type), false);
+            } else if (type != Object.class) {
+                mv.visitTypeInsn(opcodes.CHECKCAST, type.isArray()
+                    ? helper.getClassCode(type) : StringUtils.periodToSlashes(type.getName()));
+            }
+        }
+        int opcode;
+        if (isStatic) {
+            opcode = opcodes.INVOKESTATIC;
+        } else {
+            opcode = cls.isInterface() ? opcodes.INVOKEINTERFACE : opcodes.INVOKEVIRTUAL;
+        }
+        mv.visitMethodInsn(opcode, owner, method.getName(), helper.getMethodSignature(method), cls.isInterface());
+
+        Class<?> returnType = method.getReturnType();
+        if (returnType == Void.TYPE) {
+            mv.visitInsn(opcodes.ACONST_NULL);
+        } else if (returnType.isPrimitive()) {
+            String wrapper = helper.getNonPrimitive(returnType);
+            mv.visitMethodInsn(opcodes.INVOKESTATIC, wrapper, "valueOf",
+                               "(" + helper.getPrimitive(returnType) + ")L" + wrapper + ";", false);
+        }
+        mv.visitInsn(opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+}
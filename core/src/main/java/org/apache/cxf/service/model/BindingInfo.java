@@ -21,8 +21,10 @@ package org.apache.cxf.service.model;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 import javax.xml.namespace.QName;
@@ -41,6 +43,9 @@ public class BindingInfo extends AbstractDescriptionElement implements NamedItem
     Map<QName, BindingOperationInfo> operations
         = new ConcurrentHashMap<>(4, 0.75f, 2);
 
+    private volatile BindingOperationIndex operationIndex;
+    private final Map<String, Object> derivedIndexes = new ConcurrentHashMap<>(2);
+
     public BindingInfo(ServiceInfo service, String bindingId) {
         this.service = service;
         this.bindingId = bindingId;
@@ -108,6 +113,7 @@ public class BindingInfo extends AbstractDescriptionElement implements NamedItem
         }
 
         operations.put(operation.getName(), operation);
+        operationsChanged();
     }
 
     /**
@@ -122,6 +128,7 @@ public class BindingInfo extends AbstractDescriptionElement implements NamedItem
         }
 
         operations.remove(operation.getName());
+        operationsChanged();
     }
 
     /**
@@ -144,6 +151,13 @@ public class BindingInfo extends AbstractDescriptionElement implements NamedItem
     }
 
     public BindingOperationInfo getOperation(OperationInfo oi) {
+        BindingOperationInfo indexed = getOperationIndex().getOperation(oi);
+        if (indexed != null && indexed.getOperationInfo() == oi
+            && (!indexed.isUnwrapped() || indexed.getWrappedOperation() != null
+                && indexed.getWrappedOperation().getUnwrappedOperation() == indexed)) {
+            return indexed;
+        }
+        // the unwrapped operations may have been changed after the index was built
         for (BindingOperationInfo b : operations.values()) {
             if (b.getOperationInfo() == oi) {
                 return b;
@@ -155,6 +169,69 @@ public class BindingInfo extends AbstractDescriptionElement implements NamedItem
         return null;
     }
 
+    /**
+     * Returns the operation with the given local name, if found. If several operations share
+     * the local name, one of them is returned.
+     *
+     * @param localName the local part of the operation name.
+     * @return the operation; or <code>null</code> if not found.
+     */
+    public BindingOperationInfo getOperationByLocalName(String localName) {
+        return getOperationIndex().getOperationByLocalName(localName);
+    }
+
+    /**
+     * Returns the interface operations that are bound by this binding and whose input (or output)
+     * message may start with the given element: the operations whose first part has the given
+     * concrete name, and those whose first part is of type xsd:anyType, in interface order.
+     *
+     * @param elName the name of the first element of the message body.
+     * @param output whether to match the output rather than the input messages.
+     * @return a new, modifiable list of the matching operations.
+     */
+    public List<OperationInfo> getOperationsForFirstPart(QName elName, boolean output) {
+        List<OperationInfo> ops = getOperationIndex().getOperationsForFirstPart(elName, output);
+        if (ops == null) {
+            // the message parts have been changed after the index was built
+            operationIndex = null;
+            ops = getOperationIndex().getOperationsForFirstPart(elName, output);
+        }
+        return ops;
+    }
+
+    /**
+     * Returns an index derived from the operations of this binding, creating it if needed.
+     * Like the index behind {@link #getOperation(OperationInfo)}, it is dropped whenever an
+     * operation is added or removed.
+     *
+     * @param key the name of the index.
+     * @param type the type of the index.
+     * @param factory creates the index from the operations.
+     */
+    public <T> T getOperationIndex(String key, Class<T> type,
+                                   Function<Collection<BindingOperationInfo>, T> factory) {
+        Object index = derivedIndexes.get(key);
+        if (index == null) {
+            index = factory.apply(getOperations());
+            derivedIndexes.put(key, index);
+        }
+        return type.cast(index);
+    }
+
+    private void operationsChanged() {
+        operationIndex = null;
+        derivedIndexes.clear();
+    }
+
+    private BindingOperationIndex getOperationIndex() {
+        BindingOperationIndex index = operationIndex;
+        if (index == null) {
+            index = new BindingOperationIndex(this, operations.values());
+            operationIndex = index;
+        }
+        return index;
+    }
+
     @Override
     public String toString() {
         return "[BindingInfo " + getBindingId() + "]";
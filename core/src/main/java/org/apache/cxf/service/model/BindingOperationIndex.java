@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.service.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.xml.namespace.QName;
+
+import org.apache.ws.commons.schema.constants.Constants;
+
+/**
+ * Lookup tables over the operations of a binding, so that the operation of an incoming message can
+ * be found without iterating over all the operations. The index is built on first use and dropped
+ * whenever an operation is added to or removed from the binding, or when its message parts are found
+ * to have changed.
+ */
+final class BindingOperationIndex {
+    private final Map<OperationInfo, BindingOperationInfo> byOperationInfo = new IdentityHashMap<>();
+    private final Map<String, BindingOperationInfo> byLocalName = new HashMap<>();
+    private final FirstParts inputs;
+    private final FirstParts outputs;
+
+    BindingOperationIndex(BindingInfo binding, Iterable<BindingOperationInfo> operations) {
+        for (BindingOperationInfo b : operations) {
+            byOperationInfo.put(b.getOperationInfo(), b);
+            if (b.isUnwrappedCapable() && b.getUnwrappedOperation() != null) {
+                byOperationInfo.putIfAbsent(b.getUnwrappedOperation().getOperationInfo(), b.getUnwrappedOperation());
+            }
+            byLocalName.putIfAbsent(b.getName().getLocalPart(), b);
+        }
+        List<OperationInfo> interfaceOps = binding.getInterface() == null
+            ? Collections.emptyList() : new ArrayList<>(binding.getInterface().getOperations());
+        inputs = new FirstParts(interfaceOps, false);
+        outputs = new FirstParts(interfaceOps, true);
+    }
+
+    BindingOperationInfo getOperation(OperationInfo oi) {
+        return byOperationInfo.get(oi);
+    }
+
+    BindingOperationInfo getOperationByLocalName(String localName) {
+        return byLocalName.get(localName);
+    }
+
+    /**
+     * @return the matching operations, or null if the first parts have changed since the index was built
+     */
+    List<OperationInfo> getOperationsForFirstPart(QName name, boolean output) {
+        FirstParts firstParts = output ? outputs : inputs;
+        return firstParts.isCurrent() ? firstParts.get(name) : null;
+    }
+
+    private static MessagePartInfo getFirstPart(BindingOperationInfo boi, boolean output) {
+        BindingMessageInfo msgInfo = boi == null ? null : output ? boi.getOutput() : boi.getInput();
+        if (msgInfo == null || msgInfo.getMessageParts().isEmpty()) {
+            return null;
+        }
+        return msgInfo.getMessageParts().get(0);
+    }
+
+    /**
+     * The interface operations by the concrete name of the first part of their input or output
+     * message. Operations whose first part is of type xsd:anyType match any name.
+     */
+    private final class FirstParts {
+        private final boolean output;
+        private final Map<QName, List<OperationInfo>> byName = new HashMap<>();
+        private final List<OperationInfo> anyType = new ArrayList<>();
+        // what the index was built from, the message parts can be changed without notice
+        private final OperationInfo[] ops;
+        private final MessagePartInfo[] parts;
+        private final QName[] names;
+        private final QName[] types;
+
+        FirstParts(List<OperationInfo> interfaceOps, boolean output) {
+            this.output = output;
+            int size = interfaceOps.size();
+            ops = interfaceOps.toArray(new OperationInfo[0]);
+            parts = new MessagePartInfo[size];
+            names = new QName[size];
+            types = new QName[size];
+            for (int i = 0; i < size; i++) {
+                MessagePartInfo p = getFirstPart(byOperationInfo.get(ops[i]), output);
+                if (p != null) {
+                    parts[i] = p;
+                    names[i] = p.getConcreteName();
+                    types[i] = p.getTypeQName();
+                    if (names[i] != null) {
+                        byName.put(names[i], new ArrayList<>());
+                    }
+                }
+            }
+            // keep the interface order, as the first match wins
+            for (int i = 0; i < size; i++) {
+                if (parts[i] == null) {
+                    continue;
+                }
+                if (Constants.XSD_ANYTYPE.equals(types[i])) {
+                    anyType.add(ops[i]);
+                    for (List<OperationInfo> l : byName.values()) {
+                        l.add(ops[i]);
+                    }
+                } else if (names[i] != null) {
+                    byName.get(names[i]).add(ops[i]);
+                }
+            }
+        }
+
+        boolean isCurrent() {
+            for (int i = 0; i < ops.length; i++) {
+                MessagePartInfo p = getFirstPart(byOperationInfo.get(ops[i]), output);
+                if (p != parts[i] || p != null && (!Objects.equals(names[i], p.getConcreteName())
+                    || !Objects.equals(types[i], p.getTypeQName()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        List<OperationInfo> get(QName name) {
+            List<OperationInfo> l = byName.get(name);
+            return new ArrayList<>(l == null ? anyType : l);
+        }
+    }
+}
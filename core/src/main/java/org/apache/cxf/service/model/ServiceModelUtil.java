@@ -55,14 +55,7 @@ public final class ServiceModelUtil {
         if (ep == null) {
             return null;
         }
-        BindingInfo service = ep.getEndpointInfo().getBinding();
-
-        for (BindingOperationInfo b : service.getOperations()) {
-            if (b.getName().getLocalPart().equals(opName)) {
-                return b;
-            }
-        }
-        return null;
+        return ep.getEndpointInfo().getBinding().getOperationByLocalName(opName);
     }
 
     public static BindingOperationInfo getOperation(Exchange exchange, QName opName) {
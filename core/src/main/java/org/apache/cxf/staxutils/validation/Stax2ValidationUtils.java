@@ -20,6 +20,7 @@
 package org.apache.cxf.staxutils.validation;
 
 import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.logging.Level;
@@ -37,10 +38,13 @@ import org.w3c.dom.Element;
 
 import org.xml.sax.InputSource;
 
+import org.apache.cxf.Bus;
 import org.apache.cxf.common.classloader.ClassLoaderUtils;
 import org.apache.cxf.common.i18n.Message;
 import org.apache.cxf.common.logging.LogUtils;
+import org.apache.cxf.common.xmlschema.CompiledSchemaCache;
 import org.apache.cxf.endpoint.Endpoint;
+import org.apache.cxf.helpers.LoadingByteArrayOutputStream;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.service.model.SchemaInfo;
 import org.apache.cxf.service.model.ServiceInfo;
@@ -110,6 +114,17 @@ class Stax2ValidationUtils {
      */
     public boolean setupValidation(XMLStreamReader reader, Endpoint endpoint, ServiceInfo serviceInfo)
             throws XMLStreamException {
+        return setupValidation(reader, endpoint, serviceInfo, null);
+    }
+
+    /**
+     * Set up the validation of the reader, sharing the compiled schema through the given bus.
+     *
+     * @param bus the bus of the endpoint, may be null in which case the compiled schema is not shared
+     * @throws XMLStreamException
+     */
+    public boolean setupValidation(XMLStreamReader reader, Endpoint endpoint, ServiceInfo serviceInfo,
+                                   Bus bus) throws XMLStreamException {
 
         // Gosh, this is bad, but I don't know a better solution, unless we're willing
         // to require the stax2 API no matter what.
@@ -117,8 +132,11 @@ class Stax2ValidationUtils {
         if (effectiveReader instanceof DepthXMLStreamReader) {
             effectiveReader = ((DepthXMLStreamReader) reader).getReader();
         }
+        if (!(effectiveReader instanceof XMLStreamReader2)) {
+            return false;
+        }
         final XMLStreamReader2 reader2 = (XMLStreamReader2) effectiveReader;
-        XMLValidationSchema vs = getValidator(endpoint, serviceInfo);
+        XMLValidationSchema vs = getValidator(endpoint, serviceInfo, bus);
         if (vs == null) {
             return false;
         }
@@ -135,9 +153,20 @@ class Stax2ValidationUtils {
 
     public boolean setupValidation(XMLStreamWriter writer, Endpoint endpoint, ServiceInfo serviceInfo)
             throws XMLStreamException {
+        return setupValidation(writer, endpoint, serviceInfo, null);
+    }
+
+    /**
+     * Set up the validation of the writer, sharing the compiled schema through the given bus.
+     *
+     * @param bus the bus of the endpoint, may be null in which case the compiled schema is not shared
+     * @throws XMLStreamException
+     */
+    public boolean setupValidation(XMLStreamWriter writer, Endpoint endpoint, ServiceInfo serviceInfo,
+                                   Bus bus) throws XMLStreamException {
 
         XMLStreamWriter2 writer2 = (XMLStreamWriter2) writer;
-        XMLValidationSchema vs = getValidator(endpoint, serviceInfo);
+        XMLValidationSchema vs = getValidator(endpoint, serviceInfo, bus);
         if (vs == null) {
             return false;
         }
@@ -156,7 +185,7 @@ class Stax2ValidationUtils {
      *
      * @throws XMLStreamException
      */
-    private XMLValidationSchema getValidator(Endpoint endpoint, ServiceInfo serviceInfo)
+    private XMLValidationSchema getValidator(Endpoint endpoint, ServiceInfo serviceInfo, Bus bus)
             throws XMLStreamException {
         synchronized (endpoint) {
             XMLValidationSchema ret = (XMLValidationSchema) endpoint.get(KEY);
@@ -187,10 +216,19 @@ class Stax2ValidationUtils {
                 }
 
                 try {
-                    // I don't think that we need the baseURI.
-                    Method method = multiSchemaFactory.getMethod("createSchema", String.class, Map.class);
-                    ret = (XMLValidationSchema) method.invoke(multiSchemaFactory.getDeclaredConstructor().newInstance(),
-                                                              null, sources);
+                    // endpoints and clients created from the same WSDL share the compiled schema
+                    CompiledSchemaCache cache = CompiledSchemaCache.getInstance(bus);
+                    String digest = cache != null ? CompiledSchemaCache.digest(serialize(sources)) : null;
+                    ret = cache != null ? cache.get(XMLValidationSchema.class, digest) : null;
+                    if (ret == null) {
+                        // I don't think that we need the baseURI.
+                        Method method = multiSchemaFactory.getMethod("createSchema", String.class, Map.class);
+                        ret = (XMLValidationSchema) method.invoke(
+                            multiSchemaFactory.getDeclaredConstructor().newInstance(), null, sources);
+                        if (cache != null) {
+                            cache.put(XMLValidationSchema.class, digest, ret);
+                        }
+                    }
                     endpoint.put(KEY, ret);
                 } catch (Throwable t) {
                     LOG.log(Level.INFO, "Problem loading schemas. Falling back to slower method.", ret);
@@ -210,6 +248,16 @@ class Stax2ValidationUtils {
         sources.put(schema.getTargetNamespace(), new DOMSource(element, schemaSystemId));
     }
 
+    private static Map<String, byte[]> serialize(Map<String, Source> sources) throws XMLStreamException {
+        Map<String, byte[]> documents = new LinkedHashMap<>();
+        for (Map.Entry<String, Source> entry : sources.entrySet()) {
+            LoadingByteArrayOutputStream out = new LoadingByteArrayOutputStream();
+            StaxUtils.copy(entry.getValue(), out);
+            documents.put(entry.getKey() + ':' + entry.getValue().getSystemId(), out.toByteArray());
+        }
+        return documents;
+    }
+
     private Element getElement(String path) throws XMLStreamException {
         InputSource in = new InputSource(path);
         Document doc = StaxUtils.read(in);
@@ -57,7 +57,8 @@ public class StaxSchemaValidationOutInterceptor extends AbstractPhaseInterceptor
                 WoodstoxValidationImpl mgr = new WoodstoxValidationImpl();
                 if (mgr.canValidate()) {
                     mgr.setupValidation(writer, message.getExchange().getEndpoint(),
-                                        message.getExchange().getService().getServiceInfos().get(0));
+                                        message.getExchange().getService().getServiceInfos().get(0),
+                                        message.getExchange().getBus());
                 }
             } catch (Throwable t) {
                 //likely no MSV or similar
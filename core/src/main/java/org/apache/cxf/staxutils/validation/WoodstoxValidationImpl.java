@@ -26,6 +26,7 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
 
+import org.apache.cxf.Bus;
 import org.apache.cxf.common.logging.LogUtils;
 import org.apache.cxf.endpoint.Endpoint;
 import org.apache.cxf.service.model.ServiceInfo;
@@ -55,7 +56,14 @@ public class WoodstoxValidationImpl {
     public void setupValidation(XMLStreamReader reader,
                                 Endpoint endpoint,
                                 ServiceInfo serviceInfo) throws XMLStreamException {
-        if (utils != null && reader != null && !utils.setupValidation(reader, endpoint, serviceInfo)) {
+        setupValidation(reader, endpoint, serviceInfo, null);
+    }
+
+    public void setupValidation(XMLStreamReader reader,
+                                Endpoint endpoint,
+                                ServiceInfo serviceInfo,
+                                Bus bus) throws XMLStreamException {
+        if (utils != null && reader != null && !utils.setupValidation(reader, endpoint, serviceInfo, bus)) {
             utils = null;
         }
     }
@@ -63,7 +71,14 @@ public class WoodstoxValidationImpl {
     public void setupValidation(XMLStreamWriter writer,
                                 Endpoint endpoint,
                                 ServiceInfo serviceInfo) throws XMLStreamException {
-        if (utils != null && writer != null && !utils.setupValidation(writer, endpoint, serviceInfo)) {
+        setupValidation(writer, endpoint, serviceInfo, null);
+    }
+
+    public void setupValidation(XMLStreamWriter writer,
+                                Endpoint endpoint,
+                                ServiceInfo serviceInfo,
+                                Bus bus) throws XMLStreamException {
+        if (utils != null && writer != null && !utils.setupValidation(writer, endpoint, serviceInfo, bus)) {
             utils = null;
         }
     }
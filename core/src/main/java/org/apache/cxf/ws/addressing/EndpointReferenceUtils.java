@@ -60,6 +60,7 @@ import org.apache.cxf.Bus;
 import org.apache.cxf.BusFactory;
 import org.apache.cxf.common.jaxb.JAXBContextCache;
 import org.apache.cxf.common.logging.LogUtils;
+import org.apache.cxf.common.xmlschema.CompiledSchemaCache;
 import org.apache.cxf.common.xmlschema.LSInputImpl;
 import org.apache.cxf.endpoint.EndpointResolverRegistry;
 import org.apache.cxf.endpoint.Server;
@@ -98,6 +99,7 @@ public final class EndpointReferenceUtils {
         private final Set<String> done = new HashSet<>();
         private final ExtendedURIResolver resolver = new ExtendedURIResolver();
         private final Bus bus;
+        private boolean external;
 
         private SchemaLSResourceResolver(Map<String, byte[]> schemas, Bus b) {
             this.schemas = schemas;
@@ -197,6 +199,7 @@ public final class EndpointReferenceUtils {
                     systemId = publicId;
                 }
                 if (systemId != null) {
+                    external = true;
                     InputSource source = resolver.resolve(systemId, baseURI);
                     if (source != null) {
                         impl = new LSInputImpl();
@@ -209,6 +212,15 @@ public final class EndpointReferenceUtils {
             }
             return impl;
         }
+
+        /**
+         * @return true if a schema had to be resolved from outside of the given schemas, in which
+         *         case the compiled schema depends on more than the given schemas
+         */
+        private boolean isExternal() {
+            return external;
+        }
+
         private LSInputImpl createInput(String newId, byte[] value) {
             LSInputImpl impl = new LSInputImpl();
             impl.setSystemId(newId);
@@ -486,7 +498,6 @@ public final class EndpointReferenceUtils {
     private static Schema createSchema(ServiceInfo serviceInfo, Bus b) {
         Schema schema = serviceInfo.getProperty(Schema.class.getName(), Schema.class);
         if (schema == null) {
-            SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
             Map<String, byte[]> schemaSourcesMap = new LinkedHashMap<>();
             Map<String, Source> schemaSourcesMap2 = new LinkedHashMap<>();
 
@@ -543,11 +554,22 @@ public final class EndpointReferenceUtils {
                     }
                 }
 
-                factory.setResourceResolver(new SchemaLSResourceResolver(schemaSourcesMap,
-                        b != null ? b : BusFactory.getThreadDefaultBus(false)));
-                schema = factory.newSchema(schemaSourcesMap2.values()
-                                           .toArray(new Source[schemaSourcesMap2.size()]));
-
+                Bus bus = b != null ? b : BusFactory.getThreadDefaultBus(false);
+                // services and clients created from the same WSDL share the compiled schema
+                CompiledSchemaCache cache = CompiledSchemaCache.getInstance(bus);
+                String digest = cache != null ? CompiledSchemaCache.digest(schemaSourcesMap) : null;
+                schema = cache != null ? cache.get(Schema.class, digest) : null;
+                if (schema == null) {
+                    SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+                    SchemaLSResourceResolver resolver = new SchemaLSResourceResolver(schemaSourcesMap, bus);
+                    factory.setResourceResolver(resolver);
+                    schema = factory.newSchema(schemaSourcesMap2.values()
+                                               .toArray(new Source[schemaSourcesMap2.size()]));
+                    // the digest does not cover the imports resolved from elsewhere
+                    if (cache != null && !resolver.isExternal()) {
+                        cache.put(Schema.class, digest, schema);
+                    }
+                }
 
             } catch (Exception ex) {
                 // Something not right with the schema from the wsdl.
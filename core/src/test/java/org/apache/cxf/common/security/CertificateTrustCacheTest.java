@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.common.security;
+
+import java.security.cert.X509Certificate;
+import java.util.Date;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CertificateTrustCacheTest {
+
+    @Test
+    public void testVerdicts() {
+        CertificateTrustCache cache = new CertificateTrustCache();
+        X509Certificate[] trusted = {createCertificate(60000L)};
+        X509Certificate[] untrusted = {createCertificate(60000L)};
+
+        assertNull(cache.getVerdict("store", trusted));
+        cache.putVerdict("store", trusted, true);
+        cache.putVerdict("store", untrusted, false);
+
+        assertTrue(cache.getVerdict("store", trusted));
+        assertFalse(cache.getVerdict("store", untrusted));
+        // verdicts are specific to the context
+        assertNull(cache.getVerdict("other-store", trusted));
+
+        assertEquals(2, cache.getStatistics().getHitCount());
+        assertEquals(2, cache.getStatistics().getMissCount());
+        assertEquals(0.5, cache.getStatistics().getHitRatio(), 0.0);
+    }
+
+    @Test
+    public void testExpiredCertificateIsNotCached() {
+        CertificateTrustCache cache = new CertificateTrustCache();
+        X509Certificate[] expired = {createCertificate(-1000L)};
+
+        cache.putVerdict(null, expired, true);
+        assertNull(cache.getVerdict(null, expired));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testMaxEntries() {
+        CertificateTrustCache cache = new CertificateTrustCache(10, CertificateTrustCache.DEFAULT_TTL);
+        for (int i = 0; i < 25; i++) {
+            cache.putVerdict(null, new X509Certificate[] {createCertificate(60000L)}, true);
+        }
+        assertTrue(cache.size() <= 10);
+    }
+
+    private static X509Certificate createCertificate(long validFor) {
+        X509Certificate cert = mock(X509Certificate.class);
+        when(cert.getNotAfter()).thenReturn(new Date(System.currentTimeMillis() + validFor));
+        return cert;
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.common.util;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BoundedConcurrentMapTest {
+
+    @Test
+    public void testBound() {
+        Map<String, Integer> map = new BoundedConcurrentMap<>(2);
+        map.put("a", 1);
+        map.put("b", 2);
+        // replacing a value does not evict anything
+        map.put("b", 3);
+        assertEquals(2, map.size());
+
+        map.put("c", 4);
+        assertEquals(2, map.size());
+        assertTrue(map.containsKey("c"));
+    }
+
+    @Test
+    public void testExpiredEvictedFirst() {
+        Map<String, Integer> map = new BoundedConcurrentMap<>(3, v -> v < 0);
+        map.put("a", 1);
+        map.put("b", -1);
+        map.put("c", 2);
+
+        map.put("d", 3);
+        assertEquals(3, map.size());
+        assertFalse(map.containsKey("b"));
+        assertTrue(map.containsKey("a"));
+        assertTrue(map.containsKey("c"));
+        assertTrue(map.containsKey("d"));
+    }
+}
@@ -0,0 +1,223 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.interceptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.apache.cxf.endpoint.Endpoint;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.phase.PhaseInterceptor;
+import org.apache.cxf.service.model.BindingInfo;
+import org.apache.cxf.service.model.EndpointInfo;
+import org.apache.cxf.service.model.InterfaceInfo;
+import org.apache.cxf.service.model.MessageInfo;
+import org.apache.cxf.service.model.OperationInfo;
+import org.apache.cxf.service.model.ServiceInfo;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FIStaxInterceptorTest {
+    private static final String NS = "http://cxf.apache.org/fi";
+    private static final String[] FIELDS = {
+        "firstName", "lastName", "streetAddress", "postalCode", "city", "countryCode", "phoneNumber"
+    };
+
+    private Endpoint serverEndpoint;
+    private Endpoint clientEndpoint;
+
+    @Before
+    public void setUp() {
+        serverEndpoint = createEndpoint();
+        clientEndpoint = createEndpoint();
+    }
+
+    @Test
+    public void testParameter() {
+        String ct = "application/soap+fastinfoset; vocabulary=\"urn:test\"; action=\"foo\"";
+        assertEquals("urn:test", FIVocabulary.getParameter(ct));
+        assertEquals("application/soap+fastinfoset; action=\"foo\"", FIVocabulary.removeParameter(ct));
+        assertEquals("urn:x", FIVocabulary.getParameter("text/xml, application/fastinfoset;vocabulary=urn:x"));
+        assertNull(FIVocabulary.getParameter("text/xml; vocabulary=urn:x"));
+    }
+
+    @Test
+    public void testNegotiatedVocabulary() throws Exception {
+        FIStaxOutInterceptor out = new FIStaxOutInterceptor();
+        FIStaxInInterceptor in = new FIStaxInInterceptor();
+
+        // the client advertises its vocabulary
+        Message request = createMessage(clientEndpoint, true);
+        Map<String, List<String>> headers = new HashMap<>();
+        request.put(Message.PROTOCOL_HEADERS, headers);
+        request.setContent(java.io.OutputStream.class, new ByteArrayOutputStream());
+        out.handleMessage(request);
+        String accept = headers.get("Accept").get(0);
+        String uri = FIVocabulary.getVocabulary(request).getURI();
+        assertEquals(uri, FIVocabulary.getParameter(accept));
+
+        // the server knows the same vocabulary, so it uses it for the response
+        Message response = createServerResponse(accept);
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        response.setContent(java.io.OutputStream.class, bout);
+        PhaseInterceptor<Message> ending = handle(out, response);
+        XMLStreamWriter writer = response.getContent(XMLStreamWriter.class);
+        writeDocument(writer, "first");
+        ending.handleMessage(response);
+        String ct = (String)response.get(Message.CONTENT_TYPE);
+        assertEquals(uri, FIVocabulary.getParameter(ct));
+
+        // which the client can read, after which it uses the vocabulary for its requests as well
+        assertEquals("first", readDocument(in, bout.toByteArray(), ct));
+        assertEquals(uri, clientEndpoint.get(FIStaxOutInterceptor.FI_VOCABULARY));
+
+        // the serializer is reused, and the vocabulary added for the first document is not used anymore
+        response = createServerResponse(accept);
+        bout = new ByteArrayOutputStream();
+        response.setContent(java.io.OutputStream.class, bout);
+        ending = handle(out, response);
+        assertSame(writer, response.getContent(XMLStreamWriter.class));
+        writeDocument(writer, "second");
+        ending.handleMessage(response);
+        assertEquals("second", readDocument(in, bout.toByteArray(), ct));
+
+        // without the vocabulary the payload is larger
+        FIStaxOutInterceptor plain = new FIStaxOutInterceptor();
+        plain.setUseVocabulary(false);
+        response = createServerResponse(accept);
+        ByteArrayOutputStream plainOut = new ByteArrayOutputStream();
+        response.setContent(java.io.OutputStream.class, plainOut);
+        ending = handle(plain, response);
+        writeDocument(response.getContent(XMLStreamWriter.class), "second");
+        ending.handleMessage(response);
+        assertNotEquals(writer, response.getContent(XMLStreamWriter.class));
+        assertNull(FIVocabulary.getParameter((String)response.get(Message.CONTENT_TYPE)));
+        assertTrue(plainOut.size() > bout.size());
+    }
+
+    private Endpoint createEndpoint() {
+        ServiceInfo service = new ServiceInfo();
+        InterfaceInfo intf = new InterfaceInfo(service, new QName(NS, "Greeter"));
+        OperationInfo op = intf.addOperation(new QName(NS, "greetMe"));
+        MessageInfo output = op.createMessage(new QName(NS, "greetMeResponse"), MessageInfo.Type.OUTPUT);
+        output.addMessagePart(new QName(NS, "greetMeResponse")).setElementQName(new QName(NS, "greetMeResponse"));
+        for (String field : FIELDS) {
+            output.addMessagePart(new QName(NS, field)).setElementQName(new QName(NS, field));
+        }
+        op.setOutput("greetMeResponse", output);
+        EndpointInfo ei = new EndpointInfo(service, "http://schemas.xmlsoap.org/soap/http");
+        ei.setBinding(new BindingInfo(service, "http://schemas.xmlsoap.org/soap/"));
+
+        Map<String, Object> props = new HashMap<>();
+        Endpoint ep = mock(Endpoint.class);
+        when(ep.getEndpointInfo()).thenReturn(ei);
+        when(ep.get(any())).thenAnswer(i -> props.get(i.getArgument(0)));
+        doAnswer(i -> props.put(i.getArgument(0), i.getArgument(1))).when(ep).put(any(), any());
+        return ep;
+    }
+
+    private Message createMessage(Endpoint ep, boolean requestor) {
+        Message message = new MessageImpl();
+        Exchange exchange = new ExchangeImpl();
+        exchange.put(Endpoint.class, ep);
+        message.setExchange(exchange);
+        if (requestor) {
+            message.put(Message.REQUESTOR_ROLE, Boolean.TRUE);
+            exchange.setOutMessage(message);
+        }
+        message.setInterceptorChain(mock(InterceptorChain.class));
+        return message;
+    }
+
+    private Message createServerResponse(String accept) {
+        Message request = createMessage(serverEndpoint, false);
+        request.put(Message.ACCEPT_CONTENT_TYPE, accept);
+        request.getExchange().setInMessage(request);
+        Message response = createMessage(serverEndpoint, false);
+        response.setExchange(request.getExchange());
+        response.setInterceptorChain(mock(InterceptorChain.class));
+        request.getExchange().setOutMessage(response);
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PhaseInterceptor<Message> handle(PhaseInterceptor<Message> interceptor, Message message) {
+        interceptor.handleMessage(message);
+        ArgumentCaptor<PhaseInterceptor<Message>> captor = ArgumentCaptor.forClass(PhaseInterceptor.class);
+        org.mockito.Mockito.verify(message.getInterceptorChain()).add(captor.capture());
+        return captor.getValue();
+    }
+
+    private static void writeDocument(XMLStreamWriter writer, String text) throws Exception {
+        writer.writeStartElement("ns", "greetMeResponse", NS);
+        writer.writeNamespace("ns", NS);
+        writer.writeStartElement("ns", "firstName", NS);
+        writer.writeCharacters(text);
+        writer.writeEndElement();
+        for (int i = 1; i < FIELDS.length; i++) {
+            writer.writeStartElement("ns", FIELDS[i], NS);
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+    }
+
+    private String readDocument(FIStaxInInterceptor in, byte[] bytes, String ct) throws Exception {
+        Message message = createMessage(clientEndpoint, true);
+        message.put(Message.CONTENT_TYPE, ct);
+        message.setContent(InputStream.class, new ByteArrayInputStream(bytes));
+        PhaseInterceptor<Message> ending = handle(in, message);
+        XMLStreamReader reader = message.getContent(XMLStreamReader.class);
+        assertEquals("text/xml", message.get(Message.CONTENT_TYPE));
+        reader.nextTag();
+        assertEquals(new QName(NS, "greetMeResponse"), reader.getName());
+        reader.nextTag();
+        assertEquals("firstName", reader.getLocalName());
+        String text = reader.getElementText();
+        for (int i = 1; i < FIELDS.length; i++) {
+            reader.nextTag();
+            assertEquals(FIELDS[i], reader.getLocalName());
+            reader.nextTag();
+        }
+        ending.handleMessage(message);
+        return text;
+    }
+}
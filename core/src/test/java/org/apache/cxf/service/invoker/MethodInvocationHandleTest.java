@@ -0,0 +1,232 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.service.invoker;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MethodInvocationHandleTest {
+
+    @Test
+    public void testInvoke() throws Exception {
+        MethodInvocationHandle handle =
+            MethodInvocationHandle.get(Service.class.getMethod("concat", String.class, int.class));
+        assertTrue(handle.isMethodHandle());
+        assertSame(handle,
+                   MethodInvocationHandle.get(Service.class.getMethod("concat", String.class, int.class)));
+        assertEquals("a1", handle.invoke(new Service(), new Object[] {"a", 1}));
+    }
+
+    @Test
+    public void testInvokeStaticAndVoid() throws Exception {
+        MethodInvocationHandle handle =
+            MethodInvocationHandle.get(Service.class.getMethod("twice", long.class));
+        assertEquals(4L, handle.invoke(null, new Object[] {2L}));
+        // widened by the reflective fallback
+        assertEquals(4L, handle.invoke(null, new Object[] {2}));
+
+        handle = MethodInvocationHandle.get(Service.class.getMethod("ping"));
+        assertNull(handle.invoke(new Service(), null));
+    }
+
+    @Test
+    public void testExceptionIsWrapped() throws Exception {
+        MethodInvocationHandle handle =
+            MethodInvocationHandle.get(Service.class.getMethod("fail", String.class));
+        try {
+            handle.invoke(new Service(), new Object[] {"error"});
+            fail("InvocationTargetException expected");
+        } catch (InvocationTargetException ex) {
+            assertTrue(ex.getCause() instanceof IllegalStateException);
+            assertEquals("error", ex.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testIllegalArguments() throws Exception {
+        MethodInvocationHandle handle =
+            MethodInvocationHandle.get(Service.class.getMethod("concat", String.class, int.class));
+        try {
+            handle.invoke(new Service(), new Object[] {"a"});
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+        try {
+            handle.invoke(new Service(), new Object[] {1, 1});
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testGeneratedAccessor() throws Exception {
+        Bus bus = BusFactory.newInstance().createBus();
+        try {
+            MethodInvocationHandle handle =
+                MethodInvocationHandle.get(GeneratedService.class.getMethod("concat", String.class, int.class), bus);
+            assertTrue(handle.isGenerated());
+            assertEquals("a1", handle.invoke(new GeneratedService(), new Object[] {"a", 1}));
+            assertEquals("b2", handle.invoke(new GeneratedService(), new Object[] {"b", 2}));
+
+            handle = MethodInvocationHandle.get(GeneratedService.class.getMethod("twice", long.class), bus);
+            assertTrue(handle.isGenerated());
+            assertEquals(4L, handle.invoke(null, new Object[] {2L}));
+            assertEquals(4L, handle.invoke(null, new Object[] {2}));
+
+            handle = MethodInvocationHandle.get(GeneratedService.class.getMethod("sum", int[].class), bus);
+            assertTrue(handle.isGenerated());
+            assertEquals(3, handle.invoke(new GeneratedService(), new Object[] {new int[] {1, 2}}));
+
+            handle = MethodInvocationHandle.get(Greeter.class.getMethod("greet", Object.class), bus);
+            assertTrue(handle.isGenerated());
+            assertEquals("hi x", handle.invoke(new GeneratedService(), new Object[] {"x"}));
+
+            handle = MethodInvocationHandle.get(GeneratedService.class.getMethod("ping"), bus);
+            assertTrue(handle.isGenerated());
+            assertNull(handle.invoke(new GeneratedService(), null));
+
+            handle = MethodInvocationHandle.get(GeneratedService.class.getMethod("fail", String.class), bus);
+            try {
+                handle.invoke(new GeneratedService(), new Object[] {"error"});
+                fail("InvocationTargetException expected");
+            } catch (InvocationTargetException ex) {
+                assertTrue(ex.getCause() instanceof IllegalStateException);
+            }
+            try {
+                handle.invoke(new GeneratedService(), new Object[] {1});
+                fail("IllegalArgumentException expected");
+            } catch (IllegalArgumentException ex) {
+                // expected
+            }
+
+            handle = MethodInvocationHandle.get(GeneratedService.class.getDeclaredMethod("hidden"), bus);
+            assertFalse(handle.isGenerated());
+        } finally {
+            bus.shutdown(true);
+        }
+    }
+
+    @Test
+    public void testAccessorGeneratedOnceBusIsAvailable() throws Exception {
+        Method method = LateService.class.getMethod("echo", String.class);
+        MethodInvocationHandle handle = MethodInvocationHandle.get(method, null);
+        assertFalse(handle.isGenerated());
+        assertSame(handle, MethodInvocationHandle.get(method));
+
+        Bus bus = BusFactory.newInstance().createBus();
+        try {
+            handle = MethodInvocationHandle.get(method, bus);
+            assertTrue(handle.isGenerated());
+            assertEquals("a", handle.invoke(new LateService(), new Object[] {"a"}));
+            assertSame(handle, MethodInvocationHandle.get(method));
+            assertSame(handle, MethodInvocationHandle.get(method, bus));
+        } finally {
+            bus.shutdown(true);
+        }
+    }
+
+    @Test
+    public void testInaccessibleMethod() throws Exception {
+        MethodInvocationHandle handle =
+            MethodInvocationHandle.get(Service.class.getDeclaredMethod("hidden"));
+        assertFalse(handle.isMethodHandle());
+        try {
+            handle.invoke(new Service(), new Object[0]);
+            fail("IllegalAccessException expected");
+        } catch (IllegalAccessException ex) {
+            // expected
+        }
+    }
+
+    public interface Greeter {
+        String greet(Object name);
+    }
+
+    public static class LateService {
+        public String echo(String s) {
+            return s;
+        }
+    }
+
+    public static class GeneratedService implements Greeter {
+        public String concat(String s, int i) {
+            return s + i;
+        }
+
+        public static long twice(long l) {
+            return l * 2;
+        }
+
+        public int sum(int[] values) {
+            return values[0] + values[1];
+        }
+
+        public String greet(Object name) {
+            return "hi " + name;
+        }
+
+        public void ping() {
+        }
+
+        public String fail(String message) {
+            throw new IllegalStateException(message);
+        }
+
+        @SuppressWarnings("unused")
+        private String hidden() {
+            return "hidden";
+        }
+    }
+
+    public static class Service {
+        public String concat(String s, int i) {
+            return s + i;
+        }
+
+        public static long twice(long l) {
+            return l * 2;
+        }
+
+        public void ping() {
+        }
+
+        public String fail(String message) {
+            throw new IllegalStateException(message);
+        }
+
+        @SuppressWarnings("unused")
+        private String hidden() {
+            return "hidden";
+        }
+    }
+}
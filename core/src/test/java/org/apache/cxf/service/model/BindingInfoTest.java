@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.service.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.xml.namespace.QName;
+
+import org.apache.ws.commons.schema.constants.Constants;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BindingInfoTest {
+    private static final String TEST_NS = "urn:test:ns";
+
+    private InterfaceInfo intf;
+    private BindingInfo binding;
+
+    @Before
+    public void setUp() throws Exception {
+        ServiceInfo service = new ServiceInfo();
+        intf = new InterfaceInfo(service, new QName(TEST_NS, "Test"));
+        binding = new BindingInfo(service, "urn:test:binding");
+        for (int i = 0; i < 50; i++) {
+            addOperation("op" + i, new QName(TEST_NS, "element" + i), null);
+        }
+    }
+
+    private OperationInfo addOperation(String name, QName element, QName type) {
+        OperationInfo op = intf.addOperation(new QName(TEST_NS, name));
+        MessageInfo input = op.createMessage(new QName(TEST_NS, name + "Request"), MessageInfo.Type.INPUT);
+        MessagePartInfo part = input.addMessagePart(new QName(TEST_NS, "in"));
+        if (element != null) {
+            part.setElement(true);
+            part.setElementQName(element);
+        } else {
+            part.setTypeQName(type);
+        }
+        op.setInput(name + "Request", input);
+        binding.addOperation(new BindingOperationInfo(binding, op));
+        return op;
+    }
+
+    @Test
+    public void testGetOperation() throws Exception {
+        for (OperationInfo op : intf.getOperations()) {
+            BindingOperationInfo boi = binding.getOperation(op);
+            assertSame(op, boi.getOperationInfo());
+            assertSame(boi, binding.getOperation(op.getName()));
+            assertSame(boi, binding.getOperationByLocalName(op.getName().getLocalPart()));
+        }
+        assertNull(binding.getOperation(new OperationInfo(intf, new QName(TEST_NS, "op1"))));
+        assertNull(binding.getOperationByLocalName("unknown"));
+
+        // the index is rebuilt when the operations change
+        BindingOperationInfo boi = binding.getOperation(new QName(TEST_NS, "op1"));
+        binding.removeOperation(boi);
+        assertNull(binding.getOperation(boi.getOperationInfo()));
+        assertNull(binding.getOperationByLocalName("op1"));
+        OperationInfo op = addOperation("added", new QName(TEST_NS, "added"), null);
+        assertSame(op, binding.getOperationByLocalName("added").getOperationInfo());
+    }
+
+    @Test
+    public void testGetOperationsForFirstPart() throws Exception {
+        QName name = new QName(TEST_NS, "element7");
+        assertEquals(Collections.singletonList(intf.getOperation(new QName(TEST_NS, "op7"))),
+                     binding.getOperationsForFirstPart(name, false));
+        assertEquals(Collections.emptyList(), binding.getOperationsForFirstPart(name, true));
+        assertEquals(Collections.emptyList(),
+                     binding.getOperationsForFirstPart(new QName(TEST_NS, "unknown"), false));
+
+        // operations that take any type match every element
+        OperationInfo any = addOperation("any", null, Constants.XSD_ANYTYPE);
+        assertEquals(new HashSet<>(Arrays.asList(intf.getOperation(new QName(TEST_NS, "op7")), any)),
+                     new HashSet<>(binding.getOperationsForFirstPart(name, false)));
+        assertEquals(Collections.singletonList(any),
+                     binding.getOperationsForFirstPart(new QName(TEST_NS, "unknown"), false));
+
+        // the returned list is a copy
+        binding.getOperationsForFirstPart(name, false).clear();
+        assertEquals(2, binding.getOperationsForFirstPart(name, false).size());
+    }
+
+    @Test
+    public void testGetOperationsForChangedFirstPart() throws Exception {
+        QName name = new QName(TEST_NS, "element7");
+        OperationInfo op7 = intf.getOperation(new QName(TEST_NS, "op7"));
+        OperationInfo op1 = intf.getOperation(new QName(TEST_NS, "op1"));
+        assertEquals(Collections.singletonList(op7), binding.getOperationsForFirstPart(name, false));
+
+        // the parts are changed after the index has been built
+        MessagePartInfo part7 = binding.getOperation(op7).getInput().getMessageParts().get(0);
+        part7.setElementQName(new QName(TEST_NS, "renamed"));
+        part7.setConcreteName(new QName(TEST_NS, "renamed"));
+        MessagePartInfo part1 = binding.getOperation(op1).getInput().getMessageParts().get(0);
+        part1.setElementQName(name);
+        part1.setConcreteName(name);
+
+        assertEquals(Collections.singletonList(op1), binding.getOperationsForFirstPart(name, false));
+        assertEquals(Collections.singletonList(op7),
+                     binding.getOperationsForFirstPart(new QName(TEST_NS, "renamed"), false));
+    }
+
+    @Test
+    public void testGetDerivedOperationIndex() throws Exception {
+        Set<String> names = getOperationNames();
+        assertSame(names, getOperationNames());
+        assertTrue(names.contains("op1"));
+
+        // replacing an operation keeps the count the same, but still drops the index
+        binding.removeOperation(binding.getOperation(new QName(TEST_NS, "op1")));
+        addOperation("replaced", new QName(TEST_NS, "replaced"), null);
+        names = getOperationNames();
+        assertEquals(50, names.size());
+        assertFalse(names.contains("op1"));
+        assertTrue(names.contains("replaced"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> getOperationNames() {
+        return binding.getOperationIndex("names", Set.class, bops -> bops.stream()
+            .map(boi -> boi.getName().getLocalPart()).collect(Collectors.toSet()));
+    }
+}
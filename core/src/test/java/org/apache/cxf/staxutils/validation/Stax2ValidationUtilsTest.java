@@ -32,6 +32,9 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.stream.StreamSource;
 
+import org.apache.cxf.Bus;
+import org.apache.cxf.bus.extension.ExtensionManagerBus;
+import org.apache.cxf.common.xmlschema.CompiledSchemaCache;
 import org.apache.cxf.endpoint.Endpoint;
 import org.apache.cxf.service.model.SchemaInfo;
 import org.apache.cxf.service.model.ServiceInfo;
@@ -158,6 +161,23 @@ public class Stax2ValidationUtilsTest {
         assertThat(exception.getMessage(), containsString(errorMessage));
     }
 
+    @Test
+    public void testCompiledSchemaSharedThroughBus() throws Exception {
+        Bus bus = new ExtensionManagerBus();
+        try {
+            assertThat(utils.setupValidation(createReader(validMessage), endpoint, serviceInfo, bus), is(true));
+            assertThat(utils.setupValidation(createReader(validMessage), mock(Endpoint.class), serviceInfo, bus),
+                       is(true));
+
+            CompiledSchemaCache cache = bus.getExtension(CompiledSchemaCache.class);
+            assertThat(cache, is(notNullValue()));
+            assertThat(cache.size(), is(1));
+            assertThat(cache.getStatistics().getHitCount(), is(1L));
+        } finally {
+            bus.shutdown(true);
+        }
+    }
+
     private String getTestBaseURI() {
         ClassLoader classLoader = getClass().getClassLoader();
         File file = new File(classLoader.getResource(schemaPath).getFile());
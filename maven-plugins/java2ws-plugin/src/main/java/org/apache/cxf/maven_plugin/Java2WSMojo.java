@@ -152,6 +152,14 @@ public class Java2WSMojo extends AbstractMojo {
      */
     private Boolean genWrapperbean;
 
+    /**
+     * Generate the JAXB wrapper helper and factory classes at build time, so they are not generated
+     * when the service starts. The sources are generated into target/generated/jaxb-helpers and
+     * compiled into the project output directory; the other generated sources are not affected.
+     * @parameter default-value="false"
+     */
+    private Boolean genJaxbHelpers;
+
     /**
      * @parameter
      */
@@ -354,6 +362,15 @@ public class Java2WSMojo extends AbstractMojo {
             args.add("-wrapperbean");
         }
 
+        if (genJaxbHelpers) {
+            args.add("-jaxbhelpers");
+            args.add("-jaxbhelpersdir");
+            args.add((project.getBuild().getDirectory() + "/generated/jaxb-helpers")
+                .replace("/", File.separator));
+            args.add("-jaxbhelpersclassdir");
+            args.add(project.getBuild().getOutputDirectory());
+        }
+
         if (genWsdl) {
             args.add("-wsdl");
         }
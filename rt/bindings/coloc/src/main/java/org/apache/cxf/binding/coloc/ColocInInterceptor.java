@@ -32,6 +32,7 @@ import org.apache.cxf.message.Exchange;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.phase.AbstractPhaseInterceptor;
 import org.apache.cxf.phase.Phase;
+import org.apache.cxf.phase.PhaseChainCache;
 import org.apache.cxf.phase.PhaseManager;
 import org.apache.cxf.service.model.BindingOperationInfo;
 import org.apache.cxf.service.model.MessageInfo;
@@ -40,6 +41,8 @@ public class ColocInInterceptor extends AbstractPhaseInterceptor<Message> {
 
     private static final Logger LOG = LogUtils.getL7dLogger(ColocInInterceptor.class);
 
+    private final PhaseChainCache chainCache = new PhaseChainCache();
+    private volatile SortedSet<Phase> outPhases;
 
     public ColocInInterceptor() {
         super(Phase.INVOKE);
@@ -52,12 +55,16 @@ public class ColocInInterceptor extends AbstractPhaseInterceptor<Message> {
             return;
         }
 
-        Bus bus = ex.getBus();
-        SortedSet<Phase> phases = new TreeSet<>(bus.getExtension(PhaseManager.class).getOutPhases());
+        SortedSet<Phase> phases = outPhases;
+        if (phases == null) {
+            Bus bus = ex.getBus();
+            phases = new TreeSet<>(bus.getExtension(PhaseManager.class).getOutPhases());
+            ColocUtil.setPhases(phases, Phase.SETUP, Phase.USER_LOGICAL);
+            outPhases = phases;
+        }
 
         //TODO Set Coloc FaultObserver chain
-        ColocUtil.setPhases(phases, Phase.SETUP, Phase.USER_LOGICAL);
-        InterceptorChain chain = ColocUtil.getOutInterceptorChain(ex, phases);
+        InterceptorChain chain = ColocUtil.getOutInterceptorChain(ex, phases, chainCache);
 
         if (LOG.isLoggable(Level.FINER)) {
             LOG.finer("Processing Message at collocated endpoint.  Response message: " + msg);
@@ -42,6 +42,7 @@ import org.apache.cxf.message.ExchangeImpl;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.message.MessageImpl;
 import org.apache.cxf.phase.Phase;
+import org.apache.cxf.phase.PhaseChainCache;
 import org.apache.cxf.phase.PhaseManager;
 import org.apache.cxf.service.Service;
 import org.apache.cxf.service.model.BindingInfo;
@@ -49,11 +50,17 @@ import org.apache.cxf.service.model.BindingOperationInfo;
 import org.apache.cxf.service.model.MessageInfo;
 import org.apache.cxf.service.model.OperationInfo;
 import org.apache.cxf.transport.ChainInitiationObserver;
+import org.apache.cxf.transport.MessageObserver;
 
 public class ColocMessageObserver extends ChainInitiationObserver {
     private static final Logger LOG = LogUtils.getL7dLogger(ColocMessageObserver.class);
     private static final String COLOCATED = Message.class.getName() + ".COLOCATED";
     private ClassLoader loader;
+    private final PhaseChainCache chainCache = new PhaseChainCache();
+    private volatile SortedSet<Phase> inPhases;
+    private volatile MessageObserver faultObserver;
+    private volatile List<Interceptor<? extends Message>> colocInterceptors;
+
     public ColocMessageObserver(Endpoint endpoint, Bus bus) {
         super(endpoint, bus);
         loader = bus.getExtension(ClassLoader.class);
@@ -95,10 +102,7 @@ public class ColocMessageObserver extends ChainInitiationObserver {
             }
 
             //Add all interceptors between USER_LOGICAL and INVOKE.
-            SortedSet<Phase> phases = new TreeSet<>(bus.getExtension(PhaseManager.class).getInPhases());
-            ColocUtil.setPhases(phases, Phase.USER_LOGICAL, Phase.INVOKE);
-            InterceptorChain chain = ColocUtil.getInInterceptorChain(ex, phases);
-            chain.add(addColocInterceptors());
+            InterceptorChain chain = getInInterceptorChain(ex);
             inMsg.setInterceptorChain(chain);
 
             //Convert the coloc object type if necessary
@@ -141,6 +145,29 @@ public class ColocMessageObserver extends ChainInitiationObserver {
         }
     }
 
+    private InterceptorChain getInInterceptorChain(Exchange ex) {
+        SortedSet<Phase> phases = inPhases;
+        if (phases == null) {
+            phases = new TreeSet<>(bus.getExtension(PhaseManager.class).getInPhases());
+            ColocUtil.setPhases(phases, Phase.USER_LOGICAL, Phase.INVOKE);
+            inPhases = phases;
+        }
+        MessageObserver observer = faultObserver;
+        if (observer == null) {
+            observer = new ColocOutFaultObserver(bus);
+            faultObserver = observer;
+        }
+        List<Interceptor<? extends Message>> interceptors = colocInterceptors;
+        if (interceptors == null) {
+            interceptors = addColocInterceptors();
+            colocInterceptors = interceptors;
+        }
+        // the chain is cloned from a cached one, built once for the endpoint
+        InterceptorChain chain = ColocUtil.getInInterceptorChain(ex, phases, chainCache, observer);
+        chain.add(interceptors);
+        return chain;
+    }
+
     protected void setOutBoundMessage(Exchange from, Exchange to) {
         if (from.getOutFaultMessage() != null) {
             to.setInFaultMessage(from.getOutFaultMessage());
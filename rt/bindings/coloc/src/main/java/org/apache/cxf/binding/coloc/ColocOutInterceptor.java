@@ -19,9 +19,11 @@
 package org.apache.cxf.binding.coloc;
 
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -41,6 +43,7 @@ import org.apache.cxf.message.Message;
 import org.apache.cxf.message.MessageImpl;
 import org.apache.cxf.phase.AbstractPhaseInterceptor;
 import org.apache.cxf.phase.Phase;
+import org.apache.cxf.phase.PhaseChainCache;
 import org.apache.cxf.phase.PhaseManager;
 import org.apache.cxf.service.Service;
 import org.apache.cxf.service.model.BindingOperationInfo;
@@ -54,6 +57,14 @@ public class ColocOutInterceptor extends AbstractPhaseInterceptor<Message> {
     private MessageObserver colocObserver;
     private Bus bus;
 
+    // the servers resolved for each operation, and the observers of those servers' endpoints,
+    // valid until a server is started or stopped on the bus
+    private final Map<BindingOperationInfo, ColocTarget> targets = new ConcurrentHashMap<>();
+    private final Map<EndpointInfo, MessageObserver> observers = new ConcurrentHashMap<>();
+    private volatile long generation;
+    private final PhaseChainCache inChainCache = new PhaseChainCache();
+    private volatile SortedSet<Phase> inPhases;
+
     public ColocOutInterceptor() {
         super(Phase.POST_LOGICAL);
     }
@@ -98,7 +109,7 @@ public class ColocOutInterceptor extends AbstractPhaseInterceptor<Message> {
                                                                    BUNDLE));
         }
 
-        Server srv = isColocated(registry.getServers(), senderEndpoint, boi);
+        Server srv = getColocatedServer(registry, senderEndpoint, boi);
 
         if (srv != null) {
             if (LOG.isLoggable(Level.FINE)) {
@@ -124,15 +135,38 @@ public class ColocOutInterceptor extends AbstractPhaseInterceptor<Message> {
         }
     }
 
+    private Server getColocatedServer(ServerRegistry registry, Endpoint endpoint, BindingOperationInfo boi) {
+        ColocServerListener listener = ColocServerListener.getInstance(bus);
+        if (listener == null) {
+            // no way to find out when the servers change, so nothing can be cached
+            return isColocated(registry.getServers(), endpoint, boi);
+        }
+        long current = listener.getGeneration();
+        if (current != generation) {
+            targets.clear();
+            observers.clear();
+            generation = current;
+        }
+        EndpointInfo ei = endpoint.getEndpointInfo();
+        ColocTarget target = targets.get(boi);
+        if (target == null || !target.isValid(ei, current)) {
+            target = new ColocTarget(ei, isColocated(registry.getServers(), endpoint, boi), current);
+            targets.put(boi, target);
+        }
+        return target.server;
+    }
+
     protected void invokeColocObserver(Message outMsg, Endpoint inboundEndpoint) {
-        if (colocObserver == null) {
-            colocObserver = new ColocMessageObserver(inboundEndpoint, bus);
+        MessageObserver observer = colocObserver;
+        if (observer == null) {
+            observer = observers.computeIfAbsent(inboundEndpoint.getEndpointInfo(),
+                ei -> new ColocMessageObserver(inboundEndpoint, bus));
         }
         if (LOG.isLoggable(Level.FINE)) {
             LOG.fine("Invoke on Coloc Observer.");
         }
 
-        colocObserver.onMessage(outMsg);
+        observer.onMessage(outMsg);
     }
 
     protected void invokeInboundChain(Exchange ex, Endpoint ep) {
@@ -156,11 +190,16 @@ public class ColocOutInterceptor extends AbstractPhaseInterceptor<Message> {
         } else {
             //Handle Response
             ex.setInMessage(inMsg);
-            PhaseManager pm = bus.getExtension(PhaseManager.class);
-            SortedSet<Phase> phases = new TreeSet<>(pm.getInPhases());
-            ColocUtil.setPhases(phases, Phase.USER_LOGICAL, Phase.PRE_INVOKE);
+            SortedSet<Phase> phases = inPhases;
+            if (phases == null) {
+                PhaseManager pm = bus.getExtension(PhaseManager.class);
+                phases = new TreeSet<>(pm.getInPhases());
+                ColocUtil.setPhases(phases, Phase.USER_LOGICAL, Phase.PRE_INVOKE);
+                inPhases = phases;
+            }
 
-            InterceptorChain chain = ColocUtil.getInInterceptorChain(ex, phases);
+            InterceptorChain chain = ColocUtil.getInInterceptorChain(ex, phases, inChainCache,
+                                                                     new ColocOutFaultObserver(bus));
             inMsg.setInterceptorChain(chain);
             chain.doIntercept(inMsg);
         }
@@ -218,4 +257,22 @@ public class ColocOutInterceptor extends AbstractPhaseInterceptor<Message> {
         exchange.put(Binding.class, ep.getBinding());
         exchange.put(Bus.class, bus == null ? BusFactory.getDefaultBus(false) : bus);
     }
+
+    private static final class ColocTarget {
+        final EndpointInfo senderEndpointInfo;
+        final Server server;
+        final long generation;
+
+        ColocTarget(EndpointInfo senderEndpointInfo, Server server, long generation) {
+            this.senderEndpointInfo = senderEndpointInfo;
+            this.server = server;
+            this.generation = generation;
+        }
+
+        boolean isValid(EndpointInfo ei, long currentGeneration) {
+            // a stopped server stays registered until it is destroyed, which is not announced
+            return senderEndpointInfo == ei && generation == currentGeneration
+                && (server == null || server.isStarted());
+        }
+    }
 }
@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.binding.coloc;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.endpoint.ServerLifeCycleListener;
+import org.apache.cxf.endpoint.ServerLifeCycleManager;
+
+/**
+ * Counts the servers started and stopped on a bus, so that the coloc interceptors can tell when the
+ * servers they have resolved for their operations may be out of date.
+ */
+final class ColocServerListener implements ServerLifeCycleListener {
+    private final AtomicLong generation = new AtomicLong();
+
+    private ColocServerListener() {
+    }
+
+    /**
+     * Return the listener registered on the bus, registering a new one if there is none yet.
+     * @return the listener, or null if the bus has no ServerLifeCycleManager
+     */
+    static ColocServerListener getInstance(Bus bus) {
+        ColocServerListener listener = bus.getExtension(ColocServerListener.class);
+        if (listener == null) {
+            ServerLifeCycleManager manager = bus.getExtension(ServerLifeCycleManager.class);
+            if (manager == null) {
+                return null;
+            }
+            synchronized (bus) {
+                listener = bus.getExtension(ColocServerListener.class);
+                if (listener == null) {
+                    listener = new ColocServerListener();
+                    manager.registerListener(listener);
+                    bus.setExtension(listener, ColocServerListener.class);
+                }
+            }
+        }
+        return listener;
+    }
+
+    /**
+     * The number of times a server has been started or stopped on the bus.
+     */
+    long getGeneration() {
+        return generation.get();
+    }
+
+    public void startServer(Server server) {
+        generation.incrementAndGet();
+    }
+
+    public void stopServer(Server server) {
+        generation.incrementAndGet();
+    }
+}
@@ -46,12 +46,14 @@ import org.apache.cxf.message.Message;
 import org.apache.cxf.message.MessageContentsList;
 import org.apache.cxf.message.MessageUtils;
 import org.apache.cxf.phase.Phase;
+import org.apache.cxf.phase.PhaseChainCache;
 import org.apache.cxf.phase.PhaseInterceptorChain;
 import org.apache.cxf.service.model.FaultInfo;
 import org.apache.cxf.service.model.MessageInfo;
 import org.apache.cxf.service.model.MessagePartInfo;
 import org.apache.cxf.service.model.OperationInfo;
 import org.apache.cxf.staxutils.StaxUtils;
+import org.apache.cxf.transport.MessageObserver;
 
 public final class ColocUtil {
     private static final Logger LOG = LogUtils.getL7dLogger(ColocUtil.class);
@@ -143,6 +145,52 @@ public final class ColocUtil {
         modifyChain(chain, ex, true);
         return chain;
     }
+
+    /**
+     * Returns the outbound chain for the exchange, cloned from the chain cached in the given
+     * PhaseChainCache unless the interceptors contributed by the endpoint, service, bus or
+     * databinding have changed since it was built. The cache must always be used with the same phases.
+     */
+    public static InterceptorChain getOutInterceptorChain(Exchange ex, SortedSet<Phase> phases,
+                                                          PhaseChainCache chainCache) {
+        Endpoint ep = ex.getEndpoint();
+        Bus bus = ex.getBus();
+        PhaseInterceptorChain chain;
+        if (ep.getService().getDataBinding() instanceof InterceptorProvider) {
+            chain = chainCache.get(phases, ep.getOutInterceptors(), ep.getService().getOutInterceptors(),
+                                   bus.getOutInterceptors(),
+                                   ((InterceptorProvider)ep.getService().getDataBinding()).getOutInterceptors());
+        } else {
+            chain = chainCache.get(phases, ep.getOutInterceptors(), ep.getService().getOutInterceptors(),
+                                   bus.getOutInterceptors());
+        }
+        modifyChain(chain, ex, false);
+        return chain;
+    }
+
+    /**
+     * Returns the inbound chain for the exchange, reusing the chain cached in the given PhaseChainCache
+     * as {@link #getOutInterceptorChain(Exchange, SortedSet, PhaseChainCache)} does.
+     */
+    public static InterceptorChain getInInterceptorChain(Exchange ex, SortedSet<Phase> phases,
+                                                         PhaseChainCache chainCache,
+                                                         MessageObserver faultObserver) {
+        Endpoint ep = ex.getEndpoint();
+        Bus bus = ex.getBus();
+        PhaseInterceptorChain chain;
+        if (ep.getService().getDataBinding() instanceof InterceptorProvider) {
+            chain = chainCache.get(phases, ep.getInInterceptors(), ep.getService().getInInterceptors(),
+                                   bus.getInInterceptors(),
+                                   ((InterceptorProvider)ep.getService().getDataBinding()).getInInterceptors());
+        } else {
+            chain = chainCache.get(phases, ep.getInInterceptors(), ep.getService().getInInterceptors(),
+                                   bus.getInInterceptors());
+        }
+        chain.setFaultObserver(faultObserver);
+        modifyChain(chain, ex, true);
+        return chain;
+    }
+
     private static void modifyChain(PhaseInterceptorChain chain, Exchange ex, boolean in) {
         modifyChain(chain, ex.getInMessage(), in);
         modifyChain(chain, ex.getOutMessage(), in);
@@ -27,10 +27,12 @@ import javax.xml.transform.Source;
 import org.apache.cxf.Bus;
 import org.apache.cxf.BusFactory;
 import org.apache.cxf.binding.Binding;
+import org.apache.cxf.bus.extension.ExtensionManagerBus;
 import org.apache.cxf.bus.managers.PhaseManagerImpl;
 import org.apache.cxf.endpoint.ClientImpl;
 import org.apache.cxf.endpoint.Endpoint;
 import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.endpoint.ServerLifeCycleManager;
 import org.apache.cxf.endpoint.ServerRegistry;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.interceptor.Interceptor;
@@ -230,6 +232,44 @@ public class ColocOutInterceptorTest {
                      intf, msg.get(Message.WSDL_INTERFACE));
     }
 
+    @Test
+    public void testColocatedServerResolvedOncePerServerChange() throws Exception {
+        Bus bus = new ExtensionManagerBus();
+        try {
+            final List<Server> resolved = new ArrayList<>();
+            colocOut = new ColocOutInterceptor(bus) {
+                @Override
+                protected Server isColocated(List<Server> servers, Endpoint endpoint,
+                                             BindingOperationInfo boi) {
+                    resolved.add(null);
+                    return null;
+                }
+            };
+            Endpoint sep = mock(Endpoint.class);
+            when(sep.getEndpointInfo()).thenReturn(mock(EndpointInfo.class));
+            ex.put(Endpoint.class, sep);
+            ex.put(BindingOperationInfo.class, mock(BindingOperationInfo.class));
+
+            colocOut.handleMessage(msg);
+            colocOut.handleMessage(msg);
+            assertEquals(1, resolved.size());
+            assertEquals(Boolean.FALSE, msg.get(COLOCATED));
+
+            // starting a server may make the call a colocated one
+            bus.getExtension(ServerLifeCycleManager.class).startServer(mock(Server.class));
+            colocOut.handleMessage(msg);
+            colocOut.handleMessage(msg);
+            assertEquals(2, resolved.size());
+
+            // as may a different client endpoint invoking the same operation
+            when(sep.getEndpointInfo()).thenReturn(mock(EndpointInfo.class));
+            colocOut.handleMessage(msg);
+            assertEquals(3, resolved.size());
+        } finally {
+            bus.shutdown(true);
+        }
+    }
+
     @Test
     public void testInvokeInboundChain() {
         //Reset Exchange on msg
@@ -19,9 +19,8 @@
 package org.apache.cxf.binding.corba;
 
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.namespace.QName;
 
@@ -34,16 +33,19 @@ public class CorbaTypeMap {
 
     private String targetNamespace;
     private Map<String, CorbaType> typeMap;
+    // filled in lazily while messages are processed, so it must be safe for concurrent use
     private Map<QName, TypeCode> typeCodeMap;
+    private volatile Map<String, QName> repositoryIdMap;
 
     public CorbaTypeMap(String namespace) {
         targetNamespace = namespace;
         typeMap = new HashMap<>();
-        typeCodeMap = new HashMap<>();
+        typeCodeMap = new ConcurrentHashMap<>();
     }
 
     public void addType(String name, CorbaType type) {
         typeMap.put(name, type);
+        repositoryIdMap = null;
     }
 
     public CorbaType getType(String name) {
@@ -79,17 +81,19 @@ public class CorbaTypeMap {
             return null;
         }
 
-        Set<Map.Entry<String, CorbaType>> mapSet = typeMap.entrySet();
-        for (Iterator<Map.Entry<String, CorbaType>> i = mapSet.iterator(); i.hasNext();) {
-            Map.Entry<String, CorbaType> entry = i.next();
-            if (entry.getValue() instanceof NamedType) {
-                NamedType n = (NamedType)entry.getValue();
-                if (n.getRepositoryID().equals(repId)) {
-                    return new QName(getTargetNamespace(), entry.getKey());
+        Map<String, QName> ids = repositoryIdMap;
+        if (ids == null) {
+            ids = new HashMap<>();
+            for (Map.Entry<String, CorbaType> entry : typeMap.entrySet()) {
+                if (entry.getValue() instanceof NamedType) {
+                    String id = ((NamedType)entry.getValue()).getRepositoryID();
+                    if (id != null) {
+                        ids.putIfAbsent(id, new QName(getTargetNamespace(), entry.getKey()));
+                    }
                 }
             }
+            repositoryIdMap = ids;
         }
-
-        return null;
+        return ids.get(repId);
     }
 }
@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.binding.corba.interceptors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.cxf.binding.corba.utils.CorbaUtils;
+import org.apache.cxf.binding.corba.wsdl.ArgType;
+import org.apache.cxf.binding.corba.wsdl.ModeType;
+import org.apache.cxf.binding.corba.wsdl.OperationType;
+import org.apache.cxf.binding.corba.wsdl.ParamType;
+import org.apache.cxf.service.model.BindingOperationInfo;
+import org.apache.cxf.service.model.MessageInfo;
+import org.apache.cxf.service.model.MessagePartInfo;
+import org.apache.cxf.service.model.ServiceInfo;
+
+/**
+ * The parts of the parameter handling of a CORBA binding operation that are the same for every
+ * message: which arguments are sent in each direction and the namespace of the wrapped parameter
+ * elements. It is computed once and stored on the BindingOperationInfo.
+ */
+final class CorbaOperationParams {
+    private static final String KEY = CorbaOperationParams.class.getName();
+
+    private final OperationType operationType;
+    private final boolean wrapped;
+    private final String inWrapNamespace;
+    private final String outWrapNamespace;
+    private final List<ArgType> requestArgs;
+    private final List<ArgType> responseArgs;
+
+    private CorbaOperationParams(BindingOperationInfo boi, ServiceInfo service) {
+        operationType = boi.getExtensor(OperationType.class);
+        wrapped = boi.isUnwrappedCapable();
+        if (wrapped) {
+            inWrapNamespace = getWrapNamespace(boi.getOperationInfo().getInput(), service);
+            outWrapNamespace = getWrapNamespace(boi.getOperationInfo().getOutput(), service);
+        } else {
+            inWrapNamespace = null;
+            outWrapNamespace = null;
+        }
+
+        List<ArgType> request = new ArrayList<>();
+        List<ArgType> response = new ArrayList<>();
+        if (operationType.getReturn() != null) {
+            response.add(operationType.getReturn());
+        }
+        for (ParamType param : operationType.getParam()) {
+            if (!param.getMode().equals(ModeType.OUT)) {
+                request.add(param);
+            }
+            if (!param.getMode().equals(ModeType.IN)) {
+                response.add(param);
+            }
+        }
+        requestArgs = Collections.unmodifiableList(request);
+        responseArgs = Collections.unmodifiableList(response);
+    }
+
+    static CorbaOperationParams get(BindingOperationInfo boi, ServiceInfo service) {
+        CorbaOperationParams params = boi.getProperty(KEY, CorbaOperationParams.class);
+        if (params == null) {
+            params = new CorbaOperationParams(boi, service);
+            boi.setProperty(KEY, params);
+        }
+        return params;
+    }
+
+    OperationType getOperationType() {
+        return operationType;
+    }
+
+    boolean isWrapped() {
+        return wrapped;
+    }
+
+    /**
+     * The namespace of the wrapped input parameters, "" if they are unqualified.
+     */
+    String getInWrapNamespace() {
+        return inWrapNamespace;
+    }
+
+    /**
+     * The namespace of the wrapped output parameters, "" if they are unqualified.
+     */
+    String getOutWrapNamespace() {
+        return outWrapNamespace;
+    }
+
+    /**
+     * The in and inout parameters.
+     */
+    List<ArgType> getRequestArgs() {
+        return requestArgs;
+    }
+
+    /**
+     * The return value followed by the out and inout parameters.
+     */
+    List<ArgType> getResponseArgs() {
+        return responseArgs;
+    }
+
+    private static String getWrapNamespace(MessageInfo msgInfo, ServiceInfo service) {
+        if (msgInfo == null) {
+            return null;
+        }
+        MessagePartInfo part = msgInfo.getMessageParts().get(0);
+        String ns = part.isElement()
+            ? part.getElementQName().getNamespaceURI() : part.getName().getNamespaceURI();
+        return CorbaUtils.isElementFormQualified(service, ns) ? ns : "";
+    }
+}
@@ -18,7 +18,6 @@
  */
 package org.apache.cxf.binding.corba.interceptors;
 
-import java.util.Iterator;
 import java.util.List;
 
 import javax.xml.namespace.QName;
@@ -37,7 +36,6 @@ import org.apache.cxf.binding.corba.types.ParameterEventProducer;
 import org.apache.cxf.binding.corba.types.WrappedParameterSequenceEventProducer;
 import org.apache.cxf.binding.corba.utils.ContextUtils;
 import org.apache.cxf.binding.corba.utils.CorbaAnyHelper;
-import org.apache.cxf.binding.corba.utils.CorbaUtils;
 import org.apache.cxf.binding.corba.wsdl.ModeType;
 import org.apache.cxf.binding.corba.wsdl.OperationType;
 import org.apache.cxf.binding.corba.wsdl.ParamType;
@@ -154,17 +152,12 @@ public class CorbaStreamInInterceptor extends AbstractPhaseInterceptor<Message>
         BindingInfo bInfo = destination.getBindingInfo();
         InterfaceInfo info = bInfo.getInterface();
         String opName = exchange.get(String.class);
-        Iterator<BindingOperationInfo> i = bInfo.getOperations().iterator();
+        BindingOperationInfo bopInfo = bInfo.getOperationByLocalName(opName);
         OperationType opType = null;
-        BindingOperationInfo bopInfo = null;
         QName opQName = null;
-        while (i.hasNext()) {
-            bopInfo = i.next();
-            if (bopInfo.getName().getLocalPart().equals(opName)) {
-                opType = bopInfo.getExtensor(OperationType.class);
-                opQName = bopInfo.getName();
-                break;
-            }
+        if (bopInfo != null) {
+            opType = bopInfo.getExtensor(OperationType.class);
+            opQName = bopInfo.getName();
         }
 
         if (opType == null) {
@@ -253,25 +246,10 @@ public class CorbaStreamInInterceptor extends AbstractPhaseInterceptor<Message>
             MessageInfo input = opInfo.getInput();
             MessageInfo output = opInfo.getOutput();
 
-            String inWrapNSUri = null;
-            String outWrapNSUri = null;
-
-            boolean wrap = false;
-            if (boi.isUnwrappedCapable()) {
-                wrap = true;
-                if (input != null) {
-                    inWrapNSUri = getWrappedParamNamespace(input);
-                    if (!CorbaUtils.isElementFormQualified(service, inWrapNSUri)) {
-                        inWrapNSUri = "";
-                    }
-                }
-                if (output != null) {
-                    outWrapNSUri = getWrappedParamNamespace(output);
-                    if (!CorbaUtils.isElementFormQualified(service, outWrapNSUri)) {
-                        outWrapNSUri = "";
-                    }
-                }
-            }
+            CorbaOperationParams opParams = CorbaOperationParams.get(boi, service);
+            String inWrapNSUri = opParams.getInWrapNamespace();
+            String outWrapNSUri = opParams.getOutWrapNamespace();
+            boolean wrap = opParams.isWrapped();
 
             int inMsgIndex = 0;
             int outMsgIndex = 0;
@@ -333,6 +311,11 @@ public class CorbaStreamInInterceptor extends AbstractPhaseInterceptor<Message>
         return paramQName;
     }
 
+    /**
+     * @deprecated no longer called, the namespace of the wrapped parameters is computed once per
+     * operation and cached on its BindingOperationInfo.
+     */
+    @Deprecated
     protected String getWrappedParamNamespace(MessageInfo msgInfo) {
         MessagePartInfo part = msgInfo.getMessageParts().get(0);
         if (part.isElement()) {
@@ -32,7 +32,6 @@ import org.apache.cxf.binding.corba.runtime.CorbaStreamWriter;
 import org.apache.cxf.binding.corba.types.CorbaHandlerUtils;
 import org.apache.cxf.binding.corba.types.CorbaObjectHandler;
 import org.apache.cxf.binding.corba.utils.ContextUtils;
-import org.apache.cxf.binding.corba.utils.CorbaUtils;
 import org.apache.cxf.binding.corba.wsdl.ArgType;
 import org.apache.cxf.binding.corba.wsdl.CorbaConstants;
 import org.apache.cxf.binding.corba.wsdl.ModeType;
@@ -76,21 +75,13 @@ public class CorbaStreamOutEndingInterceptor extends AbstractPhaseInterceptor<Me
 
     private void handleOutBoundMessage(CorbaMessage message, BindingOperationInfo boi) {
         OperationInfo opInfo = boi.getOperationInfo();
-        OperationType opType = boi.getExtensor(OperationType.class);
+        CorbaOperationParams opParams = CorbaOperationParams.get(boi, service);
+        OperationType opType = opParams.getOperationType();
         List<ParamType> paramTypes = opType.getParam();
 
         MessageInfo outMsgInfo = opInfo.getOutput();
-        String wrapNSUri = null;
-        boolean wrap = false;
-        if (boi.isUnwrappedCapable()) {
-            wrap = true;
-            if (outMsgInfo != null) {
-                wrapNSUri = getWrappedParamNamespace(outMsgInfo);
-                if (!CorbaUtils.isElementFormQualified(service, wrapNSUri)) {
-                    wrapNSUri = "";
-                }
-            }
-        }
+        String wrapNSUri = opParams.getOutWrapNamespace();
+        boolean wrap = opParams.isWrapped();
         CorbaStreamWriter writer = (CorbaStreamWriter) message.getContent(XMLStreamWriter.class);
         CorbaObjectHandler[] objs = writer.getCorbaObjects();
 
@@ -149,21 +140,13 @@ public class CorbaStreamOutEndingInterceptor extends AbstractPhaseInterceptor<Me
 
     private void handleInBoundMessage(CorbaMessage message, BindingOperationInfo boi) {
         OperationInfo opInfo = boi.getOperationInfo();
-        OperationType opType = boi.getExtensor(OperationType.class);
+        CorbaOperationParams opParams = CorbaOperationParams.get(boi, service);
+        OperationType opType = opParams.getOperationType();
         List<ParamType> paramTypes = opType.getParam();
 
         MessageInfo msgInInfo = opInfo.getInput();
-        String wrapNSUri = null;
-        boolean wrap = false;
-        if (boi.isUnwrappedCapable()) {
-            wrap = true;
-            if (msgInInfo != null) {
-                wrapNSUri = getWrappedParamNamespace(msgInInfo);
-                if (!CorbaUtils.isElementFormQualified(service, wrapNSUri)) {
-                    wrapNSUri = "";
-                }
-            }
-        }
+        String wrapNSUri = opParams.getInWrapNamespace();
+        boolean wrap = opParams.isWrapped();
         CorbaStreamWriter writer = (CorbaStreamWriter) message.getContent(XMLStreamWriter.class);
         CorbaObjectHandler[] objs = writer.getCorbaObjects();
         int count = 0;
@@ -223,6 +206,11 @@ public class CorbaStreamOutEndingInterceptor extends AbstractPhaseInterceptor<Me
         return paramQName;
     }
 
+    /**
+     * @deprecated no longer called, the namespace of the wrapped parameters is computed once per
+     * operation and cached on its BindingOperationInfo.
+     */
+    @Deprecated
     protected String getWrappedParamNamespace(MessageInfo msgInfo) {
         MessagePartInfo part = msgInfo.getMessageParts().get(0);
         if (part.isElement()) {
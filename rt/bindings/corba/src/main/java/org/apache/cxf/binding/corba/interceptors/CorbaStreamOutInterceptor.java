@@ -19,21 +19,13 @@
 
 package org.apache.cxf.binding.corba.interceptors;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-
 import javax.xml.stream.XMLStreamWriter;
 
 import org.apache.cxf.binding.corba.CorbaMessage;
 import org.apache.cxf.binding.corba.CorbaTypeMap;
 import org.apache.cxf.binding.corba.runtime.CorbaStreamWriter;
 import org.apache.cxf.binding.corba.utils.ContextUtils;
-import org.apache.cxf.binding.corba.wsdl.ArgType;
 import org.apache.cxf.binding.corba.wsdl.CorbaConstants;
-import org.apache.cxf.binding.corba.wsdl.ModeType;
-import org.apache.cxf.binding.corba.wsdl.OperationType;
-import org.apache.cxf.binding.corba.wsdl.ParamType;
 import org.apache.cxf.message.Exchange;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.phase.AbstractPhaseInterceptor;
@@ -68,46 +60,17 @@ public class CorbaStreamOutInterceptor extends AbstractPhaseInterceptor<Message>
     }
 
     private void handleOutBoundMessage(CorbaMessage message, BindingOperationInfo boi) {
-        boolean wrap = false;
-        if (boi.isUnwrappedCapable()) {
-            wrap = true;
-        }
-        OperationType opType = boi.getExtensor(OperationType.class);
-        List<ParamType> paramTypes = opType.getParam();
-        List<ArgType> params = new ArrayList<>();
-        for (Iterator<ParamType> iter = paramTypes.iterator(); iter.hasNext();) {
-            ParamType param = iter.next();
-            if (!param.getMode().equals(ModeType.OUT)) {
-                params.add(param);
-            }
-        }
-        CorbaStreamWriter writer = new CorbaStreamWriter(orb, params, typeMap, service, wrap);
+        CorbaOperationParams opParams = CorbaOperationParams.get(boi, service);
+        CorbaStreamWriter writer = new CorbaStreamWriter(orb, opParams.getRequestArgs(), typeMap, service,
+                                                         opParams.isWrapped());
         message.setContent(XMLStreamWriter.class, writer);
     }
 
     private void handleInBoundMessage(CorbaMessage message, BindingOperationInfo boi) {
-        boolean wrap = false;
-        if (boi.isUnwrappedCapable()) {
-            wrap = true;
-        }
-        OperationType opType = boi.getExtensor(OperationType.class);
-
-        ArgType returnParam = opType.getReturn();
-        List<ParamType> paramTypes = opType.getParam();
-        List<ArgType> params = new ArrayList<>();
-        if (returnParam != null) {
-            params.add(returnParam);
-        }
-        for (Iterator<ParamType> iter = paramTypes.iterator(); iter.hasNext();) {
-            ParamType param = iter.next();
-            if (!param.getMode().equals(ModeType.IN)) {
-                params.add(param);
-            }
-        }
-        CorbaStreamWriter writer = new CorbaStreamWriter(orb, params, typeMap, service, wrap);
+        CorbaOperationParams opParams = CorbaOperationParams.get(boi, service);
+        CorbaStreamWriter writer = new CorbaStreamWriter(orb, opParams.getResponseArgs(), typeMap, service,
+                                                         opParams.isWrapped());
         message.setContent(XMLStreamWriter.class, writer);
     }
 
-
-
 }
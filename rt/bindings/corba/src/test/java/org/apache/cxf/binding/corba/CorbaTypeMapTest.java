@@ -21,10 +21,15 @@ package org.apache.cxf.binding.corba;
 import javax.xml.namespace.QName;
 
 import org.apache.cxf.binding.corba.wsdl.CorbaType;
+import org.apache.cxf.binding.corba.wsdl.Enum;
+import org.apache.cxf.binding.corba.wsdl.Enumerator;
+import org.omg.CORBA.ORB;
+import org.omg.CORBA.TypeCode;
 
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 public class CorbaTypeMapTest {
 
@@ -48,4 +53,37 @@ public class CorbaTypeMapTest {
         assertEquals(corbatype.getType().getLocalPart(), "xsd1:Test.MultiPart.Colour");
     }
 
+    @Test
+    public void testGetIdlType() throws Exception {
+        java.util.Properties props = System.getProperties();
+        props.put("yoko.orb.id", "CXF-CORBA-Server-Binding");
+        ORB orb = ORB.init(new String[0], props);
+        try {
+            CorbaTypeMap typeMap = new CorbaTypeMap("http://yoko.apache.org/ComplexTypes");
+            typeMap.addType("Colour", createEnum("Colour", "IDL:Colour:1.0"));
+
+            TypeCode colour = orb.create_enum_tc("IDL:Colour:1.0", "Colour", new String[] {"RED"});
+            TypeCode shape = orb.create_enum_tc("IDL:Shape:1.0", "Shape", new String[] {"CIRCLE"});
+            assertEquals(new QName("http://yoko.apache.org/ComplexTypes", "Colour"), typeMap.getIdlType(colour));
+            assertNull(typeMap.getIdlType(shape));
+
+            // types added after a lookup must be found as well
+            typeMap.addType("Shape", createEnum("Shape", "IDL:Shape:1.0"));
+            assertEquals(new QName("http://yoko.apache.org/ComplexTypes", "Shape"), typeMap.getIdlType(shape));
+            assertNull(typeMap.getIdlType(orb.get_primitive_tc(org.omg.CORBA.TCKind.tk_long)));
+        } finally {
+            orb.destroy();
+        }
+    }
+
+    private static Enum createEnum(String name, String repositoryId) {
+        Enum enumType = new Enum();
+        enumType.setName(name);
+        enumType.setRepositoryID(repositoryId);
+        Enumerator enumerator = new Enumerator();
+        enumerator.setValue("VALUE");
+        enumType.getEnumerator().add(enumerator);
+        return enumType;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.binding.soap;
+
+import java.io.ByteArrayInputStream;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import org.apache.cxf.databinding.DataBinding;
+import org.apache.cxf.databinding.DataReader;
+import org.apache.cxf.helpers.DOMUtils;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.staxutils.StaxUtils;
+
+/**
+ * An inbound SOAP header that is kept in serialized form until it is needed. The header is recorded
+ * by the ReadHeadersInterceptor as a range of a buffer that holds the header element wrapped in
+ * the SOAP Envelope and Header elements (so that all the namespace declarations in scope are kept).
+ * It is only parsed into a DOM element, and read with the data binding of its header processor,
+ * when its object is first requested.
+ */
+public class LazySoapHeader extends SoapHeader {
+    private final byte[] buffer;
+    private final int offset;
+    private final int length;
+    private final Message message;
+    private Element element;
+    private boolean materialized;
+
+    public LazySoapHeader(QName q, DataBinding b, byte[] buffer, int offset, int length, Message message) {
+        super(q, null, b);
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        this.message = message;
+        setDirection(Direction.DIRECTION_IN);
+    }
+
+    /**
+     * Returns true once the object of the header has been read or set.
+     */
+    public boolean isMaterialized() {
+        return materialized;
+    }
+
+    /**
+     * Returns the header as a DOM element, parsing it on first use.
+     */
+    public Element getElement() {
+        if (element == null) {
+            try {
+                Document doc = StaxUtils.read(new ByteArrayInputStream(buffer, offset, length));
+                Element header = DOMUtils.getFirstElement(doc.getDocumentElement());
+                Element hel = DOMUtils.getFirstElement(header);
+                // add any attributes of the SOAP Header element, as for the headers that are read eagerly
+                if (header.hasAttributes()) {
+                    NamedNodeMap nnp = header.getAttributes();
+                    for (int ct = 0; ct < nnp.getLength(); ct++) {
+                        Node attr = nnp.item(ct);
+                        if (hel.getAttributeNodeNS(attr.getNamespaceURI(), attr.getLocalName()) == null) {
+                            Attr attribute = doc.createAttributeNS(attr.getNamespaceURI(), attr.getNodeName());
+                            attribute.setNodeValue(attr.getNodeValue());
+                            hel.setAttributeNodeNS(attribute);
+                        }
+                    }
+                }
+                element = hel;
+            } catch (XMLStreamException e) {
+                throw new Fault(e);
+            }
+        }
+        return element;
+    }
+
+    /**
+     * Read the header from the given element, rather than from the buffer, once it is materialized.
+     * This is used when the header is copied into another DOM, such as a SAAJ SOAPPart, so that
+     * changes made to that copy are read.
+     */
+    public void setElement(Element element) {
+        this.element = element;
+    }
+
+    @Override
+    public Object getObject() {
+        if (!materialized) {
+            Element hel = getElement();
+            Object obj = hel;
+            DataBinding dataBinding = getDataBinding();
+            if (dataBinding != null) {
+                DataReader<Node> dataReader = dataBinding.createReader(Node.class);
+                dataReader.setAttachments(message.getAttachments());
+                dataReader.setProperty(DataReader.ENDPOINT, message.getExchange().getEndpoint());
+                dataReader.setProperty(Message.class.getName(), message);
+                obj = dataReader.read(hel);
+            }
+            super.setObject(obj);
+            materialized = true;
+        }
+        return super.getObject();
+    }
+
+    @Override
+    public void setObject(Object object) {
+        materialized = true;
+        super.setObject(object);
+    }
+}
@@ -32,6 +32,8 @@ import javax.xml.stream.XMLEventFactory;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.stream.events.Namespace;
 import javax.xml.stream.events.XMLEvent;
 
 import org.w3c.dom.Attr;
@@ -42,6 +44,7 @@ import org.w3c.dom.Node;
 
 import org.apache.cxf.Bus;
 import org.apache.cxf.annotations.SchemaValidation.SchemaValidationType;
+import org.apache.cxf.binding.soap.LazySoapHeader;
 import org.apache.cxf.binding.soap.Soap11;
 import org.apache.cxf.binding.soap.Soap12;
 import org.apache.cxf.binding.soap.SoapFault;
@@ -57,6 +60,7 @@ import org.apache.cxf.databinding.DataReader;
 import org.apache.cxf.headers.HeaderManager;
 import org.apache.cxf.headers.HeaderProcessor;
 import org.apache.cxf.helpers.DOMUtils;
+import org.apache.cxf.helpers.LoadingByteArrayOutputStream;
 import org.apache.cxf.helpers.ServiceUtils;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.message.MessageUtils;
@@ -73,6 +77,12 @@ public class ReadHeadersInterceptor extends AbstractSoapInterceptor {
     public static final String BODY_EVENTS = "body.events";
     public static final String ENVELOPE_PREFIX = "envelope.prefix";
     public static final String BODY_PREFIX = "body.prefix";
+    /**
+     * Contextual property that enables the lazy mode, in which the SOAP headers are not built into a
+     * DOM document but recorded in serialized form as {@link LazySoapHeader}s, which are only parsed
+     * when an interceptor reads their object.
+     */
+    public static final String LAZY_HEADERS = "org.apache.cxf.binding.soap.lazyHeaders";
     /**
      *
      */
@@ -201,8 +211,12 @@ public class ReadHeadersInterceptor extends AbstractSoapInterceptor {
                         // add the Envelope-Level declarations
                         addCurrentNamespaceDecls(xmlReader, bodyNC);
                     }
-                    HeadersProcessor processor = new HeadersProcessor(soapVersion);
+                    boolean lazy = MessageUtils.getContextualBoolean(message, LAZY_HEADERS, false);
+                    HeadersProcessor processor = new HeadersProcessor(soapVersion, lazy);
                     doc = processor.process(filteredReader);
+                    if (lazy) {
+                        addLazyHeaders(message, processor);
+                    }
                     if (doc != null) {
                         message.setContent(Node.class, doc);
                     } else {
@@ -314,6 +328,21 @@ public class ReadHeadersInterceptor extends AbstractSoapInterceptor {
     }
     //CHECKSTYLE:ON
 
+    private void addLazyHeaders(SoapMessage message, HeadersProcessor processor) {
+        byte[] buffer = processor.getHeaderBuffer();
+        HeaderManager headerManager = bus == null ? null : bus.getExtension(HeaderManager.class);
+        for (HeaderRange range : processor.getHeaderRanges()) {
+            HeaderProcessor p = headerManager == null ? null
+                : headerManager.getHeaderProcessor(range.name.getNamespaceURI());
+            DataBinding dataBinding = p == null ? null : p.getDataBinding();
+            LazySoapHeader shead = new LazySoapHeader(range.name, dataBinding, buffer, range.offset, range.length,
+                                                      message);
+            shead.setMustUnderstand(range.mustUnderstand);
+            shead.setActor(range.actor);
+            message.getHeaders().add(shead);
+        }
+    }
+
     private void addCurrentNamespaceDecls(XMLStreamReader xmlReader, Map<String, String> bodyNsMap) {
         for (int i = 0; i < xmlReader.getNamespaceCount(); i++) {
             String nsuri = xmlReader.getNamespaceURI(i);
@@ -347,6 +376,10 @@ public class ReadHeadersInterceptor extends AbstractSoapInterceptor {
         private QName lastStartElementQName;
         private String envelopePrefix;
         private String bodyPrefix;
+        private final SoapVersion version;
+        private final boolean lazy;
+        private LoadingByteArrayOutputStream headerBuffer;
+        private List<HeaderRange> headerRanges;
 
         static {
             try {
@@ -357,7 +390,9 @@ public class ReadHeadersInterceptor extends AbstractSoapInterceptor {
             }
         }
 
-        HeadersProcessor(SoapVersion version) {
+        HeadersProcessor(SoapVersion version, boolean lazy) {
+            this.version = version;
+            this.lazy = lazy;
             this.header = version.getHeader().getLocalPart();
             this.ns = version.getEnvelope().getNamespaceURI();
             this.envelope = version.getEnvelope().getLocalPart();
@@ -371,6 +406,11 @@ public class ReadHeadersInterceptor extends AbstractSoapInterceptor {
             while (reader.hasNext()) {
                 switch (event) {
                 case XMLStreamConstants.START_ELEMENT:
+                    if (lazy && header.equals(reader.getLocalName()) && ns.equals(reader.getNamespaceURI())) {
+                        // leaves the reader on the end of the Header element
+                        recordHeaders(reader);
+                        break;
+                    }
                     read++;
                     addEvent(eventFactory.createStartElement(new QName(reader.getNamespaceURI(), reader
                                                             .getLocalName(), reader.getPrefix()), null, null));
@@ -467,6 +507,161 @@ public class ReadHeadersInterceptor extends AbstractSoapInterceptor {
             }
         }
 
+        /**
+         * Record each child of the SOAP Header element as a separate fragment in the header buffer,
+         * wrapped in an Envelope and a Header element with the namespace declarations of the
+         * originals, and the attributes of the original Header element.
+         */
+        private void recordHeaders(XMLStreamReader reader) throws XMLStreamException {
+            headerBuffer = new LoadingByteArrayOutputStream();
+            headerRanges = new ArrayList<>();
+            String headerPrefix = reader.getPrefix();
+            List<String[]> headerNamespaces = getNamespaces(reader);
+            List<String[]> headerAttributes = new ArrayList<>(reader.getAttributeCount());
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                headerAttributes.add(new String[] {reader.getAttributePrefix(i), reader.getAttributeNamespace(i),
+                                                   reader.getAttributeLocalName(i), reader.getAttributeValue(i)});
+            }
+            String headerMu = reader.getAttributeValue(ns, version.getAttrNameMustUnderstand());
+            String headerActor = reader.getAttributeValue(ns, version.getAttrNameRole());
+
+            int event = reader.nextTag();
+            while (event == XMLStreamConstants.START_ELEMENT) {
+                int offset = headerBuffer.size();
+                QName name = reader.getName();
+                String mu = reader.getAttributeValue(ns, version.getAttrNameMustUnderstand());
+                String act = reader.getAttributeValue(ns, version.getAttrNameRole());
+                if (mu == null) {
+                    mu = headerMu;
+                }
+                if (StringUtils.isEmpty(act)) {
+                    act = headerActor;
+                }
+
+                XMLStreamWriter writer = StaxUtils.createXMLStreamWriter(headerBuffer);
+                try {
+                    writer.writeStartElement(envelopePrefix, envelope, ns);
+                    writeNamespaces(writer, getEnvelopeNamespaces());
+                    writer.writeStartElement(headerPrefix, header, ns);
+                    writeNamespaces(writer, headerNamespaces);
+                    for (String[] att : headerAttributes) {
+                        writeAttribute(writer, att[0], att[1], att[2], att[3]);
+                    }
+                    writeElement(reader, writer);
+                    writer.writeEndElement();
+                    writer.writeEndElement();
+                    writer.flush();
+                } finally {
+                    StaxUtils.close(writer);
+                }
+
+                HeaderRange range = new HeaderRange(name, offset, headerBuffer.size() - offset);
+                range.mustUnderstand = Boolean.valueOf(mu) || "1".equals(mu);
+                range.actor = StringUtils.isEmpty(act) ? null : act;
+                headerRanges.add(range);
+                event = reader.nextTag();
+            }
+        }
+
+        private List<String[]> getEnvelopeNamespaces() {
+            List<String[]> namespaces = new ArrayList<>();
+            if (envEvents != null) {
+                for (XMLEvent ev : envEvents) {
+                    if (ev.isNamespace()) {
+                        Namespace namespace = (Namespace)ev;
+                        namespaces.add(new String[] {namespace.getPrefix(), namespace.getNamespaceURI()});
+                    }
+                }
+            }
+            return namespaces;
+        }
+
+        private static List<String[]> getNamespaces(XMLStreamReader reader) {
+            List<String[]> namespaces = new ArrayList<>(reader.getNamespaceCount());
+            for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                namespaces.add(new String[] {reader.getNamespacePrefix(i), reader.getNamespaceURI(i)});
+            }
+            return namespaces;
+        }
+
+        private static void writeNamespaces(XMLStreamWriter writer, List<String[]> namespaces)
+            throws XMLStreamException {
+            for (String[] namespace : namespaces) {
+                if (StringUtils.isEmpty(namespace[0])) {
+                    writer.writeDefaultNamespace(namespace[1] == null ? "" : namespace[1]);
+                } else {
+                    writer.writeNamespace(namespace[0], namespace[1]);
+                }
+            }
+        }
+
+        private static void writeAttribute(XMLStreamWriter writer, String prefix, String uri, String local,
+                                           String value) throws XMLStreamException {
+            if (StringUtils.isEmpty(uri)) {
+                writer.writeAttribute(local, value);
+            } else {
+                writer.writeAttribute(prefix == null ? "" : prefix, uri, local, value);
+            }
+        }
+
+        /**
+         * Copy the element the reader is on as is, leaving the reader on its end.
+         */
+        private static void writeElement(XMLStreamReader reader, XMLStreamWriter writer)
+            throws XMLStreamException {
+            int depth = 0;
+            int event = reader.getEventType();
+            while (true) {
+                switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    String prefix = reader.getPrefix();
+                    String uri = reader.getNamespaceURI();
+                    if (StringUtils.isEmpty(uri)) {
+                        writer.writeStartElement(reader.getLocalName());
+                    } else {
+                        writer.writeStartElement(prefix == null ? "" : prefix, reader.getLocalName(), uri);
+                    }
+                    writeNamespaces(writer, getNamespaces(reader));
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        writeAttribute(writer, reader.getAttributePrefix(i), reader.getAttributeNamespace(i),
+                                       reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    writer.writeEndElement();
+                    if (--depth == 0) {
+                        return;
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                    writer.writeCharacters(reader.getText());
+                    break;
+                case XMLStreamConstants.CDATA:
+                    writer.writeCData(reader.getText());
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    writer.writeComment(reader.getText());
+                    break;
+                default:
+                    break;
+                }
+                event = reader.next();
+            }
+        }
+
+        public byte[] getHeaderBuffer() {
+            return headerBuffer == null ? null : headerBuffer.getRawBytes();
+        }
+
+        public List<HeaderRange> getHeaderRanges() {
+            if (headerRanges == null) {
+                return Collections.emptyList();
+            }
+            return headerRanges;
+        }
+
         public List<XMLEvent> getBodyAttributeAndNamespaceEvents() {
             if (bodyEvents == null) {
                 return Collections.emptyList();
@@ -489,4 +684,21 @@ public class ReadHeadersInterceptor extends AbstractSoapInterceptor {
             return bodyPrefix;
         }
     }
+
+    /**
+     * The range of the header buffer that holds a header recorded in the lazy mode.
+     */
+    private static final class HeaderRange {
+        private final QName name;
+        private final int offset;
+        private final int length;
+        private boolean mustUnderstand;
+        private String actor;
+
+        HeaderRange(QName name, int offset, int length) {
+            this.name = name;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
 }
@@ -19,9 +19,14 @@
 
 package org.apache.cxf.binding.soap.interceptor;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import org.apache.cxf.attachment.AttachmentDeserializer;
@@ -40,6 +45,7 @@ import org.apache.cxf.message.Exchange;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.message.MessageUtils;
 import org.apache.cxf.phase.Phase;
+import org.apache.cxf.service.model.BindingInfo;
 import org.apache.cxf.service.model.BindingOperationInfo;
 import org.apache.cxf.service.model.OperationInfo;
 import org.apache.cxf.ws.addressing.JAXWSAConstants;
@@ -49,6 +55,7 @@ public class SoapActionInInterceptor extends AbstractSoapInterceptor {
     private static final Logger LOG = LogUtils.getL7dLogger(SoapActionInInterceptor.class);
     private static final String ALLOW_NON_MATCHING_TO_DEFAULT = "allowNonMatchingToDefaultSoapAction";
     private static final String CALCULATED_WSA_ACTION = SoapActionInInterceptor.class.getName() + ".ACTION";
+    private static final String ACTION_INDEX = SoapActionInInterceptor.class.getName() + ".ACTION_INDEX";
 
     public SoapActionInInterceptor() {
         super(Phase.READ);
@@ -147,28 +154,15 @@ public class SoapActionInInterceptor extends AbstractSoapInterceptor {
             return;
         }
 
-        BindingOperationInfo bindingOp = null;
-
-        Collection<BindingOperationInfo> bops = ep.getEndpointInfo()
-            .getBinding().getOperations();
-        if (bops != null) {
-            for (BindingOperationInfo boi : bops) {
-                if (isActionMatch(message, boi, action)) {
-                    if (bindingOp != null) {
-                        //more than one op with the same action, will need to parse normally
-                        return;
-                    }
-                    bindingOp = boi;
-                }
-                if (matchWSAAction(boi, action)) {
-                    if (bindingOp != null && bindingOp != boi) {
-                        //more than one op with the same action, will need to parse normally
-                        return;
-                    }
-                    bindingOp = boi;
-                }
-            }
+        BindingInfo binding = ep.getEndpointInfo().getBinding();
+        boolean matchDefault = message.getVersion() instanceof Soap12
+            || MessageUtils.getContextualBoolean(message, ALLOW_NON_MATCHING_TO_DEFAULT, false);
+        Collection<BindingOperationInfo> matches = getActionIndex(binding).getOperations(action, matchDefault);
+        if (matches.size() > 1) {
+            //more than one op with the same action, will need to parse normally
+            return;
         }
+        BindingOperationInfo bindingOp = matches.isEmpty() ? null : matches.iterator().next();
 
         if (bindingOp == null) {
             if (strict) {
@@ -183,6 +177,10 @@ public class SoapActionInInterceptor extends AbstractSoapInterceptor {
 
         ex.put(BindingOperationInfo.class, bindingOp);
     }
+    private static ActionIndex getActionIndex(BindingInfo binding) {
+        return binding.getOperationIndex(ACTION_INDEX, ActionIndex.class, ActionIndex::new);
+    }
+
     private static boolean matchWSAAction(BindingOperationInfo boi, String action) {
         Object o = getWSAAction(boi);
         if (o != null) {
@@ -280,4 +278,51 @@ public class SoapActionInInterceptor extends AbstractSoapInterceptor {
                || message.getVersion() instanceof Soap12 && StringUtils.isEmpty(soi.getAction()));
     }
 
+    /**
+     * The operations of a binding by the SOAP actions and WS-Addressing actions they match, so that
+     * the operation can be found without checking every operation of the binding.
+     */
+    private static final class ActionIndex {
+        private final Map<String, List<BindingOperationInfo>> byAction = new HashMap<>();
+        private final List<BindingOperationInfo> noAction = new ArrayList<>();
+
+        ActionIndex(Collection<BindingOperationInfo> bops) {
+            for (BindingOperationInfo boi : bops) {
+                SoapOperationInfo soi = boi.getExtensor(SoapOperationInfo.class);
+                if (soi != null) {
+                    if (StringUtils.isEmpty(soi.getAction())) {
+                        noAction.add(boi);
+                    } else {
+                        add(soi.getAction(), boi);
+                    }
+                }
+                if (boi.getOperationInfo().getInput() != null) {
+                    // the same matches as matchWSAAction
+                    String oa = getWSAAction(boi);
+                    add(oa, boi);
+                    add(oa + "Request", boi);
+                    if (oa.endsWith("Request")) {
+                        add(oa.substring(0, oa.length() - 7), boi);
+                    }
+                }
+            }
+        }
+
+        private void add(String action, BindingOperationInfo boi) {
+            List<BindingOperationInfo> l = byAction.computeIfAbsent(action, k -> new ArrayList<>(1));
+            if (!l.contains(boi)) {
+                l.add(boi);
+            }
+        }
+
+        Collection<BindingOperationInfo> getOperations(String action, boolean matchDefault) {
+            List<BindingOperationInfo> l = byAction.getOrDefault(action, Collections.emptyList());
+            if (!matchDefault || noAction.isEmpty()) {
+                return l;
+            }
+            Set<BindingOperationInfo> matches = new LinkedHashSet<>(l);
+            matches.addAll(noAction);
+            return matches;
+        }
+    }
 }
@@ -0,0 +1,362 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.binding.soap.saaj;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.dom.DOMSource;
+
+import org.w3c.dom.Element;
+
+import jakarta.xml.soap.AttachmentPart;
+import jakarta.xml.soap.MimeHeaders;
+import jakarta.xml.soap.SOAPBody;
+import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPHeader;
+import jakarta.xml.soap.SOAPMessage;
+import jakarta.xml.soap.SOAPPart;
+import org.apache.cxf.binding.soap.SoapMessage;
+import org.apache.cxf.common.util.StringUtils;
+import org.apache.cxf.helpers.DOMUtils;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.io.CachedOutputStream;
+import org.apache.cxf.io.DelegatingInputStream;
+import org.apache.cxf.staxutils.StaxUtils;
+
+/**
+ * A SOAPMessage whose envelope and headers are built right away, but whose body is kept in a
+ * {@link CachedOutputStream} and only parsed into the SAAJ tree when the body, or any node through
+ * which the body can be reached (the SOAPPart or the header), is first accessed. Until then the rest of
+ * the chain reads the body from the cached stream, and reads the headers with {@link #getHeaderOnly}.
+ */
+public class LazySOAPMessage extends SOAPMessage {
+    private final SOAPMessage message;
+    private final SoapMessage soapMessage;
+    private final List<InputStream> streams = new ArrayList<>();
+    private CachedOutputStream body;
+    private XMLStreamReader bodyReader;
+    private boolean parsed;
+
+    LazySOAPMessage(SOAPMessage message, SoapMessage soapMessage, XMLStreamReader reader, boolean isThreshold)
+        throws SOAPException, XMLStreamException, IOException {
+        this.message = message;
+        this.soapMessage = soapMessage;
+
+        body = new CachedOutputStream();
+        body.holdTempFile();
+        SOAPBody soapBody = message.getSOAPPart().getEnvelope().getBody();
+        XMLStreamWriter writer = StaxUtils.createXMLStreamWriter(body);
+        String prefix = soapBody.getPrefix() == null ? "" : soapBody.getPrefix();
+        writer.writeStartElement(prefix, soapBody.getLocalName(), soapBody.getNamespaceURI());
+        // declare everything in scope of the body, so that prefixes used in attribute values
+        // and text still resolve when the body is read back on its own
+        boolean prefixDeclared = false;
+        Iterator<String> prefixes = soapBody.getVisibleNamespacePrefixes();
+        while (prefixes.hasNext()) {
+            String pfx = prefixes.next();
+            String ns = soapBody.getNamespaceURI(pfx);
+            if (ns == null) {
+                continue;
+            }
+            if (StringUtils.isEmpty(pfx)) {
+                writer.writeDefaultNamespace(ns);
+            } else {
+                writer.writeNamespace(pfx, ns);
+            }
+            prefixDeclared |= prefix.equals(pfx);
+        }
+        if (!prefixDeclared) {
+            writer.writeNamespace(prefix, soapBody.getNamespaceURI());
+        }
+        StaxUtils.copy(reader, writer, true, isThreshold);
+        writer.writeEndElement();
+        writer.flush();
+        body.lockOutputStream();
+
+        // the cache is released along with the input of the message
+        InputStream in = soapMessage.getContent(InputStream.class);
+        if (in instanceof DelegatingInputStream) {
+            DelegatingInputStream dis = (DelegatingInputStream)in;
+            dis.setInputStream(new ReleasingInputStream(dis.getInputStream()));
+        } else if (in != null) {
+            soapMessage.setContent(InputStream.class, new ReleasingInputStream(in));
+        }
+    }
+
+    /**
+     * @return true if the body has been parsed into the SAAJ tree
+     */
+    public synchronized boolean isBodyParsed() {
+        return parsed;
+    }
+
+    /**
+     * Return a reader positioned on the first element of the body, read from the cached stream
+     * if the body has not been parsed yet.
+     */
+    public synchronized XMLStreamReader getBodyReader() throws SOAPException {
+        try {
+            XMLStreamReader reader;
+            if (parsed || body == null) {
+                reader = StaxUtils.createXMLStreamReader(
+                    new DOMSource(message.getSOAPPart().getEnvelope().getBody()));
+            } else {
+                reader = StaxUtils.createXMLStreamReader(openBody());
+            }
+            reader.nextTag();
+            reader.nextTag(); // move past body tag
+            if (body != null && bodyReader == null) {
+                bodyReader = reader;
+            }
+            return reader;
+        } catch (XMLStreamException | IOException ex) {
+            throw new SOAPException(ex);
+        }
+    }
+
+    /**
+     * Return the name of the first element of the body, without parsing the body.
+     */
+    public synchronized QName getFirstBodyElementName() throws SOAPException {
+        if (parsed || body == null) {
+            Element el = DOMUtils.getFirstElement(message.getSOAPPart().getEnvelope().getBody());
+            return el == null ? null : new QName(el.getNamespaceURI(), el.getLocalName());
+        }
+        XMLStreamReader reader = null;
+        try {
+            reader = StaxUtils.createXMLStreamReader(openBody());
+            reader.nextTag();
+            return reader.nextTag() == XMLStreamConstants.START_ELEMENT ? reader.getName() : null;
+        } catch (XMLStreamException | IOException ex) {
+            throw new SOAPException(ex);
+        } finally {
+            closeReader(reader);
+        }
+    }
+
+    private InputStream openBody() throws IOException {
+        InputStream in = body.getInputStream();
+        streams.add(in);
+        return in;
+    }
+
+    private void closeReader(XMLStreamReader reader) {
+        try {
+            StaxUtils.close(reader);
+        } catch (XMLStreamException ex) {
+            //ignore
+        }
+        if (!streams.isEmpty()) {
+            try {
+                streams.remove(streams.size() - 1).close();
+            } catch (IOException ex) {
+                //ignore
+            }
+        }
+    }
+
+    private synchronized void parseBody() {
+        if (parsed || body == null) {
+            return;
+        }
+        parsed = true;
+        XMLStreamReader reader = null;
+        try {
+            reader = StaxUtils.createXMLStreamReader(openBody());
+            reader.nextTag();
+            reader.next();
+            SOAPPart part = message.getSOAPPart();
+            StaxUtils.copy(reader, new SAAJStreamWriter(part, part.getEnvelope().getBody()), true);
+        } catch (SOAPException | XMLStreamException | IOException ex) {
+            throw new Fault(ex);
+        } finally {
+            closeReader(reader);
+        }
+
+        XMLStreamReader oldReader = bodyReader;
+        bodyReader = null;
+        release();
+        // the rest of the chain needs to see any changes made to the tree
+        if (oldReader != null && soapMessage.getContent(XMLStreamReader.class) == oldReader) {
+            try {
+                soapMessage.setContent(XMLStreamReader.class, getBodyReader());
+            } catch (SOAPException ex) {
+                throw new Fault(ex);
+            }
+        }
+    }
+
+    private synchronized void release() {
+        if (body == null) {
+            return;
+        }
+        for (InputStream in : streams) {
+            try {
+                in.close();
+            } catch (IOException ex) {
+                //ignore
+            }
+        }
+        streams.clear();
+        body.releaseTempFileHold();
+        try {
+            body.close();
+        } catch (IOException ex) {
+            //ignore
+        }
+        body = null;
+    }
+
+    @Override
+    public SOAPPart getSOAPPart() {
+        parseBody();
+        return message.getSOAPPart();
+    }
+
+    @Override
+    public SOAPBody getSOAPBody() throws SOAPException {
+        parseBody();
+        return SAAJUtils.getBody(message);
+    }
+
+    @Override
+    public SOAPHeader getSOAPHeader() throws SOAPException {
+        // the envelope, and so the body, can be reached from the header
+        parseBody();
+        return SAAJUtils.getHeader(message);
+    }
+
+    /**
+     * Return the header of the message, without parsing the body if the message is a LazySOAPMessage.
+     * The header may only be read: the envelope reached from it may still have an empty body.
+     */
+    public static SOAPHeader getHeaderOnly(SOAPMessage m) throws SOAPException {
+        return SAAJUtils.getHeader(m instanceof LazySOAPMessage ? ((LazySOAPMessage)m).message : m);
+    }
+
+    @Override
+    public String getContentDescription() {
+        return message.getContentDescription();
+    }
+
+    @Override
+    public void setContentDescription(String description) {
+        message.setContentDescription(description);
+    }
+
+    @Override
+    public void removeAllAttachments() {
+        message.removeAllAttachments();
+    }
+
+    @Override
+    public int countAttachments() {
+        return message.countAttachments();
+    }
+
+    @Override
+    public Iterator<AttachmentPart> getAttachments() {
+        return message.getAttachments();
+    }
+
+    @Override
+    public Iterator<AttachmentPart> getAttachments(MimeHeaders headers) {
+        return message.getAttachments(headers);
+    }
+
+    @Override
+    public void removeAttachments(MimeHeaders headers) {
+        message.removeAttachments(headers);
+    }
+
+    @Override
+    public AttachmentPart getAttachment(SOAPElement element) throws SOAPException {
+        return message.getAttachment(element);
+    }
+
+    @Override
+    public void addAttachmentPart(AttachmentPart attachmentPart) {
+        message.addAttachmentPart(attachmentPart);
+    }
+
+    @Override
+    public AttachmentPart createAttachmentPart() {
+        return message.createAttachmentPart();
+    }
+
+    @Override
+    public MimeHeaders getMimeHeaders() {
+        return message.getMimeHeaders();
+    }
+
+    @Override
+    public void saveChanges() throws SOAPException {
+        parseBody();
+        message.saveChanges();
+    }
+
+    @Override
+    public boolean saveRequired() {
+        return message.saveRequired();
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws SOAPException, IOException {
+        parseBody();
+        message.writeTo(out);
+    }
+
+    @Override
+    public void setProperty(String property, Object value) throws SOAPException {
+        message.setProperty(property, value);
+    }
+
+    @Override
+    public Object getProperty(String property) throws SOAPException {
+        return message.getProperty(property);
+    }
+
+    private class ReleasingInputStream extends FilterInputStream {
+        ReleasingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                release();
+            }
+        }
+    }
+}
@@ -51,6 +51,7 @@ import jakarta.xml.soap.SOAPMessage;
 import jakarta.xml.soap.SOAPPart;
 import org.apache.cxf.Bus;
 import org.apache.cxf.attachment.AttachmentDataSource;
+import org.apache.cxf.binding.soap.LazySoapHeader;
 import org.apache.cxf.binding.soap.Soap11;
 import org.apache.cxf.binding.soap.Soap12;
 import org.apache.cxf.binding.soap.SoapFault;
@@ -87,6 +88,8 @@ public class SAAJInInterceptor extends AbstractSoapInterceptor {
 
     private SAAJPreInInterceptor preInterceptor = SAAJPreInInterceptor.INSTANCE;
     private List<PhaseInterceptor<? extends Message>> extras = new ArrayList<>(1);
+    private boolean lazyBody;
+
     public SAAJInInterceptor() {
         super(Phase.PRE_PROTOCOL);
         extras.add(preInterceptor);
@@ -99,6 +102,19 @@ public class SAAJInInterceptor extends AbstractSoapInterceptor {
         return extras;
     }
 
+    public boolean isLazyBody() {
+        return lazyBody;
+    }
+
+    /**
+     * If set, the SOAP body is not copied into the SAAJ tree up front. A {@link LazySOAPMessage}
+     * is set on the message instead, which only builds the body when it, the SOAPPart or the header
+     * is first accessed.
+     */
+    public void setLazyBody(boolean lazyBody) {
+        this.lazyBody = lazyBody;
+    }
+
     /**
      * This class sets up the Document in the Message so that the ReadHeadersInterceptor
      * can read directly into the SAAJ document instead of creating a new DOM
@@ -201,6 +217,9 @@ public class SAAJInInterceptor extends AbstractSoapInterceptor {
                 SOAPBody body = soapMessage.getSOAPBody();
                 events = (List<XMLEvent>)message.get(ReadHeadersInterceptor.BODY_EVENTS);
                 applyEvents(events, body);
+                if (node == null && message.hasHeaders()) {
+                    addLazyHeaders(part, message);
+                }
             }
             message.setContent(Node.class, soapMessage.getSOAPPart());
 
@@ -241,6 +260,12 @@ public class SAAJInInterceptor extends AbstractSoapInterceptor {
             //then we don't want to rely on the system level defaults in StaxUtils.copy
             //CXF-6173
             boolean secureReader = StaxUtils.isSecureReader(xmlReader, message);
+            if (lazyBody) {
+                LazySOAPMessage lazyMessage = new LazySOAPMessage(soapMessage, message, xmlReader, !secureReader);
+                message.setContent(SOAPMessage.class, lazyMessage);
+                message.setContent(XMLStreamReader.class, lazyMessage.getBodyReader());
+                return;
+            }
             StaxUtils.copy(xmlReader,
                            new SAAJStreamWriter(soapMessage.getSOAPPart(),
                                                 soapMessage.getSOAPPart().getEnvelope().getBody()),
@@ -255,7 +280,7 @@ public class SAAJInInterceptor extends AbstractSoapInterceptor {
             throw new SoapFault(new org.apache.cxf.common.i18n.Message(
                     "SOAPHANDLERINTERCEPTOR_EXCEPTION", BUNDLE), soape,
                     message.getVersion().getSender());
-        } catch (XMLStreamException e) {
+        } catch (XMLStreamException | IOException e) {
             throw new SoapFault(new org.apache.cxf.common.i18n.Message(
                     "SOAPHANDLERINTERCEPTOR_EXCEPTION", BUNDLE), e, message
                     .getVersion().getSender());
@@ -268,6 +293,24 @@ public class SAAJInInterceptor extends AbstractSoapInterceptor {
         SAAJUtils.adjustPrefix(env.getHeader(), envPrefix);
     }
 
+    private static void addLazyHeaders(SOAPPart part, SoapMessage message) throws SOAPException {
+        SOAPHeader header = null;
+        for (Header h : message.getHeaders()) {
+            if (h instanceof LazySoapHeader) {
+                if (header == null) {
+                    header = part.getEnvelope().getHeader();
+                    if (header == null) {
+                        header = part.getEnvelope().addHeader();
+                    }
+                }
+                LazySoapHeader lazyHeader = (LazySoapHeader)h;
+                Node imported = header.appendChild(part.importNode(lazyHeader.getElement(), true));
+                // the header is read from the SAAJ model if it is ever needed
+                lazyHeader.setElement((Element)imported);
+            }
+        }
+    }
+
     private static void applyEvents(List<XMLEvent> events, SOAPElement el) throws SOAPException {
         if (events != null) {
             for (XMLEvent ev : events) {
@@ -281,7 +324,7 @@ public class SAAJInInterceptor extends AbstractSoapInterceptor {
     }
 
     public static void replaceHeaders(SOAPMessage soapMessage, SoapMessage message) throws SOAPException {
-        SOAPHeader header = SAAJUtils.getHeader(soapMessage);
+        SOAPHeader header = LazySOAPMessage.getHeaderOnly(soapMessage);
         if (header == null) {
             return;
         }
@@ -289,6 +332,11 @@ public class SAAJInInterceptor extends AbstractSoapInterceptor {
         elem = (Element)DOMUtils.getDomElement(elem);
         
         while (elem != null) {
+            if (isLazyHeaderElement(message, elem)) {
+                // not read yet, and will be read from this element when it is
+                elem = DOMUtils.getNextElement(elem);
+                continue;
+            }
             Bus b = message.getExchange() == null ? null : message.getExchange().getBus();
             HeaderProcessor p = null;
             if (b != null && b.getExtension(HeaderManager.class) != null) {
@@ -326,4 +374,12 @@ public class SAAJInInterceptor extends AbstractSoapInterceptor {
             elem = DOMUtils.getNextElement(elem);
         }
     }
+
+    private static boolean isLazyHeaderElement(SoapMessage message, Element elem) {
+        Header hdr = message.getHeader(new QName(elem.getNamespaceURI(), elem.getLocalName()));
+        if (hdr instanceof LazySoapHeader && !((LazySoapHeader)hdr).isMaterialized()) {
+            return DOMUtils.getDomElement(((LazySoapHeader)hdr).getElement()) == elem;
+        }
+        return false;
+    }
 }
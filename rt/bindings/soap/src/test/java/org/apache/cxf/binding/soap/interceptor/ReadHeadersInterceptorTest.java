@@ -20,12 +20,19 @@
 package org.apache.cxf.binding.soap.interceptor;
 
 import java.io.ByteArrayInputStream;
+import java.util.List;
 import java.util.Map;
 
 import javax.xml.stream.XMLStreamReader;
 
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import org.apache.cxf.binding.soap.LazySoapHeader;
 import org.apache.cxf.binding.soap.Soap11;
+import org.apache.cxf.binding.soap.SoapHeader;
 import org.apache.cxf.binding.soap.SoapMessage;
+import org.apache.cxf.headers.Header;
 import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.staxutils.StaxUtils;
 
@@ -33,8 +40,10 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  *
@@ -49,6 +58,18 @@ public class ReadHeadersInterceptorTest {
             + "</soap:Body>"
             + "</soap:Envelope>").getBytes();
 
+    private static final byte[] TEST_SOAP_HEADERS =
+        ("<soap:Envelope xmlns:soap='http://schemas.xmlsoap.org/soap/envelope/' xmlns:bar='tmp:bar'>"
+            + "<soap:Header xmlns:xs='http://www.w3.org/2001/XMLSchema' bar:attr='value'>"
+            + "<bar:first soap:mustUnderstand='1'><bar:type>xs:string</bar:type></bar:first>"
+            + "<!-- ignored -->"
+            + "<second xmlns='tmp:second' soap:actor='urn:actor'>text<![CDATA[<cdata/>]]></second>"
+            + "</soap:Header>"
+            + "<soap:Body>"
+            + "<ns2:payload xmlns:ns2='urn:tmp:foo'/>"
+            + "</soap:Body>"
+            + "</soap:Envelope>").getBytes();
+
     private ReadHeadersInterceptor interceptor;
 
     @Before
@@ -77,9 +98,48 @@ public class ReadHeadersInterceptorTest {
 
     }
 
+    @Test
+    public void testLazyHeaders() throws Exception {
+        SoapMessage eager = setUpMessage(TEST_SOAP_HEADERS);
+        interceptor.handleMessage(eager);
+
+        SoapMessage message = setUpMessage(TEST_SOAP_HEADERS);
+        message.put(ReadHeadersInterceptor.LAZY_HEADERS, "true");
+        interceptor.handleMessage(message);
+        assertNull(message.getContent(Node.class));
+        assertEquals(Soap11.getInstance().getBody(), message.getContent(XMLStreamReader.class).getName());
+
+        List<Header> headers = message.getHeaders();
+        assertEquals(2, headers.size());
+        for (int i = 0; i < headers.size(); i++) {
+            SoapHeader expected = (SoapHeader)eager.getHeaders().get(i);
+            LazySoapHeader header = (LazySoapHeader)headers.get(i);
+            assertEquals(expected.getName(), header.getName());
+            assertEquals(expected.isMustUnderstand(), header.isMustUnderstand());
+            assertEquals(expected.getActor(), header.getActor());
+            assertEquals(Header.Direction.DIRECTION_IN, header.getDirection());
+            assertFalse(header.isMaterialized());
+
+            Element expectedElement = (Element)expected.getObject();
+            Element element = (Element)header.getObject();
+            assertTrue(header.isMaterialized());
+            assertEquals(StaxUtils.toString(expectedElement), StaxUtils.toString(element));
+            assertEquals("value", element.getAttributeNS("tmp:bar", "attr"));
+            assertEquals("http://www.w3.org/2001/XMLSchema", element.lookupNamespaceURI("xs"));
+            assertEquals("tmp:bar", element.lookupNamespaceURI("bar"));
+        }
+        assertTrue(((SoapHeader)headers.get(0)).isMustUnderstand());
+        assertEquals("urn:actor", ((SoapHeader)headers.get(1)).getActor());
+        assertEquals("text<cdata/>", ((Element)headers.get(1).getObject()).getTextContent());
+    }
+
     private SoapMessage setUpMessage() throws Exception {
+        return setUpMessage(TEST_SOAP);
+    }
+
+    private SoapMessage setUpMessage(byte[] soap) throws Exception {
         SoapMessage message = new SoapMessage(Soap11.getInstance());
-        message.setContent(XMLStreamReader.class, StaxUtils.createXMLStreamReader(new ByteArrayInputStream(TEST_SOAP)));
+        message.setContent(XMLStreamReader.class, StaxUtils.createXMLStreamReader(new ByteArrayInputStream(soap)));
         return message;
     }
 
@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
+import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamReader;
 
 import org.w3c.dom.Element;
@@ -33,9 +34,11 @@ import org.w3c.dom.Node;
 import jakarta.mail.util.ByteArrayDataSource;
 import jakarta.xml.soap.Detail;
 import jakarta.xml.soap.DetailEntry;
+import jakarta.xml.soap.SOAPEnvelope;
 import jakarta.xml.soap.SOAPFault;
 import jakarta.xml.soap.SOAPMessage;
 import org.apache.cxf.BusFactory;
+import org.apache.cxf.binding.soap.LazySoapHeader;
 import org.apache.cxf.binding.soap.Soap12;
 import org.apache.cxf.binding.soap.TestBase;
 import org.apache.cxf.binding.soap.TestUtil;
@@ -43,12 +46,17 @@ import org.apache.cxf.binding.soap.interceptor.CheckFaultInterceptor;
 import org.apache.cxf.binding.soap.interceptor.ReadHeadersInterceptor;
 import org.apache.cxf.binding.soap.interceptor.StartBodyInterceptor;
 import org.apache.cxf.headers.Header;
+import org.apache.cxf.helpers.DOMUtils;
 import org.apache.cxf.interceptor.StaxInInterceptor;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 
@@ -107,6 +115,94 @@ public class SAAJInInterceptorTest extends TestBase {
         assertEquals(2, headerChilds.size());
     }
 
+    @Test
+    public void testLazyBody() throws Exception {
+        prepareSoapMessage("../test-soap-header.xml");
+        saajIntc.setLazyBody(true);
+
+        staxIntc.handleMessage(soapMessage);
+        rhi.handleMessage(soapMessage);
+        sbi.handleMessage(soapMessage);
+        saajIntc.handleMessage(soapMessage);
+
+        LazySOAPMessage lazyMessage = (LazySOAPMessage)soapMessage.getContent(SOAPMessage.class);
+        assertNotNull(LazySOAPMessage.getHeaderOnly(lazyMessage).getFirstChild());
+        assertEquals("itinerary", lazyMessage.getFirstBodyElementName().getLocalPart());
+        assertFalse(lazyMessage.isBodyParsed());
+
+        // the rest of the chain reads the body from the cached copy
+        XMLStreamReader xmlReader = soapMessage.getContent(XMLStreamReader.class);
+        assertEquals("itinerary", xmlReader.getLocalName());
+        assertEquals(2, soapMessage.getHeaders().size());
+
+        // until the body is accessed
+        Element first = DOMUtils.getFirstElement(lazyMessage.getSOAPBody());
+        assertTrue(lazyMessage.isBodyParsed());
+        assertEquals("itinerary", first.getLocalName());
+        assertNotNull(DOMUtils.getFirstElement(first));
+        xmlReader = soapMessage.getContent(XMLStreamReader.class);
+        assertEquals("itinerary", xmlReader.getLocalName());
+    }
+
+    @Test
+    public void testLazyBodyFromHeader() throws Exception {
+        prepareSoapMessage("../test-soap-header.xml");
+        saajIntc.setLazyBody(true);
+
+        staxIntc.handleMessage(soapMessage);
+        rhi.handleMessage(soapMessage);
+        sbi.handleMessage(soapMessage);
+        saajIntc.handleMessage(soapMessage);
+
+        // the body can be reached through the envelope, so it is parsed along with the header
+        LazySOAPMessage lazyMessage = (LazySOAPMessage)soapMessage.getContent(SOAPMessage.class);
+        SOAPEnvelope envelope = (SOAPEnvelope)lazyMessage.getSOAPHeader().getParentElement();
+        assertTrue(lazyMessage.isBodyParsed());
+        Element first = DOMUtils.getFirstElement(envelope.getBody());
+        assertEquals("itinerary", first.getLocalName());
+        assertEquals("itinerary", soapMessage.getContent(XMLStreamReader.class).getLocalName());
+    }
+
+    @Test
+    public void testLazyHeaders() throws Exception {
+        prepareSoapMessage("../test-soap-header.xml");
+        soapMessage.put(ReadHeadersInterceptor.LAZY_HEADERS, Boolean.TRUE);
+
+        staxIntc.handleMessage(soapMessage);
+        rhi.handleMessage(soapMessage);
+        sbi.handleMessage(soapMessage);
+        assertEquals(2, soapMessage.getHeaders().size());
+        for (Header hdr : soapMessage.getHeaders()) {
+            assertFalse(((LazySoapHeader)hdr).isMaterialized());
+        }
+        saajIntc.handleMessage(soapMessage);
+
+        // the headers are in the SAAJ model, but are not read until they are needed
+        SOAPMessage saajMessage = soapMessage.getContent(SOAPMessage.class);
+        Element first = DOMUtils.getFirstElement(saajMessage.getSOAPHeader());
+        assertNotNull(first);
+        assertNotNull(DOMUtils.getNextElement(first));
+        assertEquals(2, soapMessage.getHeaders().size());
+        for (Header hdr : soapMessage.getHeaders()) {
+            assertFalse(((LazySoapHeader)hdr).isMaterialized());
+        }
+        assertEquals("itinerary", soapMessage.getContent(XMLStreamReader.class).getLocalName());
+
+        // and then are read from the SAAJ model, so that changes made there are seen
+        first.setAttributeNS(null, "changed", "true");
+        Header hdr = soapMessage.getHeader(new QName(first.getNamespaceURI(), first.getLocalName()));
+        Element hel = (Element)hdr.getObject();
+        assertTrue(((LazySoapHeader)hdr).isMaterialized());
+        assertEquals("true", hel.getAttributeNS(null, "changed"));
+        assertSame(DOMUtils.getDomElement(first), DOMUtils.getDomElement(hel));
+
+        // replacing the headers only replaces the ones that have been read
+        SAAJInInterceptor.replaceHeaders(saajMessage, soapMessage);
+        for (Header h : soapMessage.getHeaders()) {
+            assertEquals(h.getName().equals(hdr.getName()), !(h instanceof LazySoapHeader));
+        }
+    }
+
     @Test
     public void testFaultDetail() throws Exception {
         try {
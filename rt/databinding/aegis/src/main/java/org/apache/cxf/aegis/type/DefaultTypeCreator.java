@@ -82,6 +82,7 @@ public class DefaultTypeCreator extends AbstractTypeCreator {
         typeInfo.setDefaultMinOccurs(getConfiguration().getDefaultMinOccurs());
         typeInfo.setExtensibleAttributes(getConfiguration().isDefaultExtensibleAttributes());
         typeInfo.setExtensibleElements(getConfiguration().isDefaultExtensibleElements());
+        typeInfo.setPrecompiledAccessors(getConfiguration().isPrecompiledAccessors());
 
         return type;
     }
@@ -39,6 +39,7 @@ public class TypeCreationOptions {
     private int defaultMinOccurs;
     private boolean qualifyElements = true;
     private boolean qualifyAttributes;
+    private boolean precompiledAccessors = true;
 
     public TypeCreationOptions() {
         super();
@@ -127,4 +128,22 @@ public class TypeCreationOptions {
     public void setQualifyAttributes(boolean qualifyAttributes) {
         this.qualifyAttributes = qualifyAttributes;
     }
+
+    /**
+     * Whether bean properties are read and written through MethodHandles resolved once per type,
+     * rather than through reflection for every object.
+     * True by default.
+     * @return
+     */
+    public boolean isPrecompiledAccessors() {
+        return precompiledAccessors;
+    }
+
+    /**
+     * Turn on or off precompiled bean property accessors.
+     * @param precompiledAccessors
+     */
+    public void setPrecompiledAccessors(boolean precompiledAccessors) {
+        this.precompiledAccessors = precompiledAccessors;
+    }
 }
@@ -378,6 +378,7 @@ public class XMLTypeCreator extends AbstractTypeCreator {
             btinfo.setTypeMapping(getTypeMapping());
             btinfo.setDefaultMinOccurs(getConfiguration().getDefaultMinOccurs());
             btinfo.setDefaultNillable(getConfiguration().isDefaultNillable());
+            btinfo.setPrecompiledAccessors(getConfiguration().isPrecompiledAccessors());
 
             if (extensibleElements != null) {
                 btinfo.setExtensibleElements(Boolean.parseBoolean(extensibleElements));
@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.aegis.type.basic;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Reads and writes a single bean property through MethodHandles that are resolved once, when the
+ * BeanTypeInfo is initialized, instead of through reflective calls on the PropertyDescriptor for every
+ * object. Methods that cannot be unreflected are still called through reflection.
+ */
+final class BeanPropertyAccessor {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final PropertyDescriptor descriptor;
+    private final Method readMethod;
+    private final Method writeMethod;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    BeanPropertyAccessor(PropertyDescriptor descriptor) {
+        this.descriptor = descriptor;
+        this.readMethod = descriptor.getReadMethod();
+        this.writeMethod = descriptor.getWriteMethod();
+        this.getter = unreflect(readMethod, GETTER_TYPE);
+        this.setter = unreflect(writeMethod, SETTER_TYPE);
+    }
+
+    private static MethodHandle unreflect(Method method, MethodType type) {
+        if (method == null) {
+            return null;
+        }
+        try {
+            return MethodHandles.lookup().unreflect(method).asType(type);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    PropertyDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    boolean canRead() {
+        return readMethod != null;
+    }
+
+    boolean canWrite() {
+        return writeMethod != null;
+    }
+
+    Object read(Object bean) throws IllegalAccessException, InvocationTargetException {
+        if (getter == null) {
+            return readMethod.invoke(bean);
+        }
+        try {
+            return (Object)getter.invokeExact(bean);
+        } catch (Throwable t) {
+            // same contract as Method.invoke
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    void write(Object bean, Object value) throws IllegalAccessException, InvocationTargetException {
+        if (setter == null) {
+            writeMethod.invoke(bean, value);
+            return;
+        }
+        try {
+            setter.invokeExact(bean, value);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+}
@@ -172,7 +172,7 @@ public class BeanType extends AegisType {
                         Object writeObj;
                         if (type.isFlatArray()) {
                             ArrayType aType = (ArrayType) type;
-                            PropertyDescriptor desc = inf.getPropertyDescriptorFromMappedName(name);
+                            PropertyDescriptor desc = getPropertyDescriptor(inf, name);
                             boolean isList = List.class.isAssignableFrom(desc.getPropertyType());
                             writeObj = aType.readObject(childReader, name, context, !isList);
                         } else {
@@ -279,6 +279,14 @@ public class BeanType extends AegisType {
         }
 
         try {
+            BeanPropertyAccessor accessor = inf.getPropertyAccessor(name);
+            if (accessor != null && accessor.canWrite()) {
+                if (property != null || !accessor.getDescriptor().getPropertyType().isPrimitive()) {
+                    accessor.write(object, property);
+                }
+                return;
+            }
+
             PropertyDescriptor desc = inf.getPropertyDescriptorFromMappedName(name);
 
             Method m = desc.getWriteMethod();
@@ -425,7 +433,7 @@ public class BeanType extends AegisType {
      */
     private boolean isInheritedProperty(BeanTypeInfo beanTypeInfo, QName propertyQName) {
         return beanTypeInfo.isExtension()
-               && beanTypeInfo.getPropertyDescriptorFromMappedName(propertyQName).getReadMethod().
+               && getPropertyDescriptor(beanTypeInfo, propertyQName).getReadMethod().
                 getDeclaringClass() != beanTypeInfo.getTypeClass();
     }
 
@@ -448,9 +456,20 @@ public class BeanType extends AegisType {
         return cwriter;
     }
 
+    private static PropertyDescriptor getPropertyDescriptor(BeanTypeInfo beanTypeInfo, QName name) {
+        BeanPropertyAccessor accessor = beanTypeInfo.getPropertyAccessor(name);
+        return accessor != null ? accessor.getDescriptor() : beanTypeInfo.getPropertyDescriptorFromMappedName(name);
+    }
+
     protected Object readProperty(Object object, QName name) {
         try {
-            PropertyDescriptor desc = getTypeInfo().getPropertyDescriptorFromMappedName(name);
+            BeanTypeInfo inf = getTypeInfo();
+            BeanPropertyAccessor accessor = inf.getPropertyAccessor(name);
+            if (accessor != null && accessor.canRead()) {
+                return accessor.read(object);
+            }
+
+            PropertyDescriptor desc = inf.getPropertyDescriptorFromMappedName(name);
 
             Method m = desc.getReadMethod();
 
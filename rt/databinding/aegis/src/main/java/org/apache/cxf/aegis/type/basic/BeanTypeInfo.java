@@ -31,6 +31,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.namespace.QName;
 
@@ -41,6 +42,18 @@ import org.apache.cxf.aegis.type.TypeMapping;
 import org.apache.cxf.common.util.ReflectionUtil;
 
 public class BeanTypeInfo {
+    /**
+     * The introspected properties only depend on the bean class, so they are shared by every
+     * BeanTypeInfo (and so every service) that maps the class.
+     */
+    private static final ClassValue<PropertyDescriptor[]> PROPERTY_DESCRIPTORS =
+        new ClassValue<PropertyDescriptor[]>() {
+            @Override
+            protected PropertyDescriptor[] computeValue(Class<?> type) {
+                return introspect(type);
+            }
+        };
+
     private Map<QName, QName> mappedName2typeName = new HashMap<>();
     private Map<QName, String> mappedName2pdName = new HashMap<>();
     private Map<QName, AegisType> mappedName2type = new HashMap<>();
@@ -48,6 +61,8 @@ public class BeanTypeInfo {
     private List<QName> attributes = new ArrayList<>();
     private List<QName> elements = new ArrayList<>();
     private PropertyDescriptor[] descriptors;
+    private final Map<QName, BeanPropertyAccessor> accessors = new ConcurrentHashMap<>();
+    private boolean precompiledAccessors = true;
     private TypeMapping typeMapping;
     private volatile boolean initialized;
     private String defaultNamespace;
@@ -114,6 +129,11 @@ public class BeanTypeInfo {
                     mapProperty(descriptors[i]);
                 }
             }
+            if (precompiledAccessors) {
+                for (QName name : mappedName2pdName.keySet()) {
+                    getPropertyAccessor(name);
+                }
+            }
             initialized = true;
         }
     }
@@ -260,6 +280,11 @@ public class BeanTypeInfo {
     }
 
     private void initializeProperties() {
+        descriptors = PROPERTY_DESCRIPTORS.get(beanClass);
+    }
+
+    private static PropertyDescriptor[] introspect(Class<?> beanClass) {
+        PropertyDescriptor[] descriptors = null;
         BeanInfo beanInfo = null;
         try {
             if (beanClass.isInterface() || beanClass.isPrimitive()) {
@@ -285,7 +310,7 @@ public class BeanTypeInfo {
             PropertyDescriptor[] propertyDescriptors = beanInfo.getPropertyDescriptors();
             if (propertyDescriptors != null) {
                 // see comments on this function.
-                descriptors = ReflectionUtil.getPropertyDescriptorsAvoidSunBug(getClass(),
+                descriptors = ReflectionUtil.getPropertyDescriptorsAvoidSunBug(BeanTypeInfo.class,
                                                                                beanInfo,
                                                                                beanClass,
                                                                                propertyDescriptors);
@@ -300,9 +325,10 @@ public class BeanTypeInfo {
                 return o1.getName().compareTo(o2.getName());
             }
         });
+        return descriptors;
     }
 
-    private PropertyDescriptor[] getInterfacePropertyDescriptors(Class<?> clazz) {
+    private static PropertyDescriptor[] getInterfacePropertyDescriptors(Class<?> clazz) {
         List<PropertyDescriptor> pds = new ArrayList<>();
 
         getInterfacePropertyDescriptors(clazz, pds, new HashSet<Class<?>>());
@@ -310,7 +336,7 @@ public class BeanTypeInfo {
         return pds.toArray(new PropertyDescriptor[0]);
     }
 
-    private void getInterfacePropertyDescriptors(Class<?> clazz, List<PropertyDescriptor> pds,
+    private static void getInterfacePropertyDescriptors(Class<?> clazz, List<PropertyDescriptor> pds,
                                                  Set<Class<?>> classes) {
         if (classes.contains(clazz)) {
             return;
@@ -343,7 +369,7 @@ public class BeanTypeInfo {
         }
     }
 
-    private boolean containsPropertyName(List<PropertyDescriptor> pds, String name) {
+    private static boolean containsPropertyName(List<PropertyDescriptor> pds, String name) {
         for (Iterator<PropertyDescriptor> itr = pds.iterator(); itr.hasNext();) {
             PropertyDescriptor pd = itr.next();
             if (pd.getName().equals(name)) {
@@ -357,6 +383,39 @@ public class BeanTypeInfo {
         return getPropertyDescriptor(getPropertyNameFromMappedName(name));
     }
 
+    /**
+     * Return the accessor for the property with the given mapped name, or null if precompiled
+     * accessors are disabled or there is no such property.
+     */
+    BeanPropertyAccessor getPropertyAccessor(QName name) {
+        if (!precompiledAccessors) {
+            return null;
+        }
+        BeanPropertyAccessor accessor = accessors.get(name);
+        if (accessor == null) {
+            PropertyDescriptor desc = getPropertyDescriptorFromMappedName(name);
+            if (desc == null) {
+                return null;
+            }
+            accessor = new BeanPropertyAccessor(desc);
+            accessors.put(name, accessor);
+        }
+        return accessor;
+    }
+
+    public boolean isPrecompiledAccessors() {
+        return precompiledAccessors;
+    }
+
+    /**
+     * Whether properties are read and written through MethodHandles resolved when this type info is
+     * initialized, rather than through reflection on the property descriptors for every object.
+     * True by default.
+     */
+    public void setPrecompiledAccessors(boolean precompiledAccessors) {
+        this.precompiledAccessors = precompiledAccessors;
+    }
+
     protected boolean isAttribute(PropertyDescriptor desc) {
         return false;
     }
@@ -294,6 +294,7 @@ public class Java5TypeCreator extends AbstractTypeCreator {
 
         typeInfo.setDefaultMinOccurs(getConfiguration().getDefaultMinOccurs());
         typeInfo.setDefaultNillable(getConfiguration().isDefaultNillable());
+        typeInfo.setPrecompiledAccessors(getConfiguration().isPrecompiledAccessors());
 
         BeanType type = new BeanType(typeInfo);
         type.setTypeMapping(getTypeMapping());
@@ -146,6 +146,40 @@ public class BeanTest extends AbstractAegisTest {
         assertValid("/b:root/b:howdy[text()='howdy']", element);
     }
 
+    @Test
+    public void testPrecompiledAccessors() throws Exception {
+        defaultContext();
+        BeanType type = new BeanType();
+        type.setTypeClass(SimpleBean.class);
+        type.setTypeMapping(mapping);
+        type.setSchemaType(new QName("urn:Bean", "bean"));
+
+        BeanTypeInfo info = type.getTypeInfo();
+        QName howdy = new QName("urn:Bean", "howdy");
+        BeanPropertyAccessor accessor = info.getPropertyAccessor(howdy);
+        assertNotNull(accessor);
+        assertEquals("howdy", accessor.getDescriptor().getName());
+        // the introspection is shared with every other type info for the class
+        assertTrue(info.getPropertyDescriptors()
+                   == new BeanTypeInfo(SimpleBean.class, "urn:Bean").getPropertyDescriptors());
+
+        ElementReader reader = new ElementReader(getResourceAsStream("bean1.xml"));
+        SimpleBean bean = (SimpleBean)type.readObject(reader, getContext());
+        reader.getXMLStreamReader().close();
+        assertEquals("bleh", bean.getBleh());
+        assertEquals("howdy", bean.getHowdy());
+
+        info.setPrecompiledAccessors(false);
+        assertNull(info.getPropertyAccessor(howdy));
+        reader = new ElementReader(getResourceAsStream("bean1.xml"));
+        bean = (SimpleBean)type.readObject(reader, getContext());
+        reader.getXMLStreamReader().close();
+        assertEquals("howdy", bean.getHowdy());
+
+        Element element = writeObjectToElement(type, bean, getContext());
+        assertValid("/b:root/b:howdy[text()='howdy']", element);
+    }
+
     @Test
     public void testUnmappedProperty() throws Exception {
 
@@ -548,9 +548,11 @@ class JAXBContextInitializer extends ServiceModelVisitor {
     }
 
     private Object createFactory(Class<?> cls) {
-        FactoryClassCreator creator = bus.getExtension(FactoryClassCreator.class);
-
-        Class<?> factoryClass = creator.createFactory(cls);
+        Class<?> factoryClass = JAXBHelperRegistry.getFactoryClass(cls);
+        if (factoryClass == null) {
+            FactoryClassCreator creator = bus.getExtension(FactoryClassCreator.class);
+            factoryClass = creator.createFactory(cls);
+        }
         try {
             return factoryClass.getDeclaredConstructor().newInstance();
         } catch (Exception e) {
@@ -211,6 +211,7 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
     private ValidationEventHandler validationEventHandler;
     private Object escapeHandler;
     private Object noEscapeHandler;
+    private JAXBMarshallerPool marshallerPool = new JAXBMarshallerPool();
 
     private boolean unwrapJAXBElement = true;
     private boolean scanPackages = true;
@@ -637,6 +638,24 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
     }
 
 
+    /**
+     * Returns the pool the Marshallers and Unmarshallers created by the readers and writers
+     * of this data binding are returned to, or null if they are not pooled
+     */
+    public JAXBMarshallerPool getMarshallerPool() {
+        return marshallerPool;
+    }
+
+    /**
+     * Sets the pool of Marshallers and Unmarshallers, pooling is disabled if this is null.
+     * Note that the pooled instances are only reconfigured if the configuration objects
+     * (such as the marshaller properties map) are replaced rather than modified in place.
+     * @param marshallerPool
+     */
+    public void setMarshallerPool(JAXBMarshallerPool marshallerPool) {
+        this.marshallerPool = marshallerPool;
+    }
+
     public boolean isUnwrapJAXBElement() {
         return unwrapJAXBElement;
     }
@@ -861,6 +880,12 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
     private static WrapperHelper compileWrapperHelper(Bus bus, Class<?> wrapperType, Method[] setMethods,
                                                       Method[] getMethods, Method[] jaxbMethods,
                                                       Field[] fields, Object objectFactory) {
+        // prefer a helper which was generated at build time
+        WrapperHelper helper = JAXBHelperRegistry.getWrapperHelper(wrapperType,
+            WrapperHelperClassGenerator.computeSignature(setMethods, getMethods));
+        if (helper != null) {
+            return helper;
+        }
         try {
             WrapperHelperCreator creator = bus.getExtension(WrapperHelperCreator.class);
             return creator.compile(wrapperType, setMethods, getMethods,
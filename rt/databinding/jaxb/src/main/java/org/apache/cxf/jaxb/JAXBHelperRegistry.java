@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxb;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.cxf.common.logging.LogUtils;
+import org.apache.cxf.databinding.WrapperHelper;
+
+/**
+ * Looks up the wrapper helpers and factory classes which were generated at build time (see
+ * {@link JAXBHelperSourceGenerator}), so they do not need to be generated when the service starts.
+ * The generated classes are listed in {@value #INDEX_LOCATION} resources with one
+ * "targetClass:helperClass" entry per line, so types without a generated helper are recognized
+ * without trying to load any classes.
+ */
+public final class JAXBHelperRegistry {
+    public static final String INDEX_LOCATION = "META-INF/cxf/jaxb-helpers.txt";
+
+    private static final Logger LOG = LogUtils.getL7dLogger(JAXBHelperRegistry.class);
+    private static final Map<ClassLoader, Map<String, List<String>>> INDEXES
+        = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private JAXBHelperRegistry() {
+    }
+
+    /**
+     * Return a new instance of the generated wrapper helper for the given wrapper type and signature
+     * (as computed by {@link WrapperHelperClassGenerator#computeSignature}), or null if there is none.
+     */
+    public static WrapperHelper getWrapperHelper(Class<?> wrapperType, String signature) {
+        for (Class<?> cls : getHelperClasses(wrapperType)) {
+            if (WrapperHelper.class.isAssignableFrom(cls)) {
+                try {
+                    WrapperHelper helper = (WrapperHelper)cls.getDeclaredConstructor().newInstance();
+                    if (helper.getSignature().equals(signature)) {
+                        return helper;
+                    }
+                } catch (Exception ex) {
+                    LOG.log(Level.FINE, "Could not create wrapper helper " + cls.getName(), ex);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Return the generated factory class for the given type, or null if there is none.
+     */
+    public static Class<?> getFactoryClass(Class<?> type) {
+        for (Class<?> cls : getHelperClasses(type)) {
+            if (!WrapperHelper.class.isAssignableFrom(cls)) {
+                return cls;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Create the index entry for the given generated helper class.
+     */
+    public static String toIndexEntry(String targetClassName, String helperClassName) {
+        return targetClassName + ':' + helperClassName;
+    }
+
+    private static List<Class<?>> getHelperClasses(Class<?> type) {
+        ClassLoader loader = type.getClassLoader();
+        if (loader == null) {
+            return Collections.emptyList();
+        }
+        List<String> names = INDEXES.computeIfAbsent(loader, JAXBHelperRegistry::loadIndex).get(type.getName());
+        if (names == null) {
+            return Collections.emptyList();
+        }
+        List<Class<?>> classes = new ArrayList<>(names.size());
+        for (String name : names) {
+            try {
+                classes.add(Class.forName(name, true, loader));
+            } catch (ClassNotFoundException | LinkageError ex) {
+                LOG.log(Level.FINE, "Could not load generated helper " + name, ex);
+            }
+        }
+        return classes;
+    }
+
+    private static Map<String, List<String>> loadIndex(ClassLoader loader) {
+        Map<String, List<String>> index = new HashMap<>();
+        try {
+            Enumeration<URL> urls = loader.getResources(INDEX_LOCATION);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                try (InputStream is = url.openStream();
+                    BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+                    String line = reader.readLine();
+                    while (line != null) {
+                        line = line.trim();
+                        int idx = line.indexOf(':');
+                        if (!line.startsWith("#") && idx > 0) {
+                            index.computeIfAbsent(line.substring(0, idx).trim(), k -> new ArrayList<>(1))
+                                .add(line.substring(idx + 1).trim());
+                        }
+                        line = reader.readLine();
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            LOG.log(Level.WARNING, "Could not read " + INDEX_LOCATION, ex);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,295 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxb;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.xml.bind.JAXBElement;
+import org.apache.cxf.common.util.ReflectionUtil;
+import org.apache.cxf.databinding.WrapperHelper;
+
+/**
+ * Generates the Java source of the wrapper helpers and factory classes which would otherwise be
+ * generated with ASM at runtime, so they can be compiled at build time. The generated classes are
+ * listed in an index (see {@link JAXBHelperRegistry}) which is to be packaged along with them.
+ * <p>
+ * Register an instance as the {@link WrapperHelperCreator} and {@link FactoryClassCreator} bus extension
+ * and build the service model to capture the helpers the service needs. Wrapper helpers are then
+ * created with reflection for the remainder of the build, factory classes by the given delegate.
+ */
+public class JAXBHelperSourceGenerator implements WrapperHelperCreator, FactoryClassCreator {
+    private static final String WRAPPER_HELPER_SUFFIX = "_WrapperTypeHelper";
+    private static final String FACTORY_SUFFIX = "Factory";
+
+    private final FactoryClassCreator factoryCreator;
+    private final Map<String, String> sources = new LinkedHashMap<>();
+    private final Map<String, String> index = new LinkedHashMap<>();
+    private final Set<String> generated = new HashSet<>();
+
+    public JAXBHelperSourceGenerator() {
+        this(null);
+    }
+
+    public JAXBHelperSourceGenerator(FactoryClassCreator factoryCreator) {
+        this.factoryCreator = factoryCreator;
+    }
+
+    @Override
+    public WrapperHelper compile(Class<?> wrapperType, Method[] setMethods, Method[] getMethods,
+                                 Method[] jaxbMethods, Field[] fields, Object objectFactory) {
+        String signature = WrapperHelperClassGenerator.computeSignature(setMethods, getMethods);
+        if (generated.add(wrapperType.getName() + '#' + signature) && isAccessible(wrapperType)) {
+            String className = null;
+            for (int count = 1; className == null || sources.containsKey(className); count++) {
+                className = getClassName(wrapperType, WRAPPER_HELPER_SUFFIX + count);
+            }
+            String source = generateWrapperHelper(className, wrapperType, signature, setMethods, getMethods,
+                                                  jaxbMethods, fields,
+                                                  objectFactory == null ? null : objectFactory.getClass());
+            if (source != null) {
+                add(wrapperType, className, source);
+            }
+        }
+        // use the reflection based helper until the generated one is compiled
+        return null;
+    }
+
+    @Override
+    public Class<?> createFactory(Class<?> cls) {
+        if (generated.add(cls.getName()) && isAccessible(cls)) {
+            String className = getClassName(cls, FACTORY_SUFFIX);
+            String source = generateFactory(className, cls);
+            if (source != null) {
+                add(cls, className, source);
+            }
+        }
+        return factoryCreator == null ? null : factoryCreator.createFactory(cls);
+    }
+
+    public FactoryClassCreator getFactoryClassCreator() {
+        return factoryCreator;
+    }
+
+    /**
+     * @return the generated sources keyed by the fully qualified name of the generated class
+     */
+    public Map<String, String> getSources() {
+        return Collections.unmodifiableMap(sources);
+    }
+
+    /**
+     * @return the content of the {@value JAXBHelperRegistry#INDEX_LOCATION} resource listing the
+     *         generated classes
+     */
+    public String getIndex() {
+        StringBuilder b = new StringBuilder();
+        for (Map.Entry<String, String> entry : index.entrySet()) {
+            b.append(JAXBHelperRegistry.toIndexEntry(entry.getValue(), entry.getKey())).append('\n');
+        }
+        return b.toString();
+    }
+
+    private void add(Class<?> target, String className, String source) {
+        sources.put(className, source);
+        index.put(className, target.getName());
+    }
+
+    private static String getClassName(Class<?> cls, String suffix) {
+        StringBuilder b = new StringBuilder(cls.getSimpleName());
+        for (Class<?> c = cls.getEnclosingClass(); c != null; c = c.getEnclosingClass()) {
+            b.insert(0, '_').insert(0, c.getSimpleName());
+        }
+        String pkg = cls.getPackage() == null ? "" : cls.getPackage().getName();
+        return (pkg.isEmpty() ? "" : pkg + '.') + b + suffix;
+    }
+
+    private static boolean isAccessible(Class<?> cls) {
+        while (cls.isArray()) {
+            cls = cls.getComponentType();
+        }
+        if (cls.isPrimitive()) {
+            return true;
+        }
+        if (cls.getCanonicalName() == null) {
+            // local, anonymous or hidden (generated) class
+            return false;
+        }
+        for (Class<?> c = cls; c != null; c = c.getEnclosingClass()) {
+            if (Modifier.isPrivate(c.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static StringBuilder startClass(String className, String interfaceName) {
+        StringBuilder b = new StringBuilder(1024);
+        int idx = className.lastIndexOf('.');
+        if (idx != -1) {
+            b.append("package ").append(className, 0, idx).append(";\n\n");
+        }
+        b.append("// Generated by Apache CXF, do not edit\n");
+        b.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        b.append("public class ").append(className.substring(idx + 1));
+        if (interfaceName != null) {
+            b.append(" implements ").append(interfaceName);
+        }
+        return b.append(" {\n");
+    }
+
+    //CHECKSTYLE:OFF
+    static String generateWrapperHelper(String className, Class<?> wrapperType, String signature,
+                                        Method[] setMethods, Method[] getMethods, Method[] jaxbMethods,
+                                        Field[] fields, Class<?> objectFactoryClass) {
+        String wrapperName = wrapperType.getCanonicalName();
+        StringBuilder b = startClass(className, WrapperHelper.class.getName());
+        if (objectFactoryClass != null) {
+            b.append("    private final ").append(objectFactoryClass.getCanonicalName()).append(" factory = new ")
+                .append(objectFactoryClass.getCanonicalName()).append("();\n\n");
+        }
+        b.append("    public String getSignature() {\n");
+        b.append("        return \"").append(signature).append("\";\n");
+        b.append("    }\n\n");
+
+        b.append("    public Object createWrapperObject(java.util.List<?> lst) {\n");
+        b.append("        ").append(wrapperName).append(" ok = new ").append(wrapperName).append("();\n");
+        for (int x = 0; x < setMethods.length; x++) {
+            if (getMethods[x] == null) {
+                if (setMethods[x] == null && fields[x] == null) {
+                    // null placeholder
+                    continue;
+                }
+                return null;
+            }
+            Class<?> tp = getMethods[x].getReturnType();
+            if (!isAccessible(tp)) {
+                return null;
+            }
+            String tpName = tp.getCanonicalName();
+            if (List.class.isAssignableFrom(tp)) {
+                b.append("        java.util.List<?> current").append(x).append(" = ok.")
+                    .append(getMethods[x].getName()).append("();\n");
+                b.append("        java.util.List<?> value").append(x).append(" = (java.util.List<?>)lst.get(")
+                    .append(x).append(");\n");
+                b.append("        if (current").append(x).append(" == null) {\n");
+                if (setMethods[x] == null) {
+                    b.append("            throw new RuntimeException(\"").append(getMethods[x].getName())
+                        .append(" returned null and there isn't a set method.\");\n");
+                } else {
+                    b.append("            ok.").append(setMethods[x].getName()).append("((").append(tpName)
+                        .append(")value").append(x).append(");\n");
+                }
+                b.append("        } else if (value").append(x).append(" != null) {\n");
+                b.append("            ((java.util.List)current").append(x).append(").addAll(value").append(x)
+                    .append(");\n");
+                b.append("        }\n");
+                continue;
+            }
+            if (setMethods[x] == null) {
+                return null;
+            }
+            String set = "        ok." + setMethods[x].getName() + "(";
+            if (tp.isPrimitive()) {
+                b.append("        if (lst.get(").append(x).append(") != null) {\n");
+                b.append("    ").append(set).append('(')
+                    .append(MethodType.methodType(tp).wrap().returnType().getName())
+                    .append(")lst.get(").append(x).append("));\n");
+                b.append("        }\n");
+            } else if (JAXBElement.class.isAssignableFrom(tp)) {
+                if (objectFactoryClass == null || jaxbMethods[x] == null
+                    || !isAccessible(jaxbMethods[x].getParameterTypes()[0])) {
+                    return null;
+                }
+                b.append(set).append("factory.").append(jaxbMethods[x].getName()).append("((")
+                    .append(jaxbMethods[x].getParameterTypes()[0].getCanonicalName()).append(")lst.get(")
+                    .append(x).append(")));\n");
+            } else {
+                b.append(set).append('(').append(tpName).append(")lst.get(").append(x).append("));\n");
+            }
+        }
+        b.append("        return ok;\n");
+        b.append("    }\n\n");
+
+        b.append("    public java.util.List<Object> getWrapperParts(Object o) {\n");
+        b.append("        ").append(wrapperName).append(" ok = (").append(wrapperName).append(")o;\n");
+        b.append("        java.util.List<Object> ret = new java.util.ArrayList<>();\n");
+        for (int x = 0; x < getMethods.length; x++) {
+            Method method = getMethods[x];
+            if (method == null) {
+                if (fields[x] != null) {
+                    return null;
+                }
+                b.append("        ret.add(null);\n");
+            } else if (JAXBElement.class.isAssignableFrom(method.getReturnType())) {
+                b.append("        jakarta.xml.bind.JAXBElement<?> el").append(x).append(" = ok.")
+                    .append(method.getName()).append("();\n");
+                b.append("        ret.add(el").append(x).append(" == null ? null : el").append(x)
+                    .append(".getValue());\n");
+            } else {
+                b.append("        ret.add(ok.").append(method.getName()).append("());\n");
+            }
+        }
+        b.append("        return ret;\n");
+        b.append("    }\n");
+        b.append("}\n");
+        return b.toString();
+    }
+    //CHECKSTYLE:ON
+
+    static String generateFactory(String className, Class<?> cls) {
+        Constructor<?>[] constructors = ReflectionUtil.getDeclaredConstructors(cls);
+        if (constructors.length == 0 || Modifier.isPrivate(constructors[0].getModifiers())) {
+            return null;
+        }
+        StringBuilder b = startClass(className, null);
+        b.append("    public ").append(cls.getCanonicalName()).append(" create").append(cls.getSimpleName())
+            .append("() {\n");
+        b.append("        return new ").append(cls.getCanonicalName()).append('(');
+        Class<?>[] params = constructors[0].getParameterTypes();
+        for (int i = 0; i < params.length; i++) {
+            if (!isAccessible(params[i])) {
+                return null;
+            }
+            if (i > 0) {
+                b.append(", ");
+            }
+            if (params[i] == boolean.class) {
+                b.append("false");
+            } else {
+                b.append('(').append(params[i].getCanonicalName()).append(')')
+                    .append(params[i].isPrimitive() ? "0" : "null");
+            }
+        }
+        b.append(");\n");
+        b.append("    }\n");
+        b.append("}\n");
+        return b.toString();
+    }
+}
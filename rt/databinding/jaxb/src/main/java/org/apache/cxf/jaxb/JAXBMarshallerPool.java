@@ -0,0 +1,231 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxb;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import org.apache.cxf.common.jaxb.JAXBUtils;
+import org.apache.cxf.common.util.CacheStatistics;
+
+/**
+ * A bounded pool of preconfigured JAXB Marshallers and Unmarshallers. Instances are pooled under a
+ * configuration signature made up of the (identities of the) objects they were configured from, such
+ * as the JAXBContext, listeners, adapters and property maps, so replacing any of those on the data binding
+ * simply results in a new signature. Per-message state (schema, event handler and attachment
+ * (un)marshaller) is reset when an instance is returned to the pool.
+ */
+public class JAXBMarshallerPool {
+    public static final int DEFAULT_MAX_IDLE = 16;
+
+    static final int MAX_SIGNATURES = 32;
+
+    private final Map<Signature, BlockingQueue<Marshaller>> marshallers = new ConcurrentHashMap<>();
+    private final Map<Signature, BlockingQueue<Unmarshaller>> unmarshallers = new ConcurrentHashMap<>();
+    private final int maxIdle;
+    private final CacheStatistics statistics = new CacheStatistics();
+    private final AtomicLong discarded = new AtomicLong();
+
+    public JAXBMarshallerPool() {
+        this(DEFAULT_MAX_IDLE);
+    }
+
+    /**
+     * @param maxIdle the maximum number of idle instances kept per signature, pooling is disabled if
+     *                this is not positive
+     */
+    public JAXBMarshallerPool(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Create the configuration signature of the given objects. Two signatures are equal if the objects
+     * they are made of are identical.
+     */
+    public static Object signature(Object... parts) {
+        return new Signature(parts);
+    }
+
+    /**
+     * Return an idle Marshaller configured according to the given signature, or null if there is none
+     * and a new one must be created.
+     */
+    public Marshaller pollMarshaller(Object signature) {
+        return poll(marshallers, signature);
+    }
+
+    /**
+     * Return an idle Unmarshaller configured according to the given signature, or null if there is none
+     * and a new one must be created.
+     */
+    public Unmarshaller pollUnmarshaller(Object signature) {
+        return poll(unmarshallers, signature);
+    }
+
+    /**
+     * Return a Marshaller which was created for, or polled with, the given signature to the pool.
+     */
+    public void releaseMarshaller(Object signature, Marshaller marshaller) {
+        if (maxIdle <= 0) {
+            return;
+        }
+        marshaller.setAttachmentMarshaller(null);
+        marshaller.setSchema(null);
+        try {
+            marshaller.setEventHandler(null);
+        } catch (JAXBException ex) {
+            discarded.incrementAndGet();
+            return;
+        }
+        offer(marshallers, signature, marshaller);
+    }
+
+    /**
+     * Return an Unmarshaller which was created for, or polled with, the given signature to the pool.
+     */
+    public void releaseUnmarshaller(Object signature, Unmarshaller unmarshaller) {
+        JAXBUtils.closeUnmarshaller(unmarshaller);
+        if (maxIdle <= 0) {
+            return;
+        }
+        unmarshaller.setAttachmentUnmarshaller(null);
+        unmarshaller.setSchema(null);
+        try {
+            unmarshaller.setEventHandler(null);
+        } catch (JAXBException ex) {
+            discarded.incrementAndGet();
+            return;
+        }
+        offer(unmarshallers, signature, unmarshaller);
+    }
+
+    public void clear() {
+        marshallers.clear();
+        unmarshallers.clear();
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    /**
+     * @return the number of idle instances currently in the pool
+     */
+    public int getIdleCount() {
+        int count = 0;
+        for (BlockingQueue<Marshaller> queue : marshallers.values()) {
+            count += queue.size();
+        }
+        for (BlockingQueue<Unmarshaller> queue : unmarshallers.values()) {
+            count += queue.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of released instances which were dropped as the pool was full
+     */
+    public long getDiscardCount() {
+        return discarded.get();
+    }
+
+    /**
+     * @return the statistics of the polls, a hit is a reused instance and a miss means that a new
+     *         instance had to be created
+     */
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    private <T> T poll(Map<Signature, BlockingQueue<T>> pool, Object signature) {
+        BlockingQueue<T> queue = maxIdle > 0 ? pool.get(signature) : null;
+        T instance = queue == null ? null : queue.poll();
+        if (instance == null) {
+            statistics.miss();
+        } else {
+            statistics.hit();
+        }
+        return instance;
+    }
+
+    private <T> void offer(Map<Signature, BlockingQueue<T>> pool, Object signature, T instance) {
+        BlockingQueue<T> queue = pool.get(signature);
+        if (queue == null) {
+            if (pool.size() >= MAX_SIGNATURES) {
+                // the configuration has changed a number of times, drop the stale signatures
+                Iterator<Signature> iterator = pool.keySet().iterator();
+                while (pool.size() >= MAX_SIGNATURES && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+            queue = pool.computeIfAbsent((Signature)signature, s -> new ArrayBlockingQueue<>(maxIdle));
+        }
+        if (!queue.offer(instance)) {
+            discarded.incrementAndGet();
+        }
+    }
+
+    private static final class Signature {
+        private final Object[] parts;
+        private final int hashCode;
+
+        Signature(Object[] parts) {
+            this.parts = parts;
+            int h = 1;
+            for (Object part : parts) {
+                h = 31 * h + System.identityHashCode(part);
+            }
+            this.hashCode = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Signature)) {
+                return false;
+            }
+            Signature other = (Signature)obj;
+            if (hashCode != other.hashCode || parts.length != other.parts.length) {
+                return false;
+            }
+            for (int i = 0; i < parts.length; i++) {
+                if (parts[i] != other.parts[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
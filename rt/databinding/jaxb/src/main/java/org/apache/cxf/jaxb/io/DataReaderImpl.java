@@ -41,6 +41,7 @@ import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.jaxb.JAXBDataBase;
 import org.apache.cxf.jaxb.JAXBDataBinding;
 import org.apache.cxf.jaxb.JAXBEncoderDecoder;
+import org.apache.cxf.jaxb.JAXBMarshallerPool;
 import org.apache.cxf.jaxb.UnmarshallerEventHandler;
 import org.apache.cxf.message.MessageUtils;
 import org.apache.cxf.service.model.MessagePartInfo;
@@ -107,30 +108,25 @@ public class DataReaderImpl<T> extends JAXBDataBase implements DataReader<T> {
         }
     }
 
-    private Unmarshaller createUnmarshaller() {
+    private Object getUnmarshallerSignature() {
+        return JAXBMarshallerPool.signature(context,
+                                            databinding.getUnmarshallerListener(),
+                                            databinding.getUnmarshallerProperties(),
+                                            databinding.getConfiguredXmlAdapters());
+    }
+
+    private Unmarshaller createUnmarshaller(Object signature) {
+        JAXBMarshallerPool pool = databinding.getMarshallerPool();
+        Unmarshaller um = pool == null ? null : pool.pollUnmarshaller(signature);
         try {
-            Unmarshaller um = context.createUnmarshaller();
-            if (databinding.getUnmarshallerListener() != null) {
-                um.setListener(databinding.getUnmarshallerListener());
+            if (um == null) {
+                um = newUnmarshaller();
             }
             if (setEventHandler) {
                 um.setEventHandler(new WSUIDValidationHandler(veventHandler));
             }
-            if (databinding.getUnmarshallerProperties() != null) {
-                for (Map.Entry<String, Object> propEntry
-                    : databinding.getUnmarshallerProperties().entrySet()) {
-                    try {
-                        um.setProperty(propEntry.getKey(), propEntry.getValue());
-                    } catch (PropertyException pe) {
-                        LOG.log(Level.INFO, "PropertyException setting Marshaller properties", pe);
-                    }
-                }
-            }
             um.setSchema(schema);
             um.setAttachmentUnmarshaller(getAttachmentUnmarshaller());
-            for (XmlAdapter<?, ?> adapter : databinding.getConfiguredXmlAdapters()) {
-                um.setAdapter(adapter);
-            }
             return um;
         } catch (jakarta.xml.bind.UnmarshalException ex) {
             throw new Fault(new Message("UNMARSHAL_ERROR", LOG, ex.getLinkedException()
@@ -140,6 +136,36 @@ public class DataReaderImpl<T> extends JAXBDataBase implements DataReader<T> {
         }
     }
 
+    private Unmarshaller newUnmarshaller() throws JAXBException {
+        Unmarshaller um = context.createUnmarshaller();
+        if (databinding.getUnmarshallerListener() != null) {
+            um.setListener(databinding.getUnmarshallerListener());
+        }
+        if (databinding.getUnmarshallerProperties() != null) {
+            for (Map.Entry<String, Object> propEntry
+                : databinding.getUnmarshallerProperties().entrySet()) {
+                try {
+                    um.setProperty(propEntry.getKey(), propEntry.getValue());
+                } catch (PropertyException pe) {
+                    LOG.log(Level.INFO, "PropertyException setting Marshaller properties", pe);
+                }
+            }
+        }
+        for (XmlAdapter<?, ?> adapter : databinding.getConfiguredXmlAdapters()) {
+            um.setAdapter(adapter);
+        }
+        return um;
+    }
+
+    private void releaseUnmarshaller(Object signature, Unmarshaller um, boolean reusable) {
+        JAXBMarshallerPool pool = databinding.getMarshallerPool();
+        if (reusable && pool != null) {
+            pool.releaseUnmarshaller(signature, um);
+        } else {
+            JAXBUtils.closeUnmarshaller(um);
+        }
+    }
+
     public Object read(MessagePartInfo part, T reader) {
         boolean honorJaxbAnnotation = honorJAXBAnnotations(part);
         if (honorJaxbAnnotation) {
@@ -163,30 +189,35 @@ public class DataReaderImpl<T> extends JAXBDataBase implements DataReader<T> {
             }
         }
 
-        Unmarshaller um = createUnmarshaller();
+        Object signature = getUnmarshallerSignature();
+        Unmarshaller um = createUnmarshaller(signature);
+        boolean reusable = false;
         try {
             Object obj = JAXBEncoderDecoder.unmarshall(um, reader, part,
                                                  unwrapJAXBElement);
+            reusable = true;
             onCompleteUnmarshalling();
 
             return obj;
         } finally {
-            JAXBUtils.closeUnmarshaller(um);
+            releaseUnmarshaller(signature, um, reusable);
         }
     }
 
     public Object read(QName name, T input, Class<?> type) {
-        Unmarshaller um = createUnmarshaller();
-
+        Object signature = getUnmarshallerSignature();
+        Unmarshaller um = createUnmarshaller(signature);
+        boolean reusable = false;
         try {
             Object obj = JAXBEncoderDecoder.unmarshall(um, input,
                                              name, type,
                                              unwrapJAXBElement);
+            reusable = true;
             onCompleteUnmarshalling();
 
             return obj;
         } finally {
-            JAXBUtils.closeUnmarshaller(um);
+            releaseUnmarshaller(signature, um, reusable);
         }
 
     }
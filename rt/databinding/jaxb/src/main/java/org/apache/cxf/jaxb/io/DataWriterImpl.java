@@ -47,6 +47,7 @@ import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.jaxb.JAXBDataBase;
 import org.apache.cxf.jaxb.JAXBDataBinding;
 import org.apache.cxf.jaxb.JAXBEncoderDecoder;
+import org.apache.cxf.jaxb.JAXBMarshallerPool;
 import org.apache.cxf.jaxb.MarshallerEventHandler;
 import org.apache.cxf.jaxb.attachment.JAXBAttachmentMarshaller;
 import org.apache.cxf.message.MessageUtils;
@@ -114,6 +115,10 @@ public class DataWriterImpl<T> extends JAXBDataBase implements DataWriter<T> {
 
     }
 
+    /**
+     * Creates a new configured marshaller. It is not taken from the marshaller pool of the
+     * data binding, so it does not need to be given back.
+     */
     public Marshaller createMarshaller(Object elValue, MessagePartInfo part) {
         //Class<?> cls = null;
         //if (part != null) {
@@ -128,15 +133,31 @@ public class DataWriterImpl<T> extends JAXBDataBase implements DataWriter<T> {
         //    Collection<?> col = (Collection<?>)elValue;
         //    elValue = col.toArray((Object[])Array.newInstance(cls.getComponentType(), col.size()));
         //}
-        Marshaller marshaller;
-        try {
+        return createMarshaller(null);
+    }
+
+    private Object getMarshallerSignature() {
+        return JAXBMarshallerPool.signature(context,
+                                            noEscape ? Boolean.TRUE : Boolean.FALSE,
+                                            databinding.getEscapeHandler(),
+                                            databinding.getMarshallerListener(),
+                                            databinding.getDeclaredNamespaceMappings(),
+                                            databinding.getContextualNamespaceMap(),
+                                            databinding.getMarshallerProperties(),
+                                            databinding.getConfiguredXmlAdapters(),
+                                            bus);
+    }
 
-            marshaller = context.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_ENCODING, StandardCharsets.UTF_8.name());
-            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.FALSE);
-            marshaller.setListener(databinding.getMarshallerListener());
-            databinding.applyEscapeHandler(!noEscape, eh -> JAXBUtils.setEscapeHandler(marshaller, eh));
+    /**
+     * @param signature the signature of the pooled marshaller to reuse, or null for a new marshaller
+     */
+    private Marshaller createMarshaller(Object signature) {
+        JAXBMarshallerPool pool = databinding.getMarshallerPool();
+        Marshaller marshaller = pool == null || signature == null ? null : pool.pollMarshaller(signature);
+        try {
+            if (marshaller == null) {
+                marshaller = newMarshaller();
+            }
 
             if (setEventHandler) {
                 ValidationEventHandler h = veventHandler;
@@ -151,26 +172,6 @@ public class DataWriterImpl<T> extends JAXBDataBase implements DataWriter<T> {
                 marshaller.setEventHandler(h);
             }
 
-            final Map<String, String> nspref = databinding.getDeclaredNamespaceMappings();
-            final Map<String, String> nsctxt = databinding.getContextualNamespaceMap();
-            // set the prefix mapper if either of the prefix map is configured
-            if (nspref != null || nsctxt != null) {
-                Object mapper = JAXBUtils.setNamespaceMapper(bus, nspref != null ? nspref : nsctxt, marshaller);
-                if (nsctxt != null) {
-                    setContextualNamespaceDecls(mapper, nsctxt);
-                }
-            }
-            if (databinding.getMarshallerProperties() != null) {
-                for (Map.Entry<String, Object> propEntry
-                    : databinding.getMarshallerProperties().entrySet()) {
-                    try {
-                        marshaller.setProperty(propEntry.getKey(), propEntry.getValue());
-                    } catch (PropertyException pe) {
-                        LOG.log(Level.INFO, "PropertyException setting Marshaller properties", pe);
-                    }
-                }
-            }
-
             marshaller.setSchema(schema);
             AttachmentMarshaller atmarsh = getAttachmentMarshaller();
             marshaller.setAttachmentMarshaller(atmarsh);
@@ -188,12 +189,50 @@ public class DataWriterImpl<T> extends JAXBDataBase implements DataWriter<T> {
         } catch (JAXBException ex) {
             throw new Fault(new Message("MARSHAL_ERROR", LOG, ex.getMessage()), ex);
         }
+        return marshaller;
+    }
+
+    private Marshaller newMarshaller() throws JAXBException {
+        final Marshaller marshaller = context.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_ENCODING, StandardCharsets.UTF_8.name());
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.FALSE);
+        marshaller.setListener(databinding.getMarshallerListener());
+        databinding.applyEscapeHandler(!noEscape, eh -> JAXBUtils.setEscapeHandler(marshaller, eh));
+
+        final Map<String, String> nspref = databinding.getDeclaredNamespaceMappings();
+        final Map<String, String> nsctxt = databinding.getContextualNamespaceMap();
+        // set the prefix mapper if either of the prefix map is configured
+        if (nspref != null || nsctxt != null) {
+            Object mapper = JAXBUtils.setNamespaceMapper(bus, nspref != null ? nspref : nsctxt, marshaller);
+            if (nsctxt != null) {
+                setContextualNamespaceDecls(mapper, nsctxt);
+            }
+        }
+        if (databinding.getMarshallerProperties() != null) {
+            for (Map.Entry<String, Object> propEntry
+                : databinding.getMarshallerProperties().entrySet()) {
+                try {
+                    marshaller.setProperty(propEntry.getKey(), propEntry.getValue());
+                } catch (PropertyException pe) {
+                    LOG.log(Level.INFO, "PropertyException setting Marshaller properties", pe);
+                }
+            }
+        }
         for (XmlAdapter<?, ?> adapter : databinding.getConfiguredXmlAdapters()) {
             marshaller.setAdapter(adapter);
         }
         return marshaller;
     }
 
+    private void releaseMarshaller(Object signature, Marshaller marshaller) {
+        // a marshaller which failed is simply not returned to the pool
+        JAXBMarshallerPool pool = databinding.getMarshallerPool();
+        if (pool != null) {
+            pool.releaseMarshaller(signature, marshaller);
+        }
+    }
+
     //REVISIT should this go into JAXBUtils?
     private static void setContextualNamespaceDecls(Object mapper, Map<String, String> nsctxt) {
         try {
@@ -227,15 +266,21 @@ public class DataWriterImpl<T> extends JAXBDataBase implements DataWriter<T> {
                 && part != null
                 && Boolean.TRUE.equals(part.getProperty(JAXBDataBinding.class.getName()
                                                         + ".CUSTOM_EXCEPTION"))) {
-                JAXBEncoderDecoder.marshallException(createMarshaller(obj, part),
+                Object signature = getMarshallerSignature();
+                Marshaller marshaller = createMarshaller(signature);
+                JAXBEncoderDecoder.marshallException(marshaller,
                                                      (Exception)obj,
                                                      part,
                                                      output);
+                releaseMarshaller(signature, marshaller);
                 onCompleteMarshalling();
             } else {
                 Annotation[] anns = getJAXBAnnotation(part);
                 if (!honorJaxbAnnotation || anns.length == 0) {
-                    JAXBEncoderDecoder.marshall(createMarshaller(obj, part), obj, part, output);
+                    Object signature = getMarshallerSignature();
+                    Marshaller marshaller = createMarshaller(signature);
+                    JAXBEncoderDecoder.marshall(marshaller, obj, part, output);
+                    releaseMarshaller(signature, marshaller);
                     onCompleteMarshalling();
                 } else if (honorJaxbAnnotation && anns.length > 0) {
                     //RpcLit will use the JAXB Bridge to marshall part message when it is
@@ -252,8 +297,10 @@ public class DataWriterImpl<T> extends JAXBDataBase implements DataWriter<T> {
                 }
             }
         } else if (needToRender(part)) {
-            JAXBEncoderDecoder.marshallNullElement(createMarshaller(null, part),
-                                                   output, part);
+            Object signature = getMarshallerSignature();
+            Marshaller marshaller = createMarshaller(signature);
+            JAXBEncoderDecoder.marshallNullElement(marshaller, output, part);
+            releaseMarshaller(signature, marshaller);
 
             onCompleteMarshalling();
         }
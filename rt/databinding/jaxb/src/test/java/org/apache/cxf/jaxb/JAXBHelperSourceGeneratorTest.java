@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxb;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.cxf.bus.extension.ExtensionManagerBus;
+import org.apache.cxf.common.util.Compiler;
+import org.apache.cxf.databinding.WrapperHelper;
+import org.apache.cxf.helpers.FileUtils;
+import org.apache.cxf.jaxb.JAXBWrapperHelperTest.SetIsOK;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class JAXBHelperSourceGeneratorTest {
+    private File dir;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = FileUtils.createTmpDir();
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.removeDir(dir);
+    }
+
+    @Test
+    public void testGeneratedHelpersCompile() throws Exception {
+        JAXBHelperSourceGenerator generator = new JAXBHelperSourceGenerator();
+        ExtensionManagerBus bus = new ExtensionManagerBus();
+        bus.setExtension(generator, WrapperHelperCreator.class);
+        try {
+            JAXBDataBinding db = new JAXBDataBinding();
+            db.setBus(bus);
+            WrapperHelper reflective = db.createWrapperHelper(SetIsOK.class, null,
+                Arrays.asList("Parameter1", "Parameter2", "Parameter3", "Parameter4", "Parameter5"),
+                Arrays.asList("boolean", "int", "boolean", "string", "string"),
+                Arrays.asList(Boolean.TYPE, Integer.TYPE, boolean[].class, String.class, List.class));
+            assertTrue(reflective instanceof JAXBWrapperHelper);
+            assertNull(generator.createFactory(NoDefaultConstructor.class));
+        } finally {
+            bus.shutdown(false);
+        }
+
+        String helperName = "org.apache.cxf.jaxb.JAXBWrapperHelperTest_SetIsOK_WrapperTypeHelper1";
+        String factoryName = "org.apache.cxf.jaxb.JAXBHelperSourceGeneratorTest_NoDefaultConstructorFactory";
+        assertEquals(Arrays.asList(helperName, factoryName), new ArrayList<>(generator.getSources().keySet()));
+        assertEquals(SetIsOK.class.getName() + ':' + helperName + '\n'
+                     + NoDefaultConstructor.class.getName() + ':' + factoryName + '\n',
+                     generator.getIndex());
+
+        List<File> files = new ArrayList<>();
+        for (Map.Entry<String, String> entry : generator.getSources().entrySet()) {
+            File file = new File(dir, entry.getKey().replace('.', File.separatorChar) + ".java");
+            file.getParentFile().mkdirs();
+            Files.write(file.toPath(), entry.getValue().getBytes(StandardCharsets.UTF_8));
+            files.add(file);
+        }
+        Compiler compiler = new Compiler();
+        compiler.setOutputDir(dir);
+        assertTrue(compiler.getErrors().toString(), compiler.compileFiles(files));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {dir.toURI().toURL()},
+                                                        getClass().getClassLoader())) {
+            WrapperHelper helper = (WrapperHelper)loader.loadClass(helperName)
+                .getDeclaredConstructor().newInstance();
+            assertEquals("5:isParameter1/boolean,getParameter2/int,getParameter3/[Z,"
+                         + "getParameter4/java.lang.String,getParameter5/java.util.List,",
+                         helper.getSignature());
+
+            SetIsOK ok = new SetIsOK();
+            ok.setParameter2(42);
+            ok.setParameter3(new boolean[] {true, false});
+            ok.setParameter4("hello");
+            ok.getParameter5().add("world");
+            List<Object> parts = helper.getWrapperParts(ok);
+            assertEquals(Arrays.asList(Boolean.FALSE, 42, ok.getParameter3(), "hello", ok.getParameter5()),
+                         parts);
+
+            parts.set(0, Boolean.TRUE);
+            parts.set(1, null);
+            SetIsOK created = (SetIsOK)helper.createWrapperObject(parts);
+            assertTrue(created.isParameter1());
+            assertEquals(0, created.getParameter2());
+            assertTrue(created.getParameter3()[0]);
+            assertFalse(created.getParameter3()[1]);
+            assertEquals("hello", created.getParameter4());
+            assertEquals(Arrays.asList("world"), created.getParameter5());
+
+            Object factory = loader.loadClass(factoryName).getDeclaredConstructor().newInstance();
+            NoDefaultConstructor value = (NoDefaultConstructor)factory.getClass()
+                .getMethod("createNoDefaultConstructor").invoke(factory);
+            assertNull(value.name);
+            assertEquals(0, value.count);
+        }
+    }
+
+    public static class NoDefaultConstructor {
+        final String name;
+        final int count;
+
+        public NoDefaultConstructor(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+}
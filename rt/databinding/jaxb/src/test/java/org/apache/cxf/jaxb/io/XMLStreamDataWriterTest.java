@@ -36,6 +36,7 @@ import jakarta.xml.bind.ValidationEventHandler;
 import org.apache.cxf.databinding.DataWriter;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.jaxb.JAXBDataBinding;
+import org.apache.cxf.jaxb.JAXBMarshallerPool;
 import org.apache.cxf.service.model.MessagePartInfo;
 import org.apache.cxf.staxutils.DepthXMLStreamReader;
 import org.apache.cxf.staxutils.StaxUtils;
@@ -240,6 +241,43 @@ public class XMLStreamDataWriterTest {
         assertEquals("This is a symbol", reader.getText());
     }
 
+    @Test
+    public void testWriteReusesPooledMarshaller() throws Exception {
+        JAXBDataBinding db = getTestWriterFactory(TradePriceData.class);
+        JAXBMarshallerPool pool = db.getMarshallerPool();
+        DataWriter<XMLStreamWriter> dw = db.createWriter(XMLStreamWriter.class);
+
+        TradePriceData val = new TradePriceData();
+        val.setTickerSymbol("This is a symbol");
+        val.setTickerPrice(1.0f);
+
+        QName elName = new QName("http://apache.org/hello_world_doc_lit_bare/types", "inout");
+        MessagePartInfo part = new MessagePartInfo(elName, null);
+        part.setElement(true);
+        part.setElementQName(elName);
+        streamWriter.writeStartElement("root");
+        dw.write(val, part, streamWriter);
+        dw.write(val, part, streamWriter);
+        assertEquals(1L, pool.getStatistics().getMissCount());
+        assertEquals(1L, pool.getStatistics().getHitCount());
+        assertEquals(1, pool.getIdleCount());
+
+        // a new configuration requires a new marshaller
+        db.setMarshallerProperties(new HashMap<>());
+        dw.write(val, part, streamWriter);
+        assertEquals(2L, pool.getStatistics().getMissCount());
+        assertEquals(2, pool.getIdleCount());
+
+        // the marshallers created for the callers are not taken from the pool, as they are never returned
+        assertNotNull(((DataWriterImpl<XMLStreamWriter>)dw).createMarshaller(val, part));
+        assertEquals(2L, pool.getStatistics().getMissCount());
+        assertEquals(2, pool.getIdleCount());
+
+        streamWriter.writeEndElement();
+        streamWriter.flush();
+        assertEquals(3, baos.toString().split("tickerSymbol>This is a symbol</").length - 1);
+    }
+
     @Test
     public void testWriteWrapper() throws Exception {
         JAXBDataBinding db = getTestWriterFactory(GreetMe.class);
@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the resource methods (or all the methods of a resource class) whose responses
+ * can be cached by {@link ResponseCacheFeature}. The responses of the methods which are not
+ * annotated are only cached if they have a public Cache-Control header with a max-age.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheResponse {
+    /**
+     * The time in seconds for which the response is cached. If it is negative then
+     * the max-age (or s-maxage) of the response Cache-Control header is used.
+     */
+    int maxAge() default -1;
+
+    /**
+     * The tags the cached response is associated with, see {@link ResponseCache#invalidate(String)}.
+     */
+    String[] tags() default {};
+
+    /**
+     * The names of the request headers (in addition to Accept) the response depends upon.
+     */
+    String[] vary() default {};
+}
@@ -0,0 +1,174 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
+import jakarta.ws.rs.ext.RuntimeDelegate;
+import jakarta.ws.rs.ext.RuntimeDelegate.HeaderDelegate;
+import org.apache.cxf.jaxrs.impl.MetadataMap;
+import org.apache.cxf.jaxrs.utils.HttpUtils;
+
+/**
+ * A cached response: the status, the headers and the serialized body.
+ */
+class CachedResponse {
+    private static final Set<String> TRANSIENT_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    private static final List<String> NOT_MODIFIED_HEADERS = Arrays.asList(
+        HttpHeaders.CACHE_CONTROL, HttpHeaders.CONTENT_LOCATION, HttpHeaders.EXPIRES, HttpHeaders.VARY);
+    static {
+        TRANSIENT_HEADERS.add(HttpHeaders.CONTENT_LENGTH);
+        TRANSIENT_HEADERS.add(HttpHeaders.DATE);
+        TRANSIENT_HEADERS.add(HttpHeaders.SET_COOKIE);
+        TRANSIENT_HEADERS.add("Transfer-Encoding");
+    }
+
+    private final ResponseCache.Key key;
+    private final int status;
+    private final Set<String> tags;
+    private final long expiry;
+    private MultivaluedMap<String, String> headers;
+    private byte[] body;
+    private EntityTag entityTag;
+
+    CachedResponse(ResponseCache.Key key, int status, Set<String> tags, long expiry) {
+        this.key = key;
+        this.status = status;
+        this.tags = tags;
+        this.expiry = expiry;
+    }
+
+    /**
+     * Set the headers and the body once the response has been written.
+     */
+    void setContent(MultivaluedMap<String, Object> responseHeaders, MediaType mediaType, byte[] content) {
+        headers = new MetadataMap<>(false, true);
+        for (Map.Entry<String, List<Object>> entry : responseHeaders.entrySet()) {
+            if (entry.getKey() == null || TRANSIENT_HEADERS.contains(entry.getKey())) {
+                continue;
+            }
+            for (Object value : entry.getValue()) {
+                if (value != null) {
+                    headers.add(entry.getKey(), toString(value));
+                }
+            }
+        }
+        if (mediaType != null && !headers.containsKey(HttpHeaders.CONTENT_TYPE)) {
+            headers.putSingle(HttpHeaders.CONTENT_TYPE, mediaType.toString());
+        }
+        body = content;
+
+        String etag = headers.getFirst(HttpHeaders.ETAG);
+        if (etag != null) {
+            entityTag = parseEntityTag(etag);
+        } else {
+            // a weak tag is good enough for the If-None-Match comparison
+            entityTag = new EntityTag(Integer.toHexString(Arrays.hashCode(content))
+                + "-" + Integer.toHexString(content.length), true);
+        }
+    }
+
+    ResponseCache.Key getKey() {
+        return key;
+    }
+
+    Set<String> getTags() {
+        return tags;
+    }
+
+    EntityTag getEntityTag() {
+        return entityTag;
+    }
+
+    boolean isExpired(long now) {
+        return expiry <= now;
+    }
+
+    /**
+     * Check the If-None-Match header using the weak comparison.
+     */
+    boolean isNotModified(String ifNoneMatch) {
+        if (ifNoneMatch == null || entityTag == null) {
+            return false;
+        }
+        for (String value : ifNoneMatch.split(",")) {
+            value = value.trim();
+            if ("*".equals(value)) {
+                return true;
+            }
+            try {
+                if (entityTag.getValue().equals(parseEntityTag(value).getValue())) {
+                    return true;
+                }
+            } catch (IllegalArgumentException ex) {
+                // ignore the malformed tag
+            }
+        }
+        return false;
+    }
+
+    Response toResponse() {
+        ResponseBuilder rb = Response.status(status).entity(body);
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            for (String value : entry.getValue()) {
+                rb.header(entry.getKey(), value);
+            }
+        }
+        if (!headers.containsKey(HttpHeaders.ETAG)) {
+            rb.tag(entityTag);
+        }
+        return rb.build();
+    }
+
+    Response toNotModifiedResponse() {
+        ResponseBuilder rb = Response.notModified(entityTag);
+        for (String name : NOT_MODIFIED_HEADERS) {
+            List<String> values = headers.get(name);
+            if (values != null) {
+                for (String value : values) {
+                    rb.header(name, value);
+                }
+            }
+        }
+        return rb.build();
+    }
+
+    private static EntityTag parseEntityTag(String value) {
+        return RuntimeDelegate.getInstance().createHeaderDelegate(EntityTag.class).fromString(value);
+    }
+
+    private static String toString(Object value) {
+        if (value instanceof String) {
+            return (String)value;
+        }
+        HeaderDelegate<Object> hd = HttpUtils.getHeaderDelegate(value);
+        return hd == null ? value.toString() : hd.toString(value);
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.cache;
+
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.cxf.common.util.BoundedConcurrentMap;
+import org.apache.cxf.common.util.CacheStatistics;
+
+/**
+ * A bounded, in-memory store of the rendered responses of the resource methods.
+ * Responses are keyed by the resource method, the request URI and the values of the
+ * request headers the response depends upon.
+ */
+public class ResponseCache {
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    public static final int DEFAULT_MAX_ENTRY_SIZE = 1024 * 1024;
+
+    private final Map<Key, CachedResponse> entries;
+    private final int maxEntries;
+    private final int maxEntrySize;
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    public ResponseCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_ENTRY_SIZE);
+    }
+
+    /**
+     * @param maxEntries the maximum number of responses to cache
+     * @param maxEntrySize the maximum size in bytes of a cached response body
+     */
+    public ResponseCache(int maxEntries, int maxEntrySize) {
+        this.maxEntries = maxEntries;
+        this.maxEntrySize = maxEntrySize;
+        this.entries = new BoundedConcurrentMap<>(maxEntries, r -> r.isExpired(System.currentTimeMillis()));
+    }
+
+    /**
+     * Remove all the responses associated with the given tag.
+     * @see CacheResponse#tags()
+     */
+    public void invalidate(String tag) {
+        entries.values().removeIf(r -> r.getTags().contains(tag));
+    }
+
+    /**
+     * Remove all the responses for the given request path, whatever the query and
+     * the resource method are.
+     */
+    public void invalidatePath(String path) {
+        entries.keySet().removeIf(k -> Objects.equals(path, k.uri.getPath()));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    CachedResponse get(Key key) {
+        CachedResponse response = entries.get(key);
+        if (response != null) {
+            if (!response.isExpired(System.currentTimeMillis())) {
+                statistics.hit();
+                return response;
+            }
+            entries.remove(key, response);
+        }
+        statistics.miss();
+        return null;
+    }
+
+    void put(CachedResponse response) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (response.isExpired(System.currentTimeMillis())) {
+            return;
+        }
+        entries.put(response.getKey(), response);
+    }
+
+    static final class Key {
+        private final Method method;
+        private final URI uri;
+        private final List<String> headers;
+        private final int hashCode;
+
+        Key(Method method, URI uri, List<String> headers) {
+            this.method = method;
+            this.uri = uri;
+            this.headers = headers;
+            this.hashCode = Objects.hash(method, uri, headers);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key)obj;
+            return hashCode == other.hashCode
+                && method.equals(other.method)
+                && uri.equals(other.uri)
+                && headers.equals(other.headers);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.cache;
+
+import jakarta.ws.rs.core.Feature;
+import jakarta.ws.rs.core.FeatureContext;
+
+/**
+ * Server side HTTP response cache. The rendered responses of the resource methods annotated with
+ * {@link CacheResponse} (or having a public Cache-Control max-age) are kept in a {@link ResponseCache}
+ * and returned to the subsequent GET requests without invoking the resource method.
+ */
+public class ResponseCacheFeature implements Feature {
+    private final ResponseCache cache;
+
+    public ResponseCacheFeature() {
+        this(new ResponseCache());
+    }
+
+    public ResponseCacheFeature(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean configure(FeatureContext context) {
+        context.register(new ResponseCacheFilter(cache));
+        context.register(new ResponseCacheWriterInterceptor(cache));
+        return true;
+    }
+
+    /**
+     * @return the cache, which can be used to invalidate the cached responses
+     */
+    public ResponseCache getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,231 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.cache;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.ext.RuntimeDelegate;
+import org.apache.cxf.jaxrs.model.OperationResourceInfo;
+import org.apache.cxf.jaxrs.utils.JAXRSUtils;
+import org.apache.cxf.message.Message;
+
+/**
+ * Serves the cached responses before the resource method is invoked, answering the conditional
+ * If-None-Match requests with 304 when the cached entity tag matches, and selects the responses to be
+ * cached by {@link ResponseCacheWriterInterceptor}. The successful unsafe (POST, PUT, DELETE, etc.)
+ * requests invalidate the responses cached for the same path.
+ * The responses to the requests with credentials (Authorization or Cookie headers) are only cached
+ * for the resource methods annotated with {@link CacheResponse}, and then separately for every set
+ * of credentials. It runs after the authentication and authorization filters.
+ */
+@Priority(Priorities.USER)
+public class ResponseCacheFilter implements ContainerRequestFilter, ContainerResponseFilter {
+    static final String KEY_PROPERTY = ResponseCacheFilter.class.getName() + ".key";
+    static final String CACHED_PROPERTY = ResponseCacheFilter.class.getName() + ".cached";
+    static final String PENDING_PROPERTY = ResponseCacheFilter.class.getName() + ".pending";
+    private static final String[] CREDENTIAL_HEADERS = {HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE};
+
+    private final ResponseCache cache;
+
+    public ResponseCacheFilter(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext context) {
+        if (!HttpMethod.GET.equals(context.getMethod())) {
+            return;
+        }
+        OperationResourceInfo ori = getOperationResourceInfo();
+        if (ori == null) {
+            return;
+        }
+        CacheResponse annotation = getAnnotation(ori);
+        if (annotation == null && hasCredentials(context)) {
+            // the responses to the authenticated requests are only cached if explicitly requested
+            return;
+        }
+        CacheControl cacheControl = parseCacheControl(context.getHeaderString(HttpHeaders.CACHE_CONTROL));
+        if (cacheControl != null && cacheControl.isNoStore()) {
+            return;
+        }
+
+        ResponseCache.Key key = createKey(context, ori.getMethodToInvoke(), annotation);
+        context.setProperty(KEY_PROPERTY, key);
+        if (cacheControl != null && cacheControl.isNoCache()) {
+            return;
+        }
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            context.setProperty(CACHED_PROPERTY, Boolean.TRUE);
+            if (cached.isNotModified(context.getHeaderString(HttpHeaders.IF_NONE_MATCH))) {
+                context.abortWith(cached.toNotModifiedResponse());
+            } else {
+                context.abortWith(cached.toResponse());
+            }
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        String method = request.getMethod();
+        if (!HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method)
+            && !HttpMethod.OPTIONS.equals(method)) {
+            if (response.getStatus() < 400) {
+                cache.invalidatePath(request.getUriInfo().getRequestUri().getPath());
+            }
+            return;
+        }
+        ResponseCache.Key key = (ResponseCache.Key)request.getProperty(KEY_PROPERTY);
+        if (key == null || request.getProperty(CACHED_PROPERTY) != null
+            || response.getStatus() != 200 || !response.hasEntity()
+            || response.getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+            return;
+        }
+        OperationResourceInfo ori = getOperationResourceInfo();
+        CacheResponse annotation = ori == null ? null : getAnnotation(ori);
+        long maxAge = getMaxAge(annotation, response.getHeaders().getFirst(HttpHeaders.CACHE_CONTROL));
+        if (maxAge <= 0 || !isVaryCovered(annotation, response.getHeaderString(HttpHeaders.VARY))) {
+            return;
+        }
+        Set<String> tags = annotation == null || annotation.tags().length == 0
+            ? Collections.emptySet() : new HashSet<>(Arrays.asList(annotation.tags()));
+        request.setProperty(PENDING_PROPERTY,
+            new CachedResponse(key, response.getStatus(), tags, System.currentTimeMillis() + maxAge * 1000L));
+    }
+
+    private static ResponseCache.Key createKey(ContainerRequestContext context, Method method,
+                                               CacheResponse annotation) {
+        List<String> headers = new ArrayList<>();
+        headers.add(context.getHeaderString(HttpHeaders.ACCEPT));
+        // never serve the response cached for one set of credentials to the other
+        for (String name : CREDENTIAL_HEADERS) {
+            headers.add(context.getHeaderString(name));
+        }
+        if (annotation != null) {
+            for (String name : annotation.vary()) {
+                headers.add(context.getHeaderString(name));
+            }
+        }
+        return new ResponseCache.Key(method, context.getUriInfo().getRequestUri(), headers);
+    }
+
+    private static boolean hasCredentials(ContainerRequestContext context) {
+        for (String name : CREDENTIAL_HEADERS) {
+            if (context.getHeaderString(name) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long getMaxAge(CacheResponse annotation, Object header) {
+        CacheControl cacheControl = header instanceof CacheControl
+            ? (CacheControl)header : parseCacheControl(header == null ? null : header.toString());
+        if (cacheControl != null
+            && (cacheControl.isNoStore() || cacheControl.isNoCache() || cacheControl.isPrivate())) {
+            return -1;
+        }
+        if (annotation != null && annotation.maxAge() >= 0) {
+            return annotation.maxAge();
+        }
+        if (cacheControl == null) {
+            return -1;
+        }
+        return cacheControl.getSMaxAge() >= 0 ? cacheControl.getSMaxAge() : cacheControl.getMaxAge();
+    }
+
+    private static boolean isVaryCovered(CacheResponse annotation, String vary) {
+        if (vary == null) {
+            return true;
+        }
+        for (String name : vary.split(",")) {
+            name = name.trim();
+            if ("*".equals(name)) {
+                return false;
+            }
+            if (!name.isEmpty() && !HttpHeaders.ACCEPT.equalsIgnoreCase(name) && !isCredentialHeader(name)
+                && !isVaryHeader(annotation, name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isCredentialHeader(String name) {
+        for (String header : CREDENTIAL_HEADERS) {
+            if (header.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isVaryHeader(CacheResponse annotation, String name) {
+        if (annotation != null) {
+            for (String header : annotation.vary()) {
+                if (header.equalsIgnoreCase(name)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static CacheControl parseCacheControl(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return RuntimeDelegate.getInstance().createHeaderDelegate(CacheControl.class).fromString(value);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static CacheResponse getAnnotation(OperationResourceInfo ori) {
+        CacheResponse annotation = ori.getAnnotatedMethod() == null
+            ? null : ori.getAnnotatedMethod().getAnnotation(CacheResponse.class);
+        if (annotation == null) {
+            annotation = ori.getClassResourceInfo().getServiceClass().getAnnotation(CacheResponse.class);
+        }
+        return annotation;
+    }
+
+    private static OperationResourceInfo getOperationResourceInfo() {
+        Message m = JAXRSUtils.getCurrentMessage();
+        return m == null ? null : m.getExchange().get(OperationResourceInfo.class);
+    }
+}
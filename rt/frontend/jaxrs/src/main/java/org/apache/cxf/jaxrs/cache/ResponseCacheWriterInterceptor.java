@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+/**
+ * Captures the serialized body of the responses selected by {@link ResponseCacheFilter} and
+ * stores them in the cache. It runs after the entity coders so the uncompressed body is cached.
+ */
+@Priority(Priorities.USER)
+public class ResponseCacheWriterInterceptor implements WriterInterceptor {
+    private final ResponseCache cache;
+
+    public ResponseCacheWriterInterceptor(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        CachedResponse pending = (CachedResponse)context.getProperty(ResponseCacheFilter.PENDING_PROPERTY);
+        if (pending == null) {
+            context.proceed();
+            return;
+        }
+        context.removeProperty(ResponseCacheFilter.PENDING_PROPERTY);
+
+        OutputStream os = context.getOutputStream();
+        CapturingOutputStream capturing = new CapturingOutputStream(os, cache.getMaxEntrySize());
+        context.setOutputStream(capturing);
+        try {
+            context.proceed();
+        } finally {
+            context.setOutputStream(os);
+        }
+        byte[] content = capturing.getCapturedBytes();
+        if (content != null) {
+            pending.setContent(context.getHeaders(), context.getMediaType(), content);
+            cache.put(pending);
+        }
+    }
+
+    private static final class CapturingOutputStream extends FilterOutputStream {
+        private final int limit;
+        private ByteArrayOutputStream captured = new ByteArrayOutputStream();
+
+        CapturingOutputStream(OutputStream out, int limit) {
+            super(out);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            capture(new byte[] {(byte)b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        /**
+         * @return the captured bytes, or null if the body is too large to be cached
+         */
+        byte[] getCapturedBytes() {
+            return captured == null ? null : captured.toByteArray();
+        }
+
+        private void capture(byte[] b, int off, int len) {
+            if (captured != null) {
+                if (captured.size() + len > limit) {
+                    captured = null;
+                } else {
+                    captured.write(b, off, len);
+                }
+            }
+        }
+    }
+}
@@ -34,6 +34,7 @@ import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.MediaType;
 import org.apache.cxf.jaxrs.ext.Oneway;
 import org.apache.cxf.jaxrs.utils.AnnotationUtils;
+import org.apache.cxf.jaxrs.utils.InjectionUtils;
 import org.apache.cxf.jaxrs.utils.JAXRSUtils;
 import org.apache.cxf.jaxrs.utils.ResourceUtils;
 
@@ -55,6 +56,7 @@ public class OperationResourceInfo {
     private Type[] actualInGenericParamTypes;
     private Annotation[][] actualInParamAnnotations;
     private Annotation[] actualOutParamAnnotations;
+    private volatile ResolvedParameterTypes resolvedInParamTypes;
 
     public OperationResourceInfo(Method mInvoke, ClassResourceInfo cri) {
         this(mInvoke, mInvoke, cri);
@@ -297,4 +299,46 @@ public class OperationResourceInfo {
         return actualOutParamAnnotations;
     }
 
+    /**
+     * Return the parameter classes with the type variables resolved against the service class.
+     */
+    public Class<?>[] getResolvedInParameterTypes() {
+        return getResolvedParameterTypes().classes;
+    }
+
+    /**
+     * Return the generic parameter types with the type variables resolved against the service class.
+     */
+    public Type[] getResolvedInGenericParameterTypes() {
+        return getResolvedParameterTypes().types;
+    }
+
+    private ResolvedParameterTypes getResolvedParameterTypes() {
+        ResolvedParameterTypes resolved = resolvedInParamTypes;
+        if (resolved == null) {
+            // the resolution only depends on the method and the service class so it is done once
+            Class<?> serviceClass = classResourceInfo.getServiceClass();
+            Class<?>[] classes = new Class<?>[actualInParamTypes.length];
+            Type[] types = new Type[actualInParamTypes.length];
+            for (int i = 0; i < classes.length; i++) {
+                types[i] = InjectionUtils.processGenericTypeIfNeeded(
+                    serviceClass, actualInParamTypes[i], actualInGenericParamTypes[i]);
+                classes[i] = InjectionUtils.updateParamClassToTypeIfNeeded(actualInParamTypes[i], types[i]);
+            }
+            resolved = new ResolvedParameterTypes(classes, types);
+            resolvedInParamTypes = resolved;
+        }
+        return resolved;
+    }
+
+    private static final class ResolvedParameterTypes {
+        private final Class<?>[] classes;
+        private final Type[] types;
+
+        ResolvedParameterTypes(Class<?>[] classes, Type[] types) {
+            this.classes = classes;
+            this.types = types;
+        }
+    }
+
 }
@@ -20,6 +20,9 @@
 package org.apache.cxf.jaxrs.utils;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -50,6 +53,7 @@ import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -106,6 +110,42 @@ public final class InjectionUtils {
 
     private static final boolean USE_JAXB;
 
+    // the reflective lookups are cached per class, so that the failing lookups are not repeated per request
+    private static final ClassValue<Optional<Constructor<?>>> STRING_CONSTRUCTORS =
+        new ClassValue<Optional<Constructor<?>>>() {
+            @Override
+            protected Optional<Constructor<?>> computeValue(Class<?> type) {
+                try {
+                    return Optional.of(type.getConstructor(String.class));
+                } catch (NoSuchMethodException ex) {
+                    return Optional.empty();
+                }
+            }
+        };
+    private static final ClassValue<Map<String, Method>> STRING_FACTORY_METHODS =
+        new ClassValue<Map<String, Method>>() {
+            @Override
+            protected Map<String, Method> computeValue(Class<?> type) {
+                Map<String, Method> methods = new HashMap<>();
+                for (String name : new String[] {"valueOf", "fromString", "fromValue"}) {
+                    try {
+                        methods.put(name, type.getMethod(name, String.class));
+                    } catch (NoSuchMethodException ex) {
+                        // try another factory method
+                    }
+                }
+                return methods;
+            }
+        };
+    private static final ClassValue<Map<Field, MethodHandle>> FIELD_SETTERS =
+        new ClassValue<Map<Field, MethodHandle>>() {
+            @Override
+            protected Map<Field, MethodHandle> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+    private static final MethodType FIELD_SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
     static {
         // JAX-RS 1.0-1.1
         STANDARD_CONTEXT_CLASSES.add(Application.class.getName());
@@ -265,6 +305,20 @@ public final class InjectionUtils {
     public static void injectFieldValue(final Field f,
                                         final Object o,
                                         final Object v) {
+        MethodHandle setter = getFieldSetter(f);
+        if (setter != null) {
+            try {
+                setter.invokeExact(o, v);
+                return;
+            } catch (ClassCastException | NullPointerException ex) {
+                // the value or the instance does not fit the field, let the reflective access
+                // below fail the way it always did
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                reportServerError("FIELD_ACCESS_FAILURE", f.getType().getName());
+            }
+        }
         AccessController.doPrivileged(new PrivilegedAction<Object>() {
             public Object run() {
                 try {
@@ -279,6 +333,31 @@ public final class InjectionUtils {
         });
     }
 
+    private static MethodHandle getFieldSetter(final Field f) {
+        if (Modifier.isStatic(f.getModifiers()) || Modifier.isFinal(f.getModifiers())) {
+            return null;
+        }
+        Map<Field, MethodHandle> setters = FIELD_SETTERS.get(f.getDeclaringClass());
+        MethodHandle setter = setters.get(f);
+        if (setter == null) {
+            setter = AccessController.doPrivileged(new PrivilegedAction<MethodHandle>() {
+                public MethodHandle run() {
+                    try {
+                        f.setAccessible(true);
+                        return MethodHandles.lookup().unreflectSetter(f).asType(FIELD_SETTER_TYPE);
+                    } catch (IllegalAccessException | RuntimeException ex) {
+                        // fall back to the reflective access
+                        return null;
+                    }
+                }
+            });
+            if (setter != null) {
+                setters.put(f, setter);
+            }
+        }
+        return setter;
+    }
+
     public static Object extractFieldValue(final Field f,
                                         final Object o) {
         return AccessController.doPrivileged(new PrivilegedAction<Object>() {
@@ -490,20 +569,20 @@ public final class InjectionUtils {
             return pClass.cast(value);
         }
         // check constructors accepting a single String value
-        try {
-            Constructor<?> c = cls.getConstructor(new Class<?>[]{String.class});
-            result = c.newInstance(new Object[]{value});
-        } catch (NoSuchMethodException ex) {
-            // try valueOf
-        } catch (WebApplicationException ex) {
-            throw ex;
-        } catch (Exception ex) {
-            Throwable t = getOrThrowActualException(ex);
-            LOG.warning(new org.apache.cxf.common.i18n.Message("CLASS_CONSTRUCTOR_FAILURE",
-                                                               BUNDLE,
-                                                               pClass.getName()).toString());
-            Response r = JAXRSUtils.toResponse(HttpUtils.getParameterFailureStatus(pType));
-            throw ExceptionUtils.toHttpException(t, r);
+        Constructor<?> c = STRING_CONSTRUCTORS.get(cls).orElse(null);
+        if (c != null) {
+            try {
+                result = c.newInstance(new Object[]{value});
+            } catch (WebApplicationException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                Throwable t = getOrThrowActualException(ex);
+                LOG.warning(new org.apache.cxf.common.i18n.Message("CLASS_CONSTRUCTOR_FAILURE",
+                                                                   BUNDLE,
+                                                                   pClass.getName()).toString());
+                Response r = JAXRSUtils.toResponse(HttpUtils.getParameterFailureStatus(pType));
+                throw ExceptionUtils.toHttpException(t, r);
+            }
         }
         if (result == null) {
             // check for valueOf(String) static methods
@@ -623,12 +702,10 @@ public final class InjectionUtils {
                                                String methodName)
         throws InvocationTargetException {
         try {
-            Method m = pClass.getMethod(methodName, new Class<?>[]{String.class});
-            if (Modifier.isStatic(m.getModifiers())) {
+            Method m = STRING_FACTORY_METHODS.get(pClass).get(methodName);
+            if (m != null && Modifier.isStatic(m.getModifiers())) {
                 return pClass.cast(m.invoke(null, new Object[]{value}));
             }
-        } catch (NoSuchMethodException ex) {
-            // no luck: try another factory methods
         } catch (IllegalAccessException ex) {
             // factory method is not accessible: try another
         }
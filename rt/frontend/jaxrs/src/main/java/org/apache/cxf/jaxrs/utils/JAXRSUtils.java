@@ -965,20 +965,22 @@ public final class JAXRSUtils {
             return Collections.emptyList();
         }
 
-        Type[] genericParameterTypes = ori.getInGenericParameterTypes();
         Annotation[][] anns = ori.getInParameterAnnotations();
         Object[] params = new Object[parameterTypesLength];
+        Class<?>[] resolvedParameterTypes = null;
+        Type[] resolvedGenericParameterTypes = null;
+        if (!preferModelParams) {
+            resolvedParameterTypes = ori.getResolvedInParameterTypes();
+            resolvedGenericParameterTypes = ori.getResolvedInGenericParameterTypes();
+        }
 
         // Ensure we process all request-body parameters first, then all @*Params, etc.
         ParamTuple[] tuple = new ParamTuple[parameterTypesLength];
         for (int i = 0; i < parameterTypesLength; i++) {
             tuple[i] = new ParamTuple();
             if (!preferModelParams) {
-                tuple[i].param = parameterTypes[i];
-                tuple[i].genericParam = InjectionUtils.processGenericTypeIfNeeded(
-                    ori.getClassResourceInfo().getServiceClass(), tuple[i].param, genericParameterTypes[i]);
-                tuple[i].param = InjectionUtils.updateParamClassToTypeIfNeeded(tuple[i].param,
-                                                                               tuple[i].genericParam);
+                tuple[i].param = resolvedParameterTypes[i];
+                tuple[i].genericParam = resolvedGenericParameterTypes[i];
                 tuple[i].paramAnns = anns == null ? EMPTY_ANNOTATIONS : anns[i];
             } else {
                 tuple[i].param = paramsInfo.get(i).getJavaType();
@@ -0,0 +1,202 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.helpers.IOUtils;
+import org.apache.cxf.jaxrs.JAXRSServerFactoryBean;
+import org.apache.cxf.jaxrs.lifecycle.SingletonResourceProvider;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class ResponseCacheFeatureTest {
+    private static final ResponseCacheFeature FEATURE = new ResponseCacheFeature();
+    private static final Catalog CATALOG = new Catalog();
+    private static Server server;
+    private static String address;
+
+    @BeforeClass
+    public static void startServer() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            address = "http://localhost:" + socket.getLocalPort() + "/cache";
+        }
+        JAXRSServerFactoryBean sf = new JAXRSServerFactoryBean();
+        sf.setResourceClasses(Catalog.class);
+        sf.setResourceProvider(Catalog.class, new SingletonResourceProvider(CATALOG, true));
+        sf.setProviders(Collections.singletonList(FEATURE));
+        sf.setAddress(address);
+        server = sf.create();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.stop();
+        server.destroy();
+    }
+
+    @Before
+    public void clearCache() {
+        FEATURE.getCache().clear();
+    }
+
+    @Test
+    public void testAnnotatedResponseIsCached() throws Exception {
+        HttpURLConnection first = get("/catalog/items", null);
+        assertEquals(200, first.getResponseCode());
+        String body = read(first);
+        HttpURLConnection second = get("/catalog/items", null);
+        assertEquals(200, second.getResponseCode());
+        assertEquals(body, read(second));
+        assertEquals("text/plain", second.getContentType());
+        assertNotNull(second.getHeaderField(HttpHeaders.ETAG));
+        assertEquals(1, FEATURE.getCache().size());
+    }
+
+    @Test
+    public void testIfNoneMatch() throws Exception {
+        read(get("/catalog/items", null));
+        String etag = get("/catalog/items", null).getHeaderField(HttpHeaders.ETAG);
+        int invocations = CATALOG.items.get();
+
+        assertEquals(304, get("/catalog/items", etag).getResponseCode());
+        assertEquals(200, get("/catalog/items", "\"other\"").getResponseCode());
+        assertEquals(invocations, CATALOG.items.get());
+    }
+
+    @Test
+    public void testInvalidateByTag() throws Exception {
+        String body = read(get("/catalog/items", null));
+        FEATURE.getCache().invalidate("catalog");
+        assertNotEquals(body, read(get("/catalog/items", null)));
+    }
+
+    @Test
+    public void testUnsafeRequestInvalidatesPath() throws Exception {
+        String body = read(get("/catalog/items", null));
+        HttpURLConnection post = (HttpURLConnection)new URL(address + "/catalog/items").openConnection();
+        post.setRequestMethod("POST");
+        assertEquals(204, post.getResponseCode());
+        assertNotEquals(body, read(get("/catalog/items", null)));
+    }
+
+    @Test
+    public void testCacheControlHeader() throws Exception {
+        String body = read(get("/catalog/public", null));
+        assertEquals(body, read(get("/catalog/public", null)));
+
+        String privateBody = read(get("/catalog/private", null));
+        assertNotEquals(privateBody, read(get("/catalog/private", null)));
+        assertEquals(1, FEATURE.getCache().size());
+    }
+
+    @Test
+    public void testCredentialsAreKeptApart() throws Exception {
+        String alice = read(withHeader(get("/catalog/items", null), HttpHeaders.AUTHORIZATION, "Basic YWxpY2U6"));
+        String bob = read(withHeader(get("/catalog/items", null), HttpHeaders.AUTHORIZATION, "Basic Ym9iOg=="));
+        assertNotEquals(alice, bob);
+        assertEquals(alice,
+            read(withHeader(get("/catalog/items", null), HttpHeaders.AUTHORIZATION, "Basic YWxpY2U6")));
+        assertNotEquals(alice, read(withHeader(get("/catalog/items", null), HttpHeaders.COOKIE, "session=1")));
+        assertNotEquals(alice, read(get("/catalog/items", null)));
+
+        // not annotated, so not cached at all for the requests with credentials
+        String body = read(withHeader(get("/catalog/public", null), HttpHeaders.COOKIE, "session=1"));
+        assertNotEquals(body, read(withHeader(get("/catalog/public", null), HttpHeaders.COOKIE, "session=1")));
+    }
+
+    private static HttpURLConnection withHeader(HttpURLConnection conn, String name, String value) {
+        conn.setRequestProperty(name, value);
+        return conn;
+    }
+
+    private static HttpURLConnection get(String path, String ifNoneMatch) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection)new URL(address + path).openConnection();
+        conn.setRequestProperty(HttpHeaders.ACCEPT, "text/plain");
+        if (ifNoneMatch != null) {
+            conn.setRequestProperty(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return conn;
+    }
+
+    private static String read(HttpURLConnection conn) throws IOException {
+        try (InputStream is = conn.getInputStream()) {
+            return IOUtils.toString(is, StandardCharsets.UTF_8.name());
+        }
+    }
+
+    @Path("/catalog")
+    public static class Catalog {
+        private final AtomicInteger items = new AtomicInteger();
+        private final AtomicInteger others = new AtomicInteger();
+
+        @GET
+        @Path("items")
+        @Produces("text/plain")
+        @CacheResponse(maxAge = 60, tags = "catalog")
+        public String getItems() {
+            return "items:" + items.incrementAndGet();
+        }
+
+        @POST
+        @Path("items")
+        public void addItem() {
+            // no-op
+        }
+
+        @GET
+        @Path("public")
+        @Produces("text/plain")
+        public Response getPublic() {
+            return Response.ok("public:" + others.incrementAndGet())
+                .cacheControl(CacheControl.valueOf("max-age=60")).build();
+        }
+
+        @GET
+        @Path("private")
+        @Produces("text/plain")
+        public Response getPrivate() {
+            return Response.ok("private:" + others.incrementAndGet())
+                .cacheControl(CacheControl.valueOf("private, max-age=60")).build();
+        }
+    }
+}
@@ -42,6 +42,7 @@ import org.apache.cxf.message.MessageImpl;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -85,6 +86,17 @@ public class OperationResourceInfoTest {
     }
 
 
+    @Test
+    public void testResolvedParameterTypes() throws Exception {
+        OperationResourceInfo ori = new OperationResourceInfo(
+            GenericResource.class.getMethod("update", Object.class, List.class),
+            new ClassResourceInfo(StringResource.class));
+        assertEquals(String.class, ori.getResolvedInParameterTypes()[0]);
+        assertEquals(String.class, ori.getResolvedInGenericParameterTypes()[0]);
+        assertEquals(List.class, ori.getResolvedInParameterTypes()[1]);
+        assertSame(ori.getResolvedInParameterTypes(), ori.getResolvedInParameterTypes());
+    }
+
     @Test
     public void testConsumeTypes() throws Exception {
         OperationResourceInfo ori1 = new OperationResourceInfo(
@@ -211,4 +223,13 @@ public class OperationResourceInfoTest {
     @NameBinding
     public @interface CustomNameBinding {
     }
+
+    public abstract static class GenericResource<T> {
+        public void update(T value, List<T> values) {
+            // complete
+        }
+    }
+
+    public static class StringResource extends GenericResource<String> {
+    }
 }
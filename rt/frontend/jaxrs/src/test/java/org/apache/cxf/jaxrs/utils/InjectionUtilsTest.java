@@ -57,6 +57,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -168,6 +169,46 @@ public class InjectionUtilsTest {
         assertEquals("Type is wrong", "a6f7357f-6e7e-40e5-9b4a-c455c23b10a2", helmId.getId());
     }
 
+    @Test
+    public void testInstantiateWithFactoryMethodRepeatedly() {
+        for (int i = 0; i < 2; i++) {
+            UUID uuid = InjectionUtils.handleParameter("a6f7357f-6e7e-40e5-9b4a-c455c23b10a2", false,
+                                                       UUID.class, UUID.class, null, ParameterType.QUERY, null);
+            assertEquals(UUID.fromString("a6f7357f-6e7e-40e5-9b4a-c455c23b10a2"), uuid);
+        }
+    }
+
+    @Test
+    public void testInjectFieldValue() throws Exception {
+        FieldHolder holder = new FieldHolder();
+        InjectionUtils.injectFieldValue(FieldHolder.class.getDeclaredField("value"), holder, "a");
+        InjectionUtils.injectFieldValue(FieldHolder.class.getDeclaredField("count"), holder, 2);
+        assertEquals("a", holder.value);
+        assertEquals(2, holder.count);
+
+        InjectionUtils.injectFieldValue(FieldHolder.class.getDeclaredField("value"), holder, "b");
+        assertEquals("b", holder.value);
+    }
+
+    @Test
+    public void testInjectMismatchedFieldValue() throws Exception {
+        FieldHolder holder = new FieldHolder();
+        assertInjectFailure(FieldHolder.class.getDeclaredField("value"), holder, 1);
+        assertInjectFailure(FieldHolder.class.getDeclaredField("count"), holder, null);
+        assertInjectFailure(FieldHolder.class.getDeclaredField("count"), new Object(), 1);
+        assertNull(holder.value);
+        assertEquals(0, holder.count);
+    }
+
+    private static void assertInjectFailure(Field f, Object o, Object v) {
+        try {
+            InjectionUtils.injectFieldValue(f, o, v);
+            fail("The value must not be injected");
+        } catch (IllegalArgumentException ex) {
+            // reported by the reflective access, as the field does not accept the value
+        }
+    }
+
     @Test
     public void testInstantiateIntegerInQuery() {
         Integer integer = InjectionUtils.handleParameter("", false, Integer.class,
@@ -356,6 +397,10 @@ public class InjectionUtilsTest {
         }
 
     }
+    private static final class FieldHolder {
+        private String value;
+        private int count;
+    }
     interface GenericInterface<A> {
         A get();
         List<A> list();
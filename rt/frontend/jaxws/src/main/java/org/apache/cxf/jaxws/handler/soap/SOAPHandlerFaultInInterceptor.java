@@ -37,6 +37,7 @@ import jakarta.xml.ws.handler.soap.SOAPHandler;
 import org.apache.cxf.binding.soap.HeaderUtil;
 import org.apache.cxf.binding.soap.SoapMessage;
 import org.apache.cxf.binding.soap.interceptor.SoapInterceptor;
+import org.apache.cxf.binding.soap.saaj.LazySOAPMessage;
 import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.jaxws.handler.AbstractProtocolHandlerInterceptor;
 import org.apache.cxf.jaxws.handler.HandlerChainInvoker;
@@ -86,7 +87,7 @@ public class SOAPHandlerFaultInInterceptor extends
         }
 
         SOAPMessage msg = message.getContent(SOAPMessage.class);
-        if (msg != null) {
+        if (msg != null && (!(msg instanceof LazySOAPMessage) || ((LazySOAPMessage)msg).isBodyParsed())) {
             XMLStreamReader xmlReader = createXMLStreamReaderFromSOAPMessage(msg);
             message.setContent(XMLStreamReader.class, xmlReader);
         }
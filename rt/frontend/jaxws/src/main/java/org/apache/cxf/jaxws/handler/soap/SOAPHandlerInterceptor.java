@@ -48,6 +48,7 @@ import org.apache.cxf.binding.soap.SoapMessage;
 import org.apache.cxf.binding.soap.interceptor.AbstractSoapInterceptor;
 import org.apache.cxf.binding.soap.interceptor.SoapInterceptor;
 import org.apache.cxf.binding.soap.interceptor.SoapPreProtocolOutInterceptor;
+import org.apache.cxf.binding.soap.saaj.LazySOAPMessage;
 import org.apache.cxf.binding.soap.saaj.SAAJInInterceptor;
 import org.apache.cxf.binding.soap.saaj.SAAJOutInterceptor;
 import org.apache.cxf.binding.soap.saaj.SAAJUtils;
@@ -121,8 +122,11 @@ public class SOAPHandlerInterceptor extends
             boolean isFault = handleMessageInternal(message);
             SOAPMessage msg = message.getContent(SOAPMessage.class);
             if (msg != null) {
-                XMLStreamReader xmlReader = createXMLStreamReaderFromSOAPMessage(msg);
-                message.setContent(XMLStreamReader.class, xmlReader);
+                // an untouched lazy body is still being read from the original stream
+                if (!(msg instanceof LazySOAPMessage) || ((LazySOAPMessage)msg).isBodyParsed()) {
+                    XMLStreamReader xmlReader = createXMLStreamReaderFromSOAPMessage(msg);
+                    message.setContent(XMLStreamReader.class, xmlReader);
+                }
                 // replace headers
                 try {
                     SAAJInInterceptor.replaceHeaders(msg, message);
@@ -256,7 +260,7 @@ public class SOAPHandlerInterceptor extends
             try {
                 List<SOAPElement> params = new ArrayList<>();
                 message.put(MessageContext.REFERENCE_PARAMETERS, params);
-                SOAPHeader head = SAAJUtils.getHeader(msg);
+                SOAPHeader head = LazySOAPMessage.getHeaderOnly(msg);
                 if (head != null) {
                     Iterator<Node> it = CastUtils.cast(head.getChildElements());
                     while (it != null && it.hasNext()) {
@@ -273,8 +277,7 @@ public class SOAPHandlerInterceptor extends
                         }
                     }
                 }
-                if (isRequestor(message) && msg.getSOAPPart().getEnvelope().getBody() != null
-                        && msg.getSOAPPart().getEnvelope().getBody().hasFault()) {
+                if (isRequestor(message) && hasFault(msg, message)) {
                     return null;
                 }
             } catch (SOAPException e) {
@@ -285,6 +288,15 @@ public class SOAPHandlerInterceptor extends
         return sm;
     }
 
+    private static boolean hasFault(SOAPMessage msg, SoapMessage message) throws SOAPException {
+        if (msg instanceof LazySOAPMessage) {
+            QName name = ((LazySOAPMessage)msg).getFirstBodyElementName();
+            return message.getVersion().getFault().equals(name);
+        }
+        return msg.getSOAPPart().getEnvelope().getBody() != null
+            && msg.getSOAPPart().getEnvelope().getBody().hasFault();
+    }
+
     private XMLStreamReader createXMLStreamReaderFromSOAPMessage(SOAPMessage soapMessage) {
         // responseMsg.setContent(SOAPMessage.class, soapMessage);
         XMLStreamReader xmlReader = null;
@@ -319,6 +331,9 @@ public class SOAPHandlerInterceptor extends
             if (msg == null) {
                 return null;
             }
+            if (msg instanceof LazySOAPMessage) {
+                return ((LazySOAPMessage)msg).getFirstBodyElementName();
+            }
             SOAPBody body = SAAJUtils.getBody(msg);
             if (body == null) {
                 return null;
@@ -39,14 +39,28 @@ import jakarta.xml.ws.WebServiceException;
 import jakarta.xml.ws.handler.MessageContext;
 import jakarta.xml.ws.handler.soap.SOAPMessageContext;
 import org.apache.cxf.binding.soap.SoapMessage;
+import org.apache.cxf.binding.soap.saaj.LazySOAPMessage;
 import org.apache.cxf.binding.soap.saaj.SAAJInInterceptor;
 import org.apache.cxf.common.jaxb.JAXBUtils;
 import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.jaxws.context.WrappedMessageContext;
 import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageUtils;
 
 public class SOAPMessageContextImpl extends WrappedMessageContext implements SOAPMessageContext {
+    /**
+     * If set to true, the SOAPMessage given to the handlers only builds its body when it is reached
+     * through {@link SOAPMessage#getSOAPBody()}, {@link SOAPMessage#getSOAPPart()} or
+     * {@link SOAPMessage#getSOAPHeader()}, which saves copying the body into the SAAJ tree for handlers
+     * that only read the headers with {@link #getHeaders(QName, JAXBContext, boolean)}.
+     */
+    public static final String LAZY_BODY = "org.apache.cxf.jaxws.handler.soap.lazyBody";
+
     private static final SAAJInInterceptor SAAJ_IN = new SAAJInInterceptor();
+    private static final SAAJInInterceptor SAAJ_IN_LAZY = new SAAJInInterceptor();
+    static {
+        SAAJ_IN_LAZY.setLazyBody(true);
+    }
 
     private Set<String> roles = new HashSet<>();
 
@@ -76,7 +90,9 @@ public class SOAPMessageContextImpl extends WrappedMessageContext implements SOA
             Boolean outboundProperty = (Boolean)get(MessageContext.MESSAGE_OUTBOUND_PROPERTY);
             if (outboundProperty == null || !outboundProperty) {
                 //No SOAPMessage exists yet, so lets create one
-                SAAJ_IN.handleMessage(getWrappedSoapMessage());
+                SAAJInInterceptor saajIn = MessageUtils.getContextualBoolean(getWrappedMessage(), LAZY_BODY)
+                    ? SAAJ_IN_LAZY : SAAJ_IN;
+                saajIn.handleMessage(getWrappedSoapMessage());
                 message = getWrappedSoapMessage().getContent(SOAPMessage.class);
             }
         }
@@ -87,7 +103,7 @@ public class SOAPMessageContextImpl extends WrappedMessageContext implements SOA
         SOAPMessage msg = getMessage();
         SOAPHeader header;
         try {
-            header = msg.getSOAPPart().getEnvelope().getHeader();
+            header = LazySOAPMessage.getHeaderOnly(msg);
             if (header == null || !header.hasChildNodes()) {
                 return new Object[0];
             }
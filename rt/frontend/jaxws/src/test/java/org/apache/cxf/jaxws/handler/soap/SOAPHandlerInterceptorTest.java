@@ -40,11 +40,15 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
 import jakarta.xml.soap.MessageFactory;
 import jakarta.xml.soap.MimeHeaders;
 import jakarta.xml.soap.SOAPBody;
 import jakarta.xml.soap.SOAPBodyElement;
 import jakarta.xml.soap.SOAPElement;
+import jakarta.xml.soap.SOAPEnvelope;
+import jakarta.xml.soap.SOAPException;
 import jakarta.xml.soap.SOAPHeader;
 import jakarta.xml.soap.SOAPHeaderElement;
 import jakarta.xml.soap.SOAPMessage;
@@ -57,6 +61,7 @@ import org.apache.cxf.binding.soap.Soap11;
 import org.apache.cxf.binding.soap.SoapMessage;
 import org.apache.cxf.binding.soap.SoapVersion;
 import org.apache.cxf.binding.soap.SoapVersionFactory;
+import org.apache.cxf.binding.soap.saaj.LazySOAPMessage;
 import org.apache.cxf.bus.managers.PhaseManagerImpl;
 import org.apache.cxf.headers.Header;
 import org.apache.cxf.helpers.DOMUtils;
@@ -78,6 +83,7 @@ import org.junit.Test;
 
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -434,6 +440,101 @@ public class SOAPHandlerInterceptorTest {
         assertEquals("sendReceiveData", qn.getLocalPart());
     }
 
+    @Test
+    public void testNavigateFromHeaderToBodyInBound() throws Exception {
+        List<QName> bodyElements = new ArrayList<>();
+        SoapMessage message = handleInBound(false, navigateFromHeaderToBody(bodyElements));
+
+        assertEquals(1, bodyElements.size());
+        assertEquals(new QName("http://apache.org/hello_world_rpclit", "sendReceiveData"), bodyElements.get(0));
+        assertFalse(message.getContent(SOAPMessage.class) instanceof LazySOAPMessage);
+        assertEquals("sendReceiveData", message.getContent(XMLStreamReader.class).getLocalName());
+    }
+
+    @Test
+    public void testNavigateFromHeaderToLazyBodyInBound() throws Exception {
+        List<QName> bodyElements = new ArrayList<>();
+        SoapMessage message = handleInBound(true, navigateFromHeaderToBody(bodyElements));
+
+        assertEquals(1, bodyElements.size());
+        assertEquals(new QName("http://apache.org/hello_world_rpclit", "sendReceiveData"), bodyElements.get(0));
+        // getting the header has parsed the body
+        LazySOAPMessage soapMessage = (LazySOAPMessage)message.getContent(SOAPMessage.class);
+        assertTrue(soapMessage.isBodyParsed());
+        assertEquals("sendReceiveData", message.getContent(XMLStreamReader.class).getLocalName());
+    }
+
+    private static HeaderCheck navigateFromHeaderToBody(List<QName> bodyElements) {
+        return smc -> {
+            // reach the body through the envelope rather than through getSOAPBody()
+            SOAPHeader header = smc.getMessage().getSOAPHeader();
+            SOAPEnvelope envelope = (SOAPEnvelope)header.getParentElement();
+            Element first = DOMUtils.getFirstElement(envelope.getBody());
+            bodyElements.add(first == null ? null : DOMUtils.getElementQName(first));
+        };
+    }
+
+    @Test
+    public void testLazyBodyInBound() throws Exception {
+        SoapMessage message = handleInBound(true, smc -> {
+            try {
+                QName name = new QName("http://apache.org/hello_world_rpclit", "header");
+                assertEquals(0, smc.getHeaders(name, JAXBContext.newInstance(), true).length);
+            } catch (JAXBException e) {
+                throw new SOAPException(e);
+            }
+        });
+
+        LazySOAPMessage soapMessage = (LazySOAPMessage)message.getContent(SOAPMessage.class);
+        assertFalse(soapMessage.isBodyParsed());
+        assertEquals("sendReceiveData", message.getContent(XMLStreamReader.class).getLocalName());
+    }
+
+    private SoapMessage handleInBound(boolean lazyBody, HeaderCheck check) throws Exception {
+        @SuppressWarnings("rawtypes")
+        List<Handler> list = new ArrayList<>();
+        list.add(new SOAPHandler<SOAPMessageContext>() {
+            public boolean handleMessage(SOAPMessageContext smc) {
+                try {
+                    check.check(smc);
+                } catch (SOAPException e) {
+                    throw new Fault(e);
+                }
+                return true;
+            }
+
+            public boolean handleFault(SOAPMessageContext smc) {
+                return true;
+            }
+
+            public Set<QName> getHeaders() {
+                return null;
+            }
+
+            public void close(MessageContext messageContext) {
+            }
+        });
+        HandlerChainInvoker invoker = new HandlerChainInvoker(list);
+
+        Binding binding = mock(Binding.class);
+        Exchange exchange = mock(Exchange.class);
+        when(binding.getHandlerChain()).thenReturn(list);
+        when(exchange.get(HandlerChainInvoker.class)).thenReturn(invoker);
+        when(exchange.getOutMessage()).thenReturn(null);
+
+        SoapMessage message = new SoapMessage(new MessageImpl());
+        message.setExchange(exchange);
+        message.put(SOAPMessageContextImpl.LAZY_BODY, lazyBody);
+        message.setContent(XMLStreamReader.class, preparemXMLStreamReader("resources/greetMeRpcLitReq.xml"));
+
+        new SOAPHandlerInterceptor(binding).handleMessage(message);
+        return message;
+    }
+
+    private interface HeaderCheck {
+        void check(SOAPMessageContext smc) throws SOAPException;
+    }
+
     @Test
     public void testGetUnderstoodHeadersReturnsNull() {
         @SuppressWarnings("rawtypes")
@@ -41,6 +41,7 @@ import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.xml.stream.XMLStreamWriter;
@@ -110,6 +111,11 @@ import org.apache.cxf.transport.http.HTTPConduit;
  */
 public abstract class AbstractClient implements Client {
     public static final String EXECUTOR_SERVICE_PROPERTY = "executorService";
+    /**
+     * The {@link Closeable} registered on the exchange with this key (f.e. by the client filters)
+     * is closed when the invocation fails.
+     */
+    public static final String CLOSE_ON_FAILURE_PROPERTY = "jaxrs.client.close.on.failure";
 
     protected static final String REQUEST_CONTEXT = "RequestContext";
     protected static final String RESPONSE_CONTEXT = "ResponseContext";
@@ -615,15 +621,31 @@ public abstract class AbstractClient implements Client {
                 && PropertyUtils.isTrue(exchange.get(COMPLETE_IF_SERVICE_NOT_AVAIL_PROPERTY))) {
             getConfiguration().getConduitSelector().complete(exchange);
         }
-        if (ex != null) {
-            checkClientException(message, ex);
+        try {
+            if (ex != null) {
+                checkClientException(message, ex);
+            }
+            checkClientException(message, exchange.get(Exception.class));
+        } catch (Exception e) {
+            closeOnFailure(exchange);
+            throw e;
         }
-        checkClientException(message, exchange.get(Exception.class));
 
         List<?> result = exchange.get(List.class);
         return result != null ? result.toArray() : null;
     }
 
+    static void closeOnFailure(Exchange exchange) {
+        Object closeable = exchange.remove(CLOSE_ON_FAILURE_PROPERTY);
+        if (closeable instanceof Closeable) {
+            try {
+                ((Closeable)closeable).close();
+            } catch (IOException ex) {
+                LOG.log(Level.FINE, ex.getMessage(), ex);
+            }
+        }
+    }
+
     protected void checkClientException(Message outMessage, Exception ex) throws Exception {
         Throwable actualEx = ex instanceof Fault ? ((Fault)ex).getCause() : ex;
 
@@ -1264,6 +1286,7 @@ public abstract class AbstractClient implements Client {
                         ex = ex.getCause();
                     }
                     ex = ex instanceof ProcessingException ? ex : new ProcessingException(ex);
+                    closeOnFailure(message.getExchange());
                     cb.handleException(message, ex);
                 }
             }
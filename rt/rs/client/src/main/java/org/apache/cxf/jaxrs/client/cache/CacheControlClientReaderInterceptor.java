@@ -24,7 +24,9 @@ import java.io.InputStream;
 import java.io.Serializable;
 import java.net.URI;
 import java.text.ParseException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.cache.Cache;
@@ -44,7 +46,10 @@ import org.apache.cxf.transport.http.Headers;
 
 @Priority(Priorities.USER - 1)
 public class CacheControlClientReaderInterceptor implements ReaderInterceptor {
+    private static final String STALE_WHILE_REVALIDATE = "stale-while-revalidate";
+
     private Cache<Key, Entry> cache;
+    private CacheControlFeature.SharedCacheResolver shared;
 
     @Context
     private UriInfo uriInfo;
@@ -58,13 +63,33 @@ public class CacheControlClientReaderInterceptor implements ReaderInterceptor {
         // no-op: use setCache then
     }
 
+    CacheControlClientReaderInterceptor(final CacheControlFeature.SharedCacheResolver shared) {
+        this.shared = shared;
+    }
+
     public CacheControlClientReaderInterceptor setCache(final Cache<Key, Entry> c) {
         this.cache = c;
         return this;
     }
 
+    private Cache<Key, Entry> getCache() {
+        return shared != null ? shared.resolve().getCache() : cache;
+    }
+
     @Override
     public Object aroundReadFrom(final ReaderInterceptorContext context) throws IOException, WebApplicationException {
+        // The permit is released once the entity has been cached, not when the entity stream is closed
+        final Object permit = context.getProperty(CacheControlClientRequestFilter.COALESCED_PERMIT_PROPERTY);
+        context.removeProperty(CacheControlClientRequestFilter.COALESCED_PERMIT_PROPERTY);
+        try {
+            return readAndCache(context);
+        } finally {
+            // Let the concurrent requests for the same key (if any) to check the cache
+            CacheControlClientRequestFilter.release(permit);
+        }
+    }
+
+    private Object readAndCache(final ReaderInterceptorContext context) throws IOException {
         Object cachedEntity = context.getProperty(CacheControlClientRequestFilter.CACHED_ENTITY_PROPERTY);
         if (cachedEntity != null) {
             if (cachedEntity instanceof BytesEntity) {
@@ -91,7 +116,8 @@ public class CacheControlClientReaderInterceptor implements ReaderInterceptor {
         final CacheControl cacheControl = CacheControl.valueOf(cacheControlHeader);
 
         byte[] cachedBytes = null;
-        final boolean validCacheControl = isCacheControlValid(context, cacheControl);
+        final Map<String, String> varyHeaders = computeVaryHeaders(context, responseHeaders);
+        final boolean validCacheControl = varyHeaders != null && isCacheControlValid(context, cacheControl);
         if (validCacheControl && cacheResponseInputStream) {
             // if Cache-Control is set and the stream needs to be cached then do it
             cachedBytes = IOUtils.readBytesFromStream(context.getInputStream());
@@ -123,9 +149,22 @@ public class CacheControlClientReaderInterceptor implements ReaderInterceptor {
             final Entry entry =
                 new Entry(ser, responseHeaders,
                           computeCacheHeaders(responseHeaders), computeExpiry(cacheControl, responseHeaders));
-            final URI uri = uriInfo.getRequestUri();
-            final String accepts = (String)context.getProperty(CacheControlClientRequestFilter.CLIENT_ACCEPTS);
-            cache.put(new Key(uri, accepts), entry);
+            entry.setStaleWhileRevalidate(computeStaleWhileRevalidate(cacheControl));
+            entry.setVaryHeaders(varyHeaders);
+            Key key = (Key)context.getProperty(CacheControlClientRequestFilter.CACHE_KEY_PROPERTY);
+            if (key == null) {
+                final URI uri = uriInfo.getRequestUri();
+                final String accepts = (String)context.getProperty(CacheControlClientRequestFilter.CLIENT_ACCEPTS);
+                key = new Key(uri, accepts);
+            }
+            if (varyHeaders.isEmpty()) {
+                getCache().put(new Key(key.getUri(), key.getAccept()), entry);
+            } else {
+                // Every variant has its own key, the latest one is also kept with the resource key
+                // to let the next requests find out which headers select the variant
+                getCache().put(new Key(key.getUri(), key.getAccept(), varyHeaders), entry);
+                getCache().put(new Key(key.getUri(), key.getAccept()), entry);
+            }
         }
         return responseEntity;
     }
@@ -145,6 +184,46 @@ public class CacheControlClientReaderInterceptor implements ReaderInterceptor {
         return cacheHeaders;
     }
 
+    /**
+     * @return the values of the request headers listed in the Vary response header, 
+     *         or null if the response can not be cached ("Vary: *")
+     */
+    private Map<String, String> computeVaryHeaders(final ReaderInterceptorContext context,
+                                                   final MultivaluedMap<String, String> responseHeaders) {
+        final List<String> varyHeaders = responseHeaders.get(HttpHeaders.VARY);
+        if (varyHeaders == null || varyHeaders.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        @SuppressWarnings("unchecked")
+        final MultivaluedMap<String, String> requestHeaders = (MultivaluedMap<String, String>)context
+            .getProperty(CacheControlClientRequestFilter.CLIENT_REQUEST_HEADERS);
+        final Map<String, String> values = new HashMap<>();
+        for (String varyHeader : varyHeaders) {
+            for (String name : varyHeader.split(",")) {
+                name = name.trim();
+                if ("*".equals(name)) {
+                    return null;
+                } else if (!name.isEmpty()) {
+                    values.put(name, Entry.getVaryValue(requestHeaders, name));
+                }
+            }
+        }
+        return values;
+    }
+
+    private long computeStaleWhileRevalidate(final CacheControl cacheControl) {
+        final String value = cacheControl.getCacheExtension().get(STALE_WHILE_REVALIDATE);
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (final NumberFormatException e) {
+                // ignore the invalid value
+            }
+        }
+        return 0;
+    }
+
     private long computeExpiry(CacheControl cacheControl, MultivaluedMap<String, String> responseHeaders) {
         // if a max-age property is set then it overrides Expires
         long expiry = cacheControl.getMaxAge();
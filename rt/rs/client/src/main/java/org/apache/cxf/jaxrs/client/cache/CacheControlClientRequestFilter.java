@@ -20,6 +20,7 @@ package org.apache.cxf.jaxrs.client.cache;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -31,8 +32,12 @@ import jakarta.ws.rs.Priorities;
 import jakarta.ws.rs.client.ClientRequestContext;
 import jakarta.ws.rs.client.ClientRequestFilter;
 import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
 import org.apache.cxf.common.util.StringUtils;
+import org.apache.cxf.jaxrs.client.AbstractClient;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.PhaseInterceptorChain;
 
 @Priority(Priorities.USER - 1)
 public class CacheControlClientRequestFilter implements ClientRequestFilter {
@@ -40,16 +45,31 @@ public class CacheControlClientRequestFilter implements ClientRequestFilter {
     static final String CACHED_ENTITY_PROPERTY = "client_cached_entity";
     static final String CLIENT_ACCEPTS = "client_accepts";
     static final String CLIENT_CACHE_CONTROL = "client_cache_control";
+    static final String CLIENT_REQUEST_HEADERS = "client_request_headers";
+    static final String CACHED_ENTRY_PROPERTY = "client_cached_entry";
+    static final String CACHE_KEY_PROPERTY = "client_cache_key";
+    static final String COALESCED_PERMIT_PROPERTY = "client_coalesced_permit";
     private Cache<Key, Entry> cache;
+    private RequestCoalescer coalescer;
+    private CacheControlFeature.SharedCacheResolver shared;
 
     public CacheControlClientRequestFilter(final Cache<Key, Entry> cache) {
         this.cache = cache;
     }
 
+    public CacheControlClientRequestFilter(final Cache<Key, Entry> cache, final RequestCoalescer coalescer) {
+        this.cache = cache;
+        this.coalescer = coalescer;
+    }
+
     public CacheControlClientRequestFilter() {
         // no-op: use setCache then
     }
 
+    CacheControlClientRequestFilter(final CacheControlFeature.SharedCacheResolver shared) {
+        this.shared = shared;
+    }
+
     @Override
     public void filter(final ClientRequestContext request) throws IOException {
         if (!HttpMethod.GET.equals(request.getMethod())) {
@@ -60,23 +80,29 @@ public class CacheControlClientRequestFilter implements ClientRequestFilter {
         }
         final URI uri = request.getUri();
         final String accepts = request.getHeaderString(HttpHeaders.ACCEPT);
-        final Key key = new Key(uri, accepts);
-        Entry entry = cache.get(key);
+        final MultivaluedMap<String, String> requestHeaders = request.getStringHeaders();
+        final Cache<Key, Entry> c = getCache();
+        final RequestCoalescer rc = getCoalescer();
+        final Key resourceKey = new Key(uri, accepts);
+        Entry entry = c.get(resourceKey);
+        final Key key = getVariantKey(resourceKey, entry, requestHeaders);
+        if (key != resourceKey) {
+            entry = c.get(key);
+        }
+        if (entry != null && !entry.isVaryMatched(requestHeaders)) {
+            entry = null;
+        }
+        if (entry == null && rc != null && !acquire(rc, request, key)) {
+            // The concurrent request for the same key is in flight, wait for its response to be cached
+            rc.await(key);
+            entry = getEntry(c, key, requestHeaders);
+        }
         if (entry != null) {
             //TODO: do the extra validation against the conditional headers
             //      which may be contained in the current request
-            if (entry.isOutDated()) {
-                String ifNoneMatchHeader = entry.getCacheHeaders().get(HttpHeaders.IF_NONE_MATCH);
-                String ifModifiedSinceHeader = entry.getCacheHeaders().get(HttpHeaders.IF_MODIFIED_SINCE);
-
-                if (StringUtils.isEmpty(ifNoneMatchHeader) && StringUtils.isEmpty(ifModifiedSinceHeader)) {
-                    cache.remove(key, entry);
-                } else {
-                    request.getHeaders().add(HttpHeaders.IF_NONE_MATCH, ifNoneMatchHeader);
-                    request.getHeaders().add(HttpHeaders.IF_MODIFIED_SINCE, ifModifiedSinceHeader);
-                    request.setProperty(CACHED_ENTITY_PROPERTY, entry.getData());
-                }
-            } else {
+            if (!entry.isOutDated()
+                || entry.isStaleWhileRevalidate() && rc != null && !acquire(rc, request, key)) {
+                // The entry is fresh or the concurrent request is revalidating it already
                 Object cachedEntity = entry.getData();
                 Response.ResponseBuilder ok = Response.ok(cachedEntity);
                 if (entry.getHeaders() != null) {
@@ -88,15 +114,90 @@ public class CacheControlClientRequestFilter implements ClientRequestFilter {
                 }
                 request.setProperty(CACHED_ENTITY_PROPERTY, cachedEntity);
                 request.abortWith(ok.build());
+                return;
+            }
+
+            String ifNoneMatchHeader = entry.getCacheHeaders().get(HttpHeaders.IF_NONE_MATCH);
+            String ifModifiedSinceHeader = entry.getCacheHeaders().get(HttpHeaders.IF_MODIFIED_SINCE);
+
+            if (StringUtils.isEmpty(ifNoneMatchHeader) && StringUtils.isEmpty(ifModifiedSinceHeader)) {
+                c.remove(key, entry);
+            } else {
+                if (!StringUtils.isEmpty(ifNoneMatchHeader)) {
+                    request.getHeaders().putSingle(HttpHeaders.IF_NONE_MATCH, ifNoneMatchHeader);
+                }
+                if (!StringUtils.isEmpty(ifModifiedSinceHeader)) {
+                    request.getHeaders().putSingle(HttpHeaders.IF_MODIFIED_SINCE, ifModifiedSinceHeader);
+                }
+                request.setProperty(CACHED_ENTITY_PROPERTY, entry.getData());
+                request.setProperty(CACHED_ENTRY_PROPERTY, entry);
             }
         }
         // Should the map of all request headers shared ?
+        request.setProperty(CACHE_KEY_PROPERTY, key);
         request.setProperty(CLIENT_ACCEPTS, accepts);
         request.setProperty(CLIENT_CACHE_CONTROL, request.getHeaderString(HttpHeaders.CACHE_CONTROL));
+        request.setProperty(CLIENT_REQUEST_HEADERS, requestHeaders);
+    }
+
+    private static Entry getEntry(final Cache<Key, Entry> c, final Key key,
+                                  final MultivaluedMap<String, String> requestHeaders) {
+        final Entry entry = c.get(key);
+        // The entry may have been cached for a different variant of the resource
+        return entry != null && entry.isVaryMatched(requestHeaders) ? entry : null;
+    }
+
+    /**
+     * @return the key of the variant selected by the request headers if the response cached for
+     *         the resource key has a Vary header, the resource key otherwise
+     */
+    private static Key getVariantKey(final Key resourceKey, final Entry entry,
+                                     final MultivaluedMap<String, String> requestHeaders) {
+        if (entry == null || entry.getVaryHeaders().isEmpty()) {
+            return resourceKey;
+        }
+        final Map<String, String> values = new HashMap<>();
+        for (String name : entry.getVaryHeaders().keySet()) {
+            values.put(name, Entry.getVaryValue(requestHeaders, name));
+        }
+        return new Key(resourceKey.getUri(), resourceKey.getAccept(), values);
+    }
+
+    private static boolean acquire(final RequestCoalescer rc, final ClientRequestContext request, final Key key) {
+        final RequestCoalescer.Permit permit = rc.tryAcquire(key);
+        if (permit == null) {
+            return false;
+        }
+        request.setProperty(COALESCED_PERMIT_PROPERTY, permit);
+        // Make sure the concurrent requests do not wait for the response which is never going to come
+        final Message message = PhaseInterceptorChain.getCurrentMessage();
+        if (message != null && message.getExchange() != null) {
+            message.getExchange().put(AbstractClient.CLOSE_ON_FAILURE_PROPERTY, permit);
+        }
+        return true;
+    }
+
+    static void release(final Object permit) {
+        if (permit instanceof RequestCoalescer.Permit) {
+            ((RequestCoalescer.Permit)permit).release();
+        }
+    }
+
+    private Cache<Key, Entry> getCache() {
+        return shared != null ? shared.resolve().getCache() : cache;
+    }
+
+    private RequestCoalescer getCoalescer() {
+        return shared != null ? shared.resolve().getCoalescer() : coalescer;
     }
 
     public CacheControlClientRequestFilter setCache(final Cache<Key, Entry> c) {
         this.cache = c;
         return this;
     }
+
+    public CacheControlClientRequestFilter setCoalescer(final RequestCoalescer c) {
+        this.coalescer = c;
+        return this;
+    }
 }
@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.client.cache;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import javax.cache.Cache;
+
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Completes the conditional revalidation of the cached entries: the "304 Not Modified" response
+ * refreshes the cached entry, which is then returned to the client as a "200 OK" response.
+ */
+@Priority(Priorities.USER - 1)
+public class CacheControlClientResponseFilter implements ClientResponseFilter {
+    private Cache<Key, Entry> cache;
+    private CacheControlFeature.SharedCacheResolver shared;
+
+    public CacheControlClientResponseFilter(final Cache<Key, Entry> cache) {
+        this.cache = cache;
+    }
+
+    public CacheControlClientResponseFilter() {
+        // no-op: use setCache then
+    }
+
+    CacheControlClientResponseFilter(final CacheControlFeature.SharedCacheResolver shared) {
+        this.shared = shared;
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request, final ClientResponseContext response)
+        throws IOException {
+        final Object permit = request.getProperty(CacheControlClientRequestFilter.COALESCED_PERMIT_PROPERTY);
+        final Entry entry = (Entry)request.getProperty(CacheControlClientRequestFilter.CACHED_ENTRY_PROPERTY);
+
+        if (entry != null && response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+            final Key key = (Key)request.getProperty(CacheControlClientRequestFilter.CACHE_KEY_PROPERTY);
+            getCache().put(key, refresh(entry, response));
+
+            response.setStatus(Response.Status.OK.getStatusCode());
+            for (Map.Entry<String, List<String>> h : entry.getHeaders().entrySet()) {
+                if (!response.getHeaders().containsKey(h.getKey())) {
+                    response.getHeaders().addAll(h.getKey(), h.getValue());
+                }
+            }
+            release(request, permit);
+        } else if (response.getStatus() == Response.Status.OK.getStatusCode()) {
+            if (request.getProperty(CacheControlClientRequestFilter.CACHE_KEY_PROPERTY) != null) {
+                // The entity has been modified (or was not cached yet), it is going to be read and 
+                // cached by CacheControlClientReaderInterceptor
+                request.removeProperty(CacheControlClientRequestFilter.CACHED_ENTITY_PROPERTY);
+            }
+            if (permit != null) {
+                if (response.hasEntity()) {
+                    // The entity may never be read, so release the concurrent requests when the response
+                    // is closed unless CacheControlClientReaderInterceptor has taken over already
+                    response.setEntityStream(new ReleasingInputStream(response.getEntityStream(), request));
+                } else {
+                    release(request, permit);
+                }
+            }
+        } else {
+            release(request, permit);
+        }
+    }
+
+    private static void release(final ClientRequestContext request, final Object permit) {
+        CacheControlClientRequestFilter.release(permit);
+        request.removeProperty(CacheControlClientRequestFilter.COALESCED_PERMIT_PROPERTY);
+    }
+
+    private Cache<Key, Entry> getCache() {
+        return shared != null ? shared.resolve().getCache() : cache;
+    }
+
+    private static Entry refresh(final Entry entry, final ClientResponseContext response) {
+        final Entry refreshed = new Entry(entry.getData(), entry.getHeaders(), entry.getCacheHeaders(),
+                                          entry.getExpiresValue());
+        final String cacheControlHeader = response.getHeaderString(HttpHeaders.CACHE_CONTROL);
+        if (cacheControlHeader != null) {
+            final CacheControl cacheControl = CacheControl.valueOf(cacheControlHeader);
+            if (cacheControl.getMaxAge() != -1) {
+                refreshed.setExpiresValue(cacheControl.getMaxAge());
+            }
+        }
+        refreshed.setStaleWhileRevalidate(entry.getStaleWhileRevalidate());
+        refreshed.setVaryHeaders(entry.getVaryHeaders());
+        return refreshed;
+    }
+
+    public CacheControlClientResponseFilter setCache(final Cache<Key, Entry> c) {
+        this.cache = c;
+        return this;
+    }
+
+    private static final class ReleasingInputStream extends FilterInputStream {
+        private final ClientRequestContext request;
+
+        ReleasingInputStream(final InputStream in, final ClientRequestContext request) {
+            super(in);
+            this.request = request;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                release(request, request.getProperty(CacheControlClientRequestFilter.COALESCED_PERMIT_PROPERTY));
+            }
+        }
+    }
+}
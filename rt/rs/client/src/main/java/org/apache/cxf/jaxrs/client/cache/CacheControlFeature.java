@@ -22,6 +22,7 @@ import java.io.Closeable;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 
@@ -39,10 +40,31 @@ import jakarta.annotation.PreDestroy;
 import jakarta.ws.rs.core.Feature;
 import jakarta.ws.rs.core.FeatureContext;
 import jakarta.ws.rs.ext.Provider;
+import org.apache.cxf.Bus;
+import org.apache.cxf.buslifecycle.BusLifeCycleListener;
+import org.apache.cxf.buslifecycle.BusLifeCycleManager;
+import org.apache.cxf.common.util.PropertyUtils;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.PhaseInterceptorChain;
 
 
+/**
+ * Client side HTTP cache. The cached entries are stored in a JCache {@link Cache}, the store-specific 
+ * settings (like off-heap storage or size based eviction) are configured using the JCache provider
+ * configuration referenced by the "config-uri" property. The following properties (all prefixed with 
+ * "org.apache.cxf.jaxrs.client.cache.CacheControlFeature.") are supported as well:
+ * <ul>
+ * <li>"shared": share the cache between all the clients of the same bus (default false)</li>
+ * <li>"coalescing": whether the concurrent requests for the same missing (or stale) entry result 
+ *     in one backend request only (default true)</li>
+ * <li>"coalescingTimeout": the maximum time in milliseconds to wait for the concurrent request 
+ *     (default 5000)</li>
+ * </ul>
+ */
 @Provider
 public class CacheControlFeature implements Feature, Closeable {
+    private static final String SHARED_CACHE_PROPERTY = CacheControlFeature.class.getName() + ".shared.";
+
     private CachingProvider provider;
     private CacheManager manager;
     private Cache<Key, Entry> cache;
@@ -51,14 +73,71 @@ public class CacheControlFeature implements Feature, Closeable {
     @Override
     public boolean configure(final FeatureContext context) {
         // TODO: read context properties to exclude some patterns?
-        final Cache<Key, Entry> entryCache = createCache(context.getConfiguration().getProperties());
-        context.register(new CacheControlClientRequestFilter(entryCache));
-        CacheControlClientReaderInterceptor reader = new CacheControlClientReaderInterceptor(entryCache);
+        final Map<String, Object> properties = context.getConfiguration().getProperties();
+        final String prefix = this.getClass().getName() + ".";
+        final CacheControlClientReaderInterceptor reader;
+        if (PropertyUtils.isTrue(properties.get(prefix + "shared"))) {
+            // The bus is only known once the client is invoked
+            final SharedCacheResolver shared = new SharedCacheResolver(new HashMap<>(properties), prefix);
+            context.register(new CacheControlClientRequestFilter(shared));
+            context.register(new CacheControlClientResponseFilter(shared));
+            reader = new CacheControlClientReaderInterceptor(shared);
+        } else {
+            final Cache<Key, Entry> c = createCache(properties);
+            context.register(new CacheControlClientRequestFilter(c, createCoalescer(properties, prefix)));
+            context.register(new CacheControlClientResponseFilter(c));
+            reader = new CacheControlClientReaderInterceptor(c);
+        }
         reader.setCacheResponseInputStream(cacheResponseInputStream);
         context.register(reader);
         return true;
     }
 
+    /**
+     * Returns the cache shared by all the clients of the given bus, it is closed when the bus is shut down.
+     */
+    static SharedCache getSharedCache(final Bus bus, final Map<String, Object> properties, final String prefix) {
+        final Object name = properties.getOrDefault(prefix + "name", CacheControlFeature.class.getName());
+        synchronized (bus) {
+            SharedCache shared = (SharedCache)bus.getProperty(SHARED_CACHE_PROPERTY + name);
+            if (shared == null) {
+                final CacheControlFeature owner = new CacheControlFeature();
+                shared = new SharedCache(owner.createCache(properties), createCoalescer(properties, prefix));
+                bus.setProperty(SHARED_CACHE_PROPERTY + name, shared);
+
+                final BusLifeCycleManager lifeCycleManager = bus.getExtension(BusLifeCycleManager.class);
+                if (lifeCycleManager != null) {
+                    lifeCycleManager.registerLifeCycleListener(new BusLifeCycleListener() {
+                        @Override
+                        public void initComplete() {
+                            // no-op
+                        }
+
+                        @Override
+                        public void preShutdown() {
+                            // no-op
+                        }
+
+                        @Override
+                        public void postShutdown() {
+                            owner.close();
+                        }
+                    });
+                }
+            }
+            return shared;
+        }
+    }
+
+    private static RequestCoalescer createCoalescer(final Map<String, Object> properties, final String prefix) {
+        final Object coalescing = properties.get(prefix + "coalescing");
+        if (coalescing != null && !PropertyUtils.isTrue(coalescing)) {
+            return null;
+        }
+        final Object timeout = properties.get(prefix + "coalescingTimeout");
+        return timeout == null ? new RequestCoalescer() : new RequestCoalescer(Long.parseLong(timeout.toString()));
+    }
+
     @PreDestroy // TODO: check it is called
     public void close() {
         for (final Closeable c : Arrays.asList(cache, manager, provider)) {
@@ -136,4 +215,51 @@ public class CacheControlFeature implements Feature, Closeable {
     public void setCacheResponseInputStream(boolean cacheStream) {
         this.cacheResponseInputStream = cacheStream;
     }
+
+    static final class SharedCache {
+        private final Cache<Key, Entry> cache;
+        private final RequestCoalescer coalescer;
+
+        SharedCache(Cache<Key, Entry> cache, RequestCoalescer coalescer) {
+            this.cache = cache;
+            this.coalescer = coalescer;
+        }
+
+        Cache<Key, Entry> getCache() {
+            return cache;
+        }
+
+        RequestCoalescer getCoalescer() {
+            return coalescer;
+        }
+    }
+
+    /**
+     * Looks the shared cache up on the bus of the first invocation, the clients are bound to one bus.
+     */
+    static final class SharedCacheResolver {
+        private final Map<String, Object> properties;
+        private final String prefix;
+        private volatile SharedCache shared;
+
+        SharedCacheResolver(Map<String, Object> properties, String prefix) {
+            this.properties = properties;
+            this.prefix = prefix;
+        }
+
+        SharedCache resolve() {
+            SharedCache s = shared;
+            if (s == null) {
+                final Message message = PhaseInterceptorChain.getCurrentMessage();
+                final Bus bus = message != null && message.getExchange() != null
+                    ? message.getExchange().getBus() : null;
+                if (bus == null) {
+                    throw new IllegalStateException("The shared client cache requires the bus of the invocation");
+                }
+                s = getSharedCache(bus, properties, prefix);
+                shared = s;
+            }
+            return s;
+        }
+    }
 }
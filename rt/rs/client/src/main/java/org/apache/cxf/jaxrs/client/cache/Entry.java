@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import jakarta.ws.rs.core.MultivaluedHashMap;
 import jakarta.ws.rs.core.MultivaluedMap;
@@ -34,6 +35,8 @@ public class Entry implements Serializable {
     private Map<String, List<String>> headers;
     private long expiresValue;
     private long initialTimestamp = now();
+    private long staleWhileRevalidate;
+    private Map<String, String> varyHeaders = Collections.emptyMap();
 
     public Entry(final Serializable data, final MultivaluedMap<String, String> headers,
                  final Map<String, String> cacheHeaders, final long expiresHeaderValue) {
@@ -51,6 +54,32 @@ public class Entry implements Serializable {
         return now() - initialTimestamp > expiresValue * 1000L;
     }
 
+    /**
+     * @return true if the entry is outdated but may still be served while it is being revalidated,
+     *         as allowed by the "stale-while-revalidate" Cache-Control extension
+     */
+    public boolean isStaleWhileRevalidate() {
+        return isOutDated() && now() - initialTimestamp <= (expiresValue + staleWhileRevalidate) * 1000L;
+    }
+
+    /**
+     * @return true if the entry has been cached for the request with the same values
+     *         of the headers listed in the Vary response header as the given ones
+     */
+    public boolean isVaryMatched(final MultivaluedMap<String, String> requestHeaders) {
+        for (Map.Entry<String, String> h : varyHeaders.entrySet()) {
+            if (!Objects.equals(h.getValue(), getVaryValue(requestHeaders, h.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String getVaryValue(final MultivaluedMap<String, String> requestHeaders, final String name) {
+        final List<String> values = requestHeaders == null ? null : requestHeaders.get(name);
+        return values == null || values.isEmpty() ? null : String.join(",", values);
+    }
+
     public Map<String, String> getCacheHeaders() {
         return cacheHeaders;
     }
@@ -98,6 +127,22 @@ public class Entry implements Serializable {
         this.initialTimestamp = initialTimestamp;
     }
 
+    public long getStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    public void setStaleWhileRevalidate(final long staleWhileRevalidate) {
+        this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    public Map<String, String> getVaryHeaders() {
+        return varyHeaders;
+    }
+
+    public void setVaryHeaders(final Map<String, String> varyHeaders) {
+        this.varyHeaders = varyHeaders;
+    }
+
     private static long now() {
         return System.currentTimeMillis();
     }
@@ -20,6 +20,10 @@ package org.apache.cxf.jaxrs.client.cache;
 
 import java.io.Serializable;
 import java.net.URI;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
 
 public class Key implements Serializable {
     private static final long serialVersionUID = 400974121100289840L;
@@ -28,13 +32,31 @@ public class Key implements Serializable {
 
     private URI uri;
     private String accept;
+    private Map<String, String> varyHeaders = Collections.emptyMap();
 
     public Key(final URI uri, final String accept) {
+        this(uri, accept, Collections.emptyMap());
+    }
+
+    /**
+     * @param varyHeaders the values of the request headers listed in the Vary response header,
+     *        the key identifies one variant of the resource
+     */
+    public Key(final URI uri, final String accept, final Map<String, String> varyHeaders) {
         this.uri = uri;
         this.accept = accept;
+        if (!varyHeaders.isEmpty()) {
+            // the header names are case-insensitive
+            final Map<String, String> names = new TreeMap<>();
+            for (Map.Entry<String, String> h : varyHeaders.entrySet()) {
+                names.put(h.getKey().toLowerCase(Locale.ENGLISH), h.getValue());
+            }
+            this.varyHeaders = names;
+        }
 
         int result = uri.hashCode();
         result = 31 * result + (accept != null ? accept.hashCode() : 0);
+        result = 31 * result + this.varyHeaders.hashCode();
         this.hash = result;
     }
 
@@ -58,6 +80,14 @@ public class Key implements Serializable {
         this.accept = accept;
     }
 
+    public Map<String, String> getVaryHeaders() {
+        return varyHeaders;
+    }
+
+    public void setVaryHeaders(final Map<String, String> varyHeaders) {
+        this.varyHeaders = varyHeaders;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -68,7 +98,8 @@ public class Key implements Serializable {
         }
 
         final Key key = Key.class.cast(o);
-        return !(accept != null ? !accept.equals(key.accept) : key.accept != null) && uri.equals(key.uri);
+        return !(accept != null ? !accept.equals(key.accept) : key.accept != null) && uri.equals(key.uri)
+            && varyHeaders.equals(key.varyHeaders);
 
     }
 
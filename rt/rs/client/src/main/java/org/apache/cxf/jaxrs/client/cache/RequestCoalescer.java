@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.client.cache;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Makes sure that only one of the concurrent requests for the same cache key goes to the backend
+ * when the cached entry is missing or needs revalidation, the others wait for it (or are served
+ * the stale entry) instead.
+ */
+public class RequestCoalescer {
+    public static final long DEFAULT_TIMEOUT = 5000L;
+
+    private final Map<Key, Request> inflight = new ConcurrentHashMap<>();
+    private final long timeout;
+
+    public RequestCoalescer() {
+        this(DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * @param timeout the maximum time in milliseconds to wait for the concurrent request
+     */
+    public RequestCoalescer(long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Try to become the request which goes to the backend for the given key.
+     * @return the permit to release once the response has been cached (or not), or null if there
+     *         is another request for the given key in flight already
+     */
+    public Permit tryAcquire(Key key) {
+        final Request request = new Request(System.currentTimeMillis() + timeout);
+        final Request existing = inflight.putIfAbsent(key, request);
+        if (existing == null) {
+            return new Permit(key, request);
+        }
+        // the request in flight has never been released (f.e. its response has not been read),
+        // so let the new one take over
+        if (existing.deadline < System.currentTimeMillis() && inflight.replace(key, existing, request)) {
+            existing.latch.countDown();
+            return new Permit(key, request);
+        }
+        return null;
+    }
+
+    /**
+     * Wait for the request in flight for the given key (if any) to be released.
+     * @return true if the request has been released, false if the wait has timed out
+     */
+    public boolean await(Key key) {
+        final Request request = inflight.get(key);
+        if (request == null) {
+            return true;
+        }
+        try {
+            return request.latch.await(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Lets the concurrent requests for the same key go ahead. Releasing a permit more than once, or
+     * after another request has taken over, has no effect.
+     */
+    public final class Permit implements Closeable {
+        private final Key key;
+        private final Request request;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(Key key, Request request) {
+            this.key = key;
+            this.request = request;
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                inflight.remove(key, request);
+                request.latch.countDown();
+            }
+        }
+
+        @Override
+        public void close() {
+            release();
+        }
+    }
+
+    private static final class Request {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private final long deadline;
+
+        Request(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+}
@@ -87,15 +87,16 @@ public class ClientResponseFilterInterceptor extends AbstractInDatabindingInterc
         ResponseBuilder rb = JAXRSUtils.toResponseBuilder((Integer)inMessage.get(Message.RESPONSE_CODE));
         rb.entity(inMessage.get(InputStream.class));
 
+        // the local transport may pass the header values through unconverted
         @SuppressWarnings("unchecked")
-        Map<String, List<String>> protocolHeaders =
-            (Map<String, List<String>>)inMessage.get(Message.PROTOCOL_HEADERS);
-        for (Map.Entry<String, List<String>> entry : protocolHeaders.entrySet()) {
+        Map<String, List<Object>> protocolHeaders =
+            (Map<String, List<Object>>)inMessage.get(Message.PROTOCOL_HEADERS);
+        for (Map.Entry<String, List<Object>> entry : protocolHeaders.entrySet()) {
             if (null == entry.getKey()) {
                 continue;
             }
             if (entry.getValue().size() > 0) {
-                for (String val : entry.getValue()) {
+                for (Object val : entry.getValue()) {
                     rb.header(entry.getKey(), val);
                 }
             }
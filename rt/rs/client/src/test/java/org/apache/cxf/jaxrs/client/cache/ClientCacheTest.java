@@ -21,16 +21,28 @@ package org.apache.cxf.jaxrs.client.cache;
 
 import java.io.InputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.ProcessingException;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.client.ClientBuilder;
 import jakarta.ws.rs.client.Invocation;
 import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.xml.bind.annotation.XmlRootElement;
 import org.apache.cxf.Bus;
@@ -49,26 +61,39 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class ClientCacheTest {
     public static final String ADDRESS = "local://transport";
-    private static Server server;
+    private static final List<Server> SERVERS = new ArrayList<>();
 
     @BeforeClass
     public static void bind() throws Exception {
-        final JAXRSServerFactoryBean sf = new JAXRSServerFactoryBean();
-        sf.setResourceClasses(TheServer.class);
-        sf.setResourceProvider(TheServer.class, new SingletonResourceProvider(new TheServer(), false));
-        sf.setTransportId(LocalTransportFactory.TRANSPORT_ID);
-        sf.setAddress(ADDRESS);
-        server = sf.create();
+        SERVERS.add(createServer(ADDRESS, new TheServer()));
+        SERVERS.add(createServer(ADDRESS + "/variants", new VariantServer()));
+        SERVERS.add(createServer(ADDRESS + "/revalidate", new RevalidationServer()));
+        SERVERS.add(createServer(ADDRESS + "/slow", new SlowServer()));
     }
 
     @AfterClass
     public static void unbind() throws Exception {
-        server.stop();
-        server.destroy();
+        for (Server server : SERVERS) {
+            server.stop();
+            server.destroy();
+        }
+        SERVERS.clear();
+    }
+
+    private static Server createServer(String address, Object resource) {
+        final JAXRSServerFactoryBean sf = new JAXRSServerFactoryBean();
+        sf.setResourceClasses(resource.getClass());
+        sf.setResourceProvider(resource.getClass(), new SingletonResourceProvider(resource, false));
+        sf.setTransportId(LocalTransportFactory.TRANSPORT_ID);
+        sf.setAddress(address);
+        return sf.create();
     }
 
     @Test
@@ -203,6 +228,126 @@ public class ClientCacheTest {
         }
     }
 
+    @Test
+    public void testVaryHeaderSelectsVariant() {
+        try (CacheControlFeature feature = new CacheControlFeature()) {
+            final WebTarget base = ClientBuilder.newBuilder().register(feature).build()
+                .target(ADDRESS + "/variants");
+            final String a1 = base.request("text/plain").header("X-Variant", "a").get(String.class);
+            final String b1 = base.request("text/plain").header("X-Variant", "b").get(String.class);
+            assertNotEquals(a1, b1);
+            assertEquals("b", b1.split(":")[0]);
+            assertEquals(b1, base.request("text/plain").header("X-Variant", "b").get(String.class));
+        }
+    }
+
+    @Test
+    public void testVaryHeaderVariantsAreCachedSeparately() {
+        try (CacheControlFeature feature = new CacheControlFeature()) {
+            final WebTarget base = ClientBuilder.newBuilder().register(feature).build()
+                .target(ADDRESS + "/variants");
+            final String c1 = base.request("text/plain").header("X-Variant", "c").get(String.class);
+            final String d1 = base.request("text/plain").header("X-Variant", "d").get(String.class);
+            assertNotEquals(c1, d1);
+            // the second variant has not replaced the first one
+            assertEquals(c1, base.request("text/plain").header("X-Variant", "c").get(String.class));
+            assertEquals(d1, base.request("text/plain").header("X-Variant", "d").get(String.class));
+        }
+    }
+
+    @Test
+    public void testRevalidationNotModified() {
+        try (CacheControlFeature feature = new CacheControlFeature()) {
+            final WebTarget base = ClientBuilder.newBuilder().register(feature).build()
+                .target(ADDRESS + "/revalidate");
+            final int invocations = RevalidationServer.INVOCATIONS.get();
+            final String r1 = base.request("text/plain").get(String.class);
+            waitABit();
+
+            final Response r = base.request("text/plain").get();
+            assertEquals(Response.Status.OK.getStatusCode(), r.getStatus());
+            assertEquals(r1, r.readEntity(String.class));
+            // the outdated entry has been revalidated and not modified
+            assertEquals(invocations + 2, RevalidationServer.INVOCATIONS.get());
+        }
+    }
+
+    @Test
+    public void testConcurrentMissesAreCoalesced() throws Exception {
+        try (CacheControlFeature feature = new CacheControlFeature()) {
+            final WebTarget base = ClientBuilder.newBuilder().register(feature).build()
+                .target(ADDRESS + "/slow");
+            final int invocations = SlowServer.INVOCATIONS.get();
+            final ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                final List<Future<String>> results = new ArrayList<>();
+                for (int i = 0; i < 4; ++i) {
+                    final Callable<String> call = () -> base.request("text/plain").get(String.class);
+                    results.add(executor.submit(call));
+                }
+                final String r1 = results.get(0).get();
+                for (Future<String> result : results) {
+                    assertEquals(r1, result.get());
+                }
+                assertEquals(invocations + 1, SlowServer.INVOCATIONS.get());
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testCoalescedRequestReleasedOnFailure() {
+        try (CacheControlFeature feature = new CacheControlFeature()) {
+            final WebTarget base = ClientBuilder.newBuilder()
+                .property(CacheControlFeature.class.getName() + ".coalescingTimeout", "20000")
+                .register(feature).build().target("local://transport-not-bound");
+            for (int i = 0; i < 2; ++i) {
+                final long start = System.currentTimeMillis();
+                try {
+                    base.request("text/plain").get(String.class);
+                    fail("ProcessingException expected");
+                } catch (ProcessingException ex) {
+                    // expected
+                }
+                // the failed request must not keep the next one waiting for the coalescing timeout
+                assertTrue(System.currentTimeMillis() - start < 10000);
+            }
+        }
+    }
+
+    @Test
+    public void testCoalescedRequestReleasedOnClose() {
+        try (CacheControlFeature feature = new CacheControlFeature()) {
+            final WebTarget base = ClientBuilder.newBuilder()
+                .property(CacheControlFeature.class.getName() + ".coalescingTimeout", "20000")
+                .register(feature).build().target(ADDRESS);
+            final Response r = base.request("text/plain").get();
+            assertEquals(Response.Status.OK.getStatusCode(), r.getStatus());
+            // the entity is not read, so it is not cached either
+            r.close();
+            final long start = System.currentTimeMillis();
+            assertNotNull(base.request("text/plain").get(String.class));
+            assertTrue(System.currentTimeMillis() - start < 10000);
+        }
+    }
+
+    @Test
+    public void testSharedCache() {
+        final String prefix = CacheControlFeature.class.getName() + ".";
+        try (CacheControlFeature feature1 = new CacheControlFeature();
+            CacheControlFeature feature2 = new CacheControlFeature()) {
+            final String r1 = ClientBuilder.newBuilder()
+                .property(prefix + "shared", "true").property(prefix + "name", "shared-client-cache")
+                .register(feature1).build().target(ADDRESS).request("text/plain").get(String.class);
+            waitABit();
+            final String r2 = ClientBuilder.newBuilder()
+                .property(prefix + "shared", "true").property(prefix + "name", "shared-client-cache")
+                .register(feature2).build().target(ADDRESS).request("text/plain").get(String.class);
+            assertEquals(r1, r2);
+        }
+    }
+
     private static Invocation.Builder setAsLocal(final Invocation.Builder client) {
         WebClient.getConfig(client).getRequestContext().put(LocalConduit.DIRECT_DISPATCH, Boolean.TRUE);
         return client;
@@ -233,6 +378,50 @@ public class ClientCacheTest {
             return Response.ok(b).tag("123").cacheControl(CacheControl.valueOf("max-age=50000")).build();
         }
     }
+
+    @Path("/")
+    public static class VariantServer {
+        private final AtomicInteger invocations = new AtomicInteger();
+
+        @GET
+        @Produces("text/plain")
+        public Response getVariant(@HeaderParam("X-Variant") String variant) {
+            return Response.ok(variant + ":" + invocations.incrementAndGet()).header(HttpHeaders.VARY, "X-Variant")
+                .cacheControl(CacheControl.valueOf("max-age=50000")).build();
+        }
+    }
+
+    @Path("/")
+    public static class RevalidationServer {
+        static final AtomicInteger INVOCATIONS = new AtomicInteger();
+
+        @GET
+        @Produces("text/plain")
+        public Response getRevalidated(@Context Request request) {
+            final EntityTag tag = new EntityTag("v1");
+            final CacheControl cacheControl = CacheControl.valueOf("max-age=0");
+            final Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+            if (INVOCATIONS.getAndIncrement() > 0 && notModified != null) {
+                return notModified.cacheControl(cacheControl).build();
+            }
+            return Response.ok("revalidated:" + System.nanoTime()).tag(tag).cacheControl(cacheControl).build();
+        }
+    }
+
+    @Path("/")
+    public static class SlowServer {
+        static final AtomicInteger INVOCATIONS = new AtomicInteger();
+
+        @GET
+        @Produces("text/plain")
+        public Response getSlowly() throws InterruptedException {
+            INVOCATIONS.incrementAndGet();
+            Thread.sleep(300);
+            return Response.ok("slow:" + System.nanoTime())
+                .cacheControl(CacheControl.valueOf("max-age=50000")).build();
+        }
+    }
+
     @XmlRootElement
     public static class Book implements Serializable {
         private static final long serialVersionUID = 4924824780883333782L;
@@ -18,13 +18,18 @@
  */
 package org.apache.cxf.jaxrs.json.basic;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
-import org.apache.cxf.common.util.StringUtils;
 import org.apache.cxf.helpers.IOUtils;
 
 
@@ -40,7 +45,17 @@ public class JsonMapObjectReaderWriter {
     private static final char ARRAY_END = ']';
     private static final char ESCAPE = '\\';
     private static final String NULL_VALUE = "null";
+    private static final Set<String> READING_METHODS = new HashSet<>(
+        Arrays.asList("readJsonObjectAsSettable", "internalFromJsonAsList", "readPrimitiveValue"));
+    private static final ClassValue<Boolean> LEGACY_READERS = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return overridesReadingMethods(type);
+        }
+    };
     private boolean format;
+    // the subclasses which customize the deprecated reading methods keep reading with them
+    private final boolean legacyReader = LEGACY_READERS.get(getClass());
 
     static {
         Set<Character> chars = new HashSet<>();
@@ -83,14 +98,33 @@ public class JsonMapObjectReaderWriter {
     }
 
     public void toJson(Map<String, Object> map, OutputStream os) {
-        toJsonInternal(new StreamOutput(os), map);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+        toJson(map, writer);
+    }
+
+    public void toJson(JsonMapObject obj, Writer writer) {
+        toJson(obj.asMap(), writer);
+    }
+
+    /**
+     * Write the map to the given writer, which is flushed but not closed.
+     */
+    public void toJson(Map<String, Object> map, Writer writer) {
+        toJsonInternal(new WriterOutput(writer), map);
+        try {
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
     }
 
     protected void toJsonInternal(Output out, Map<String, Object> map) {
         out.append(OBJECT_START);
         for (Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator(); it.hasNext();) {
             Map.Entry<String, Object> entry = it.next();
-            out.append(DQUOTE).append(escapeJson(entry.getKey())).append(DQUOTE);
+            out.append(DQUOTE);
+            escapeJson(out, entry.getKey());
+            out.append(DQUOTE);
             out.append(COLON);
             toJsonInternal(out, entry.getValue(), it.hasNext());
         }
@@ -116,24 +150,24 @@ public class JsonMapObjectReaderWriter {
         if (value == null) {
             out.append(null);
         } else if (JsonMapObject.class.isAssignableFrom(value.getClass())) {
-            out.append(toJson((JsonMapObject)value));
+            toJsonInternal(out, ((JsonMapObject)value).asMap());
         } else if (value.getClass().isArray()) {
             toJsonInternal(out, (Object[])value);
         } else if (Collection.class.isAssignableFrom(value.getClass())) {
             toJsonInternal(out, (Collection<?>)value);
         } else if (Map.class.isAssignableFrom(value.getClass())) {
             toJsonInternal(out, (Map<String, Object>)value);
+        } else if (value instanceof String) {
+            // If the value is a String, make sure to escape quotes
+            out.append(DQUOTE);
+            escapeJson(out, (String)value);
+            out.append(DQUOTE);
         } else {
             boolean quotesNeeded = checkQuotesNeeded(value);
             if (quotesNeeded) {
                 out.append(DQUOTE);
             }
-            String valueStr = value.toString();
-            if (value instanceof String) {
-                // If the value is a String, make sure to escape quotes
-                valueStr = escapeJson(valueStr);
-            }
-            out.append(valueStr);
+            out.append(value.toString());
             if (quotesNeeded) {
                 out.append(DQUOTE);
             }
@@ -163,27 +197,70 @@ public class JsonMapObjectReaderWriter {
         fromJson(obj, json);
         return obj;
     }
+    /**
+     * Read the UTF-8 encoded JSON, such as a Base64URL decoded JOSE segment.
+     */
+    public JsonMapObject fromJsonToJsonObject(byte[] json) {
+        if (legacyReader) {
+            return fromJsonToJsonObject(new String(json, StandardCharsets.UTF_8));
+        }
+        JsonMapObject obj = new JsonMapObject();
+        new Parser(toChars(json)).readDocument(new JsonObjectSettable(obj));
+        return obj;
+    }
     public void fromJson(JsonMapObject obj, String json) {
-        String theJson = json.trim();
         JsonObjectSettable settable = new JsonObjectSettable(obj);
-        readJsonObjectAsSettable(settable, theJson.substring(1, theJson.length() - 1));
+        if (legacyReader) {
+            String theJson = json.trim();
+            readJsonObjectAsSettable(settable, theJson.substring(1, theJson.length() - 1));
+        } else {
+            new Parser(json.toCharArray()).readDocument(settable);
+        }
     }
     public Map<String, Object> fromJson(InputStream is) throws IOException {
         return fromJson(IOUtils.toString(is));
     }
     public Map<String, Object> fromJson(String json) {
-        String theJson = json.trim();
         MapSettable nextMap = new MapSettable();
-        readJsonObjectAsSettable(nextMap, theJson.substring(1, theJson.length() - 1));
+        if (legacyReader) {
+            String theJson = json.trim();
+            readJsonObjectAsSettable(nextMap, theJson.substring(1, theJson.length() - 1));
+        } else {
+            new Parser(json.toCharArray()).readDocument(nextMap);
+        }
+        return nextMap.map;
+    }
+    /**
+     * Read the UTF-8 encoded JSON, such as a Base64URL decoded JOSE segment.
+     */
+    public Map<String, Object> fromJson(byte[] json) {
+        if (legacyReader) {
+            return fromJson(new String(json, StandardCharsets.UTF_8));
+        }
+        MapSettable nextMap = new MapSettable();
+        new Parser(toChars(json)).readDocument(nextMap);
         return nextMap.map;
     }
     public List<Object> fromJsonAsList(String json) {
         return fromJsonAsList(null, json);
     }
+    /**
+     * @param name the name passed to {@link #internalFromJsonAsList(String, String)} and
+     *        {@link #readPrimitiveValue(String, String, int, int)} if a subclass overrides them
+     */
     public List<Object> fromJsonAsList(String name, String json) {
-        String theJson = json.trim();
-        return internalFromJsonAsList(name, theJson.substring(1, theJson.length() - 1));
+        if (legacyReader) {
+            String theJson = json.trim();
+            return internalFromJsonAsList(name, theJson.substring(1, theJson.length() - 1));
+        }
+        return new Parser(json.toCharArray()).readDocumentAsList();
     }
+
+    /**
+     * @deprecated the documents are read in a single pass, this method is only called if a subclass
+     *             overrides one of the reading methods
+     */
+    @Deprecated
     protected void readJsonObjectAsSettable(Settable values, String json) {
         for (int i = 0; i < json.length(); i++) {
             if (Character.isWhitespace(json.charAt(i))) {
@@ -223,6 +300,11 @@ public class JsonMapObjectReaderWriter {
 
         }
     }
+    /**
+     * @deprecated the documents are read in a single pass, this method is only called if a subclass
+     *             overrides one of the reading methods
+     */
+    @Deprecated
     protected List<Object> internalFromJsonAsList(String name, String json) {
         List<Object> values = new LinkedList<>();
         for (int i = 0; i < json.length(); i++) {
@@ -245,6 +327,11 @@ public class JsonMapObjectReaderWriter {
 
         return values;
     }
+    /**
+     * @deprecated the documents are read in a single pass, this method is only called if a subclass
+     *             overrides one of the reading methods
+     */
+    @Deprecated
     protected Object readPrimitiveValue(String name, String json, int from, int to) {
         Object value = json.substring(from, to);
         String valueStr = value.toString().trim();
@@ -279,6 +366,10 @@ public class JsonMapObjectReaderWriter {
         return value;
     }
 
+    /**
+     * @deprecated only used by the deprecated reading methods
+     */
+    @Deprecated
     protected static int getCommaIndex(String json, int from) {
         int commaIndex = getNextSepCharIndex(json, COMMA, from);
         if (commaIndex == -1) {
@@ -286,6 +377,10 @@ public class JsonMapObjectReaderWriter {
         }
         return commaIndex;
     }
+    /**
+     * @deprecated only used by the deprecated reading methods
+     */
+    @Deprecated
     protected static int getClosingIndex(String json, char openChar, char closeChar, int from) {
         int nextOpenIndex = getNextSepCharIndex(json, openChar, from + 1);
         int closingIndex = getNextSepCharIndex(json, closeChar, from + 1);
@@ -295,7 +390,10 @@ public class JsonMapObjectReaderWriter {
         }
         return closingIndex;
     }
-
+    /**
+     * @deprecated only used by the deprecated reading methods
+     */
+    @Deprecated
     protected static int getNextSepCharIndex(String json, char curlyBracketChar, int from) {
         int nextCurlyBracketIndex = -1;
         boolean inString = false;
@@ -314,6 +412,31 @@ public class JsonMapObjectReaderWriter {
         return nextCurlyBracketIndex;
     }
 
+    private static boolean overridesReadingMethods(Class<?> cls) {
+        for (Class<?> c = cls; c != JsonMapObjectReaderWriter.class; c = c.getSuperclass()) {
+            for (Method m : c.getDeclaredMethods()) {
+                if (!Modifier.isStatic(m.getModifiers()) && READING_METHODS.contains(m.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static char[] toChars(byte[] json) {
+        for (byte b : json) {
+            if (b < 0) {
+                return new String(json, StandardCharsets.UTF_8).toCharArray();
+            }
+        }
+        // ASCII only, which is typical for the JOSE headers and claims
+        char[] chars = new char[json.length];
+        for (int i = 0; i < json.length; i++) {
+            chars[i] = (char)json[i];
+        }
+        return chars;
+    }
+
     public void setFormat(boolean format) {
         this.format = format;
     }
@@ -337,8 +460,289 @@ public class JsonMapObjectReaderWriter {
             obj.setProperty(key, value);
         }
     }
+
+    /**
+     * Single pass reader of a JSON document. The strings without escape sequences and
+     * the integral numbers are decoded directly from the character array.
+     */
+    private static final class Parser {
+        private final char[] json;
+        private int pos;
+
+        Parser(char[] json) {
+            this.json = json;
+        }
+
+        void readDocument(Settable values) {
+            skipWhitespace();
+            readObject(values);
+            checkEnd();
+        }
+
+        List<Object> readDocumentAsList() {
+            skipWhitespace();
+            List<Object> list = readArray();
+            checkEnd();
+            return list;
+        }
+
+        Object readDocumentAsValue() {
+            Object value = readValue();
+            checkEnd();
+            return value;
+        }
+
+        private void readObject(Settable values) {
+            expect(OBJECT_START);
+            skipWhitespace();
+            if (peek() == OBJECT_END) {
+                pos++;
+                return;
+            }
+            while (true) {
+                skipWhitespace();
+                String name = readName();
+                skipWhitespace();
+                expect(COLON);
+                values.put(name, readValue());
+                skipWhitespace();
+                char c = next();
+                if (c == OBJECT_END) {
+                    return;
+                } else if (c != COMMA) {
+                    throw error();
+                }
+            }
+        }
+
+        private List<Object> readArray() {
+            expect(ARRAY_START);
+            List<Object> values = new ArrayList<>();
+            skipWhitespace();
+            if (peek() == ARRAY_END) {
+                pos++;
+                return values;
+            }
+            while (true) {
+                values.add(readValue());
+                skipWhitespace();
+                char c = next();
+                if (c == ARRAY_END) {
+                    return values;
+                } else if (c != COMMA) {
+                    throw error();
+                }
+            }
+        }
+
+        private Object readValue() {
+            skipWhitespace();
+            switch (peek()) {
+            case OBJECT_START:
+                MapSettable nextMap = new MapSettable();
+                readObject(nextMap);
+                return nextMap.map;
+            case ARRAY_START:
+                return readArray();
+            case DQUOTE:
+                return readString();
+            case 't':
+                readLiteral("true");
+                return Boolean.TRUE;
+            case 'f':
+                readLiteral("false");
+                return Boolean.FALSE;
+            case 'n':
+                readLiteral(NULL_VALUE);
+                return null;
+            default:
+                return readNumber();
+            }
+        }
+
+        private String readString() {
+            expect(DQUOTE);
+            int start = pos;
+            while (pos < json.length) {
+                char c = json[pos];
+                if (c == DQUOTE) {
+                    return new String(json, start, pos++ - start);
+                } else if (c == ESCAPE) {
+                    return readEscapedString(start);
+                }
+                pos++;
+            }
+            throw error();
+        }
+
+        /**
+         * Read the member name. The names which are not quoted (or which have the closing quote only)
+         * are tolerated as they used to be.
+         */
+        private String readName() {
+            if (peek() == DQUOTE) {
+                return readString();
+            }
+            int start = pos;
+            while (pos < json.length && json[pos] != COLON && json[pos] != DQUOTE
+                && !Character.isWhitespace(json[pos])) {
+                pos++;
+            }
+            if (pos == start) {
+                throw error();
+            }
+            String name = new String(json, start, pos - start);
+            if (pos < json.length && json[pos] == DQUOTE) {
+                pos++;
+            }
+            return name;
+        }
+
+        private String readEscapedString(int start) {
+            StringBuilder sb = new StringBuilder(pos - start + 16).append(json, start, pos - start);
+            while (pos < json.length) {
+                char c = json[pos++];
+                if (c == DQUOTE) {
+                    return sb.toString();
+                } else if (c != ESCAPE) {
+                    sb.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    if (pos + 4 > json.length) {
+                        throw error();
+                    }
+                    try {
+                        sb.append((char)Integer.parseInt(new String(json, pos, 4), 16));
+                    } catch (NumberFormatException ex) {
+                        throw error();
+                    }
+                    pos += 4;
+                    break;
+                default:
+                    // '"', '\\' and '/' as well as the unknown escapes
+                    sb.append(escaped);
+                }
+            }
+            throw error();
+        }
+
+        private Object readNumber() {
+            int start = pos;
+            boolean integral = true;
+            while (pos < json.length) {
+                char c = json[pos];
+                if (c == '.' || c == 'e' || c == 'E' || c == '+') {
+                    integral = false;
+                } else if (!(c >= '0' && c <= '9' || c == '-')) {
+                    break;
+                }
+                pos++;
+            }
+            int len = pos - start;
+            if (len == 0) {
+                throw error();
+            }
+            if (integral && len < 19) {
+                Long value = toLong(start, len);
+                if (value != null) {
+                    return value;
+                }
+            }
+            String valueStr = new String(json, start, len);
+            try {
+                return Long.valueOf(valueStr);
+            } catch (NumberFormatException ex) {
+                try {
+                    return Double.valueOf(valueStr);
+                } catch (NumberFormatException ex2) {
+                    throw error();
+                }
+            }
+        }
+
+        private Long toLong(int start, int len) {
+            boolean negative = json[start] == '-';
+            int i = negative ? start + 1 : start;
+            if (i == start + len) {
+                return null;
+            }
+            long value = 0;
+            for (; i < start + len; i++) {
+                char c = json[i];
+                if (c < '0' || c > '9') {
+                    return null;
+                }
+                value = value * 10 + (c - '0');
+            }
+            return negative ? -value : value;
+        }
+
+        private void readLiteral(String literal) {
+            for (int i = 0; i < literal.length(); i++) {
+                if (next() != literal.charAt(i)) {
+                    throw error();
+                }
+            }
+        }
+
+        private void skipWhitespace() {
+            while (pos < json.length && Character.isWhitespace(json[pos])) {
+                pos++;
+            }
+        }
+
+        private void checkEnd() {
+            skipWhitespace();
+            if (pos != json.length) {
+                throw error();
+            }
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) {
+                throw error();
+            }
+        }
+
+        private char peek() {
+            if (pos >= json.length) {
+                throw error();
+            }
+            return json[pos];
+        }
+
+        private char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        private UncheckedIOException error() {
+            return new UncheckedIOException(new IOException("Error in parsing json at position " + pos));
+        }
+    }
+
     private interface Output {
         Output append(String str);
+        Output append(String str, int start, int end);
         Output append(char ch);
     }
     private class StringBuilderOutput implements Output {
@@ -352,21 +756,35 @@ public class JsonMapObjectReaderWriter {
             return this;
         }
         @Override
+        public Output append(String str, int start, int end) {
+            sb.append(str, start, end);
+            return this;
+        }
+        @Override
         public Output append(char ch) {
             sb.append(ch);
             return this;
         }
 
     }
-    private class StreamOutput implements Output {
-        private OutputStream os;
-        StreamOutput(OutputStream os) {
-            this.os = os;
+    private class WriterOutput implements Output {
+        private Writer writer;
+        WriterOutput(Writer writer) {
+            this.writer = writer;
         }
         @Override
         public Output append(String str) {
             try {
-                os.write(StringUtils.toBytesUTF8(str != null ? str : NULL_VALUE));
+                writer.write(str != null ? str : NULL_VALUE);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return this;
+        }
+        @Override
+        public Output append(String str, int start, int end) {
+            try {
+                writer.write(str, start, end - start);
             } catch (IOException ex) {
                 throw new UncheckedIOException(ex);
             }
@@ -375,7 +793,7 @@ public class JsonMapObjectReaderWriter {
         @Override
         public Output append(char ch) {
             try {
-                os.write(ch);
+                writer.write(ch);
             } catch (IOException ex) {
                 throw new UncheckedIOException(ex);
             }
@@ -384,22 +802,44 @@ public class JsonMapObjectReaderWriter {
 
     }
 
-    private String escapeJson(String value) {
-        StringBuilder sb = new StringBuilder();
+    private void escapeJson(Output out, String value) {
+        int start = 0;
         for (int i = 0; i < value.length(); i++) {
             char c = value.charAt(i);
+            String escaped = null;
             // If we have " and the previous char was not \ then escape it
             if (c == '"' && (i == 0 || value.charAt(i - 1) != '\\')) {
-                sb.append('\\').append(c);
+                escaped = "\\\"";
             // If we have \ and the previous char was not \ and the next char is not an escaped char, then escape it
             } else if (c == '\\' && (i == 0 || value.charAt(i - 1) != '\\')
                     && (i == value.length() - 1 || !isEscapedChar(value.charAt(i + 1)))) {
-                sb.append('\\').append(c);
-            } else {
-                sb.append(c);
+                escaped = "\\\\";
+            } else if (c < ' ') {
+                escaped = escapeControlChar(c);
+            }
+            if (escaped != null) {
+                out.append(value, start, i).append(escaped);
+                start = i + 1;
             }
         }
-        return sb.toString();
+        out.append(value, start, value.length());
+    }
+
+    private static String escapeControlChar(char c) {
+        switch (c) {
+        case '\b':
+            return "\\b";
+        case '\f':
+            return "\\f";
+        case '\n':
+            return "\\n";
+        case '\r':
+            return "\\r";
+        case '\t':
+            return "\\t";
+        default:
+            return String.format("\\u%04x", (int)c);
+        }
     }
 
     private boolean isEscapedChar(char c) {
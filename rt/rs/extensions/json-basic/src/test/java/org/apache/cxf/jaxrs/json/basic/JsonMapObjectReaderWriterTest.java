@@ -19,11 +19,16 @@
 
 package org.apache.cxf.jaxrs.json.basic;
 
+import java.io.StringWriter;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.cxf.helpers.CastUtils;
@@ -210,4 +215,101 @@ public class JsonMapObjectReaderWriterTest {
         assertEquals("a\\", entry.getValue());
     }
 
+    @Test
+    public void testReadNestedArraysAndNumbers() throws Exception {
+        String json = "{ \"a\" : [[1, -2], [], {\"b\": 1.5e3}], \"c\": 12345678901234567890,"
+            + " \"d\": true, \"e\": {} }";
+        Map<String, Object> map = new JsonMapObjectReaderWriter().fromJson(json);
+        assertEquals(4, map.size());
+        List<Object> a = CastUtils.cast((List<?>)map.get("a"));
+        assertEquals(Arrays.asList(1L, -2L), a.get(0));
+        assertEquals(Collections.emptyList(), a.get(1));
+        assertEquals(Collections.singletonMap("b", 1500.0d), a.get(2));
+        assertEquals(1.2345678901234567e19d, map.get("c"));
+        assertEquals(Boolean.TRUE, map.get("d"));
+        assertEquals(Collections.emptyMap(), map.get("e"));
+    }
+
+    @Test
+    public void testReadWriteControlAndUnicodeChars() throws Exception {
+        JsonMapObjectReaderWriter jsonMapObjectReaderWriter = new JsonMapObjectReaderWriter();
+        Map<String, Object> map = jsonMapObjectReaderWriter.fromJson("{\"a\":\"line1\\nline2\\u00e9\"}");
+        assertEquals("line1\nline2\u00e9", map.get("a"));
+
+        String json = jsonMapObjectReaderWriter.toJson(map);
+        assertEquals("{\"a\":\"line1\\nline2\u00e9\"}", json);
+        assertEquals(map, jsonMapObjectReaderWriter.fromJson(json));
+    }
+
+    @Test
+    public void testReadUtf8Bytes() throws Exception {
+        JsonMapObjectReaderWriter jsonMapObjectReaderWriter = new JsonMapObjectReaderWriter();
+        Map<String, Object> map = jsonMapObjectReaderWriter.fromJson(
+            "{\"alg\":\"RS256\",\"name\":\"\u00e9t\u00e9\"}".getBytes(StandardCharsets.UTF_8));
+        assertEquals("RS256", map.get("alg"));
+        assertEquals("\u00e9t\u00e9", map.get("name"));
+
+        JsonMapObject obj = jsonMapObjectReaderWriter.fromJsonToJsonObject(
+            "{\"alg\":\"RS256\",\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(Collections.singletonMap("alg", 2), obj.getUpdateCount());
+    }
+
+    @Test
+    public void testWriteToWriter() throws Exception {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("a", "aValue");
+        map.put("b", Collections.singletonMap("c", Arrays.asList(1, "d")));
+        StringWriter writer = new StringWriter();
+        new JsonMapObjectReaderWriter().toJson(map, writer);
+        assertEquals("{\"a\":\"aValue\",\"b\":{\"c\":[1,\"d\"]}}", writer.toString());
+    }
+
+    @Test
+    public void testReadUnquotedNames() throws Exception {
+        Map<String, Object> map = new JsonMapObjectReaderWriter().fromJson("{a:1, b\":\"c\", \"d\" : true}");
+        assertEquals(3, map.size());
+        assertEquals(1L, map.get("a"));
+        assertEquals("c", map.get("b"));
+        assertEquals(Boolean.TRUE, map.get("d"));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedReaders() throws Exception {
+        JsonMapObjectReaderWriter jsonMapObjectReaderWriter = new JsonMapObjectReaderWriter();
+        assertEquals(Arrays.asList(1L, "a", Collections.singletonMap("b", Boolean.FALSE)),
+            jsonMapObjectReaderWriter.internalFromJsonAsList(null, "1, \"a\", {\"b\": false}"));
+        assertEquals("a\"b", jsonMapObjectReaderWriter.readPrimitiveValue(null, "x: \"a\\\"b\" ,", 2, 9));
+        String json = "{\"a\": {\"b\": \"}\"}, \"c\": 2}";
+        assertEquals(15, JsonMapObjectReaderWriter.getClosingIndex(json, '{', '}', 6));
+        assertEquals(16, JsonMapObjectReaderWriter.getCommaIndex(json, 7));
+    }
+
+    @Test
+    public void testOverriddenReaders() throws Exception {
+        List<String> names = new ArrayList<>();
+        JsonMapObjectReaderWriter jsonMapObjectReaderWriter = new JsonMapObjectReaderWriter() {
+            @Override
+            @SuppressWarnings("deprecation")
+            protected Object readPrimitiveValue(String name, String json, int from, int to) {
+                names.add(name);
+                Object value = super.readPrimitiveValue(name, json, from, to);
+                return value instanceof String ? ((String)value).toUpperCase() : value;
+            }
+        };
+        Map<String, Object> map = jsonMapObjectReaderWriter.fromJson("{\"a\": \"b\", \"c\": [1, \"d\"]}");
+        assertEquals("B", map.get("a"));
+        assertEquals(Arrays.asList(1L, "D"), map.get("c"));
+        assertEquals(Arrays.asList("a", "c", "c"), names);
+
+        names.clear();
+        assertEquals(Arrays.asList("E"), jsonMapObjectReaderWriter.fromJsonAsList("list", "[\"e\"]"));
+        assertEquals(Collections.singletonList("list"), names);
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testTrailingContent() throws Exception {
+        new JsonMapObjectReaderWriter().fromJson("{\"a\":\"b\"} x");
+    }
+
 }
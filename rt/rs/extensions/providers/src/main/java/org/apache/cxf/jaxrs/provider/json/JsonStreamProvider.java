@@ -0,0 +1,477 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.provider.json;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Providers;
+import org.apache.cxf.helpers.LoadingByteArrayOutputStream;
+import org.apache.cxf.jaxrs.provider.AbstractConfigurableProvider;
+import org.apache.cxf.jaxrs.utils.ExceptionUtils;
+import org.apache.cxf.jaxrs.utils.InjectionUtils;
+import org.apache.cxf.jaxrs.utils.JAXRSUtils;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageUtils;
+
+/**
+ * Reads and writes sequences of JSON entities as newline delimited JSON ("application/x-ndjson")
+ * or JSON text sequences ("application/json-seq", RFC 7464), one element at a time. Each element
+ * is converted by the provider registered for its type and "application/json".
+ * <p>
+ * {@link Stream}, {@link Iterator}, {@link Collection} and {@link Flow.Publisher} entities can be
+ * written, the output is flushed every {@link #setFlushCount(int) flushCount} elements or
+ * {@link #setFlushInterval(long) flushInterval} milliseconds, whichever comes first. A written
+ * {@link Stream} is closed once it has been consumed. Request bodies are read lazily as a
+ * {@link Stream} or an {@link Iterator}, a record larger than {@link #setMaxRecordSize(int) maxRecordSize}
+ * bytes fails the request with a 413 status.
+ */
+@Produces({"application/x-ndjson", "application/json-seq" })
+@Consumes({"application/x-ndjson", "application/json-seq" })
+public class JsonStreamProvider extends AbstractConfigurableProvider
+    implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    public static final String JSON_SEQ_MEDIA_TYPE = "application/json-seq";
+    /**
+     * The contextual property overriding the maximum size in bytes of a single record
+     */
+    public static final String MAX_RECORD_SIZE_PROPERTY = "org.apache.cxf.jaxrs.json.stream.maxRecordSize";
+    public static final int DEFAULT_MAX_RECORD_SIZE = 1024 * 1024;
+
+    private static final int RECORD_SEPARATOR = 0x1E;
+    private static final Object END_OF_PUBLISHER = new Object();
+
+    private Providers providers;
+    private int flushCount = 100;
+    private long flushInterval = 1000L;
+    private int publisherRequestSize = 64;
+    private int maxRecordSize = DEFAULT_MAX_RECORD_SIZE;
+
+    @Context
+    public void setProviders(Providers providers) {
+        this.providers = providers;
+    }
+
+    /**
+     * Flush the output after the given number of elements, 1 flushes every element,
+     * 0 disables the count based flushing.
+     */
+    public void setFlushCount(int flushCount) {
+        this.flushCount = flushCount;
+    }
+
+    /**
+     * Flush the output when an element is written more than the given number of milliseconds
+     * after the last flush, 0 disables the time based flushing.
+     */
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * The number of elements requested at a time from a {@link Flow.Publisher} entity.
+     */
+    public void setPublisherRequestSize(int publisherRequestSize) {
+        this.publisherRequestSize = publisherRequestSize;
+    }
+
+    /**
+     * Set the maximum size in bytes of a single record read from a request body, no limit applies
+     * if it is not positive.
+     */
+    public void setMaxRecordSize(int maxRecordSize) {
+        this.maxRecordSize = maxRecordSize;
+    }
+
+    public int getMaxRecordSize() {
+        return maxRecordSize;
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> cls, Type type, Annotation[] anns, MediaType mt) {
+        // other Iterable types, such as Path or JSON arrays, are left to their own providers
+        return Stream.class.isAssignableFrom(cls)
+            || Iterator.class.isAssignableFrom(cls)
+            || Collection.class.isAssignableFrom(cls)
+            || cls == Iterable.class
+            || Flow.Publisher.class.isAssignableFrom(cls);
+    }
+
+    @Override
+    public long getSize(Object o, Class<?> cls, Type type, Annotation[] anns, MediaType mt) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(Object o, Class<?> cls, Type type, Annotation[] anns, MediaType mt,
+                        MultivaluedMap<String, Object> headers, OutputStream os)
+        throws IOException, WebApplicationException {
+        ElementWriter writer = new ElementWriter(getElementType(type), anns, headers, os, isJsonSeq(mt));
+        if (o instanceof Stream) {
+            try (Stream<?> stream = (Stream<?>)o) {
+                writer.writeAll(stream.iterator());
+            }
+        } else if (o instanceof Iterator) {
+            writer.writeAll((Iterator<?>)o);
+        } else if (o instanceof Iterable) {
+            writer.writeAll(((Iterable<?>)o).iterator());
+        } else {
+            writePublisher((Flow.Publisher<?>)o, writer);
+        }
+        os.flush();
+    }
+
+    @Override
+    public boolean isReadable(Class<?> cls, Type type, Annotation[] anns, MediaType mt) {
+        return (cls == Stream.class || cls == Iterator.class)
+            && InjectionUtils.getActualTypes(type) != null;
+    }
+
+    @Override
+    public Object readFrom(Class<Object> cls, Type type, Annotation[] anns, MediaType mt,
+                           MultivaluedMap<String, String> headers, InputStream is)
+        throws IOException, WebApplicationException {
+        Iterator<?> iterator = createIterator(InjectionUtils.getActualType(type), getElementType(type),
+                                              anns, headers, is, isJsonSeq(mt));
+        if (Iterator.class.equals(cls)) {
+            return iterator;
+        }
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private <T> Iterator<T> createIterator(Class<T> elementClass, Type elementType, Annotation[] anns,
+                                           MultivaluedMap<String, String> headers, InputStream is,
+                                           boolean jsonSeq) {
+        MessageBodyReader<T> reader =
+            providers.getMessageBodyReader(elementClass, elementType, anns, MediaType.APPLICATION_JSON_TYPE);
+        if (reader == null) {
+            throw ExceptionUtils.toNotSupportedException(null, null);
+        }
+        Message message = JAXRSUtils.getCurrentMessage();
+        int maxSize = message == null ? maxRecordSize
+            : MessageUtils.getContextualInteger(message, MAX_RECORD_SIZE_PROPERTY, maxRecordSize);
+        RecordReader records = new RecordReader(is, jsonSeq ? RECORD_SEPARATOR : '\n', maxSize);
+        return new Iterator<T>() {
+            private InputStream record;
+
+            @Override
+            public boolean hasNext() {
+                if (record == null) {
+                    try {
+                        record = records.next();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                }
+                return record != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                InputStream current = record;
+                record = null;
+                try {
+                    return reader.readFrom(elementClass, elementType, anns, MediaType.APPLICATION_JSON_TYPE,
+                                           headers, current);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        };
+    }
+
+    private void writePublisher(Flow.Publisher<?> publisher, ElementWriter writer) throws IOException {
+        PublisherSubscriber subscriber = new PublisherSubscriber(Math.max(1, publisherRequestSize));
+        publisher.subscribe(subscriber);
+        boolean completed = false;
+        try {
+            for (Object element = subscriber.take(); element != END_OF_PUBLISHER; element = subscriber.take()) {
+                writer.write(element);
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                subscriber.cancel();
+            }
+        }
+    }
+
+    private static Type getElementType(Type type) {
+        Type[] types = InjectionUtils.getActualTypes(type);
+        return types == null || types.length != 1 ? null : types[0];
+    }
+
+    private static boolean isJsonSeq(MediaType mt) {
+        return mt != null && "json-seq".equals(mt.getSubtype());
+    }
+
+    private final class ElementWriter {
+        private final Type elementType;
+        private final Class<?> elementClass;
+        private final Annotation[] anns;
+        private final MultivaluedMap<String, Object> headers;
+        private final OutputStream os;
+        private final OutputStream elementStream;
+        private final boolean jsonSeq;
+        private Class<?> lastClass;
+        private MessageBodyWriter<Object> lastWriter;
+        private int unflushed;
+        private long lastFlush = System.nanoTime();
+
+        ElementWriter(Type elementType, Annotation[] anns, MultivaluedMap<String, Object> headers,
+                      OutputStream os, boolean jsonSeq) {
+            this.elementType = elementType;
+            this.elementClass = elementType == null ? null : InjectionUtils.getRawType(elementType);
+            this.anns = anns;
+            this.headers = headers;
+            this.os = os;
+            this.elementStream = new ElementOutputStream(os);
+            this.jsonSeq = jsonSeq;
+        }
+
+        void writeAll(Iterator<?> iterator) throws IOException {
+            while (iterator.hasNext()) {
+                write(iterator.next());
+            }
+        }
+
+        void write(Object element) throws IOException {
+            if (jsonSeq) {
+                os.write(RECORD_SEPARATOR);
+            }
+            if (element == null) {
+                os.write(new byte[] {'n', 'u', 'l', 'l'});
+            } else if (elementClass != null && elementClass != Object.class && elementClass.isInstance(element)) {
+                getWriter(elementClass, elementType).writeTo(element, elementClass, elementType, anns,
+                                                             MediaType.APPLICATION_JSON_TYPE, headers,
+                                                             elementStream);
+            } else {
+                Class<?> cls = element.getClass();
+                getWriter(cls, cls).writeTo(element, cls, cls, anns, MediaType.APPLICATION_JSON_TYPE, headers,
+                                            elementStream);
+            }
+            os.write('\n');
+            flushIfNeeded();
+        }
+
+        private MessageBodyWriter<Object> getWriter(Class<?> cls, Type type) {
+            if (cls != lastClass) {
+                @SuppressWarnings("unchecked")
+                MessageBodyWriter<Object> writer = (MessageBodyWriter<Object>)providers
+                    .getMessageBodyWriter(cls, type, anns, MediaType.APPLICATION_JSON_TYPE);
+                if (writer == null) {
+                    throw ExceptionUtils.toNotAcceptableException(null, null);
+                }
+                lastClass = cls;
+                lastWriter = writer;
+            }
+            return lastWriter;
+        }
+
+        private void flushIfNeeded() throws IOException {
+            ++unflushed;
+            boolean flush = flushCount > 0 && unflushed >= flushCount;
+            if (!flush && flushInterval > 0) {
+                flush = System.nanoTime() - lastFlush >= TimeUnit.MILLISECONDS.toNanos(flushInterval);
+            }
+            if (flush) {
+                os.flush();
+                unflushed = 0;
+                lastFlush = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Keeps the element providers from closing or flushing the entity stream, the flushing
+     * is done according to the flush policy instead.
+     */
+    private static final class ElementOutputStream extends FilterOutputStream {
+        ElementOutputStream(OutputStream os) {
+            super(os);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+            // flushed by the ElementWriter
+        }
+
+        @Override
+        public void close() {
+            // the entity stream is closed by the runtime
+        }
+    }
+
+    /**
+     * Reads the records delimited by the given separator, skipping the empty ones.
+     */
+    private static final class RecordReader {
+        private final InputStream is;
+        private final int separator;
+        private final int maxRecordSize;
+        private final byte[] buffer = new byte[8192];
+        private final LoadingByteArrayOutputStream record = new LoadingByteArrayOutputStream(256);
+        private int pos;
+        private int limit;
+
+        RecordReader(InputStream is, int separator, int maxRecordSize) {
+            this.is = is;
+            this.separator = separator;
+            this.maxRecordSize = maxRecordSize;
+        }
+
+        InputStream next() throws IOException {
+            record.reset();
+            boolean empty = true;
+            while (true) {
+                if (pos == limit) {
+                    limit = is.read(buffer);
+                    pos = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return empty ? null : record.createInputStream();
+                    }
+                }
+                int c = buffer[pos++] & 0xFF;
+                if (c == separator) {
+                    if (!empty) {
+                        return record.createInputStream();
+                    }
+                    record.reset();
+                } else {
+                    empty &= c == ' ' || c == '\t' || c == '\r' || c == '\n';
+                    record.write(c);
+                    if (maxRecordSize > 0 && record.size() > maxRecordSize) {
+                        throw ExceptionUtils.toWebApplicationException(null, JAXRSUtils.toResponse(413));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Hands the elements of a {@link Flow.Publisher} over to the writing thread, requesting
+     * more only when the previously requested ones have been written.
+     */
+    private static final class PublisherSubscriber implements Flow.Subscriber<Object> {
+        private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+        private final int requestSize;
+        private volatile Flow.Subscription subscription;
+        private int remaining;
+
+        PublisherSubscriber(int requestSize) {
+            this.requestSize = requestSize;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            subscription = s;
+            remaining = requestSize;
+            s.request(requestSize);
+        }
+
+        @Override
+        public void onNext(Object item) {
+            queue.add(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            queue.add(new PublisherError(t));
+        }
+
+        @Override
+        public void onComplete() {
+            queue.add(END_OF_PUBLISHER);
+        }
+
+        Object take() throws IOException {
+            final Object item;
+            try {
+                item = queue.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            if (item instanceof PublisherError) {
+                Throwable t = ((PublisherError)item).error;
+                if (t instanceof IOException) {
+                    throw (IOException)t;
+                } else if (t instanceof RuntimeException) {
+                    throw (RuntimeException)t;
+                }
+                throw new IOException(t);
+            }
+            if (item != END_OF_PUBLISHER && --remaining == 0) {
+                remaining = requestSize;
+                subscription.request(requestSize);
+            }
+            return item;
+        }
+
+        void cancel() {
+            Flow.Subscription s = subscription;
+            if (s != null) {
+                s.cancel();
+            }
+        }
+    }
+
+    private static final class PublisherError {
+        private final Throwable error;
+
+        PublisherError(Throwable error) {
+            this.error = error;
+        }
+    }
+}
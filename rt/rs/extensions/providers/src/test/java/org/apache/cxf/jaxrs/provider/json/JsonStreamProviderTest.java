@@ -0,0 +1,213 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.provider.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.ext.Providers;
+import org.apache.cxf.jaxrs.json.basic.JsonMapObject;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class JsonStreamProviderTest {
+    private static final MediaType NDJSON = MediaType.valueOf(JsonStreamProvider.NDJSON_MEDIA_TYPE);
+    private static final MediaType JSON_SEQ = MediaType.valueOf(JsonStreamProvider.JSON_SEQ_MEDIA_TYPE);
+
+    private JsonStreamProvider provider;
+
+    @Before
+    public void setUp() {
+        JsonMapObjectProvider elementProvider = new JsonMapObjectProvider();
+        Providers providers = mock(Providers.class);
+        doReturn(elementProvider).when(providers).getMessageBodyWriter(eq(JsonMapObject.class), any(), any(),
+                                                                         eq(MediaType.APPLICATION_JSON_TYPE));
+        doReturn(elementProvider).when(providers).getMessageBodyReader(eq(JsonMapObject.class), any(), any(),
+                                                                         eq(MediaType.APPLICATION_JSON_TYPE));
+        provider = new JsonStreamProvider();
+        provider.setProviders(providers);
+    }
+
+    @Test
+    public void testWriteStream() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<JsonMapObject> stream = Stream.of(object(1), object(2)).onClose(() -> closed.set(true));
+        Type type = Holder.class.getMethod("stream").getGenericReturnType();
+        assertTrue(provider.isWriteable(Stream.class, type, null, NDJSON));
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        provider.writeTo(stream, Stream.class, type, new Annotation[0], NDJSON, null, os);
+        assertEquals("{\"n\":1}\n{\"n\":2}\n", os.toString(StandardCharsets.UTF_8.name()));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testWritePublisherAsJsonSeq() throws Exception {
+        List<JsonMapObject> objects = Arrays.asList(object(1), object(2), object(3));
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        provider.setPublisherRequestSize(2);
+        provider.writeTo(new IterablePublisher(objects), IterablePublisher.class, IterablePublisher.class,
+                         new Annotation[0], JSON_SEQ, null, os);
+        assertEquals("\u001e{\"n\":1}\n\u001e{\"n\":2}\n\u001e{\"n\":3}\n",
+                     os.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @Test
+    public void testFlushCount() throws Exception {
+        CountingOutputStream os = new CountingOutputStream();
+        provider.setFlushCount(2);
+        provider.setFlushInterval(0);
+        Iterator<JsonMapObject> iterator = Arrays.asList(object(1), object(2), object(3), object(4), object(5))
+            .iterator();
+        provider.writeTo(iterator, Iterator.class, Iterator.class, new Annotation[0], NDJSON, null, os);
+        // after the 2nd and 4th element, and at the end
+        assertEquals(3, os.flushes);
+    }
+
+    @Test
+    public void testReadStream() throws Exception {
+        Type type = Holder.class.getMethod("stream").getGenericReturnType();
+        assertTrue(provider.isReadable(Stream.class, type, null, NDJSON));
+        assertFalse(provider.isReadable(Stream.class, Stream.class, null, NDJSON));
+
+        byte[] body = "{\"n\":1}\r\n\n{\"n\":2}\n{\"n\":3}".getBytes(StandardCharsets.UTF_8);
+        @SuppressWarnings("unchecked")
+        Stream<JsonMapObject> stream = (Stream<JsonMapObject>)provider.readFrom(
+            castClass(Stream.class), type, new Annotation[0], NDJSON, null, new ByteArrayInputStream(body));
+        assertEquals(Arrays.asList(1L, 2L, 3L),
+                     stream.map(o -> o.getLongProperty("n")).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testReadJsonSeqIterator() throws Exception {
+        Type type = Holder.class.getMethod("iterator").getGenericReturnType();
+        byte[] body = "\u001e{\"n\":1}\n\u001e{\"n\":2}\n".getBytes(StandardCharsets.UTF_8);
+        @SuppressWarnings("unchecked")
+        Iterator<JsonMapObject> iterator = (Iterator<JsonMapObject>)provider.readFrom(
+            castClass(Iterator.class), type, new Annotation[0], JSON_SEQ, null, new ByteArrayInputStream(body));
+        assertEquals(Long.valueOf(1L), iterator.next().getLongProperty("n"));
+        assertEquals(Long.valueOf(2L), iterator.next().getLongProperty("n"));
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testRecordTooLarge() throws Exception {
+        provider.setMaxRecordSize(8);
+        Type type = Holder.class.getMethod("iterator").getGenericReturnType();
+        byte[] body = "{\"n\":1}\n{\"n\":12345}\n".getBytes(StandardCharsets.UTF_8);
+        @SuppressWarnings("unchecked")
+        Iterator<JsonMapObject> iterator = (Iterator<JsonMapObject>)provider.readFrom(
+            castClass(Iterator.class), type, new Annotation[0], NDJSON, null, new ByteArrayInputStream(body));
+        assertEquals(Long.valueOf(1L), iterator.next().getLongProperty("n"));
+        try {
+            iterator.next();
+            fail("WebApplicationException expected");
+        } catch (WebApplicationException ex) {
+            assertEquals(413, ex.getResponse().getStatus());
+        }
+    }
+
+    @Test
+    public void testIsWriteable() {
+        assertTrue(provider.isWriteable(List.class, List.class, null, NDJSON));
+        assertTrue(provider.isWriteable(Arrays.asList(1).getClass(), List.class, null, NDJSON));
+        assertTrue(provider.isWriteable(Iterable.class, Iterable.class, null, NDJSON));
+        assertTrue(provider.isWriteable(IterablePublisher.class, IterablePublisher.class, null, NDJSON));
+        // Iterable, but not a sequence of entities to stream
+        assertFalse(provider.isWriteable(Path.class, Path.class, null, NDJSON));
+        assertFalse(provider.isWriteable(JsonMapObject.class, JsonMapObject.class, null, NDJSON));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<Object> castClass(Class<?> cls) {
+        return (Class<Object>)cls;
+    }
+
+    private static JsonMapObject object(int n) {
+        JsonMapObject object = new JsonMapObject();
+        object.setProperty("n", n);
+        return object;
+    }
+
+    public interface Holder {
+        Stream<JsonMapObject> stream();
+
+        Iterator<JsonMapObject> iterator();
+    }
+
+    private static final class CountingOutputStream extends ByteArrayOutputStream {
+        private int flushes;
+
+        @Override
+        public void flush() throws IOException {
+            flushes++;
+        }
+    }
+
+    private static final class IterablePublisher implements Flow.Publisher<Object> {
+        private final Iterator<?> iterator;
+
+        IterablePublisher(Iterable<?> iterable) {
+            this.iterator = iterable.iterator();
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Object> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    for (long i = 0; i < n && iterator.hasNext(); i++) {
+                        subscriber.onNext(iterator.next());
+                    }
+                    if (!iterator.hasNext()) {
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.reactivestreams.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.cxf.helpers.IOUtils;
+import org.apache.cxf.helpers.LoadingByteArrayOutputStream;
+import org.apache.cxf.io.CachedOutputStream;
+
+/**
+ * Splits a JSON array or a newline delimited JSON stream into the raw bytes of its elements,
+ * reading no more from the underlying stream than is needed for the next element.
+ */
+final class JsonElementReader {
+    private InputStream in;
+    private final boolean newlineDelimited;
+    private final int maxElementSize;
+    private final byte[] buffer = new byte[8192];
+    private final LoadingByteArrayOutputStream element = new LoadingByteArrayOutputStream(256);
+    private int pos;
+    private int limit;
+    private boolean started;
+    private boolean finished;
+    private IOException bufferingFailure;
+
+    /**
+     * @param maxElementSize the maximum size in bytes of an element, unlimited if not positive
+     */
+    JsonElementReader(InputStream in, boolean newlineDelimited, int maxElementSize) {
+        this.in = in;
+        this.newlineDelimited = newlineDelimited;
+        this.maxElementSize = maxElementSize;
+    }
+
+    /**
+     * Read the next element. The returned stream is only valid until the next call.
+     * @return the element, or null if there are no more elements
+     */
+    InputStream next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (bufferingFailure != null) {
+            throw bufferingFailure;
+        }
+        element.reset();
+        boolean found = newlineDelimited ? readLine() : readArrayElement();
+        if (!found) {
+            finished = true;
+            return null;
+        }
+        return element.createInputStream();
+    }
+
+    /**
+     * Copy the rest of the underlying stream to a CachedOutputStream, and read the remaining
+     * elements from that, so that they can still be read once the underlying stream is closed.
+     * If that fails, the next element cannot be read either.
+     */
+    void bufferRemaining() {
+        if (finished || bufferingFailure != null) {
+            return;
+        }
+        try (CachedOutputStream out = new CachedOutputStream()) {
+            IOUtils.copy(in, out);
+            in = out.getInputStream();
+        } catch (IOException ex) {
+            bufferingFailure = ex;
+        }
+    }
+
+    private boolean readLine() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                return element.size() > 0;
+            }
+            if (c == '\n') {
+                if (element.size() > 0) {
+                    return true;
+                }
+            } else if (c != '\r' && (element.size() > 0 || !isWhitespace(c))) {
+                append(c);
+            }
+        }
+    }
+
+    private boolean readArrayElement() throws IOException {
+        int c = skipWhitespace();
+        if (!started) {
+            started = true;
+            if (c != '[') {
+                // not an array, so the whole document is the only element
+                if (c == -1) {
+                    return false;
+                }
+                unread();
+                finished = true;
+                return readValue(true);
+            }
+            c = skipWhitespace();
+            if (c == ']') {
+                return false;
+            }
+        } else {
+            if (c == ']') {
+                return false;
+            }
+            if (c == -1) {
+                throw new IOException("Unexpected end of JSON array");
+            }
+            if (c != ',') {
+                throw new IOException("Unexpected character '" + (char)c + "' in JSON array");
+            }
+            c = skipWhitespace();
+        }
+        if (c == -1 || c == ']' || c == ',') {
+            throw new IOException("Unexpected end of JSON array element");
+        }
+        unread();
+        return readValue(false);
+    }
+
+    private boolean readValue(boolean toEnd) throws IOException {
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (toEnd && depth == 0 && !inString) {
+                    return trimElement();
+                }
+                throw new IOException("Unexpected end of JSON input");
+            }
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                if (depth == 0) {
+                    // the end of the enclosing array
+                    unread();
+                    return trimElement();
+                }
+                depth--;
+            } else if (c == ',' && depth == 0 && !toEnd) {
+                unread();
+                return trimElement();
+            }
+            append(c);
+        }
+    }
+
+    private void append(int c) throws IOException {
+        if (maxElementSize > 0 && element.size() >= maxElementSize) {
+            throw new IOException("JSON element exceeds the maximum size of " + maxElementSize + " bytes");
+        }
+        element.write(c);
+    }
+
+    private boolean trimElement() {
+        int size = element.size();
+        while (size > 0 && isWhitespace(element.getRawBytes()[size - 1])) {
+            size--;
+        }
+        element.setSize(size);
+        return true;
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c = read();
+        while (c != -1 && isWhitespace(c)) {
+            c = read();
+        }
+        return c;
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private int read() throws IOException {
+        if (pos == limit) {
+            limit = in.read(buffer);
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[pos++] & 0xFF;
+    }
+
+    private void unread() {
+        // only ever called directly after a successful read
+        pos--;
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.reactivestreams.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.Providers;
+import org.apache.cxf.interceptor.OutgoingChainInterceptor;
+import org.apache.cxf.jaxrs.utils.ExceptionUtils;
+import org.apache.cxf.jaxrs.utils.InjectionUtils;
+import org.apache.cxf.jaxrs.utils.JAXRSUtils;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageUtils;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.reactivestreams.Publisher;
+
+/**
+ * Reads a JSON array or newline delimited JSON request body as a {@link Publisher} of its
+ * elements, see {@link StreamingRequestPublisher}. The elements are decoded by the
+ * {@link MessageBodyReader} registered for their type and "application/json". The part of the body that
+ * has not been consumed once the response has been sent is buffered, so that the publisher can still be
+ * subscribed to after the request has been processed.
+ */
+@Consumes({"application/json", "application/x-ndjson" })
+public class PublisherMessageBodyReader implements MessageBodyReader<Object> {
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    /**
+     * The contextual property overriding the maximum size in bytes of a single element
+     */
+    public static final String MAX_ELEMENT_SIZE_PROPERTY = "org.apache.cxf.jaxrs.reactivestreams.maxElementSize";
+    public static final int DEFAULT_MAX_ELEMENT_SIZE = 1024 * 1024;
+
+    @Context
+    private Providers providers;
+    private int maxElementSize = DEFAULT_MAX_ELEMENT_SIZE;
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return isPublisherType(type)
+            && InjectionUtils.getActualTypes(genericType) != null
+            && (isNewlineDelimited(mediaType) || isJson(mediaType));
+    }
+
+    @Override
+    public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                           MultivaluedMap<String, String> headers, InputStream entityStream)
+        throws IOException, WebApplicationException {
+        Type elementType = InjectionUtils.getActualTypes(genericType)[0];
+        Class<?> elementClass = InjectionUtils.getActualType(genericType);
+        return toPublisherType(type, createPublisher(elementClass, elementType, annotations,
+                                                     headers, entityStream, isNewlineDelimited(mediaType)));
+    }
+
+    /**
+     * Set the maximum size in bytes of a single element, no limit applies if it is not positive.
+     * The subscriber gets an IOException as soon as an element exceeds it.
+     */
+    public void setMaxElementSize(int maxElementSize) {
+        this.maxElementSize = maxElementSize;
+    }
+
+    public int getMaxElementSize() {
+        return maxElementSize;
+    }
+
+    /**
+     * @return true if this reader can provide request bodies of the given type
+     */
+    protected boolean isPublisherType(Class<?> type) {
+        return type == Publisher.class;
+    }
+
+    /**
+     * Adapt the publisher to the given type, which {@link #isPublisherType(Class)} has accepted.
+     */
+    protected Object toPublisherType(Class<?> type, Publisher<?> publisher) {
+        return publisher;
+    }
+
+    private <T> Publisher<T> createPublisher(Class<T> elementClass, Type elementType, Annotation[] annotations,
+                                             MultivaluedMap<String, String> headers, InputStream entityStream,
+                                             boolean newlineDelimited) {
+        // looked up once, while the request context is available, and reused for all elements
+        MessageBodyReader<T> reader = providers.getMessageBodyReader(elementClass, elementType, annotations,
+                                                                     MediaType.APPLICATION_JSON_TYPE);
+        if (reader == null) {
+            throw ExceptionUtils.toNotSupportedException(null, null);
+        }
+        Message message = JAXRSUtils.getCurrentMessage();
+        int maxSize = message == null ? maxElementSize
+            : MessageUtils.getContextualInteger(message, MAX_ELEMENT_SIZE_PROPERTY, maxElementSize);
+        StreamingRequestPublisher<T> publisher = new StreamingRequestPublisher<>(entityStream, newlineDelimited,
+            maxSize, element -> reader.readFrom(elementClass, elementType, annotations,
+                                                MediaType.APPLICATION_JSON_TYPE, headers, element));
+        if (message != null && message.getInterceptorChain() != null) {
+            message.getInterceptorChain().add(new BufferRemainingBodyInterceptor(publisher));
+        }
+        return publisher;
+    }
+
+    /**
+     * Buffers the unread part of the request body once the response has been sent, while the request
+     * input stream is still available.
+     */
+    private static final class BufferRemainingBodyInterceptor extends AbstractPhaseInterceptor<Message> {
+        private final StreamingRequestPublisher<?> publisher;
+
+        BufferRemainingBodyInterceptor(StreamingRequestPublisher<?> publisher) {
+            super(Phase.POST_INVOKE);
+            addAfter(OutgoingChainInterceptor.class.getName());
+            this.publisher = publisher;
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            publisher.bufferRemaining();
+        }
+    }
+
+    private static boolean isNewlineDelimited(MediaType mediaType) {
+        return "application".equals(mediaType.getType()) && "x-ndjson".equals(mediaType.getSubtype());
+    }
+
+    private static boolean isJson(MediaType mediaType) {
+        return "application".equals(mediaType.getType())
+            && ("json".equals(mediaType.getSubtype()) || mediaType.getSubtype().endsWith("+json"));
+    }
+}
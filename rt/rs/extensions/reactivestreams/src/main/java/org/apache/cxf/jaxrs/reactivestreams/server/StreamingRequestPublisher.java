@@ -0,0 +1,171 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.reactivestreams.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Publishes the elements of a JSON array or newline delimited JSON request body. Elements are
+ * read from the request input stream and decoded only when the subscriber has requested them,
+ * on the thread requesting them, so the body is never buffered as a whole. The body can be
+ * subscribed to once. The part of the body that has not been read by the time the request has been
+ * processed can be buffered with {@link #bufferRemaining()}, so that a subscriber can still consume it
+ * after the request input stream has been released.
+ */
+public class StreamingRequestPublisher<T> implements Publisher<T> {
+    private final JsonElementReader reader;
+    private final ElementReader<T> elementReader;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * @param in the request input stream
+     * @param newlineDelimited true if the elements are separated by new lines, rather than
+     *        enclosed in a JSON array
+     * @param elementReader decodes a single element
+     */
+    public StreamingRequestPublisher(InputStream in, boolean newlineDelimited, ElementReader<T> elementReader) {
+        this(in, newlineDelimited, -1, elementReader);
+    }
+
+    /**
+     * @param in the request input stream
+     * @param newlineDelimited true if the elements are separated by new lines, rather than
+     *        enclosed in a JSON array
+     * @param maxElementSize the maximum size in bytes of a single element, unlimited if not positive;
+     *        the subscriber gets an IOException when an element is larger
+     * @param elementReader decodes a single element
+     */
+    public StreamingRequestPublisher(InputStream in, boolean newlineDelimited, int maxElementSize,
+                                     ElementReader<T> elementReader) {
+        this.reader = new JsonElementReader(in, newlineDelimited, maxElementSize);
+        this.elementReader = elementReader;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("The request body has already been subscribed to"));
+            return;
+        }
+        subscriber.onSubscribe(new RequestBodySubscription(subscriber));
+    }
+
+    /**
+     * Buffer the part of the body that has not been read yet, see {@link StreamingRequestPublisher}.
+     * This waits for an element that is being read by a subscriber on another thread. If the body
+     * cannot be buffered, the subscriber gets the IOException instead of the remaining elements.
+     */
+    public void bufferRemaining() {
+        synchronized (reader) {
+            reader.bufferRemaining();
+        }
+    }
+
+    @FunctionalInterface
+    public interface ElementReader<T> {
+        T read(InputStream element) throws IOException;
+    }
+
+    private final class RequestBodySubscription implements Subscription {
+        private final Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private volatile boolean cancelled;
+
+        RequestBodySubscription(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancelled = true;
+                subscriber.onError(new IllegalArgumentException("The requested number of elements must be positive"));
+                return;
+            }
+            long previous = demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+            // only the thread raising the demand from zero reads, a request from onNext just adds to it
+            if (previous == 0) {
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void drain() {
+            long requested = demand.get();
+            long emitted = 0;
+            while (true) {
+                while (emitted != requested) {
+                    if (cancelled) {
+                        return;
+                    }
+                    final T value;
+                    try {
+                        InputStream element;
+                        synchronized (reader) {
+                            element = reader.next();
+                            value = element == null ? null : elementReader.read(element);
+                        }
+                        if (element == null) {
+                            cancelled = true;
+                            subscriber.onComplete();
+                            return;
+                        }
+                    } catch (IOException | RuntimeException ex) {
+                        cancelled = true;
+                        subscriber.onError(ex);
+                        return;
+                    }
+                    subscriber.onNext(value);
+                    emitted++;
+                }
+                if (requested == Long.MAX_VALUE) {
+                    emitted = 0;
+                    continue;
+                }
+                requested = demand.addAndGet(-emitted);
+                emitted = 0;
+                if (requested == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
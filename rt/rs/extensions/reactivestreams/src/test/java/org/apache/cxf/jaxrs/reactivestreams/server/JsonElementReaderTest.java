@@ -0,0 +1,170 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.reactivestreams.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.cxf.helpers.IOUtils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JsonElementReaderTest {
+
+    @Test
+    public void testArrayElements() throws Exception {
+        assertEquals(Arrays.asList("1", "\"a\"", "true", "null", "{\"b\":2}", "[3,4]"),
+                     readAll("[1,\"a\",true,null,{\"b\":2},[3,4]]", false));
+        assertEquals(Collections.emptyList(), readAll("[]", false));
+        assertEquals(Collections.emptyList(), readAll(" [ \n ] ", false));
+        assertEquals(Collections.emptyList(), readAll("", false));
+    }
+
+    @Test
+    public void testNestedObjects() throws Exception {
+        assertEquals(Arrays.asList("{\"a\":{\"b\":[{\"c\":{}}]}}", "{\"d\":[[],[{}]]}"),
+                     readAll("[{\"a\":{\"b\":[{\"c\":{}}]}},{\"d\":[[],[{}]]}]", false));
+    }
+
+    @Test
+    public void testStringsWithBracesAndEscapes() throws Exception {
+        String first = "{\"a\":\"}],{[\"}";
+        String second = "{\"b\":\"\\\"],\\\\\"}";
+        String third = "\"\\\\\"";
+        assertEquals(Arrays.asList(first, second, third),
+                     readAll("[" + first + "," + second + "," + third + "]", false));
+    }
+
+    @Test
+    public void testWhitespaceBetweenElements() throws Exception {
+        assertEquals(Arrays.asList("{\"a\": 1}", "2", "\"b c\""),
+                     readAll(" \r\n[ {\"a\": 1} ,\n\t2\r\n,  \"b c\"\n ]\n", false));
+    }
+
+    @Test
+    public void testSingleDocument() throws Exception {
+        assertEquals(Collections.singletonList("{\"a\":[1,2]}"), readAll("  {\"a\":[1,2]}\n", false));
+    }
+
+    @Test
+    public void testNewlineDelimited() throws Exception {
+        assertEquals(Arrays.asList("{\"a\":1}", "{\"b\":\"x y\"}", "3"),
+                     readAll("{\"a\":1}\r\n\n  {\"b\":\"x y\"}\n3", true));
+        assertEquals(Collections.emptyList(), readAll("\n\n", true));
+    }
+
+    @Test
+    public void testMalformedArray() throws Exception {
+        for (String json : Arrays.asList("[1,2}", "[1,", "[1,]", "[{\"a\":1}", "[\"a]")) {
+            try {
+                readAll(json, false);
+                fail("IOException expected for " + json);
+            } catch (IOException ex) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testMaxElementSize() throws Exception {
+        JsonElementReader reader = new JsonElementReader(toStream("[\"abc\",\"abcdef\"]"), false, 5);
+        assertEquals("\"abc\"", toString(reader.next()));
+        try {
+            reader.next();
+            fail("IOException expected");
+        } catch (IOException ex) {
+            assertTrue(ex.getMessage().contains("5"));
+        }
+
+        reader = new JsonElementReader(toStream("123\n123456\n"), true, 5);
+        assertEquals("123", toString(reader.next()));
+        try {
+            reader.next();
+            fail("IOException expected");
+        } catch (IOException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testReadsOnlyWhatIsNeeded() throws Exception {
+        // the elements are returned as soon as they are complete, f.e. while the client is still sending
+        ChunkedInputStream in = new ChunkedInputStream("[1", ",2", ",3]");
+        JsonElementReader reader = new JsonElementReader(in, false, -1);
+        assertEquals("1", toString(reader.next()));
+        assertEquals(2, in.chunk);
+        assertEquals("2", toString(reader.next()));
+        assertEquals(3, in.chunk);
+        assertEquals("3", toString(reader.next()));
+        assertNull(reader.next());
+        assertNull(reader.next());
+    }
+
+    private static List<String> readAll(String json, boolean newlineDelimited) throws IOException {
+        JsonElementReader reader = new JsonElementReader(toStream(json), newlineDelimited, -1);
+        List<String> elements = new ArrayList<>();
+        for (InputStream element = reader.next(); element != null; element = reader.next()) {
+            elements.add(toString(element));
+        }
+        return elements;
+    }
+
+    private static InputStream toStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String toString(InputStream element) throws IOException {
+        return IOUtils.toString(element, StandardCharsets.UTF_8.name());
+    }
+
+    private static final class ChunkedInputStream extends InputStream {
+        private final String[] chunks;
+        private int chunk;
+
+        ChunkedInputStream(String... chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public int read() throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (chunk == chunks.length) {
+                return -1;
+            }
+            byte[] bytes = chunks[chunk++].getBytes(StandardCharsets.UTF_8);
+            System.arraycopy(bytes, 0, b, off, bytes.length);
+            return bytes.length;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.reactivestreams.server;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Response;
+import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.jaxrs.JAXRSServerFactoryBean;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.cxf.jaxrs.lifecycle.SingletonResourceProvider;
+import org.apache.cxf.jaxrs.utils.JAXRSUtils;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.transport.local.LocalTransportFactory;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PublisherMessageBodyReaderTest {
+    private static final String ADDRESS = "local://reactivestreams";
+    private static final PublisherMessageBodyReader READER = new PublisherMessageBodyReader();
+    private static Server server;
+
+    @BeforeClass
+    public static void startServer() {
+        JAXRSServerFactoryBean sf = new JAXRSServerFactoryBean();
+        sf.setResourceClasses(Uploads.class);
+        sf.setResourceProvider(Uploads.class, new SingletonResourceProvider(new Uploads(), true));
+        sf.setProvider(READER);
+        sf.getInInterceptors().add(new AbstractPhaseInterceptor<Message>(Phase.RECEIVE) {
+            @Override
+            public void handleMessage(Message message) {
+                message.setContent(InputStream.class,
+                    new RequestInputStream(message.getContent(InputStream.class)));
+            }
+        });
+        sf.setTransportId(LocalTransportFactory.TRANSPORT_ID);
+        sf.setAddress(ADDRESS);
+        server = sf.create();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.stop();
+        server.destroy();
+    }
+
+    @Test
+    public void testStreamedArray() {
+        Response r = WebClient.create(ADDRESS).path("uploads").type("application/json").accept("text/plain")
+            .post("[{\"id\":1}, {\"id\":\"[2]\"},\n {\"id\":{\"nested\":3}}]");
+        assertEquals(200, r.getStatus());
+        assertEquals("{\"id\":1}|{\"id\":\"[2]\"}|{\"id\":{\"nested\":3}}", r.readEntity(String.class));
+    }
+
+    @Test
+    public void testStreamedNewlineDelimited() {
+        Response r = WebClient.create(ADDRESS).path("uploads").type(PublisherMessageBodyReader.NDJSON_MEDIA_TYPE)
+            .accept("text/plain").post("{\"id\":1}\n{\"id\":2}\n");
+        assertEquals(200, r.getStatus());
+        assertEquals("{\"id\":1}|{\"id\":2}", r.readEntity(String.class));
+    }
+
+    @Test
+    public void testElementTooLarge() {
+        READER.setMaxElementSize(8);
+        try {
+            Response r = WebClient.create(ADDRESS).path("uploads").type("application/json").accept("text/plain")
+                .post("[{\"id\":1}, {\"id\":12345}]");
+            assertEquals(400, r.getStatus());
+        } finally {
+            READER.setMaxElementSize(PublisherMessageBodyReader.DEFAULT_MAX_ELEMENT_SIZE);
+        }
+    }
+
+    @Test
+    public void testLateSubscriber() throws Exception {
+        Response r = WebClient.create(ADDRESS).path("uploads/later").type("application/json")
+            .post("[{\"id\":1}, {\"id\":2}, {\"id\":3}]");
+        assertEquals(202, r.getStatus());
+        assertTrue(Uploads.RELEASED.await(10, TimeUnit.SECONDS));
+
+        // subscribed to once the request has been processed
+        List<String> values = new ArrayList<>();
+        Throwable[] error = new Throwable[1];
+        Uploads.LATER.get().subscribe(new Subscriber<String>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String value) {
+                values.add(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                error[0] = t;
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        assertNull(error[0]);
+        assertEquals("{\"id\":1}|{\"id\":2}|{\"id\":3}", String.join("|", values));
+    }
+
+    /**
+     * Can no longer be read once it is closed, as is the case for the input stream of a container.
+     */
+    private static final class RequestInputStream extends FilterInputStream {
+        private volatile boolean closed;
+
+        RequestInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkClosed();
+            return super.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            checkClosed();
+            return super.read(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+
+        private void checkClosed() throws IOException {
+            if (closed) {
+                throw new IOException("The request input stream is closed");
+            }
+        }
+    }
+
+    @Path("/uploads")
+    public static class Uploads {
+        static final AtomicReference<Publisher<String>> LATER = new AtomicReference<>();
+        static final CountDownLatch RELEASED = new CountDownLatch(1);
+
+        @POST
+        @Path("/later")
+        @Consumes("application/json")
+        public Response uploadLater(Publisher<String> elements) {
+            LATER.set(elements);
+            // release the request input stream once the request has been processed, as a container would
+            JAXRSUtils.getCurrentMessage().getInterceptorChain().add(
+                new AbstractPhaseInterceptor<Message>("request-stream-release", Phase.POST_INVOKE) {
+                    {
+                        addAfter(PublisherMessageBodyReader.class.getName() + "$BufferRemainingBodyInterceptor");
+                    }
+
+                    @Override
+                    public void handleMessage(Message message) {
+                        try {
+                            message.getContent(InputStream.class).close();
+                        } catch (IOException ex) {
+                            throw new Fault(ex);
+                        } finally {
+                            RELEASED.countDown();
+                        }
+                    }
+                });
+            return Response.accepted().build();
+        }
+
+        @POST
+        @Consumes({"application/json", "application/x-ndjson" })
+        @Produces("text/plain")
+        public Response upload(Publisher<String> elements) {
+            List<String> values = Collections.synchronizedList(new ArrayList<>());
+            Throwable[] error = new Throwable[1];
+            elements.subscribe(new Subscriber<String>() {
+                private Subscription subscription;
+
+                @Override
+                public void onSubscribe(Subscription s) {
+                    subscription = s;
+                    s.request(1);
+                }
+
+                @Override
+                public void onNext(String value) {
+                    values.add(value);
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    error[0] = t;
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+            if (error[0] != null) {
+                return Response.status(400).entity(error[0].getMessage()).build();
+            }
+            return Response.ok(String.join("|", values)).build();
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.reactivestreams.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.cxf.helpers.IOUtils;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingRequestPublisherTest {
+
+    @Test
+    public void testRequestN() throws Exception {
+        StreamingRequestPublisher<String> publisher = createPublisher("[1,2,3,4,5]");
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        assertEquals(Collections.emptyList(), subscriber.values);
+
+        subscriber.subscription.request(2);
+        assertEquals(Arrays.asList("1", "2"), subscriber.values);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(2);
+        assertEquals(Arrays.asList("1", "2", "3", "4"), subscriber.values);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(Arrays.asList("1", "2", "3", "4", "5"), subscriber.values);
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void testRequestFromOnNext() throws Exception {
+        StreamingRequestPublisher<String> publisher = createPublisher("{\"a\":1}\n{\"a\":2}\n{\"a\":3}\n", true);
+        RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onNext(String value) {
+                super.onNext(value);
+                // one element at a time, requested from within onNext
+                subscription.request(1);
+            }
+        };
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertEquals(Arrays.asList("{\"a\":1}", "{\"a\":2}", "{\"a\":3}"), subscriber.values);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        StreamingRequestPublisher<String> publisher = createPublisher("[1,2,3]");
+        RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onNext(String value) {
+                super.onNext(value);
+                subscription.cancel();
+            }
+        };
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(3);
+        subscriber.subscription.request(1);
+        assertEquals(Collections.singletonList("1"), subscriber.values);
+        assertFalse(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void testMalformedBodyIsSignalled() throws Exception {
+        StreamingRequestPublisher<String> publisher = createPublisher("[1,2}");
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(Arrays.asList("1", "2"), subscriber.values);
+        assertTrue(subscriber.error instanceof IOException);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    public void testElementReaderErrorIsSignalled() throws Exception {
+        IllegalStateException failure = new IllegalStateException();
+        StreamingRequestPublisher<String> publisher = new StreamingRequestPublisher<>(
+            new ByteArrayInputStream("[1,2]".getBytes(StandardCharsets.UTF_8)), false, element -> {
+                throw failure;
+            });
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(2);
+        assertTrue(subscriber.values.isEmpty());
+        assertEquals(failure, subscriber.error);
+
+        // no more signals after the error
+        subscriber.subscription.request(1);
+        assertTrue(subscriber.values.isEmpty());
+    }
+
+    @Test
+    public void testMaxElementSize() throws Exception {
+        StreamingRequestPublisher<String> publisher = new StreamingRequestPublisher<>(
+            new ByteArrayInputStream("[1,123456]".getBytes(StandardCharsets.UTF_8)), false, 4,
+            element -> IOUtils.toString(element, StandardCharsets.UTF_8.name()));
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(2);
+        assertEquals(Collections.singletonList("1"), subscriber.values);
+        assertTrue(subscriber.error instanceof IOException);
+    }
+
+    @Test
+    public void testNonPositiveRequest() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        createPublisher("[1]").subscribe(subscriber);
+        subscriber.subscription.request(0);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertTrue(subscriber.values.isEmpty());
+    }
+
+    @Test
+    public void testSingleSubscription() throws Exception {
+        StreamingRequestPublisher<String> publisher = createPublisher("[1]");
+        publisher.subscribe(new RecordingSubscriber());
+        RecordingSubscriber second = new RecordingSubscriber();
+        publisher.subscribe(second);
+        assertTrue(second.error instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testBufferRemainingForLateSubscriber() throws Exception {
+        RequestInputStream in = new RequestInputStream("[1,2,3]");
+        StreamingRequestPublisher<String> publisher = new StreamingRequestPublisher<>(in, false,
+            element -> IOUtils.toString(element, StandardCharsets.UTF_8.name()));
+        // the request has been processed without the body having been subscribed to
+        publisher.bufferRemaining();
+        in.close();
+
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(Arrays.asList("1", "2", "3"), subscriber.values);
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void testBufferRemainingAfterPartialRead() throws Exception {
+        RequestInputStream in = new RequestInputStream("[1,2,3,4]");
+        StreamingRequestPublisher<String> publisher = new StreamingRequestPublisher<>(in, false,
+            element -> IOUtils.toString(element, StandardCharsets.UTF_8.name()));
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertEquals(Arrays.asList("1"), subscriber.values);
+
+        publisher.bufferRemaining();
+        in.close();
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(Arrays.asList("1", "2", "3", "4"), subscriber.values);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void testReadAfterRequestWithoutBuffering() throws Exception {
+        RequestInputStream in = new RequestInputStream("[1,2,3]");
+        StreamingRequestPublisher<String> publisher = new StreamingRequestPublisher<>(in, false,
+            element -> IOUtils.toString(element, StandardCharsets.UTF_8.name()));
+        in.close();
+
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertTrue(subscriber.error instanceof IOException);
+    }
+
+    private static StreamingRequestPublisher<String> createPublisher(String json) {
+        return createPublisher(json, false);
+    }
+
+    private static StreamingRequestPublisher<String> createPublisher(String json, boolean newlineDelimited) {
+        return new StreamingRequestPublisher<>(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+            newlineDelimited, element -> IOUtils.toString(element, StandardCharsets.UTF_8.name()));
+    }
+
+    /**
+     * Returns two bytes at a time, and can no longer be read once it is closed.
+     */
+    private static final class RequestInputStream extends FilterInputStream {
+        private boolean closed;
+
+        RequestInputStream(String json) {
+            super(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("The request input stream is closed");
+            }
+            return super.read(b, off, Math.min(len, 2));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static class RecordingSubscriber implements Subscriber<String> {
+        protected Subscription subscription;
+        private final List<String> values = new ArrayList<>();
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            subscription = s;
+        }
+
+        @Override
+        public void onNext(String value) {
+            values.add(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.reactor.server;
+
+import org.apache.cxf.jaxrs.reactivestreams.server.PublisherMessageBodyReader;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reads a JSON array or newline delimited JSON request body as a {@link Flux} of its elements.
+ */
+public class FluxMessageBodyReader extends PublisherMessageBodyReader {
+    @Override
+    protected boolean isPublisherType(Class<?> type) {
+        return type == Flux.class || super.isPublisherType(type);
+    }
+
+    @Override
+    protected Object toPublisherType(Class<?> type, Publisher<?> publisher) {
+        return type == Flux.class ? Flux.from(publisher) : publisher;
+    }
+}
@@ -34,6 +34,7 @@ public class ReactorCustomizer extends AbstractStreamingResponseExtension {
         }
         
         bean.setProvider(new ResponseStatusOnlyExceptionMapper());
+        bean.setProvider(new FluxMessageBodyReader());
         return invoker;
     }
 }
\ No newline at end of file
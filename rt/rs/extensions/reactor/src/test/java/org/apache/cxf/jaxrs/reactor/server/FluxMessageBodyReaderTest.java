@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.reactor.server;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Response;
+import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.jaxrs.JAXRSServerFactoryBean;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.cxf.jaxrs.lifecycle.SingletonResourceProvider;
+import org.apache.cxf.transport.local.LocalTransportFactory;
+import reactor.core.publisher.Flux;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class FluxMessageBodyReaderTest {
+    private static final String ADDRESS = "local://reactor-flux-reader";
+    private static Server server;
+
+    @BeforeClass
+    public static void startServer() {
+        JAXRSServerFactoryBean sf = new JAXRSServerFactoryBean();
+        sf.setResourceClasses(Uploads.class);
+        sf.setResourceProvider(Uploads.class, new SingletonResourceProvider(new Uploads(), true));
+        sf.setProvider(new FluxMessageBodyReader());
+        sf.setTransportId(LocalTransportFactory.TRANSPORT_ID);
+        sf.setAddress(ADDRESS);
+        server = sf.create();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.stop();
+        server.destroy();
+    }
+
+    @Test
+    public void testStreamedFlux() {
+        Response r = WebClient.create(ADDRESS).path("uploads").type("application/x-ndjson").accept("text/plain")
+            .post("{\"id\":1}\n{\"id\":\"a\\\"}\"}\n\n{\"id\":3}\n");
+        assertEquals(200, r.getStatus());
+        assertEquals("3:{\"id\":1}|{\"id\":\"a\\\"}\"}|{\"id\":3}", r.readEntity(String.class));
+    }
+
+    @Test
+    public void testMalformedFlux() {
+        Response r = WebClient.create(ADDRESS).path("uploads").type("application/json").accept("text/plain")
+            .post("[{\"id\":1},{\"id\":2}");
+        assertEquals(400, r.getStatus());
+    }
+
+    @Path("/uploads")
+    public static class Uploads {
+        @POST
+        @Consumes({"application/json", "application/x-ndjson" })
+        @Produces("text/plain")
+        public Response upload(Flux<String> elements) {
+            try {
+                return Response.ok(elements.collectList()
+                    .map(list -> list.size() + ":" + String.join("|", list)).block()).build();
+            } catch (RuntimeException ex) {
+                return Response.status(400).build();
+            }
+        }
+    }
+}
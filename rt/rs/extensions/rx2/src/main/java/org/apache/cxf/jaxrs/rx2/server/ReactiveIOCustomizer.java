@@ -33,6 +33,7 @@ public class ReactiveIOCustomizer extends AbstractStreamingResponseExtension {
             invoker.setUseStreamingSubscriberIfPossible(useStreamingSubscriber);
         }
         bean.setProvider(new ResponseStatusOnlyExceptionMapper());
+        bean.setProvider(new FlowableMessageBodyReader());
         return invoker;
     }
 }
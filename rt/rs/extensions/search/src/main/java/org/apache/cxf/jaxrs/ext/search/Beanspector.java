@@ -176,6 +176,13 @@ public class Beanspector<T> {
         }
     }
 
+    /**
+     * Return the getter for the given (lower case) property name, or null if there is none.
+     */
+    public Method getGetter(String getterName) {
+        return getters.get(getterName);
+    }
+
     public Object getValue(String getterName) throws Throwable {
         return getValue(getters.get(getterName));
     }
@@ -34,7 +34,7 @@ public class PrimitiveSearchCondition<T> implements SearchCondition<T> {
     private Type propertyType;
     private T condition;
     private ConditionType cType;
-    private Beanspector<T> beanspector;
+    private Method getter;
 
     public PrimitiveSearchCondition(String propertyName,
                                     Object propertyValue,
@@ -53,9 +53,11 @@ public class PrimitiveSearchCondition<T> implements SearchCondition<T> {
         this.propertyType = propertyType;
         this.condition = condition;
         this.cType = ct;
-        if (propertyName != null) {
-            this.beanspector = SearchBean.class.isAssignableFrom(condition.getClass())
-                ? null : new Beanspector<T>(condition);
+        if (propertyName != null && !SearchBean.class.isAssignableFrom(condition.getClass())) {
+            // resolved once, so that isMet does not change any state and can be called concurrently
+            int index = propertyName.indexOf('.');
+            String thePropertyName = index != -1 ? propertyName.substring(0, index) : propertyName;
+            this.getter = new Beanspector<T>(condition).getGetter(thePropertyName.toLowerCase());
         }
     }
 
@@ -99,30 +101,22 @@ public class PrimitiveSearchCondition<T> implements SearchCondition<T> {
 
     public boolean isMet(T pojo) {
         if (isPrimitive(pojo)) {
-            return compare(pojo, cType, propertyValue);
+            return SearchComparisons.compare(pojo, cType, propertyValue);
         }
         Object lValue = getValue(propertyName, pojo);
         Object rValue = getPrimitiveValue(propertyName, propertyValue);
-        return lValue != null && compare(lValue, cType, rValue);
+        return lValue != null && SearchComparisons.compare(lValue, cType, rValue);
     }
 
-    private Object getValue(String getter, T pojo) {
-        String thePropertyName;
-        int index = getter.indexOf('.');
-        if (index != -1) {
-            thePropertyName = getter.substring(0, index);
-        } else {
-            thePropertyName = getter;
-        }
-
+    private Object getValue(String name, T pojo) {
         Object value;
         try {
-            if (beanspector != null) {
-                value = beanspector.swap(pojo).getValue(thePropertyName.toLowerCase());
+            if (SearchBean.class.isAssignableFrom(condition.getClass())) {
+                value = ((SearchBean)pojo).get(name);
             } else {
-                value = ((SearchBean)pojo).get(getter);
+                value = getter.invoke(pojo);
             }
-            return getPrimitiveValue(getter, value);
+            return getPrimitiveValue(name, value);
         } catch (Throwable e) {
             return null;
         }
@@ -140,79 +134,6 @@ public class PrimitiveSearchCondition<T> implements SearchCondition<T> {
         return pojo.getClass().getName().startsWith("java.lang");
     }
 
-    @SuppressWarnings({ "unchecked", "rawtypes" })
-    private boolean compare(Object lval, ConditionType cond, Object rval) {
-        boolean compares = true;
-        if (cond == ConditionType.EQUALS || cond == ConditionType.NOT_EQUALS) {
-            if (rval == null) {
-                compares = true;
-            } else if (lval == null) {
-                compares = false;
-            } else {
-                if (lval instanceof String) {
-                    compares = textCompare((String)lval, (String)rval);
-                } else {
-                    compares = lval.equals(rval);
-                }
-                if (cond == ConditionType.NOT_EQUALS) {
-                    compares = !compares;
-                }
-            }
-        } else {
-            if (lval instanceof Comparable && rval instanceof Comparable) {
-                Comparable lcomp = (Comparable)lval;
-                Comparable rcomp = (Comparable)rval;
-                int comp = lcomp.compareTo(rcomp);
-                switch (cond) {
-                case GREATER_THAN:
-                    compares = comp > 0;
-                    break;
-                case GREATER_OR_EQUALS:
-                    compares = comp >= 0;
-                    break;
-                case LESS_THAN:
-                    compares = comp < 0;
-                    break;
-                case LESS_OR_EQUALS:
-                    compares = comp <= 0;
-                    break;
-                default:
-                    String msg = String.format("Condition type %s is not supported", cond.name());
-                    throw new RuntimeException(msg);
-                }
-            }
-        }
-        return compares;
-    }
-
-    private boolean textCompare(String lval, String rval) {
-        // check wild cards
-        boolean starts = false;
-        boolean ends = false;
-        if (rval.charAt(0) == '*') {
-            starts = true;
-            rval = rval.substring(1);
-            if (rval.isEmpty()) {
-                throw new SearchParseException("A single wildcard is not a valid search condition");
-            }
-        }
-        if (rval.charAt(rval.length() - 1) == '*') {
-            ends = true;
-            rval = rval.substring(0, rval.length() - 1);
-        }
-        if (starts || ends) {
-            // wild card tests
-            if (starts && !ends) {
-                return lval.endsWith(rval);
-            } else if (ends && !starts) {
-                return lval.startsWith(rval);
-            } else {
-                return lval.contains(rval);
-            }
-        }
-        return lval.equals(rval);
-    }
-
     protected static Object getPrimitiveValue(String name, Object value) {
 
         int index = name.indexOf('.');
@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.ext.search;
+
+import java.util.function.Predicate;
+
+/**
+ * Compares property values the way {@link PrimitiveSearchCondition#isMet(Object)} does.
+ * The comparison can be compiled once for a given condition type and value and then
+ * applied to many property values.
+ */
+public final class SearchComparisons {
+
+    private SearchComparisons() {
+    }
+
+    /**
+     * Checks if the property value meets the condition.
+     */
+    public static boolean compare(Object lval, ConditionType ct, Object rval) {
+        return compile(ct, rval).test(lval);
+    }
+
+    /**
+     * Compiles the condition into a predicate which checks if property values meet it.
+     * Wildcard values are analyzed immediately, so an invalid single wildcard is reported
+     * by this method rather than when the predicate is tested.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static Predicate<Object> compile(ConditionType ct, Object rval) {
+        if (ct == ConditionType.EQUALS || ct == ConditionType.NOT_EQUALS) {
+            if (rval == null) {
+                return lval -> true;
+            }
+            final Predicate<String> text = rval instanceof String ? textComparison((String)rval) : null;
+            return lval -> {
+                if (lval == null) {
+                    return false;
+                }
+                boolean compares;
+                if (lval instanceof String) {
+                    // a String property is always compared with a String value
+                    compares = text != null ? text.test((String)lval) : lval.equals((String)rval);
+                } else {
+                    compares = lval.equals(rval);
+                }
+                return ct == ConditionType.NOT_EQUALS ? !compares : compares;
+            };
+        }
+        if (!(rval instanceof Comparable)) {
+            return lval -> true;
+        }
+        final Comparable rcomp = (Comparable)rval;
+        return lval -> {
+            if (!(lval instanceof Comparable)) {
+                return true;
+            }
+            int comp = ((Comparable)lval).compareTo(rcomp);
+            switch (ct) {
+            case GREATER_THAN:
+                return comp > 0;
+            case GREATER_OR_EQUALS:
+                return comp >= 0;
+            case LESS_THAN:
+                return comp < 0;
+            case LESS_OR_EQUALS:
+                return comp <= 0;
+            default:
+                String msg = String.format("Condition type %s is not supported", ct.name());
+                throw new RuntimeException(msg);
+            }
+        };
+    }
+
+    private static Predicate<String> textComparison(String rval) {
+        // check wild cards
+        boolean starts = false;
+        boolean ends = false;
+        if (rval.charAt(0) == '*') {
+            starts = true;
+            rval = rval.substring(1);
+            if (rval.isEmpty()) {
+                throw new SearchParseException("A single wildcard is not a valid search condition");
+            }
+        }
+        if (rval.charAt(rval.length() - 1) == '*') {
+            ends = true;
+            rval = rval.substring(0, rval.length() - 1);
+        }
+        final String value = rval;
+        if (starts && !ends) {
+            return lval -> lval.endsWith(value);
+        } else if (ends && !starts) {
+            return lval -> lval.startsWith(value);
+        } else if (starts) {
+            return lval -> lval.contains(value);
+        }
+        return value::equals;
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.ext.search;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.apache.cxf.common.util.BoundedConcurrentMap;
+import org.apache.cxf.common.util.CacheStatistics;
+
+/**
+ * A bounded cache of parsed search conditions, keyed by the (trimmed) search expression together
+ * with an object identifying the parser and its configuration. The cached conditions are shared
+ * between requests, so they must not be modified.
+ */
+public class SearchConditionCache {
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final Map<Key, SearchCondition<?>> conditions;
+    private final int maxEntries;
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    public SearchConditionCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries the maximum number of conditions to cache
+     */
+    public SearchConditionCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.conditions = new BoundedConcurrentMap<>(maxEntries);
+    }
+
+    /**
+     * Return the cached condition for the given expression, parsing and caching it if needed.
+     * @param parserKey identifies the parser and its configuration, two parsers with equal keys must
+     *        return equal conditions for the same expression
+     * @param expression the search expression
+     * @param parser parses the expression if no cached condition is available
+     */
+    @SuppressWarnings("unchecked")
+    public <T> SearchCondition<T> getCondition(Object parserKey, String expression,
+                                               Function<String, SearchCondition<T>> parser) {
+        String normalized = expression.trim();
+        Key key = new Key(parserKey, normalized);
+        SearchCondition<T> condition = (SearchCondition<T>)conditions.get(key);
+        if (condition != null) {
+            statistics.hit();
+            return condition;
+        }
+        statistics.miss();
+        condition = parser.apply(normalized);
+        if (condition != null && maxEntries > 0) {
+            conditions.put(key, condition);
+        }
+        return condition;
+    }
+
+    public void clear() {
+        conditions.clear();
+    }
+
+    public int size() {
+        return conditions.size();
+    }
+
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    private static final class Key {
+        private final Object parserKey;
+        private final String expression;
+        private final int hashCode;
+
+        Key(Object parserKey, String expression) {
+            this.parserKey = parserKey;
+            this.expression = expression;
+            this.hashCode = Objects.hash(parserKey, expression);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key)obj;
+            return hashCode == other.hashCode
+                && expression.equals(other.expression)
+                && Objects.equals(parserKey, other.parserKey);
+        }
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.cxf.jaxrs.ext.search;
 
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +31,7 @@ import jakarta.ws.rs.core.MultivaluedMap;
 import org.apache.cxf.common.classloader.ClassLoaderUtils;
 import org.apache.cxf.common.logging.LogUtils;
 import org.apache.cxf.common.util.PropertyUtils;
+import org.apache.cxf.endpoint.Endpoint;
 import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.jaxrs.ext.search.client.CompleteCondition;
 import org.apache.cxf.jaxrs.ext.search.client.SearchConditionBuilder;
@@ -46,6 +48,11 @@ public class SearchContextImpl implements SearchContext {
     public static final String CUSTOM_SEARCH_PARSER_PROPERTY = "search.parser";
     public static final String CUSTOM_SEARCH_PARSER_CLASS_PROPERTY = "search.parser.class";
     public static final String CUSTOM_SEARCH_QUERY_PARAM_NAME = "search.query.parameter.name";
+    /**
+     * A {@link SearchConditionCache} instance, or "true" for a cache shared by all the requests
+     * to the endpoint
+     */
+    public static final String SEARCH_CONDITION_CACHE = "search.condition.cache";
     private static final String USE_PLAIN_QUERY_PARAMETERS = "search.use.plain.queries";
     private static final String USE_ALL_QUERY_COMPONENT = "search.use.all.query.component";
     private static final String BLOCK_SEARCH_EXCEPTION = "search.block.search.exception";
@@ -91,12 +98,17 @@ public class SearchContextImpl implements SearchContext {
             throw new IllegalArgumentException(errorMessage);
         }
 
-        SearchConditionParser<T> parser = getParser(cls, beanProperties, parserProperties);
+        SearchConditionCache cache = getConditionCache();
+        SearchConditionParser<T> parser = cache == null ? getParser(cls, beanProperties, parserProperties) : null;
 
         String theExpression = expression == null
             ? getSearchExpression() : expression;
         if (theExpression != null) {
             try {
+                if (cache != null) {
+                    return cache.getCondition(getParserKey(cls, beanProperties, parserProperties), theExpression,
+                        exp -> getParser(cls, beanProperties, parserProperties).parse(exp));
+                }
                 return parser.parse(theExpression);
             } catch (SearchParseException ex) {
                 if (PropertyUtils.isTrue(message.getContextualProperty(BLOCK_SEARCH_EXCEPTION))) {
@@ -183,31 +195,8 @@ public class SearchContextImpl implements SearchContext {
             return getCustomParser(parserProp);
         }
 
-        final Map<String, String> props;
-        if (parserProperties == null) {
-            props = new HashMap<>(5);
-            props.put(SearchUtils.DATE_FORMAT_PROPERTY,
-                      (String)message.getContextualProperty(SearchUtils.DATE_FORMAT_PROPERTY));
-            props.put(SearchUtils.TIMEZONE_SUPPORT_PROPERTY,
-                      (String)message.getContextualProperty(SearchUtils.TIMEZONE_SUPPORT_PROPERTY));
-            props.put(SearchUtils.LAX_PROPERTY_MATCH,
-                      (String)message.getContextualProperty(SearchUtils.LAX_PROPERTY_MATCH));
-            props.put(SearchUtils.DECODE_QUERY_VALUES,
-                      (String)message.getContextualProperty(SearchUtils.DECODE_QUERY_VALUES));
-            // FIQL specific
-            props.put(FiqlParser.SUPPORT_SINGLE_EQUALS,
-                      (String)message.getContextualProperty(FiqlParser.SUPPORT_SINGLE_EQUALS));
-        } else {
-            props = parserProperties;
-        }
-
-        final Map<String, String> beanProps;
-
-        if (beanProperties == null) {
-            beanProps = CastUtils.cast((Map<?, ?>)message.getContextualProperty(SearchUtils.BEAN_PROPERTY_MAP));
-        } else {
-            beanProps = beanProperties;
-        }
+        final Map<String, String> props = getParserProperties(parserProperties);
+        final Map<String, String> beanProps = getBeanProperties(beanProperties);
 
         String parserClassProp = (String) message.getContextualProperty(CUSTOM_SEARCH_PARSER_CLASS_PROPERTY);
         if (parserClassProp != null) {
@@ -225,6 +214,61 @@ public class SearchContextImpl implements SearchContext {
         return new FiqlParser<T>(cls, props, beanProps);
     }
 
+    private Map<String, String> getParserProperties(Map<String, String> parserProperties) {
+        if (parserProperties != null) {
+            return parserProperties;
+        }
+        Map<String, String> props = new HashMap<>(5);
+        props.put(SearchUtils.DATE_FORMAT_PROPERTY,
+                  (String)message.getContextualProperty(SearchUtils.DATE_FORMAT_PROPERTY));
+        props.put(SearchUtils.TIMEZONE_SUPPORT_PROPERTY,
+                  (String)message.getContextualProperty(SearchUtils.TIMEZONE_SUPPORT_PROPERTY));
+        props.put(SearchUtils.LAX_PROPERTY_MATCH,
+                  (String)message.getContextualProperty(SearchUtils.LAX_PROPERTY_MATCH));
+        props.put(SearchUtils.DECODE_QUERY_VALUES,
+                  (String)message.getContextualProperty(SearchUtils.DECODE_QUERY_VALUES));
+        // FIQL specific
+        props.put(FiqlParser.SUPPORT_SINGLE_EQUALS,
+                  (String)message.getContextualProperty(FiqlParser.SUPPORT_SINGLE_EQUALS));
+        return props;
+    }
+
+    private Map<String, String> getBeanProperties(Map<String, String> beanProperties) {
+        if (beanProperties != null) {
+            return beanProperties;
+        }
+        return CastUtils.cast((Map<?, ?>)message.getContextualProperty(SearchUtils.BEAN_PROPERTY_MAP));
+    }
+
+    private SearchConditionCache getConditionCache() {
+        Object cacheProp = message.getContextualProperty(SEARCH_CONDITION_CACHE);
+        if (cacheProp instanceof SearchConditionCache) {
+            return (SearchConditionCache)cacheProp;
+        }
+        if (PropertyUtils.isTrue(cacheProp) && message.getExchange() != null) {
+            Endpoint endpoint = message.getExchange().getEndpoint();
+            if (endpoint != null) {
+                return (SearchConditionCache)endpoint.computeIfAbsent(SearchConditionCache.class.getName(),
+                    k -> new SearchConditionCache());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Everything the parsed condition depends on, besides the expression
+     */
+    private Object getParserKey(Class<?> cls, Map<String, String> beanProperties,
+                                Map<String, String> parserProperties) {
+        Object parserProp = message.getContextualProperty(CUSTOM_SEARCH_PARSER_PROPERTY);
+        return Arrays.asList(parserProp != null
+                                 ? parserProp : message.getContextualProperty(CUSTOM_SEARCH_PARSER_CLASS_PROPERTY),
+                             cls,
+                             getParserProperties(parserProperties),
+                             getBeanProperties(beanProperties),
+                             message.getContextualProperty(SearchUtils.BEAN_PROPERTY_CONVERTER));
+    }
+
     @SuppressWarnings("unchecked")
     private <T> SearchConditionParser<T> getCustomParser(Object parserProp) {
         return (SearchConditionParser<T>)parserProp;
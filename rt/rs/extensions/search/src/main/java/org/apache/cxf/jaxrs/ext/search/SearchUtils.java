@@ -20,14 +20,19 @@ package org.apache.cxf.jaxrs.ext.search;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.cxf.common.logging.LogUtils;
 import org.apache.cxf.jaxrs.ext.search.sql.SQLPrinterVisitor;
+import org.apache.cxf.jaxrs.ext.search.visitor.PredicateSearchConditionVisitor;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.message.MessageUtils;
 import org.apache.cxf.phase.PhaseInterceptorChain;
@@ -115,6 +120,26 @@ public final class SearchUtils {
         return visitor.getQuery();
     }
 
+    /**
+     * Compile the condition into a predicate, see {@link PredicateSearchConditionVisitor}
+     */
+    public static <T> Predicate<T> toPredicate(SearchCondition<T> sc) {
+        PredicateSearchConditionVisitor<T> visitor = new PredicateSearchConditionVisitor<>();
+        sc.accept(visitor);
+        return visitor.getQuery();
+    }
+
+    /**
+     * Return the objects which meet the condition, the condition is compiled into a predicate once.
+     * @param parallel true if the objects are to be tested in parallel, the order of the objects
+     *        is preserved either way
+     */
+    public static <T> List<T> filter(SearchCondition<T> sc, Collection<T> pojos, boolean parallel) {
+        Predicate<T> predicate = toPredicate(sc);
+        Stream<T> stream = parallel ? pojos.parallelStream() : pojos.stream();
+        return stream.filter(predicate).collect(Collectors.toList());
+    }
+
     public static String toSqlWildcardString(String value, boolean alwaysWildcard) {
         if (value.contains("\\")) {
             value = value.replaceAll("\\\\", "\\\\\\\\");
@@ -0,0 +1,216 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.ext.search.visitor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.apache.cxf.common.util.StringUtils;
+import org.apache.cxf.jaxrs.ext.search.Beanspector;
+import org.apache.cxf.jaxrs.ext.search.ConditionType;
+import org.apache.cxf.jaxrs.ext.search.PrimitiveSearchCondition;
+import org.apache.cxf.jaxrs.ext.search.PrimitiveStatement;
+import org.apache.cxf.jaxrs.ext.search.SearchBean;
+import org.apache.cxf.jaxrs.ext.search.SearchComparisons;
+import org.apache.cxf.jaxrs.ext.search.SearchCondition;
+import org.apache.cxf.jaxrs.ext.search.SearchConditionVisitor;
+import org.apache.cxf.jaxrs.ext.search.collections.CollectionCheckCondition;
+import org.apache.cxf.jaxrs.utils.InjectionUtils;
+
+/**
+ * Compiles a search condition into a {@link Predicate} which matches the same objects as
+ * {@link SearchCondition#isMet(Object)}, but with the property accessors and the comparisons
+ * resolved once, rather than for every tested object. The predicate does not change any state
+ * and can be used concurrently, for example to filter a parallel stream.
+ */
+public class PredicateSearchConditionVisitor<T> implements SearchConditionVisitor<T, Predicate<T>> {
+
+    private Predicate<T> predicate;
+
+    @Override
+    public void visit(SearchCondition<T> sc) {
+        predicate = compile(sc);
+    }
+
+    @Override
+    public Predicate<T> getQuery() {
+        return predicate;
+    }
+
+    private Predicate<T> compile(SearchCondition<T> sc) {
+        if (sc instanceof PrimitiveSearchCondition && !(sc instanceof CollectionCheckCondition)
+            && !(sc.getCondition() instanceof SearchBean)) {
+            Predicate<T> p = compilePrimitive(sc.getCondition(), sc.getStatement());
+            if (p != null) {
+                return p;
+            }
+        } else {
+            List<SearchCondition<T>> conditions = sc.getSearchConditions();
+            ConditionType ct = sc.getConditionType();
+            if (conditions != null && (ct == ConditionType.AND || ct == ConditionType.OR)) {
+                List<Predicate<T>> predicates = new ArrayList<>(conditions.size());
+                for (SearchCondition<T> condition : conditions) {
+                    predicates.add(compile(condition));
+                }
+                return ct == ConditionType.AND ? and(predicates) : or(predicates);
+            }
+        }
+        return sc::isMet;
+    }
+
+    private static <T> Predicate<T> and(List<Predicate<T>> predicates) {
+        @SuppressWarnings("unchecked")
+        Predicate<T>[] array = predicates.toArray(new Predicate[0]);
+        return pojo -> {
+            for (Predicate<T> p : array) {
+                if (!p.test(pojo)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    private static <T> Predicate<T> or(List<Predicate<T>> predicates) {
+        @SuppressWarnings("unchecked")
+        Predicate<T>[] array = predicates.toArray(new Predicate[0]);
+        return pojo -> {
+            for (Predicate<T> p : array) {
+                if (p.test(pojo)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private static <T> Predicate<T> compilePrimitive(T condition, PrimitiveStatement statement) {
+        String name = statement.getProperty();
+        Object value = statement.getValue();
+        Predicate<Object> directComparison = SearchComparisons.compile(statement.getCondition(), value);
+        if (name == null) {
+            return directComparison::test;
+        }
+
+        String[] names = name.split("\\.");
+        Method getter = new Beanspector<>(condition).getGetter(names[0].toLowerCase());
+        if (getter == null) {
+            // isMet does not match anything either
+            return pojo -> isBuiltIn(pojo) && directComparison.test(pojo);
+        }
+        Function<Object, Object> first = accessor(getter);
+        List<PropertyAccessor> rest = new ArrayList<>();
+        for (int i = 1; i < names.length; i++) {
+            rest.add(new PropertyAccessor(names[i]));
+        }
+        PropertyAccessor[] path = rest.toArray(new PropertyAccessor[0]);
+
+        final Object nestedValue;
+        try {
+            nestedValue = getNestedValue(value, path);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+        Predicate<Object> comparison = SearchComparisons.compile(statement.getCondition(), nestedValue);
+        return pojo -> {
+            if (isBuiltIn(pojo)) {
+                return directComparison.test(pojo);
+            }
+            Object lValue;
+            try {
+                lValue = getNestedValue(first.apply(pojo), path);
+            } catch (RuntimeException ex) {
+                lValue = null;
+            }
+            return lValue != null && comparison.test(lValue);
+        };
+    }
+
+    private static Object getNestedValue(Object value, PropertyAccessor[] path) {
+        for (PropertyAccessor accessor : path) {
+            if (value == null || InjectionUtils.isPrimitive(value.getClass())) {
+                break;
+            }
+            value = accessor.get(value);
+        }
+        return value;
+    }
+
+    private static boolean isBuiltIn(Object pojo) {
+        return pojo.getClass().getName().startsWith("java.lang");
+    }
+
+    private static Function<Object, Object> accessor(Method m) {
+        MethodHandle mh = null;
+        try {
+            mh = MethodHandles.publicLookup().unreflect(m);
+        } catch (IllegalAccessException ex) {
+            // use reflection
+        }
+        if (mh == null) {
+            return obj -> {
+                try {
+                    return m.invoke(obj);
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            };
+        }
+        MethodHandle getter = mh.asType(mh.type().changeParameterType(0, Object.class).changeReturnType(Object.class));
+        return obj -> {
+            try {
+                return getter.invokeExact(obj);
+            } catch (Throwable ex) {
+                throw new IllegalStateException(ex);
+            }
+        };
+    }
+
+    /**
+     * Reads a nested property from objects of any class, the getter is resolved once per class.
+     */
+    private static final class PropertyAccessor extends ClassValue<Optional<Function<Object, Object>>> {
+        private final String getterName;
+
+        PropertyAccessor(String name) {
+            this.getterName = "get" + StringUtils.capitalize(name);
+        }
+
+        Object get(Object obj) {
+            Function<Object, Object> f = get(obj.getClass())
+                .orElseThrow(() -> new IllegalStateException("No " + getterName + " getter"));
+            return f.apply(obj);
+        }
+
+        @Override
+        protected Optional<Function<Object, Object>> computeValue(Class<?> type) {
+            try {
+                return Optional.of(accessor(type.getMethod(getterName)));
+            } catch (NoSuchMethodException ex) {
+                return Optional.empty();
+            }
+        }
+    }
+}
@@ -31,7 +31,9 @@ import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class SearchContextImplTest {
@@ -60,6 +62,25 @@ public class SearchContextImplTest {
         new SearchContextImpl(m).getCondition(Book.class);
     }
 
+    @Test
+    public void testConditionCache() {
+        SearchConditionCache cache = new SearchConditionCache();
+        Message m = new MessageImpl();
+        m.put(SearchContextImpl.SEARCH_CONDITION_CACHE, cache);
+        m.put(Message.QUERY_STRING, "_s=name==CXF*");
+        SearchCondition<Book> sc = new SearchContextImpl(m).getCondition(Book.class);
+        assertTrue(sc.isMet(new Book("CXF Rocks", 1L)));
+        assertSame(sc, new SearchContextImpl(m).getCondition(Book.class));
+        assertSame(sc, new SearchContextImpl(m).getCondition(" name==CXF* ", Book.class));
+        assertEquals(2, cache.getStatistics().getHitCount());
+        assertEquals(1, cache.getStatistics().getMissCount());
+
+        // the parsed condition depends on the condition class and the bean properties too
+        assertNotSame(sc, new SearchContextImpl(m).getCondition(Book.class,
+                                                              Collections.singletonMap("title", "name")));
+        assertEquals(2, cache.size());
+    }
+
     @Test
     public void testPlainQuery2() {
         Message m = new MessageImpl();
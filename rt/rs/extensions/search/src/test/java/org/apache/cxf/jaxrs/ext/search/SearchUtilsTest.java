@@ -18,9 +18,18 @@
  */
 package org.apache.cxf.jaxrs.ext.search;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.apache.cxf.jaxrs.ext.search.fiql.FiqlParser;
+
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class SearchUtilsTest {
 
@@ -53,4 +62,77 @@ public class SearchUtilsTest {
     public void testSqlWildcardString5() {
         assertEquals("%", SearchUtils.toSqlWildcardString("*", false));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPredicateMatchesIsMet() {
+        List<Book> books = Arrays.asList(new Book("CXF in Action", 1L), new Book("Java", 2L),
+                                         new Book("CXF Rocks", 3L), new Book("Web Services", 4L));
+        FiqlParser<Book> parser = new FiqlParser<>(Book.class);
+        for (String query : Arrays.asList("name==CXF*", "name==*s", "name==*in*", "name!=Java", "id=gt=2",
+                                          "id=le=2;name==CXF*", "id==4,name==Java", "(id=lt=3,id=ge=4);name!=Java")) {
+            SearchCondition<Book> sc = parser.parse(query);
+            Predicate<Book> predicate = SearchUtils.toPredicate(sc);
+            List<Book> expected = new ArrayList<>();
+            for (Book book : books) {
+                assertEquals(query, sc.isMet(book), predicate.test(book));
+                if (sc.isMet(book)) {
+                    expected.add(book);
+                }
+            }
+            assertEquals(query, expected, SearchUtils.filter(sc, books, true));
+        }
+    }
+
+    @Test
+    public void testPredicateMatchesIsMetOnEdgeCases() {
+        // a single wildcard is rejected when the condition is compiled
+        SearchCondition<Book> wildcard =
+            new PrimitiveSearchCondition<>("name", "*", String.class, ConditionType.EQUALS, new Book());
+        assertFailure(SearchParseException.class, () -> wildcard.isMet(new Book("CXF", 1L)));
+        assertFailure(SearchParseException.class, () -> SearchUtils.toPredicate(wildcard));
+
+        // a String property compared with a value of another type
+        SearchCondition<Book> wrongType =
+            new PrimitiveSearchCondition<>("name", 1L, Long.class, ConditionType.EQUALS, new Book());
+        Predicate<Book> wrongTypePredicate = SearchUtils.toPredicate(wrongType);
+        assertFailure(ClassCastException.class, () -> wrongType.isMet(new Book("CXF", 1L)));
+        assertFailure(ClassCastException.class, () -> wrongTypePredicate.test(new Book("CXF", 1L)));
+
+        // values which are not Comparable always meet the ordering conditions
+        SearchCondition<Object> notComparable =
+            new PrimitiveSearchCondition<>(null, 1, Integer.class, ConditionType.GREATER_THAN, new Object());
+        assertTrue(notComparable.isMet(new Object()));
+        assertTrue(SearchUtils.toPredicate(notComparable).test(new Object()));
+
+        // the condition types which can not be compared are still reported
+        SearchCondition<Integer> custom =
+            new PrimitiveSearchCondition<>(null, 1, Integer.class, ConditionType.CUSTOM, 0);
+        Predicate<Integer> customPredicate = SearchUtils.toPredicate(custom);
+        assertEquals(assertFailure(RuntimeException.class, () -> custom.isMet(2)).getMessage(),
+                     assertFailure(RuntimeException.class, () -> customPredicate.test(2)).getMessage());
+    }
+
+    private static <E extends RuntimeException> E assertFailure(Class<E> expected, Runnable r) {
+        try {
+            r.run();
+        } catch (RuntimeException ex) {
+            assertEquals(expected, ex.getClass());
+            return expected.cast(ex);
+        }
+        fail(expected.getName() + " expected");
+        return null;
+    }
+
+    @Test
+    public void testFilterInParallel() {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            books.add(new Book("Book " + i, i));
+        }
+        SearchCondition<Book> sc = new FiqlParser<>(Book.class).parse("id=ge=100;id=lt=200,name==*99");
+        List<Book> result = SearchUtils.filter(sc, books, true);
+        assertEquals(sc.findAll(books), result);
+        // ids 100 to 199, and the 100 ids ending with 99 but 199
+        assertEquals(199, result.size());
+    }
+}
@@ -87,6 +87,10 @@ public class JwsCompactConsumer {
         return decodedJwsPayload;
     }
     public byte[] getDecodedJwsPayloadBytes() {
+        if (decodedJwsPayload == null && !JwsUtils.isPayloadUnencoded(getJwsHeaders())) {
+            // no need to go through the intermediate String
+            return JoseUtils.decode(jwsPayload);
+        }
         return StringUtils.toBytesUTF8(getDecodedJwsPayload());
     }
     public byte[] getDecodedSignature() {
@@ -32,7 +32,7 @@ public class JwsJwtCompactConsumer extends JwsCompactConsumer {
     public JwtToken getJwtToken() {
         if (token == null) {
             JwsHeaders theHeaders = super.getJwsHeaders();
-            JwtClaims theClaims = new JwtClaims(getReader().fromJson(getDecodedJwsPayload()));
+            JwtClaims theClaims = new JwtClaims(getReader().fromJson(getDecodedJwsPayloadBytes()));
             token = new JwtToken(theHeaders, theClaims);
         }
         return token;
@@ -132,6 +132,10 @@ public class OutboundSseEventBodyWriter implements MessageBodyWriter<OutboundSse
         writer.writeTo((T)data, cls, type, anns, mt, headers, os);
     }
 
+    ServerProviderFactory getProviderFactory() {
+        return factory;
+    }
+
     @Override
     public long getSize(OutboundSseEvent t, Class<?> type, Type genericType, Annotation[] annotations,
             MediaType mediaType) {
@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.sse;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import org.apache.cxf.helpers.LoadingByteArrayOutputStream;
+
+/**
+ * The outbound SSE event which is being broadcasted to many sinks. The event is rendered to
+ * its wire form only once (per provider factory) and the same bytes are written to every sink.
+ */
+final class SerializedOutboundSseEvent implements OutboundSseEvent {
+    private static final Annotation[] EMPTY_ANNOTATIONS = new Annotation [] {};
+
+    private final OutboundSseEvent event;
+    private final Map<Object, byte[]> rendered = new ConcurrentHashMap<>(2);
+
+    SerializedOutboundSseEvent(OutboundSseEvent event) {
+        this.event = event;
+    }
+
+    /**
+     * Returns the wire form of the event, as written by the given message body writer.
+     */
+    byte[] render(MessageBodyWriter<OutboundSseEvent> writer) throws IOException {
+        // All OutboundSseEventBodyWriter instances backed by the same provider factory produce the same bytes
+        final Object key = (writer instanceof OutboundSseEventBodyWriter)
+            ? ((OutboundSseEventBodyWriter)writer).getProviderFactory() : writer;
+
+        byte[] bytes = key != null ? rendered.get(key) : null;
+        if (bytes == null) {
+            final LoadingByteArrayOutputStream os = new LoadingByteArrayOutputStream();
+            writer.writeTo(event, event.getClass(), event.getGenericType(), EMPTY_ANNOTATIONS,
+                event.getMediaType(), null, os);
+            bytes = os.toByteArray();
+            if (key != null) {
+                rendered.putIfAbsent(key, bytes);
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    public String getId() {
+        return event.getId();
+    }
+
+    @Override
+    public String getName() {
+        return event.getName();
+    }
+
+    @Override
+    public String getComment() {
+        return event.getComment();
+    }
+
+    @Override
+    public long getReconnectDelay() {
+        return event.getReconnectDelay();
+    }
+
+    @Override
+    public boolean isReconnectDelaySet() {
+        return event.isReconnectDelaySet();
+    }
+
+    @Override
+    public Class<?> getType() {
+        return event.getType();
+    }
+
+    @Override
+    public Type getGenericType() {
+        return event.getGenericType();
+    }
+
+    @Override
+    public MediaType getMediaType() {
+        return event.getMediaType();
+    }
+
+    @Override
+    public Object getData() {
+        return event.getData();
+    }
+}
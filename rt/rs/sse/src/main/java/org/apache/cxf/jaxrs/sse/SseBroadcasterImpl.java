@@ -82,15 +82,37 @@ public final class SseBroadcasterImpl implements SseBroadcaster {
     public CompletionStage<?> broadcast(OutboundSseEvent event) {
         assertNotClosed();
 
+        // The event is serialized once and the same bytes are sent to all the subscribers
+        final OutboundSseEvent serialized = (event instanceof SerializedOutboundSseEvent)
+            ? event : new SerializedOutboundSseEvent(event);
+
         final Collection<CompletableFuture<?>> futures = new ArrayList<>();
+        final Collection<SseEventSink> full = new ArrayList<>();
         for (SseEventSink sink: subscribers) {
             try {
-                futures.add(sink.send(event).toCompletableFuture());
+                final CompletionStage<?> stage = (sink instanceof SseEventSinkImpl)
+                    ? ((SseEventSinkImpl)sink).trySend(serialized) : sink.send(serialized);
+                if (stage != null) {
+                    futures.add(stage.toCompletableFuture());
+                } else {
+                    full.add(sink);
+                }
             } catch (final Exception ex) {
                 exceptioners.forEach(exceptioner -> exceptioner.accept(sink, ex));
             }
         }
-        
+
+        // The sinks with the BLOCK overflow policy and no space left in their buffers are only waited
+        // for once the event has been queued for all the other sinks, so a slow consumer does not hold
+        // up the others
+        for (SseEventSink sink: full) {
+            try {
+                futures.add(sink.send(serialized).toCompletableFuture());
+            } catch (final Exception ex) {
+                exceptioners.forEach(exceptioner -> exceptioner.accept(sink, ex));
+            }
+        }
+
         return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
     }
 
@@ -115,6 +137,33 @@ public final class SseBroadcasterImpl implements SseBroadcaster {
         }
     }
 
+    /**
+     * @return the number of SSE events which are queued but not sent yet, across all the subscribers
+     */
+    public long getBacklog() {
+        long backlog = 0;
+        for (SseEventSink sink: subscribers) {
+            if (sink instanceof SseEventSinkImpl) {
+                backlog += ((SseEventSinkImpl)sink).getBacklog();
+            }
+        }
+        return backlog;
+    }
+
+    /**
+     * @return the number of SSE events which were dropped because the buffers of the (currently
+     * registered) subscribers were full
+     */
+    public long getDroppedEvents() {
+        long dropped = 0;
+        for (SseEventSink sink: subscribers) {
+            if (sink instanceof SseEventSinkImpl) {
+                dropped += ((SseEventSinkImpl)sink).getDroppedEvents();
+            }
+        }
+        return dropped;
+    }
+
     private void assertNotClosed() {
         if (closed.get()) {
             throw new IllegalStateException("The SSE broadcaster is already closed");
@@ -29,6 +29,7 @@ import org.apache.cxf.common.util.PropertyUtils;
 import org.apache.cxf.jaxrs.ext.ContextProvider;
 import org.apache.cxf.jaxrs.impl.AsyncResponseImpl;
 import org.apache.cxf.jaxrs.provider.ServerProviderFactory;
+import org.apache.cxf.jaxrs.sse.SseEventSinkImpl.OverflowPolicy;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.transport.http.AbstractHTTPDestination;
 
@@ -45,8 +46,14 @@ public class SseEventSinkContextProvider implements ContextProvider<SseEventSink
 
         final AsyncResponse async = new AsyncResponseImpl(message);
         final Integer bufferSize = PropertyUtils.getInteger(message, SseEventSinkImpl.BUFFER_SIZE_PROPERTY);
+        final Object overflowPolicy = message.getContextualProperty(SseEventSinkImpl.OVERFLOW_POLICY_PROPERTY);
         
-        final SseEventSink sink = createSseEventSink(request, writer, async, bufferSize);
+        final SseEventSink sink;
+        if (overflowPolicy != null) {
+            sink = createSseEventSink(request, writer, async, bufferSize, toOverflowPolicy(overflowPolicy));
+        } else {
+            sink = createSseEventSink(request, writer, async, bufferSize);
+        }
         message.put(SseEventSink.class, sink);
         
         return sink;
@@ -61,4 +68,16 @@ public class SseEventSinkContextProvider implements ContextProvider<SseEventSink
             return new SseEventSinkImpl(writer, async, request.getAsyncContext());
         }
     }
+
+    protected SseEventSink createSseEventSink(final HttpServletRequest request,
+            final MessageBodyWriter<OutboundSseEvent> writer,
+            final AsyncResponse async, final Integer bufferSize, final OverflowPolicy overflowPolicy) {
+        return new SseEventSinkImpl(writer, async, request.getAsyncContext(), 
+            (bufferSize != null) ? bufferSize : SseEventSinkImpl.DEFAULT_BUFFER_SIZE, overflowPolicy);
+    }
+
+    private static OverflowPolicy toOverflowPolicy(Object value) {
+        return (value instanceof OverflowPolicy) 
+            ? (OverflowPolicy)value : OverflowPolicy.fromString(value.toString());
+    }
 }
\ No newline at end of file
@@ -21,40 +21,53 @@ package org.apache.cxf.jaxrs.sse;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
-import java.util.Queue;
+import java.util.Locale;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Logger;
 
 import jakarta.servlet.AsyncContext;
 import jakarta.servlet.AsyncEvent;
 import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
 import jakarta.ws.rs.container.AsyncResponse;
 import jakarta.ws.rs.ext.MessageBodyWriter;
 import jakarta.ws.rs.sse.OutboundSseEvent;
 import jakarta.ws.rs.sse.SseEventSink;
 import org.apache.cxf.common.logging.LogUtils;
+import org.apache.cxf.helpers.LoadingByteArrayOutputStream;
 
 public class SseEventSinkImpl implements SseEventSink {
     public static final String BUFFER_SIZE_PROPERTY = "org.apache.cxf.sse.sink.buffer.size";
-    
+    public static final String OVERFLOW_POLICY_PROPERTY = "org.apache.cxf.sse.sink.overflow.policy";
+
+    static final int DEFAULT_BUFFER_SIZE = 10000; // buffering 10000 messages
+
     private static final Annotation[] EMPTY_ANNOTATIONS = new Annotation [] {};
     private static final Logger LOG = LogUtils.getL7dLogger(SseEventSinkImpl.class);
-    private static final int DEFAULT_BUFFER_SIZE = 10000; // buffering 10000 messages
 
     private final AsyncContext ctx;
     private final MessageBodyWriter<OutboundSseEvent> writer;
-    private final Queue<QueuedEvent> buffer;
+    private final BlockingQueue<QueuedEvent> buffer;
     private final AtomicBoolean closed = new AtomicBoolean(false);
     private final AtomicBoolean dispatching = new AtomicBoolean(false);
     private final AtomicReference<Throwable> throwable = new AtomicReference<>();
     private final AtomicBoolean completed = new AtomicBoolean(false);
     private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final LongAdder dropped = new LongAdder();
+    // The response output stream, once the non-blocking writes have been started
+    private volatile ServletOutputStream output;
+    // Set when the non-blocking writes are not supported by the container
+    private volatile boolean blockingWrites;
 
     /**
      * Create new SseEventSink implementation with the default buffer size of 10000
@@ -80,11 +93,28 @@ public class SseEventSinkImpl implements SseEventSink {
      */
     public SseEventSinkImpl(final MessageBodyWriter<OutboundSseEvent> writer, 
             final AsyncResponse async, final AsyncContext ctx, final int bufferSize) {
+        this(writer, async, ctx, bufferSize, OverflowPolicy.DROP);
+    }
+
+    /**
+     * Create new SseEventSink implementation with the configurable SSE events buffer 
+     * size and the policy to apply when the buffer is full.
+     * 
+     * @param writer message body writer
+     * @param async asynchronous response 
+     * @param ctx asynchronous context
+     * @param bufferSize SSE events buffer size
+     * @param overflowPolicy the policy to apply when the SSE events buffer is full
+     */
+    public SseEventSinkImpl(final MessageBodyWriter<OutboundSseEvent> writer, 
+            final AsyncResponse async, final AsyncContext ctx, final int bufferSize,
+            final OverflowPolicy overflowPolicy) {
         
         this.writer = writer;
         this.buffer = new ArrayBlockingQueue<>(bufferSize);
         this.ctx = ctx;
         this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
 
         if (ctx == null) {
             throw new IllegalStateException("Unable to retrieve the AsyncContext for this request. "
@@ -97,6 +127,7 @@ public class SseEventSinkImpl implements SseEventSink {
             public void onComplete(AsyncEvent event) throws IOException {
                 // This callback should be called when dequeue() has encountered an
                 // error during the execution and is forced to complete the context.
+                completed.set(true);
                 close();
             }
 
@@ -123,19 +154,54 @@ public class SseEventSinkImpl implements SseEventSink {
     public AsyncContext getAsyncContext() {
         return ctx;
     }
+
+    /**
+     * @return the number of SSE events which are queued but not sent yet
+     */
+    public int getBacklog() {
+        return buffer.size();
+    }
+
+    /**
+     * @return the number of SSE events which were not queued because the buffer was full
+     */
+    public long getDroppedEvents() {
+        return dropped.sum();
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
     
     @Override
     public void close() {
         if (closed.compareAndSet(false, true)) {
             LOG.fine("Closing SSE sink now");
             
-            // In case we are still dispatching, give the events the chance to be
-            // sent over to the consumers. The good example would be sent(event) call,
-            // immediately followed by the close() call.
-            if (!awaitQueueToDrain(5, TimeUnit.SECONDS)) {
+            if (output != null) {
+                // The queued events are written without blocking, the AsyncContext is going to 
+                // be completed as soon as the last one is sent over to the consumer (please see 
+                // writeQueued() method), no need to wait for it here.
+                if (throwable.get() == null && !completed.get()) {
+                    if (!dispatching.get()) {
+                        completeIfClosed();
+                    }
+                    return;
+                }
+            } else if (throwable.get() == null && !awaitQueueToDrain(5, TimeUnit.SECONDS)) {
+                // In case we are still dispatching, give the events the chance to be
+                // sent over to the consumers. The good example would be sent(event) call,
+                // immediately followed by the close() call. If an error has been encountered
+                // already, the queued events are not going to be sent anyway.
                 LOG.warning("There are still SSE events the queue which may not be delivered (closing now)");
             }
             
+            completeIfClosed();
+        }
+    }
+
+    private void completeIfClosed() {
+        if (closed.get()) {
             if (completed.compareAndSet(false, true)) {
                 try {
                     // In case of Tomcat, the context may be already closed (f.e. due to error),
@@ -182,20 +248,48 @@ public class SseEventSinkImpl implements SseEventSink {
 
     @Override
     public CompletionStage<?> send(OutboundSseEvent event) {
+        return send(event, overflowPolicy == OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Queues the event for send without waiting for space in the buffer.
+     *
+     * @return the completion stage of the send, or null if the overflow policy is BLOCK and the
+     * buffer is full, in which case the event has not been queued
+     */
+    CompletionStage<?> trySend(OutboundSseEvent event) {
+        return overflowPolicy == OverflowPolicy.BLOCK ? send(event, false) : send(event);
+    }
+
+    private CompletionStage<?> send(OutboundSseEvent event, boolean block) {
         final CompletableFuture<?> future = new CompletableFuture<>();
 
         if (!closed.get() && writer != null) {
             final Throwable ex = throwable.get(); 
             if (ex != null) {
                 future.completeExceptionally(ex);
-            } else if (buffer.offer(new QueuedEvent(event, future))) {
+            } else if (enqueue(new QueuedEvent(event, future), block)) {
                 if (dispatching.compareAndSet(false, true)) {
                     ctx.start(this::dequeue);
                 }
+            } else if (overflowPolicy == OverflowPolicy.BLOCK && !block && !closed.get()) {
+                return null;
+            } else if (overflowPolicy == OverflowPolicy.BLOCK && closed.get()) {
+                future.completeExceptionally(new IllegalStateException(
+                    "The sink is already closed, unable to queue SSE event for send"));
             } else {
-                future.completeExceptionally(new IllegalStateException("The buffer is full (" 
+                dropped.increment();
+                final IllegalStateException overflow = new IllegalStateException("The buffer is full (" 
                     + bufferSize + "), unable to queue SSE event for send. Please use '" 
-                        + BUFFER_SIZE_PROPERTY + "' property to increase the limit."));
+                        + BUFFER_SIZE_PROPERTY + "' property to increase the limit.");
+                future.completeExceptionally(overflow);
+                
+                if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                    LOG.fine("Disconnecting the slow SSE consumer");
+                    // Fail the events which are still queued instead of waiting for them to be sent
+                    throwable.compareAndSet(null, overflow);
+                    close();
+                }
             }
         } else {
             future.completeExceptionally(new IllegalStateException(
@@ -205,6 +299,145 @@ public class SseEventSinkImpl implements SseEventSink {
         return future;
     }
 
+    private boolean enqueue(final QueuedEvent queuedEvent, boolean block) {
+        if (!block) {
+            return buffer.offer(queuedEvent);
+        }
+        
+        try {
+            while (!closed.get() && throwable.get() == null) {
+                if (buffer.offer(queuedEvent, 100, TimeUnit.MILLISECONDS)) {
+                    return true;
+                } else if (dispatching.compareAndSet(false, true)) {
+                    // Make sure the buffer is being drained while we are waiting 
+                    ctx.start(this::dequeue);
+                }
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        
+        return false;
+    }
+
+    /**
+     * Starts sending the buffered events off to the output channel. Whenever supported by the 
+     * container, the events are written using non-blocking I/O: the write listener is registered
+     * on the response output stream and the container calls it back whenever the consumer is ready 
+     * to accept more data, so no thread is blocked while the consumer is slow. The send() completion
+     * stages are completed once the events are accepted by the output channel, signaling the 
+     * demand back to the producers.
+     */
+    private void dequeue() {
+        final ServletOutputStream os = output;
+        if (os != null) {
+            writeQueued(os);
+        } else if (blockingWrites || !startNonBlockingWrites()) {
+            dequeueBlocking();
+        }
+    }
+
+    private boolean startNonBlockingWrites() {
+        try {
+            final ServletOutputStream os = ctx.getResponse().getOutputStream();
+            if (os != null) {
+                output = os;
+                // The container calls onWritePossible() as soon as the response could be written to
+                os.setWriteListener(new SinkWriteListener(os));
+                return true;
+            }
+        } catch (final IOException | IllegalStateException | UnsupportedOperationException ex) {
+            LOG.fine("Non-blocking writes are not available, using blocking writes: " + ex.getMessage());
+        }
+        
+        output = null;
+        blockingWrites = true;
+        return false;
+    }
+
+    /**
+     * Writes the buffered events as long as the output channel is ready to accept the data. It is 
+     * only called by one thread at a time: either the one which started the dispatching, or the 
+     * container thread which calls the write listener after the output channel was not ready.
+     */
+    private void writeQueued(final ServletOutputStream os) {
+        QueuedEvent queuedEvent = null;
+        try {
+            while (os.isReady()) {
+                queuedEvent = buffer.poll();
+                
+                if (queuedEvent == null) {
+                    dispatching.set(false);
+                    
+                    // The events might have been queued before the dispatching flag was reset
+                    if (buffer.isEmpty() || !dispatching.compareAndSet(false, true)) {
+                        if (closed.get()) {
+                            completeIfClosed();
+                        }
+                        return;
+                    }
+                    continue;
+                }
+                
+                final Throwable error = throwable.get();
+                if (error != null) {
+                    LOG.fine("Completing the future unsuccessfully (error enountered previously)");
+                    queuedEvent.completion.completeExceptionally(error);
+                    continue;
+                }
+                
+                final byte[] rendered;
+                try {
+                    rendered = render(queuedEvent.event);
+                } catch (final Exception ex) {
+                    // Nothing has been written yet, so only this event is failed and the connection is kept
+                    LOG.fine("Completing the future unsuccessfully (unable to render the event): " + ex);
+                    queuedEvent.completion.completeExceptionally(ex);
+                    continue;
+                }
+                
+                LOG.fine("Dispatching SSE event over the wire");
+                os.write(rendered);
+                if (os.isReady()) {
+                    os.flush();
+                }
+                
+                LOG.fine("Completing the future successfully");
+                queuedEvent.completion.complete(null);
+            }
+            
+            // The output channel is not ready, the write listener is going to be called once it is
+        } catch (final Exception ex) {
+            if (queuedEvent != null) {
+                // The event which was being written when the error was encountered
+                queuedEvent.completion.completeExceptionally(ex);
+            }
+            onWriteError(ex);
+        }
+    }
+
+    private byte[] render(final OutboundSseEvent event) throws IOException {
+        if (event instanceof SerializedOutboundSseEvent) {
+            // The event has been rendered once for all the sinks it is broadcasted to
+            return ((SerializedOutboundSseEvent)event).render(writer);
+        }
+        
+        final LoadingByteArrayOutputStream os = new LoadingByteArrayOutputStream();
+        writer.writeTo(event, event.getClass(), event.getGenericType(), EMPTY_ANNOTATIONS,
+            event.getMediaType(), null, os);
+        return os.toByteArray();
+    }
+
+    private void onWriteError(final Throwable ex) {
+        // Very likely the connection is closed by the client, fail all the queued events 
+        // and complete the AsyncContext (unless it is already completed).
+        LOG.fine("Prematurely completing the AsyncContext due to error encountered: " + ex);
+        throwable.compareAndSet(null, ex);
+        closed.set(true);
+        dispatching.set(false);
+        completeIfClosed();
+    }
+
     /**
      * Processes the buffered events and sends the off to the output channel. There  is
      * a special handling for the IOException, which forces the sink to switch to closed 
@@ -215,7 +448,7 @@ public class SseEventSinkImpl implements SseEventSink {
      *   - all unscheduled events are completed exceptionally (see please close() method)
      *   
      */
-    private void dequeue() {
+    private void dequeueBlocking() {
         Throwable error = throwable.get();
         
         try {
@@ -229,13 +462,23 @@ public class SseEventSinkImpl implements SseEventSink {
                 
                 final OutboundSseEvent event = queuedEvent.event;
                 final CompletableFuture<?> future = queuedEvent.completion;
+                
+                if (error == null) {
+                    error = throwable.get();
+                }
     
                 try {
                     if (error == null) {
                         LOG.fine("Dispatching SSE event over the wire");
                         
-                        writer.writeTo(event, event.getClass(), event.getGenericType(), EMPTY_ANNOTATIONS,
-                            event.getMediaType(), null, ctx.getResponse().getOutputStream());
+                        if (event instanceof SerializedOutboundSseEvent) {
+                            // The event has been rendered once for all the sinks it is broadcasted to
+                            ctx.getResponse().getOutputStream().write(
+                                ((SerializedOutboundSseEvent)event).render(writer));
+                        } else {
+                            writer.writeTo(event, event.getClass(), event.getGenericType(), EMPTY_ANNOTATIONS,
+                                event.getMediaType(), null, ctx.getResponse().getOutputStream());
+                        }
                         ctx.getResponse().flushBuffer();
                         
                         LOG.fine("Completing the future successfully");
@@ -281,6 +524,50 @@ public class SseEventSinkImpl implements SseEventSink {
         }
     }
 
+    /**
+     * Determines what happens to an SSE event sent to the sink when its buffer is full,
+     * f.e. because the client consumes the events slower than they are produced.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The event is dropped and its completion stage is completed exceptionally (the default).
+         */
+        DROP,
+        /**
+         * The event is dropped and the sink is closed, disconnecting the client.
+         */
+        DISCONNECT,
+        /**
+         * The sender is blocked until there is space in the buffer (or the sink is closed). When
+         * broadcasting, the event is queued for all the other sinks before the broadcaster blocks
+         * on the full ones, one after the other, so the broadcast() call returns once the slowest
+         * consumer has made space for the event.
+         */
+        BLOCK;
+
+        public static OverflowPolicy fromString(String value) {
+            return OverflowPolicy.valueOf(value.trim().toUpperCase(Locale.ENGLISH));
+        }
+    }
+
+    private class SinkWriteListener implements WriteListener {
+        private final ServletOutputStream os;
+
+        SinkWriteListener(ServletOutputStream os) {
+            this.os = os;
+        }
+
+        @Override
+        public void onWritePossible() throws IOException {
+            writeQueued(os);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            onWriteError(t);
+        }
+    }
+
     private static class QueuedEvent {
         private final OutboundSseEvent event;
         private final CompletableFuture<?> completion;
@@ -19,9 +19,16 @@
 
 package org.apache.cxf.jaxrs.sse;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
 
 import jakarta.servlet.AsyncContext;
@@ -31,14 +38,21 @@ import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.ext.MessageBodyWriter;
 import jakarta.ws.rs.sse.OutboundSseEvent;
 import jakarta.ws.rs.sse.SseBroadcaster;
+import org.apache.cxf.jaxrs.sse.SseEventSinkImpl.OverflowPolicy;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class SseBroadcasterImplTest {
@@ -119,4 +133,119 @@ public class SseBroadcasterImplTest {
 
         assertThat(adder.intValue(), equalTo(1));
     }
+
+    @Test
+    public void testEventIsSerializedOnceForAllSinks() throws WebApplicationException, IOException {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(6).write("data: test\n\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(writer).writeTo(any(), any(), any(), any(), any(), isNull(), any());
+
+        final List<ByteArrayOutputStream> outputs = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            final ByteArrayOutputStream os = new ByteArrayOutputStream();
+            final HttpServletResponse sinkResponse = mock(HttpServletResponse.class);
+            when(sinkResponse.getOutputStream()).thenReturn(new TestServletOutputStream(os));
+            broadcaster.register(new SseEventSinkImpl(writer, null,
+                new TestAsyncContext(mock(HttpServletRequest.class), sinkResponse)));
+            outputs.add(os);
+        }
+
+        broadcaster.broadcast(new OutboundSseEventImpl.BuilderImpl().data("test").build());
+
+        verify(writer, times(1)).writeTo(any(), any(), any(), any(), any(), isNull(), any());
+        for (ByteArrayOutputStream os : outputs) {
+            assertThat(os.toString(StandardCharsets.UTF_8.name()), equalTo("data: test\n\n"));
+        }
+    }
+
+    @Test
+    public void testSlowConsumerEventsAreDropped() {
+        final List<Runnable> dispatches = new ArrayList<>();
+        final SseEventSinkImpl sink = new SseEventSinkImpl(writer, null, new StalledAsyncContext(dispatches),
+            1, OverflowPolicy.DROP);
+        broadcaster.register(sink);
+
+        final CompletableFuture<?> first = broadcaster.broadcast(
+            new OutboundSseEventImpl.BuilderImpl().data("first").build()).toCompletableFuture();
+        final CompletableFuture<?> second = broadcaster.broadcast(
+            new OutboundSseEventImpl.BuilderImpl().data("second").build()).toCompletableFuture();
+
+        assertFalse(first.isDone());
+        assertTrue(second.isCompletedExceptionally());
+        assertFalse(sink.isClosed());
+        assertThat(sink.getBacklog(), equalTo(1));
+        assertThat(((SseBroadcasterImpl)broadcaster).getBacklog(), equalTo(1L));
+        assertThat(((SseBroadcasterImpl)broadcaster).getDroppedEvents(), equalTo(1L));
+
+        dispatches.forEach(Runnable::run);
+        assertTrue(first.isDone());
+        assertThat(sink.getBacklog(), equalTo(0));
+    }
+
+    @Test
+    public void testSlowConsumerIsDisconnected() {
+        final LongAdder adder = new LongAdder();
+        final SseEventSinkImpl sink = new SseEventSinkImpl(writer, null, new StalledAsyncContext(new ArrayList<>()),
+            1, OverflowPolicy.DISCONNECT);
+        broadcaster.register(sink);
+        broadcaster.onClose(s -> adder.increment());
+
+        final CompletableFuture<?> first = broadcaster.broadcast(
+            new OutboundSseEventImpl.BuilderImpl().data("first").build()).toCompletableFuture();
+        final CompletableFuture<?> second = broadcaster.broadcast(
+            new OutboundSseEventImpl.BuilderImpl().data("second").build()).toCompletableFuture();
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertTrue(sink.isClosed());
+        assertThat(sink.getDroppedEvents(), equalTo(1L));
+        assertThat(adder.intValue(), equalTo(1));
+    }
+
+    @Test
+    public void testSlowBlockingConsumerDoesNotHoldUpOthers() throws Exception {
+        final SseEventSinkImpl slow = new SseEventSinkImpl(writer, null,
+            new StalledAsyncContext(new CopyOnWriteArrayList<>()), 1, OverflowPolicy.BLOCK);
+        final SseEventSinkImpl other = new SseEventSinkImpl(writer, null,
+            new StalledAsyncContext(new CopyOnWriteArrayList<>()), 10, OverflowPolicy.BLOCK);
+        broadcaster.register(slow);
+        broadcaster.register(other);
+
+        broadcaster.broadcast(new OutboundSseEventImpl.BuilderImpl().data("first").build());
+        assertThat(slow.getBacklog(), equalTo(1));
+        assertThat(other.getBacklog(), equalTo(1));
+
+        final CompletableFuture<?> second = CompletableFuture.runAsync(() ->
+            broadcaster.broadcast(new OutboundSseEventImpl.BuilderImpl().data("second").build()));
+
+        // The event is queued for the other sink while the broadcaster is blocked on the slow one
+        final long deadline = System.currentTimeMillis() + 5000L;
+        while (other.getBacklog() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertThat(other.getBacklog(), equalTo(2));
+        assertFalse(second.isDone());
+
+        slow.close();
+        second.get(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * The asynchronous context which does not run the dispatches until asked to, simulating
+     * the slow consumer.
+     */
+    private static class StalledAsyncContext extends TestAsyncContext {
+        private final List<Runnable> dispatches;
+
+        StalledAsyncContext(List<Runnable> dispatches) {
+            super(mock(HttpServletRequest.class), mock(HttpServletResponse.class));
+            this.dispatches = dispatches;
+        }
+
+        @Override
+        public void start(Runnable runnable) {
+            dispatches.add(runnable);
+        }
+    }
 }
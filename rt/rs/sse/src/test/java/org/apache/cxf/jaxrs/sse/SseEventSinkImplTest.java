@@ -0,0 +1,201 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.sse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SseEventSinkImplTest {
+    private MessageBodyWriter<OutboundSseEvent> writer;
+    private ByteArrayOutputStream os;
+    private TestServletOutputStream out;
+    private TestAsyncContext ctx;
+    private LongAdder completions;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() throws WebApplicationException, IOException {
+        writer = mock(MessageBodyWriter.class);
+        doAnswer(invocation -> {
+            final OutboundSseEvent event = invocation.getArgument(0);
+            invocation.<OutputStream>getArgument(6).write(
+                ("data: " + event.getData() + "\n\n").getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(writer).writeTo(any(), any(), any(), any(), any(), isNull(), any());
+
+        os = new ByteArrayOutputStream();
+        out = new TestServletOutputStream(os);
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(out);
+
+        ctx = new TestAsyncContext(mock(HttpServletRequest.class), response);
+        completions = new LongAdder();
+        ctx.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                completions.increment();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    @Test
+    public void testEventsAreWrittenWhenConsumerIsReady() throws IOException {
+        final SseEventSinkImpl sink = new SseEventSinkImpl(writer, null, ctx);
+
+        out.setReady(false);
+        final CompletableFuture<?> first = sink.send(event("first")).toCompletableFuture();
+        final CompletableFuture<?> second = sink.send(event("second")).toCompletableFuture();
+
+        // The consumer is not ready, nothing is written and the sends are not completed yet
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+        assertThat(sink.getBacklog(), equalTo(2));
+
+        out.setReady(true);
+        assertTrue(first.isDone() && !first.isCompletedExceptionally());
+        assertTrue(second.isDone() && !second.isCompletedExceptionally());
+        assertThat(sink.getBacklog(), equalTo(0));
+        assertThat(os.toString(StandardCharsets.UTF_8.name()), equalTo("data: first\n\ndata: second\n\n"));
+
+        final CompletableFuture<?> third = sink.send(event("third")).toCompletableFuture();
+        assertTrue(third.isDone() && !third.isCompletedExceptionally());
+        assertThat(os.toString(StandardCharsets.UTF_8.name()),
+            equalTo("data: first\n\ndata: second\n\ndata: third\n\n"));
+    }
+
+    @Test
+    public void testCloseDoesNotWaitForSlowConsumer() throws IOException {
+        final SseEventSinkImpl sink = new SseEventSinkImpl(writer, null, ctx);
+
+        // Start the non-blocking writes first
+        sink.send(event("first"));
+        out.setReady(false);
+        final CompletableFuture<?> second = sink.send(event("second")).toCompletableFuture();
+
+        sink.close();
+        assertTrue(sink.isClosed());
+        assertFalse(second.isDone());
+        assertThat(completions.intValue(), equalTo(0));
+
+        // The context is completed once the pending events are written out
+        out.setReady(true);
+        assertTrue(second.isDone() && !second.isCompletedExceptionally());
+        assertThat(completions.intValue(), equalTo(1));
+        assertThat(os.toString(StandardCharsets.UTF_8.name()), equalTo("data: first\n\ndata: second\n\n"));
+    }
+
+    @Test
+    public void testWriteErrorFailsPendingEvents() {
+        final SseEventSinkImpl sink = new SseEventSinkImpl(writer, null, ctx);
+
+        out.setReady(false);
+        final CompletableFuture<?> first = sink.send(event("first")).toCompletableFuture();
+        out.fail(new IOException("Connection reset"));
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(sink.isClosed());
+        assertTrue(sink.send(event("second")).toCompletableFuture().isCompletedExceptionally());
+        assertThat(completions.intValue(), equalTo(1));
+    }
+
+    @Test
+    public void testWriteErrorFailsEventBeingWritten() {
+        final SseEventSinkImpl sink = new SseEventSinkImpl(writer, null, ctx);
+
+        out.setReady(false);
+        final CompletableFuture<?> first = sink.send(event("first")).toCompletableFuture();
+        final CompletableFuture<?> second = sink.send(event("second")).toCompletableFuture();
+        out.failWrites(new IOException("Connection reset"));
+        out.setReady(true);
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertTrue(sink.isClosed());
+        assertThat(sink.getBacklog(), equalTo(0));
+        assertThat(completions.intValue(), equalTo(1));
+    }
+
+    @Test
+    public void testRenderErrorFailsOnlyThatEvent() throws IOException {
+        doAnswer(invocation -> {
+            final OutboundSseEvent event = invocation.getArgument(0);
+            if ("bad".equals(event.getData())) {
+                throw new IOException("Unable to serialize the event");
+            }
+            invocation.<OutputStream>getArgument(6).write(
+                ("data: " + event.getData() + "\n\n").getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(writer).writeTo(any(), any(), any(), any(), any(), isNull(), any());
+        final SseEventSinkImpl sink = new SseEventSinkImpl(writer, null, ctx);
+
+        out.setReady(false);
+        final CompletableFuture<?> first = sink.send(event("first")).toCompletableFuture();
+        final CompletableFuture<?> bad = sink.send(event("bad")).toCompletableFuture();
+        final CompletableFuture<?> third = sink.send(event("third")).toCompletableFuture();
+        out.setReady(true);
+
+        assertTrue(first.isDone() && !first.isCompletedExceptionally());
+        assertTrue(bad.isCompletedExceptionally());
+        assertTrue(third.isDone() && !third.isCompletedExceptionally());
+        assertFalse(sink.isClosed());
+        assertThat(completions.intValue(), equalTo(0));
+        assertThat(os.toString(StandardCharsets.UTF_8.name()), equalTo("data: first\n\ndata: third\n\n"));
+    }
+
+    private static OutboundSseEvent event(String data) {
+        return new OutboundSseEventImpl.BuilderImpl().data(data).build();
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.sse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+
+/**
+ * The servlet output stream which supports non-blocking writes, the readiness is controlled 
+ * by the test.
+ */
+class TestServletOutputStream extends ServletOutputStream {
+    private final OutputStream os;
+    private volatile boolean ready = true;
+    private volatile WriteListener listener;
+    private volatile IOException writeError;
+
+    TestServletOutputStream(OutputStream os) {
+        this.os = os;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (writeError != null) {
+            throw writeError;
+        }
+        os.write(b);
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+        this.listener = writeListener;
+        writePossible();
+    }
+
+    void setReady(boolean ready) {
+        this.ready = ready;
+        writePossible();
+    }
+
+    void failWrites(IOException ex) {
+        this.writeError = ex;
+    }
+
+    void fail(Throwable t) {
+        listener.onError(t);
+    }
+
+    private void writePossible() {
+        if (ready && listener != null) {
+            try {
+                listener.onWritePossible();
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
@@ -19,17 +19,23 @@
 
 package org.apache.cxf.transport.https;
 
+import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.apache.cxf.common.security.CertificateTrustCache;
+
 /**
  * This class represents a set of constraints that can be placed on an X.509 certificate,
  * in the form of a regular expression on a SubjectDN or IssuerDN.
  *
  * A CertConstraints object is initialized using a CertificateConstraintsType, which has
  * a definition in schema and is so generated.
+ *
+ * As the same few peer certificates are typically evaluated over and over again, the result
+ * of matching a certificate against the constraints is cached.
  */
 public class CertConstraints {
 
@@ -116,6 +122,11 @@ public class CertConstraints {
      */
     private final DNConstraints issuerDNConstraints;
 
+    /**
+     * The cached results of matching certificates against the constraints
+     */
+    private final CertificateTrustCache verdictCache = new CertificateTrustCache();
+
     /**
      * Create a CertificateConstraints from a CertificateConstraintsType specification
      */
@@ -137,10 +148,24 @@ public class CertConstraints {
      *              DNConstraints; false, otherwise
      */
     public boolean matches(
-        final java.security.cert.X509Certificate cert
+        final X509Certificate cert
     ) {
-        return
+        final X509Certificate[] chain = {cert};
+        final Boolean cached = verdictCache.getVerdict(null, chain);
+        if (cached != null) {
+            return cached;
+        }
+        final boolean matches =
             this.subjectDNConstraints.matches(cert.getSubjectX500Principal())
             && this.issuerDNConstraints.matches(cert.getIssuerX500Principal());
+        verdictCache.putVerdict(null, chain, matches);
+        return matches;
+    }
+
+    /**
+     * @return      the cache of match results, e.g. to monitor the hit ratio
+     */
+    public CertificateTrustCache getVerdictCache() {
+        return verdictCache;
     }
 }
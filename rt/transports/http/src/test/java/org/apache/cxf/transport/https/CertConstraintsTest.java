@@ -86,6 +86,23 @@ public class CertConstraintsTest {
         assertTrue(tmp.matches(bethalCert) && !tmp.matches(gordyCert));
     }
 
+    @org.junit.Test
+    public void testCachedVerdicts() throws Exception {
+        final X509Certificate bethalCert =
+            loadCertificate("Bethal.jks", "JKS", "password", "bethal");
+        final X509Certificate gordyCert =
+            loadCertificate("Gordy.jks", "JKS", "password", "gordy");
+
+        CertConstraints tmp = loadCertConstraints("subject-CN-bethal");
+        for (int i = 0; i < 3; i++) {
+            assertTrue(tmp.matches(bethalCert));
+            assertFalse(tmp.matches(gordyCert));
+        }
+        assertEquals(2, tmp.getVerdictCache().getStatistics().getMissCount());
+        assertEquals(4, tmp.getVerdictCache().getStatistics().getHitCount());
+        assertEquals(2, tmp.getVerdictCache().size());
+    }
+
     //
     // Private utilities
     //
@@ -161,6 +161,59 @@ public final class SecurityConstants extends org.apache.cxf.rt.security.Security
      */
     public static final String EXPAND_XOP_INCLUDE = "ws-security.expand.xop.include";
 
+    /**
+     * Whether to decrypt encrypted SOAP attachments in parallel on the inbound side. If set to true, the
+     * attachments returned by WSS4J are decrypted eagerly on the "ws-security" named work queue (or the
+     * default automatic work queue if no such queue is configured) while the rest of the security header
+     * is processed, and the results are merged before the security results are validated. The default
+     * is "false".
+     * This only applies to the DOM WS-Security stack.
+     */
+    public static final String ENABLE_PARALLEL_PROCESSING = "ws-security.enable.parallel.processing";
+
+    /**
+     * Whether to use the lock-striped in-memory TokenStore and ReplayCache implementations instead of
+     * EH-Cache, even if EH-Cache is available. This avoids the overhead of EH-Cache for single-node
+     * deployments. Entries are evicted once they have expired, without the need for a background thread.
+     * The default is "false".
+     */
+    public static final String ENABLE_MEMORY_CACHE = "ws-security.enable.memory.cache";
+
+    /**
+     * Whether the in-memory ReplayCache enabled via {@link #ENABLE_MEMORY_CACHE} spills identifiers over to
+     * an off-heap tier once its heap tier is full, instead of rejecting the message. Only a digest of each
+     * identifier is stored off-heap. Tokens are always held on the heap, as they keep their secrets and keys
+     * in transient fields. The default is "false".
+     */
+    public static final String ENABLE_MEMORY_CACHE_OFF_HEAP = "ws-security.enable.memory.cache.offheap";
+
+    /**
+     * Whether to cache the result of verifying trust in the certificate chain of a Signature, so that
+     * the certificate path is not built and validated again for every message signed with the same
+     * certificate. The cache is bounded, and verdicts never outlive the validity of the certificates
+     * (or one minute if revocation checking is enabled). This only applies if no custom
+     * SIGNATURE_TOKEN_VALIDATOR is configured, and to the DOM WS-Security stack. The default is "false".
+     */
+    public static final String ENABLE_CERT_TRUST_CACHE = "ws-security.enable.cert.trust.cache";
+
+    /**
+     * Whether to cache signed SAML assertions once trust in the signing key has been verified, keyed by the
+     * assertion ID and a digest of the signature. Cached entries expire at the NotOnOrAfter time of the
+     * assertion. The XML signature, conditions and audience restrictions of an assertion are still checked
+     * for every message. This only applies if no custom SAML1_TOKEN_VALIDATOR or SAML2_TOKEN_VALIDATOR is configured,
+     * and to the DOM WS-Security stack. The default is "false".
+     */
+    public static final String ENABLE_SAML_TRUST_CACHE = "ws-security.enable.saml.trust.cache";
+
+    /**
+     * Whether to use the streaming (StAX) WS-Security implementation to secure outbound requests on the
+     * client side, while still processing responses with the DOM implementation. Outbound requests are then
+     * canonicalized and digested as they are written, without building a DOM (SAAJ) tree first. This does
+     * not apply to the symmetric binding, or if signature confirmation is required, as the DOM
+     * implementation relies on state stored when securing the request. The default is "false".
+     */
+    public static final String ENABLE_STREAMING_SECURITY_OUTBOUND = "ws-security.enable.streaming.outbound";
+
     //
     // Non-boolean WS-Security Configuration parameters
     //
@@ -520,7 +573,9 @@ public final class SecurityConstants extends org.apache.cxf.rt.security.Security
             KERBEROS_IS_USERNAME_IN_SERVICENAME_FORM, KERBEROS_REQUEST_CREDENTIAL_DELEGATION,
             POLICY_VALIDATOR_MAP, STORE_BYTES_IN_ATTACHMENT, USE_ATTACHMENT_ENCRYPTION_CONTENT_ONLY_TRANSFORM,
             SYMMETRIC_SIGNATURE_ALGORITHM, SECURITY_CONTEXT_CREATOR, SECURITY_TOKEN_LIFETIME,
-            DISABLE_REQ_CLIENT_CERT_CHECK, EXPAND_XOP_INCLUDE,
+            DISABLE_REQ_CLIENT_CERT_CHECK, EXPAND_XOP_INCLUDE, ENABLE_PARALLEL_PROCESSING,
+            ENABLE_MEMORY_CACHE, ENABLE_MEMORY_CACHE_OFF_HEAP, ENABLE_CERT_TRUST_CACHE,
+            ENABLE_SAML_TRUST_CACHE, ENABLE_STREAMING_SECURITY_OUTBOUND,
             CUSTOM_ALG_SUITE_MAXIMUM_ASYMMETRIC_KEY_LENGTH,
             CUSTOM_ALG_SUITE_MINIMUM_ASYMMETRIC_KEY_LENGTH,
             CUSTOM_ALG_SUITE_MAXIMUM_SYMMETRIC_KEY_LENGTH,
@@ -0,0 +1,192 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.ws.security.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed-size, lock-striped set of identifiers with an expiry, held off-heap in direct buffers. Only the
+ * SHA-256 digest of an identifier is stored, so every entry takes the same number of bytes and no heap
+ * memory is used per entry. Each segment is an open-addressing hash table with linear probing, in which
+ * the slots of expired entries are reused. Unexpired entries are never evicted: once a segment is full,
+ * adding an identifier is refused.
+ */
+final class OffHeapExpiringSet {
+    // the expiry in milliseconds (0 for a slot that has never been used), followed by the digest
+    private static final int SLOT_SIZE = 8 + 32;
+
+    private final Segment[] segments;
+    private final Clock clock;
+
+    OffHeapExpiringSet(int concurrencyLevel, int maxEntries) {
+        this(concurrencyLevel, maxEntries, Clock.systemUTC());
+    }
+
+    OffHeapExpiringSet(int concurrencyLevel, int maxEntries, Clock clock) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("The concurrency level must be positive");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("The maximum number of entries must be positive");
+        }
+        this.clock = clock;
+
+        int size = 1;
+        while (size < concurrencyLevel && size < maxEntries) {
+            size <<= 1;
+        }
+        segments = new Segment[size];
+        for (int i = 0; i < size; i++) {
+            segments[i] = new Segment(maxEntries / size + (i < maxEntries % size ? 1 : 0));
+        }
+    }
+
+    /**
+     * Add the identifier to the set, replacing the expiry of an identifier that is already stored.
+     * @return false if the identifier was not added, as its segment is full of unexpired entries
+     */
+    boolean add(String identifier, Instant expiry) {
+        long[] digest = digest(identifier);
+        return segmentFor(digest).add(digest, expiry.toEpochMilli(), clock.millis());
+    }
+
+    boolean contains(String identifier) {
+        long[] digest = digest(identifier);
+        return segmentFor(digest).contains(digest, clock.millis());
+    }
+
+    void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private Segment segmentFor(long[] digest) {
+        return segments[(int)(digest[0] >>> 32) & (segments.length - 1)];
+    }
+
+    private static long[] digest(String identifier) {
+        final MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(messageDigest.digest(identifier.getBytes(StandardCharsets.UTF_8)));
+        return new long[] {bytes.getLong(), bytes.getLong(), bytes.getLong(), bytes.getLong()};
+    }
+
+    @SuppressWarnings("serial")
+    private static final class Segment extends ReentrantLock {
+        private final ByteBuffer slots;
+        private final int capacity;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            slots = ByteBuffer.allocateDirect(capacity * SLOT_SIZE);
+        }
+
+        boolean add(long[] digest, long expiry, long now) {
+            lock();
+            try {
+                int free = -1;
+                int start = start(digest);
+                for (int i = 0; i < capacity; i++) {
+                    int offset = ((start + i) % capacity) * SLOT_SIZE;
+                    long slotExpiry = slots.getLong(offset);
+                    if (slotExpiry == 0L) {
+                        // the identifier cannot be stored any further along
+                        if (free < 0) {
+                            free = offset;
+                        }
+                        break;
+                    }
+                    if (matches(offset, digest)) {
+                        slots.putLong(offset, expiry);
+                        return true;
+                    }
+                    if (slotExpiry <= now && free < 0) {
+                        free = offset;
+                    }
+                }
+                if (free < 0) {
+                    return false;
+                }
+                slots.putLong(free, expiry);
+                for (int i = 0; i < digest.length; i++) {
+                    slots.putLong(free + 8 + i * 8, digest[i]);
+                }
+                return true;
+            } finally {
+                unlock();
+            }
+        }
+
+        boolean contains(long[] digest, long now) {
+            lock();
+            try {
+                int start = start(digest);
+                for (int i = 0; i < capacity; i++) {
+                    int offset = ((start + i) % capacity) * SLOT_SIZE;
+                    long slotExpiry = slots.getLong(offset);
+                    if (slotExpiry == 0L) {
+                        return false;
+                    }
+                    if (matches(offset, digest)) {
+                        return slotExpiry > now;
+                    }
+                }
+                return false;
+            } finally {
+                unlock();
+            }
+        }
+
+        void clear() {
+            lock();
+            try {
+                for (int offset = 0; offset < capacity * SLOT_SIZE; offset += SLOT_SIZE) {
+                    slots.putLong(offset, 0L);
+                }
+            } finally {
+                unlock();
+            }
+        }
+
+        private int start(long[] digest) {
+            return (int)((digest[1] & Long.MAX_VALUE) % capacity);
+        }
+
+        private boolean matches(int offset, long[] digest) {
+            for (int i = 0; i < digest.length; i++) {
+                if (slots.getLong(offset + 8 + i * 8) != digest[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
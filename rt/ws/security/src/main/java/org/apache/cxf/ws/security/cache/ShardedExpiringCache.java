@@ -0,0 +1,329 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.ws.security.cache;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A lock-striped, in-memory cache where every entry has an expiry. Each segment evicts expired
+ * entries with a timer wheel of one second ticks, which is advanced whenever the segment is
+ * accessed, so no background thread is required. The values are held by reference, so a value that
+ * is changed after it has been added is changed in the cache as well. Once a segment is full, adding
+ * an entry either evicts the entry of the segment that is due to expire soonest or, if unexpired entries
+ * must not be evicted (as in a replay cache), is refused.
+ */
+public class ShardedExpiringCache<V> {
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    static final int WHEEL_SIZE = 512;
+
+    private final Segment[] segments;
+    private final boolean evictUnexpired;
+    private final Clock clock;
+
+    public ShardedExpiringCache() {
+        this(DEFAULT_CONCURRENCY_LEVEL, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param concurrencyLevel the number of segments, rounded up to a power of two
+     * @param maxEntries the maximum number of entries in the cache
+     */
+    public ShardedExpiringCache(int concurrencyLevel, int maxEntries) {
+        this(concurrencyLevel, maxEntries, true);
+    }
+
+    /**
+     * @param concurrencyLevel the number of segments, rounded up to a power of two
+     * @param maxEntries the maximum number of entries in the cache
+     * @param evictUnexpired whether a full segment evicts the entry that is due to expire soonest to make
+     *        way for a new one, rather than refusing the new entry
+     */
+    public ShardedExpiringCache(int concurrencyLevel, int maxEntries, boolean evictUnexpired) {
+        this(concurrencyLevel, maxEntries, evictUnexpired, Clock.systemUTC());
+    }
+
+    ShardedExpiringCache(int concurrencyLevel, int maxEntries, boolean evictUnexpired, Clock clock) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("The concurrency level must be positive");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("The maximum number of entries must be positive");
+        }
+        this.evictUnexpired = evictUnexpired;
+        this.clock = clock;
+
+        int size = 1;
+        while (size < concurrencyLevel && size < maxEntries) {
+            size <<= 1;
+        }
+        segments = new Segment[size];
+        long now = clock.millis();
+        for (int i = 0; i < size; i++) {
+            // spread the entries over the segments, the first segments taking the remainder
+            int segmentMaxEntries = maxEntries / size + (i < maxEntries % size ? 1 : 0);
+            segments[i] = new Segment(now, segmentMaxEntries);
+        }
+    }
+
+    /**
+     * Add the value to the cache, replacing any existing value stored under the given key.
+     * @param key the key to store the value under
+     * @param value the value to store
+     * @param expiry when the value is to be evicted from the cache
+     * @return false if the value was not added, as its segment is full of unexpired entries that must
+     *         not be evicted
+     */
+    public boolean put(String key, V value, Instant expiry) {
+        return segmentFor(key).put(key, value, expiry.toEpochMilli(), clock.millis(), evictUnexpired);
+    }
+
+    /**
+     * Return the (unexpired) value stored under the given key, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(String key) {
+        return (V)segmentFor(key).get(key, clock.millis());
+    }
+
+    public boolean containsKey(String key) {
+        return segmentFor(key).get(key, clock.millis()) != null;
+    }
+
+    public void remove(String key) {
+        segmentFor(key).remove(key);
+    }
+
+    /**
+     * Return a snapshot of the keys of all unexpired entries.
+     */
+    public Set<String> keySet() {
+        long now = clock.millis();
+        Set<String> keys = new HashSet<>();
+        for (Segment segment : segments) {
+            segment.collectKeys(keys, now);
+        }
+        return keys;
+    }
+
+    public int size() {
+        long now = clock.millis();
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size(now);
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private Segment segmentFor(String key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return segments[h & (segments.length - 1)];
+    }
+
+    private static final class Entry {
+        final String key;
+        final Object value;
+        final long expiry;
+
+        Entry(String key, Object value, long expiry) {
+            this.key = key;
+            this.value = value;
+            this.expiry = expiry;
+        }
+
+        long tick() {
+            // round up, so that an entry is never evicted before it has expired
+            return (expiry + 999L) / 1000L;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class Segment extends ReentrantLock {
+        private final Map<String, Entry> entries = new HashMap<>();
+        private final List<List<Entry>> wheel = new ArrayList<>(WHEEL_SIZE);
+        private final int maxEntries;
+        private long currentTick;
+
+        Segment(long now, int maxEntries) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                wheel.add(new ArrayList<>());
+            }
+            this.maxEntries = maxEntries;
+            currentTick = now / 1000L;
+        }
+
+        boolean put(String key, Object value, long expiry, long now, boolean evictUnexpired) {
+            lock();
+            try {
+                advance(now);
+                if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+                    if (evictUnexpired) {
+                        evictSoonest();
+                    } else {
+                        // entries that expire within the current tick are still in the wheel
+                        entries.values().removeIf(entry -> entry.expiry <= now);
+                        if (entries.size() >= maxEntries) {
+                            return false;
+                        }
+                    }
+                }
+                Entry entry = new Entry(key, value, expiry);
+                entries.put(key, entry);
+                // a replaced entry is dropped from the wheel when its slot is next processed
+                long tick = Math.max(entry.tick(), currentTick + 1);
+                wheel.get((int)(tick % WHEEL_SIZE)).add(entry);
+                return true;
+            } finally {
+                unlock();
+            }
+        }
+
+        Object get(String key, long now) {
+            lock();
+            try {
+                Entry entry = entries.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.expiry <= now) {
+                    entries.remove(key);
+                    return null;
+                }
+                return entry.value;
+            } finally {
+                unlock();
+            }
+        }
+
+        void remove(String key) {
+            lock();
+            try {
+                entries.remove(key);
+            } finally {
+                unlock();
+            }
+        }
+
+        void collectKeys(Set<String> keys, long now) {
+            lock();
+            try {
+                advance(now);
+                for (Entry entry : entries.values()) {
+                    if (entry.expiry > now) {
+                        keys.add(entry.key);
+                    }
+                }
+            } finally {
+                unlock();
+            }
+        }
+
+        int size(long now) {
+            lock();
+            try {
+                advance(now);
+                return entries.size();
+            } finally {
+                unlock();
+            }
+        }
+
+        void clear() {
+            lock();
+            try {
+                entries.clear();
+                for (List<Entry> slot : wheel) {
+                    slot.clear();
+                }
+            } finally {
+                unlock();
+            }
+        }
+
+        private void evictSoonest() {
+            // the first slot after the current tick that holds a live entry has the entries that are
+            // due to expire next, give or take entries that are a full rotation of the wheel away
+            for (int i = 1; i <= WHEEL_SIZE; i++) {
+                Entry soonest = null;
+                for (Iterator<Entry> iterator = wheel.get((int)((currentTick + i) % WHEEL_SIZE)).iterator();
+                    iterator.hasNext();) {
+                    Entry entry = iterator.next();
+                    if (entries.get(entry.key) != entry) {
+                        iterator.remove();
+                    } else if (soonest == null || entry.expiry < soonest.expiry) {
+                        soonest = entry;
+                    }
+                }
+                if (soonest != null) {
+                    entries.remove(soonest.key);
+                    return;
+                }
+            }
+        }
+
+        private void advance(long now) {
+            long tick = now / 1000L;
+            if (tick <= currentTick) {
+                return;
+            }
+            if (tick - currentTick >= WHEEL_SIZE) {
+                for (List<Entry> slot : wheel) {
+                    expire(slot, tick, now);
+                }
+            } else {
+                for (long t = currentTick + 1; t <= tick; t++) {
+                    expire(wheel.get((int)(t % WHEEL_SIZE)), tick, now);
+                }
+            }
+            currentTick = tick;
+        }
+
+        private void expire(List<Entry> slot, long tick, long now) {
+            slot.removeIf(entry -> {
+                if (entries.get(entry.key) != entry) {
+                    // removed or replaced in the meantime
+                    return true;
+                }
+                if (entry.tick() <= tick && entry.expiry <= now) {
+                    entries.remove(entry.key);
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.ws.security.cache;
+
+import java.time.Clock;
+import java.time.Instant;
+
+import org.apache.wss4j.common.cache.ReplayCache;
+
+/**
+ * A lock-striped, in-memory ReplayCache implementation that does not require EH-Cache. The default
+ * TTL is 60 minutes and the max TTL is 12 hours. An identifier is never evicted before it has expired:
+ * once the heap tier is full, identifiers spill over to an optional off-heap tier, and once that is full
+ * as well, adding an identifier fails, so that the message is rejected rather than its replay going
+ * undetected.
+ */
+public class ShardedMemoryReplayCache implements ReplayCache {
+    public static final long DEFAULT_TTL = 3600L;
+    public static final long MAX_TTL = DEFAULT_TTL * 12L;
+    public static final int DEFAULT_OFF_HEAP_MAX_ENTRIES = 100000;
+
+    private final ShardedExpiringCache<Boolean> cache;
+    private final OffHeapExpiringSet offHeapCache;
+    private final Clock clock;
+
+    public ShardedMemoryReplayCache() {
+        this(ShardedExpiringCache.DEFAULT_CONCURRENCY_LEVEL, ShardedExpiringCache.DEFAULT_MAX_ENTRIES, 0);
+    }
+
+    public ShardedMemoryReplayCache(int concurrencyLevel, int maxEntries) {
+        this(concurrencyLevel, maxEntries, 0);
+    }
+
+    /**
+     * @param concurrencyLevel the number of independently locked segments
+     * @param maxEntries the maximum number of identifiers to store on the heap
+     * @param offHeapMaxEntries the maximum number of identifiers to store off-heap once the heap tier is
+     *        full, or 0 for no off-heap tier
+     */
+    public ShardedMemoryReplayCache(int concurrencyLevel, int maxEntries, int offHeapMaxEntries) {
+        this(concurrencyLevel, maxEntries, offHeapMaxEntries, Clock.systemUTC());
+    }
+
+    ShardedMemoryReplayCache(int concurrencyLevel, int maxEntries, int offHeapMaxEntries, Clock clock) {
+        cache = new ShardedExpiringCache<>(concurrencyLevel, maxEntries, false, clock);
+        offHeapCache = offHeapMaxEntries > 0
+            ? new OffHeapExpiringSet(concurrencyLevel, offHeapMaxEntries, clock) : null;
+        this.clock = clock;
+    }
+
+    /**
+     * Add the given identifier to the cache. It will be cached for a default amount of time.
+     * @param identifier The identifier to be added
+     */
+    public void add(String identifier) {
+        add(identifier, null);
+    }
+
+    /**
+     * Add the given identifier to the cache to be cached for the given time
+     * @param identifier The identifier to be added
+     * @param expiry A custom expiry time for the identifier. Can be null in which case, the default expiry
+     *               is used.
+     * @throws IllegalStateException if the cache is full of unexpired identifiers
+     */
+    public void add(String identifier, Instant expiry) {
+        if (identifier == null || identifier.isEmpty()) {
+            return;
+        }
+
+        Instant now = clock.instant();
+        Instant maxExpiry = now.plusSeconds(MAX_TTL);
+        if (expiry == null || expiry.isBefore(now) || expiry.isAfter(maxExpiry)) {
+            expiry = now.plusSeconds(DEFAULT_TTL);
+        }
+        if (!cache.put(identifier, Boolean.TRUE, expiry)
+            && (offHeapCache == null || !offHeapCache.add(identifier, expiry))) {
+            throw new IllegalStateException("The replay cache is full");
+        }
+    }
+
+    /**
+     * Return true if the given identifier is contained in the cache
+     * @param identifier The identifier to check
+     */
+    public boolean contains(String identifier) {
+        return identifier != null
+            && (cache.containsKey(identifier) || offHeapCache != null && offHeapCache.contains(identifier));
+    }
+
+    public void close() {
+        cache.clear();
+        if (offHeapCache != null) {
+            offHeapCache.clear();
+        }
+    }
+
+}
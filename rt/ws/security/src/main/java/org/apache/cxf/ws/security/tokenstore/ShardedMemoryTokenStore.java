@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.ws.security.tokenstore;
+
+import java.io.Closeable;
+import java.time.Instant;
+import java.util.Collection;
+
+import org.apache.cxf.common.util.StringUtils;
+import org.apache.cxf.ws.security.cache.ShardedExpiringCache;
+
+/**
+ * A lock-striped, in-memory TokenStore implementation that does not require EH-Cache. The tokens are
+ * held on the heap, as they keep their secrets and keys in transient fields. As with the
+ * MemoryTokenStore, the default TTL is 5 minutes and the max TTL is 1 hour. A token that expires later
+ * than the TTL is kept until it expires, up to the max TTL.
+ */
+public class ShardedMemoryTokenStore implements TokenStore, Closeable {
+    public static final long DEFAULT_TTL = MemoryTokenStore.DEFAULT_TTL;
+    public static final long MAX_TTL = MemoryTokenStore.MAX_TTL;
+
+    private final ShardedExpiringCache<SecurityToken> cache;
+    private long ttl = DEFAULT_TTL;
+
+    public ShardedMemoryTokenStore() {
+        this(ShardedExpiringCache.DEFAULT_CONCURRENCY_LEVEL, ShardedExpiringCache.DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param concurrencyLevel the number of independently locked segments
+     * @param maxEntries the maximum number of tokens to store
+     */
+    public ShardedMemoryTokenStore(int concurrencyLevel, int maxEntries) {
+        cache = new ShardedExpiringCache<>(concurrencyLevel, maxEntries);
+    }
+
+    /**
+     * Set a new (default) TTL value in seconds
+     * @param newTtl a new (default) TTL value in seconds
+     */
+    public void setTTL(long newTtl) {
+        ttl = newTtl;
+    }
+
+    public void add(SecurityToken token) {
+        if (token != null && !StringUtils.isEmpty(token.getId())) {
+            cache.put(token.getId(), token, getExpiry(token));
+        }
+    }
+
+    public void add(String identifier, SecurityToken token) {
+        if (token != null && !StringUtils.isEmpty(identifier)) {
+            cache.put(identifier, token, getExpiry(token));
+        }
+    }
+
+    public void remove(String identifier) {
+        if (!StringUtils.isEmpty(identifier)) {
+            cache.remove(identifier);
+        }
+    }
+
+    public Collection<String> getTokenIdentifiers() {
+        return cache.keySet();
+    }
+
+    public SecurityToken getToken(String identifier) {
+        if (StringUtils.isEmpty(identifier)) {
+            return null;
+        }
+        return cache.get(identifier);
+    }
+
+    public void close() {
+        cache.clear();
+    }
+
+    private Instant getExpiry(SecurityToken token) {
+        Instant now = Instant.now();
+        Instant expiry = now.plusSeconds(ttl);
+        Instant tokenExpiry = token.getExpires();
+        if (tokenExpiry != null) {
+            Instant maxExpiry = now.plusSeconds(MAX_TTL);
+            if (tokenExpiry.isAfter(maxExpiry)) {
+                tokenExpiry = maxExpiry;
+            }
+            if (tokenExpiry.isAfter(expiry)) {
+                expiry = tokenExpiry;
+            }
+        }
+        return expiry;
+    }
+
+}
@@ -19,11 +19,16 @@
 
 package org.apache.cxf.ws.security.tokenstore;
 
+import org.apache.cxf.common.util.PropertyUtils;
 import org.apache.cxf.message.Message;
+import org.apache.cxf.rt.security.utils.SecurityUtils;
+import org.apache.cxf.ws.security.SecurityConstants;
 
 /**
  * An abstract factory to return a TokenStore instance. It returns an EHCacheTokenStoreFactory
- * if EH-Cache is available. Otherwise it returns a MemoryTokenStoreFactory.
+ * if EH-Cache is available. Otherwise it returns a MemoryTokenStoreFactory. A
+ * ShardedMemoryTokenStoreFactory is returned instead if the in-memory cache is explicitly
+ * enabled via the SecurityConstants.ENABLE_MEMORY_CACHE property.
  */
 public abstract class TokenStoreFactory {
 
@@ -52,6 +57,14 @@ public abstract class TokenStoreFactory {
         return new MemoryTokenStoreFactory();
     }
 
+    public static TokenStoreFactory newInstance(Message message) {
+        if (message != null && PropertyUtils.isTrue(
+            SecurityUtils.getSecurityPropertyValue(SecurityConstants.ENABLE_MEMORY_CACHE, message))) {
+            return new ShardedMemoryTokenStoreFactory();
+        }
+        return newInstance();
+    }
+
     public abstract TokenStore newTokenStore(String key, Message message) throws TokenStoreException;
 
 }
@@ -77,8 +77,7 @@ public abstract class AbstractTokenInterceptor extends AbstractSoapInterceptor {
 
     public void handleMessage(SoapMessage message) throws Fault {
 
-        boolean enableStax =
-            MessageUtils.getContextualBoolean(message, SecurityConstants.ENABLE_STREAMING_SECURITY, false);
+        boolean enableStax = WSS4JUtils.isStreamingSecurityEnabled(message);
         if (enableStax) {
             return;
         }
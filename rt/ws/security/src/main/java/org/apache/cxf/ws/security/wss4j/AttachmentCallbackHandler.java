@@ -20,6 +20,7 @@
 package org.apache.cxf.ws.security.wss4j;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -27,6 +28,11 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.security.auth.callback.Callback;
 import javax.security.auth.callback.CallbackHandler;
@@ -50,8 +56,23 @@ public class AttachmentCallbackHandler implements CallbackHandler {
 
     private final Collection<org.apache.cxf.message.Attachment> attachments;
     private final String defaultMimeType;
+    private final Message message;
+    private final Executor executor;
+    private final List<PendingAttachment> pendingResults = new ArrayList<>();
 
     public AttachmentCallbackHandler(Message message) {
+        this(message, null);
+    }
+
+    /**
+     * Create a CallbackHandler which eagerly reads (and hence decrypts) the secured attachments
+     * returned by WSS4J on the given Executor. The attachments are only added to the message once
+     * {@link #awaitPendingResults()} is called. If the Executor is null, the attachments are added
+     * to the message straight away and read lazily.
+     */
+    public AttachmentCallbackHandler(Message message, Executor executor) {
+        this.message = message;
+        this.executor = executor;
         if (message.getAttachments() == null) {
             message.setAttachments(new ArrayList<Attachment>());
         }
@@ -64,6 +85,8 @@ public class AttachmentCallbackHandler implements CallbackHandler {
     public AttachmentCallbackHandler(Collection<org.apache.cxf.message.Attachment> attachments) {
         this.attachments = attachments;
         this.defaultMimeType = null;
+        this.message = null;
+        this.executor = null;
     }
 
     @Override
@@ -80,6 +103,12 @@ public class AttachmentCallbackHandler implements CallbackHandler {
                     // Load all attachments
                     attachmentId = null;
                 }
+                // a reference may be to an attachment that is still being decrypted
+                if (attachmentId == null) {
+                    awaitPendingResults();
+                } else {
+                    awaitPendingResult(attachmentId);
+                }
                 loadAttachments(attachmentList, attachmentId, attachmentRequestCallback.isRemoveAttachments());
             } else if (callback instanceof AttachmentResultCallback) {
                 AttachmentResultCallback attachmentResultCallback = (AttachmentResultCallback) callback;
@@ -89,21 +118,28 @@ public class AttachmentCallbackHandler implements CallbackHandler {
                     mimeType = defaultMimeType;
                 }
 
+                AttachmentDataSource dataSource = new AttachmentDataSource(
+                    mimeType, attachmentResultCallback.getAttachment().getSourceStream());
                 org.apache.cxf.attachment.AttachmentImpl securedAttachment =
                     new org.apache.cxf.attachment.AttachmentImpl(
-                        attachmentResultCallback.getAttachmentId(),
-                        new DataHandler(
-                            new AttachmentDataSource(
-                                mimeType,
-                                attachmentResultCallback.getAttachment().getSourceStream())
-                        )
-                    );
+                        attachmentResultCallback.getAttachmentId(), new DataHandler(dataSource));
 
                 Map<String, String> headers = attachmentResultCallback.getAttachment().getHeaders();
                 for (Map.Entry<String, String> entry : headers.entrySet()) {
                     securedAttachment.setHeader(entry.getKey(), entry.getValue());
                 }
-                attachments.add(securedAttachment);
+
+                if (executor != null) {
+                    PendingAttachment pending = new PendingAttachment(securedAttachment, dataSource, message);
+                    try {
+                        executor.execute(pending.task);
+                    } catch (RejectedExecutionException ex) {
+                        pending.task.run();
+                    }
+                    pendingResults.add(pending);
+                } else {
+                    attachments.add(securedAttachment);
+                }
 
             } else if (callback instanceof AttachmentRemovalCallback) {
                 AttachmentRemovalCallback attachmentRemovalCallback = (AttachmentRemovalCallback) callback;
@@ -128,6 +164,55 @@ public class AttachmentCallbackHandler implements CallbackHandler {
         }
     }
 
+    /**
+     * Wait for any secured attachments that are being read on the Executor, and add them to the
+     * message in the order in which they were returned by WSS4J.
+     */
+    public void awaitPendingResults() throws IOException {
+        if (pendingResults.isEmpty()) {
+            return;
+        }
+        try {
+            for (PendingAttachment pending : pendingResults) {
+                attachments.add(pending.get());
+            }
+        } finally {
+            cancelPendingResults();
+        }
+    }
+
+    /**
+     * Wait only for the secured attachment with the given id, if it is being read on the Executor,
+     * and add it to the message. The other attachments carry on being read.
+     */
+    private void awaitPendingResult(String attachmentId) throws IOException {
+        for (Iterator<PendingAttachment> iterator = pendingResults.iterator(); iterator.hasNext();) {
+            PendingAttachment pending = iterator.next();
+            String id = pending.attachment.getId();
+            if (attachmentId.equals(id) || attachmentId.equals(getDecodedAttachmentId(id))) {
+                iterator.remove();
+                try {
+                    attachments.add(pending.get());
+                } catch (IOException ex) {
+                    cancelPendingResults();
+                    throw ex;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Discard any secured attachments that have not been added to the message yet. Attachments that
+     * are being read on the Executor are waited for, the others are not read at all.
+     */
+    public void cancelPendingResults() {
+        for (PendingAttachment pending : pendingResults) {
+            pending.cancel();
+        }
+        pendingResults.clear();
+    }
+
     private void loadAttachments(
         List<org.apache.wss4j.common.ext.Attachment> attachmentList,
         String attachmentId,
@@ -145,6 +230,12 @@ public class AttachmentCallbackHandler implements CallbackHandler {
                     continue;
                 }
 
+                if (executor != null && attachment.getDataHandler().getDataSource() instanceof AttachmentDataSource) {
+                    // the decrypted stream is read on another thread, so it must not read from the
+                    // MIME stream of the message which this thread carries on reading
+                    ((AttachmentDataSource)attachment.getDataHandler().getDataSource()).cache(message);
+                }
+
                 org.apache.wss4j.common.ext.Attachment att =
                     new org.apache.wss4j.common.ext.Attachment();
                 att.setMimeType(attachment.getDataHandler().getContentType());
@@ -168,4 +259,47 @@ public class AttachmentCallbackHandler implements CallbackHandler {
         return URLDecoder.decode(attachmentId, StandardCharsets.UTF_8.name());
     }
 
+    private static final class PendingAttachment implements Callable<org.apache.cxf.message.Attachment> {
+        private final org.apache.cxf.message.Attachment attachment;
+        private final AttachmentDataSource dataSource;
+        private final Message message;
+        private final FutureTask<org.apache.cxf.message.Attachment> task = new FutureTask<>(this);
+        private boolean cancelled;
+
+        PendingAttachment(org.apache.cxf.message.Attachment attachment, AttachmentDataSource dataSource,
+                          Message message) {
+            this.attachment = attachment;
+            this.dataSource = dataSource;
+            this.message = message;
+        }
+
+        @Override
+        public synchronized org.apache.cxf.message.Attachment call() throws IOException {
+            if (!cancelled) {
+                dataSource.cache(message);
+            }
+            return attachment;
+        }
+
+        org.apache.cxf.message.Attachment get() throws IOException {
+            try {
+                return task.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(ex.getMessage());
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof IOException) {
+                    throw (IOException)ex.getCause();
+                }
+                throw new IOException(ex.getCause());
+            }
+        }
+
+        synchronized void cancel() {
+            // being synchronized, this waits for the attachment to be read if that is in progress
+            cancelled = true;
+            task.cancel(false);
+        }
+    }
+
 }
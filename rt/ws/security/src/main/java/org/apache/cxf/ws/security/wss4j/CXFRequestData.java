@@ -25,6 +25,10 @@ import javax.xml.namespace.QName;
 
 import org.apache.cxf.binding.soap.SoapMessage;
 import org.apache.cxf.common.classloader.ClassLoaderUtils;
+import org.apache.cxf.common.util.PropertyUtils;
+import org.apache.cxf.endpoint.Endpoint;
+import org.apache.cxf.rt.security.utils.SecurityUtils;
+import org.apache.cxf.service.model.EndpointInfo;
 import org.apache.cxf.ws.security.SecurityConstants;
 import org.apache.wss4j.common.ext.WSSecurityException;
 import org.apache.wss4j.dom.WSConstants;
@@ -65,6 +69,18 @@ public class CXFRequestData extends RequestData {
                 } else if (o != null) {
                     throw new WSSecurityException(WSSecurityException.ErrorCode.FAILURE,
                                                   "Cannot load Validator: " + o);
+                } else if (WSConstants.SIGNATURE.equals(qName)) {
+                    Validator validator = getCachingValidator((SoapMessage)this.getMsgContext(),
+                        SecurityConstants.ENABLE_CERT_TRUST_CACHE, CachingSignatureTrustValidator.class);
+                    if (validator != null) {
+                        return validator;
+                    }
+                } else if (WSConstants.SAML_TOKEN.equals(qName) || WSConstants.SAML2_TOKEN.equals(qName)) {
+                    Validator validator = getCachingValidator((SoapMessage)this.getMsgContext(),
+                        SecurityConstants.ENABLE_SAML_TRUST_CACHE, CachingSamlTrustValidator.class);
+                    if (validator != null) {
+                        return validator;
+                    }
                 }
             } catch (RuntimeException t) {
                 throw t;
@@ -74,5 +90,29 @@ public class CXFRequestData extends RequestData {
         }
         return super.getValidator(qName);
     }
-}
 
+    /**
+     * Get the caching Validator of the given type that is shared by all messages of the endpoint,
+     * if it has been enabled via the given property.
+     */
+    private static Validator getCachingValidator(
+        SoapMessage message, String enableKey, Class<? extends Validator> validatorClass
+    ) throws ReflectiveOperationException {
+        if (!PropertyUtils.isTrue(SecurityUtils.getSecurityPropertyValue(enableKey, message))) {
+            return null;
+        }
+        Endpoint ep = message.getExchange().getEndpoint();
+        if (ep == null || ep.getEndpointInfo() == null) {
+            return null;
+        }
+        EndpointInfo info = ep.getEndpointInfo();
+        synchronized (info) {
+            Validator validator = info.getProperty(validatorClass.getName(), validatorClass);
+            if (validator == null) {
+                validator = validatorClass.getDeclaredConstructor().newInstance();
+                info.setProperty(validatorClass.getName(), validator);
+            }
+            return validator;
+        }
+    }
+}
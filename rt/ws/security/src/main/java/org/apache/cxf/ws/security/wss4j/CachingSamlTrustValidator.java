@@ -0,0 +1,137 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.ws.security.wss4j;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.cxf.common.util.Base64Utility;
+import org.apache.cxf.ws.security.cache.ShardedExpiringCache;
+import org.apache.wss4j.common.ext.WSSecurityException;
+import org.apache.wss4j.common.saml.SAMLKeyInfo;
+import org.apache.wss4j.common.saml.SamlAssertionWrapper;
+import org.apache.wss4j.dom.handler.RequestData;
+import org.apache.wss4j.dom.validate.Credential;
+import org.apache.wss4j.dom.validate.SamlAssertionValidator;
+
+/**
+ * A SamlAssertionValidator that caches the result of verifying trust in the key that signed an assertion.
+ * SAML assertions issued by an IdP are typically reused across many requests, and so the (expensive)
+ * certificate path validation of the signing key only needs to be done once per assertion. Verdicts are
+ * keyed by the assertion ID together with a digest of the signature value and the signing key, and only
+ * apply to the same Crypto instance, revocation setting and certificate constraints. They are cached until
+ * the NotOnOrAfter time of the assertion (but no longer than the TTL, which defaults to 60 minutes), and at
+ * most 10000 verdicts are cached by default. The conditions, audience restrictions, subject confirmation
+ * methods and the one time use cache are still checked for every assertion. So is the XML signature of the
+ * assertion, which WSS4J verifies before the assertion is passed to this validator.
+ */
+public class CachingSamlTrustValidator extends SamlAssertionValidator {
+    public static final long DEFAULT_CACHE_TTL = 3600L;
+
+    private final ShardedExpiringCache<List<Object>> cache;
+    private long cacheTTL = DEFAULT_CACHE_TTL;
+
+    public CachingSamlTrustValidator() {
+        this(ShardedExpiringCache.DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries the maximum number of verdicts to cache
+     */
+    public CachingSamlTrustValidator(int maxEntries) {
+        cache = new ShardedExpiringCache<>(ShardedExpiringCache.DEFAULT_CONCURRENCY_LEVEL, maxEntries);
+    }
+
+    @Override
+    protected Credential verifySignedAssertion(
+        SamlAssertionWrapper samlAssertion,
+        RequestData data
+    ) throws WSSecurityException {
+        SAMLKeyInfo samlKeyInfo = samlAssertion.getSignatureKeyInfo();
+        String key = samlAssertion.getId() == null || samlKeyInfo == null
+            ? null : getCacheKey(samlAssertion, samlKeyInfo);
+        List<Object> context = Arrays.asList(getCrypto(data), data.isRevocationEnabled(),
+                                             CachingSignatureTrustValidator.toStrings(data.getSubjectCertConstraints()),
+                                             CachingSignatureTrustValidator.toStrings(data.getIssuerDNPatterns()));
+        if (key != null && context.equals(cache.get(key))) {
+            Credential trustCredential = new Credential();
+            trustCredential.setPublicKey(samlKeyInfo.getPublicKey());
+            trustCredential.setCertificates(samlKeyInfo.getCerts());
+            return trustCredential;
+        }
+
+        Credential trustCredential = super.verifySignedAssertion(samlAssertion, data);
+
+        if (key != null) {
+            Instant now = Instant.now();
+            Instant expiry = now.plusSeconds(cacheTTL);
+            Instant notOnOrAfter = samlAssertion.getNotOnOrAfter();
+            if (notOnOrAfter != null && notOnOrAfter.isBefore(expiry)) {
+                expiry = notOnOrAfter;
+            }
+            if (expiry.isAfter(now)) {
+                cache.put(key, context, expiry);
+            }
+        }
+        return trustCredential;
+    }
+
+    public long getCacheTTL() {
+        return cacheTTL;
+    }
+
+    /**
+     * Set the maximum time in seconds for which a verified assertion is cached.
+     */
+    public void setCacheTTL(long cacheTTL) {
+        this.cacheTTL = cacheTTL;
+    }
+
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    private static String getCacheKey(
+        SamlAssertionWrapper samlAssertion, SAMLKeyInfo samlKeyInfo
+    ) throws WSSecurityException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(samlAssertion.getSignatureValue());
+            X509Certificate[] certs = samlKeyInfo.getCerts();
+            PublicKey publicKey = samlKeyInfo.getPublicKey();
+            if (certs != null && certs.length > 0) {
+                digest.update(certs[0].getEncoded());
+            } else if (publicKey != null) {
+                digest.update(publicKey.getEncoded());
+            } else {
+                return null;
+            }
+            return samlAssertion.getId() + ':' + Base64Utility.encode(digest.digest());
+        } catch (NoSuchAlgorithmException | CertificateEncodingException ex) {
+            throw new WSSecurityException(WSSecurityException.ErrorCode.FAILURE, ex);
+        }
+    }
+}
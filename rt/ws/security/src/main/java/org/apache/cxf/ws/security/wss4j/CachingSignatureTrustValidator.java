@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.ws.security.wss4j;
+
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.apache.cxf.common.security.CertificateTrustCache;
+import org.apache.wss4j.common.crypto.Crypto;
+import org.apache.wss4j.common.ext.WSSecurityException;
+import org.apache.wss4j.dom.handler.RequestData;
+import org.apache.wss4j.dom.validate.SignatureTrustValidator;
+
+/**
+ * A SignatureTrustValidator that caches successful trust verifications of certificate chains, so that
+ * the certificate path is not built and validated again for every message signed by the same partner.
+ * Verdicts are keyed by the certificate chain, the Crypto instance and the certificate constraints, and
+ * never outlive the validity period of the chain. If revocation checking is enabled, verdicts are only
+ * cached for a short time (60 seconds by default), so that a revoked certificate is picked up quickly.
+ */
+public class CachingSignatureTrustValidator extends SignatureTrustValidator {
+    public static final long DEFAULT_REVOCATION_TTL = 60L;
+
+    private final CertificateTrustCache cache;
+    private long revocationTTL = DEFAULT_REVOCATION_TTL;
+
+    public CachingSignatureTrustValidator() {
+        this(new CertificateTrustCache());
+    }
+
+    public CachingSignatureTrustValidator(CertificateTrustCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    protected void verifyTrustInCerts(
+        X509Certificate[] certificates,
+        Crypto crypto,
+        RequestData data,
+        boolean enableRevocation
+    ) throws WSSecurityException {
+        List<Object> context = Arrays.asList(crypto, enableRevocation,
+                                             toStrings(data.getSubjectCertConstraints()),
+                                             toStrings(data.getIssuerDNPatterns()));
+        if (Boolean.TRUE.equals(cache.getVerdict(context, certificates))) {
+            return;
+        }
+
+        super.verifyTrustInCerts(certificates, crypto, data, enableRevocation);
+
+        if (enableRevocation) {
+            cache.putVerdict(context, certificates, true, revocationTTL);
+        } else {
+            cache.putVerdict(context, certificates, true);
+        }
+    }
+
+    public CertificateTrustCache getCache() {
+        return cache;
+    }
+
+    public long getRevocationTTL() {
+        return revocationTTL;
+    }
+
+    /**
+     * Set the time in seconds for which a verdict is cached when revocation checking is enabled.
+     * Set it to 0 to not cache verdicts at all when revocation checking is enabled.
+     */
+    public void setRevocationTTL(long revocationTTL) {
+        this.revocationTTL = revocationTTL;
+    }
+
+    static List<String> toStrings(Collection<Pattern> patterns) {
+        if (patterns == null || patterns.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> strings = new ArrayList<>(patterns.size());
+        for (Pattern pattern : patterns) {
+            strings.add(pattern.pattern());
+        }
+        return strings;
+    }
+}
@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -43,6 +44,7 @@ import org.w3c.dom.Node;
 
 import jakarta.xml.soap.SOAPException;
 import jakarta.xml.soap.SOAPMessage;
+import org.apache.cxf.Bus;
 import org.apache.cxf.attachment.AttachmentUtil;
 import org.apache.cxf.binding.soap.SoapFault;
 import org.apache.cxf.binding.soap.SoapMessage;
@@ -63,6 +65,8 @@ import org.apache.cxf.rt.security.saml.utils.SAMLUtils;
 import org.apache.cxf.rt.security.utils.SecurityUtils;
 import org.apache.cxf.security.transport.TLSSessionInfo;
 import org.apache.cxf.staxutils.StaxUtils;
+import org.apache.cxf.workqueue.AutomaticWorkQueue;
+import org.apache.cxf.workqueue.WorkQueueManager;
 import org.apache.cxf.ws.security.SecurityConstants;
 import org.apache.cxf.ws.security.tokenstore.TokenStore;
 import org.apache.cxf.ws.security.tokenstore.TokenStoreException;
@@ -218,6 +222,19 @@ public class WSS4JInInterceptor extends AbstractWSS4JInterceptor {
         }
     }
 
+    private WSHandlerResult processSecurityHeader(WSSecurityEngine engine, Element elem, RequestData reqData,
+                                                 AttachmentCallbackHandler attachmentCallbackHandler)
+        throws WSSecurityException {
+        try {
+            WSHandlerResult wsResult = engine.processSecurityHeader(elem, reqData);
+            awaitAttachmentResults(attachmentCallbackHandler);
+            return wsResult;
+        } finally {
+            // don't leave attachments being decrypted if the security header is rejected
+            attachmentCallbackHandler.cancelPendingResults();
+        }
+    }
+
     @SuppressWarnings("deprecation")
     private void handleMessageInternal(SoapMessage msg) throws Fault {
         boolean utWithCallbacks =
@@ -264,7 +281,9 @@ public class WSS4JInInterceptor extends AbstractWSS4JInterceptor {
          */
         try {
             reqData.setMsgContext(msg);
-            reqData.setAttachmentCallbackHandler(new AttachmentCallbackHandler(msg));
+            AttachmentCallbackHandler attachmentCallbackHandler =
+                new AttachmentCallbackHandler(msg, getParallelProcessingExecutor(msg));
+            reqData.setAttachmentCallbackHandler(attachmentCallbackHandler);
 
             setAlgorithmSuites(msg, reqData);
 
@@ -323,7 +342,8 @@ public class WSS4JInInterceptor extends AbstractWSS4JInterceptor {
             if (elem != null) {
                 originalNode = elem.cloneNode(true);
             }
-            WSHandlerResult wsResult = engine.processSecurityHeader(elem, reqData);
+            final WSHandlerResult wsResult =
+                processSecurityHeader(engine, elem, reqData, attachmentCallbackHandler);
             importNewDomToSAAJ(doc, elem, originalNode, wsResult);
             Element header = SAAJUtils.getHeader(doc);
             Element body = SAAJUtils.getBody(doc);
@@ -386,6 +406,30 @@ public class WSS4JInInterceptor extends AbstractWSS4JInterceptor {
             throw new SoapFault(new Message("SAAJ_EX", LOG), e, version.getSender());
         }
     }
+
+    private static Executor getParallelProcessingExecutor(SoapMessage msg) {
+        if (!PropertyUtils.isTrue(
+            SecurityUtils.getSecurityPropertyValue(SecurityConstants.ENABLE_PARALLEL_PROCESSING, msg))) {
+            return null;
+        }
+        Bus bus = msg.getExchange().getBus();
+        WorkQueueManager manager = bus == null ? null : bus.getExtension(WorkQueueManager.class);
+        if (manager == null) {
+            return null;
+        }
+        AutomaticWorkQueue queue = manager.getNamedWorkQueue("ws-security");
+        return queue != null ? queue : manager.getAutomaticWorkQueue();
+    }
+
+    private static void awaitAttachmentResults(AttachmentCallbackHandler attachmentCallbackHandler)
+        throws WSSecurityException {
+        try {
+            attachmentCallbackHandler.awaitPendingResults();
+        } catch (IOException ex) {
+            throw new WSSecurityException(WSSecurityException.ErrorCode.FAILED_CHECK, ex);
+        }
+    }
+
     private void importNewDomToSAAJ(SOAPMessage doc, Element elem,
                                     Node originalNode, WSHandlerResult wsResult) throws SOAPException {
         if (DOMUtils.isJava9SAAJ()
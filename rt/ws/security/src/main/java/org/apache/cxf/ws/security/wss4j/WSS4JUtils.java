@@ -45,8 +45,13 @@ import org.apache.cxf.message.Message;
 import org.apache.cxf.message.MessageUtils;
 import org.apache.cxf.rt.security.utils.SecurityUtils;
 import org.apache.cxf.service.model.EndpointInfo;
+import org.apache.cxf.ws.policy.AssertionInfo;
+import org.apache.cxf.ws.policy.AssertionInfoMap;
 import org.apache.cxf.ws.security.SecurityConstants;
 import org.apache.cxf.ws.security.cache.CXFEHCacheReplayCache;
+import org.apache.cxf.ws.security.cache.ShardedExpiringCache;
+import org.apache.cxf.ws.security.cache.ShardedMemoryReplayCache;
+import org.apache.cxf.ws.security.policy.PolicyUtils;
 import org.apache.cxf.ws.security.tokenstore.SecurityToken;
 import org.apache.cxf.ws.security.tokenstore.TokenStoreException;
 import org.apache.cxf.ws.security.tokenstore.TokenStoreUtils;
@@ -62,6 +67,9 @@ import org.apache.wss4j.common.util.Loader;
 import org.apache.wss4j.dom.WSConstants;
 import org.apache.wss4j.dom.engine.WSSecurityEngineResult;
 import org.apache.wss4j.dom.handler.WSHandlerResult;
+import org.apache.wss4j.policy.SPConstants;
+import org.apache.wss4j.policy.model.SymmetricBinding;
+import org.apache.wss4j.policy.model.Wss11;
 import org.apache.wss4j.stax.ext.WSSConstants;
 import org.apache.wss4j.stax.securityToken.WSSecurityTokenConstants;
 import org.apache.xml.security.exceptions.XMLSecurityException;
@@ -93,6 +101,35 @@ public final class WSS4JUtils {
         return 300000L;
     }
 
+    /**
+     * Whether the streaming (StAX) WS-Security implementation is used for the given message. This is the
+     * case if SecurityConstants.ENABLE_STREAMING_SECURITY is set, or for an outbound client request if
+     * SecurityConstants.ENABLE_STREAMING_SECURITY_OUTBOUND is set, streaming has not been explicitly
+     * disabled on the message itself, and the security policy does not need state from the DOM
+     * implementation to process the response.
+     */
+    public static boolean isStreamingSecurityEnabled(Message message) {
+        if (message.get(SecurityConstants.ENABLE_STREAMING_SECURITY) == null
+            && MessageUtils.isRequestor(message) && MessageUtils.isOutbound(message)
+            && PropertyUtils.isTrue(
+                SecurityUtils.getSecurityPropertyValue(SecurityConstants.ENABLE_STREAMING_SECURITY_OUTBOUND,
+                                                       message))) {
+            return supportsStreamingOutbound(message.get(AssertionInfoMap.class));
+        }
+        return MessageUtils.getContextualBoolean(message, SecurityConstants.ENABLE_STREAMING_SECURITY);
+    }
+
+    private static boolean supportsStreamingOutbound(AssertionInfoMap aim) {
+        if (aim == null) {
+            return true;
+        }
+        if (PolicyUtils.getSecurityBinding(aim) instanceof SymmetricBinding) {
+            return false;
+        }
+        AssertionInfo ai = PolicyUtils.getFirstAssertionByLocalname(aim, SPConstants.WSS11);
+        return ai == null || !((Wss11)ai.getAssertion()).isRequireSignatureConfirmation();
+    }
+
     /**
      * Get a ReplayCache instance. It first checks to see whether caching has been explicitly
      * enabled or disabled via the booleanKey argument. If it has been set to false then no
@@ -102,7 +139,8 @@ public final class WSS4JUtils {
      *
      * It tries to get an instance of ReplayCache via the instanceKey argument from a
      * contextual property, and failing that the message exchange. If it can't find any, then it
-     * defaults to using an EH-Cache instance and stores that on the message exchange.
+     * defaults to using an EH-Cache instance (or a lock-striped in-memory instance, if
+     * SecurityConstants.ENABLE_MEMORY_CACHE is set) and stores that on the message exchange.
      */
     public static ReplayCache getReplayCache(
         SoapMessage message, String booleanKey, String instanceKey
@@ -137,7 +175,14 @@ public final class WSS4JUtils {
                             cacheKey += "-" + hashcode;
                         }
                     }
-                    if (WSS4JCacheUtil.isEhCacheInstalled()) {
+                    if (PropertyUtils.isTrue(SecurityUtils.getSecurityPropertyValue(
+                        SecurityConstants.ENABLE_MEMORY_CACHE, message))) {
+                        boolean offHeap = PropertyUtils.isTrue(SecurityUtils.getSecurityPropertyValue(
+                            SecurityConstants.ENABLE_MEMORY_CACHE_OFF_HEAP, message));
+                        replayCache = new ShardedMemoryReplayCache(ShardedExpiringCache.DEFAULT_CONCURRENCY_LEVEL,
+                            ShardedExpiringCache.DEFAULT_MAX_ENTRIES,
+                            offHeap ? ShardedMemoryReplayCache.DEFAULT_OFF_HEAP_MAX_ENTRIES : 0);
+                    } else if (WSS4JCacheUtil.isEhCacheInstalled()) {
                         Bus bus = message.getExchange().getBus();
                         final Path diskstoreParent;
                         try {
@@ -0,0 +1,262 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.ws.security.cache;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.cxf.ws.security.tokenstore.SecurityToken;
+import org.apache.cxf.ws.security.tokenstore.ShardedMemoryTokenStore;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ShardedExpiringCacheTest {
+
+    @Test
+    public void testExpiry() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        ShardedExpiringCache<String> cache = new ShardedExpiringCache<>(4, 100, true, clock);
+
+        cache.put("a", "1", clock.instant().plusSeconds(10));
+        cache.put("b", "2", clock.instant().plusSeconds(1000));
+        assertEquals("1", cache.get("a"));
+        assertEquals(2, cache.size());
+
+        clock.advance(11);
+        assertNull(cache.get("a"));
+        assertFalse(cache.containsKey("a"));
+        assertEquals("2", cache.get("b"));
+        assertEquals(1, cache.size());
+
+        // more than a full rotation of the timer wheel
+        clock.advance(ShardedExpiringCache.WHEEL_SIZE + 1000);
+        assertTrue(cache.keySet().isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testReplaceAndRemove() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        ShardedExpiringCache<String> cache = new ShardedExpiringCache<>(2, 100, true, clock);
+
+        cache.put("a", "1", clock.instant().plusSeconds(5));
+        cache.put("a", "2", clock.instant().plusSeconds(50));
+        clock.advance(10);
+        // the first entry's slot has been processed, but must not evict the replacement
+        assertEquals(1, cache.size());
+        assertEquals("2", cache.get("a"));
+
+        cache.remove("a");
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    public void testMaxEntries() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        ShardedExpiringCache<String> cache = new ShardedExpiringCache<>(1, 3, true, clock);
+
+        cache.put("a", "1", clock.instant().plusSeconds(100));
+        cache.put("b", "2", clock.instant().plusSeconds(10));
+        cache.put("c", "3", clock.instant().plusSeconds(1000));
+        // replacing an entry does not evict anything
+        cache.put("c", "4", clock.instant().plusSeconds(1000));
+        assertEquals(3, cache.size());
+
+        // the entry that is due to expire soonest makes way for the new one
+        cache.put("d", "5", clock.instant().plusSeconds(50));
+        assertEquals(3, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals("1", cache.get("a"));
+        assertEquals("4", cache.get("c"));
+        assertEquals("5", cache.get("d"));
+
+        cache.put("e", "6", clock.instant().plusSeconds(500));
+        assertEquals(3, cache.size());
+        assertNull(cache.get("d"));
+    }
+
+    @Test
+    public void testMaxEntriesWithoutEviction() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        ShardedExpiringCache<String> cache = new ShardedExpiringCache<>(1, 3, false, clock);
+
+        assertTrue(cache.put("a", "1", clock.instant().plusSeconds(100)));
+        assertTrue(cache.put("b", "2", clock.instant().plusSeconds(10)));
+        assertTrue(cache.put("c", "3", clock.instant().plusSeconds(1000)));
+        assertTrue(cache.put("c", "4", clock.instant().plusSeconds(1000)));
+
+        // no unexpired entry makes way for the new one
+        assertFalse(cache.put("d", "5", clock.instant().plusSeconds(50)));
+        assertEquals(3, cache.size());
+        assertEquals("2", cache.get("b"));
+        assertNull(cache.get("d"));
+
+        clock.advance(11);
+        assertTrue(cache.put("d", "5", clock.instant().plusSeconds(50)));
+        assertNull(cache.get("b"));
+        assertEquals("5", cache.get("d"));
+    }
+
+    @Test
+    public void testTokenKeptUntilItExpires() throws Exception {
+        try (ShardedMemoryTokenStore store = new ShardedMemoryTokenStore(4, 100)) {
+            store.setTTL(0L);
+
+            store.add(new SecurityToken("token1"));
+            assertNull(store.getToken("token1"));
+
+            SecurityToken token = new SecurityToken("token2", null, Instant.now().plusSeconds(3600L));
+            store.add(token);
+            assertSame(token, store.getToken("token2"));
+        }
+    }
+
+    @Test
+    public void testTokenKeepsTransientState() throws Exception {
+        SecurityToken token = new SecurityToken("token1");
+        token.setTokenType("some-type");
+        byte[] secret = new byte[] {1, 2, 3, 4};
+        token.setSecret(secret);
+        SecretKey key = new SecretKeySpec(new byte[16], "AES");
+        token.setKey(key);
+
+        try (ShardedMemoryTokenStore store = new ShardedMemoryTokenStore(4, 100)) {
+            store.add(token);
+
+            SecurityToken cached = store.getToken("token1");
+            assertSame(token, cached);
+            assertEquals("some-type", cached.getTokenType());
+            assertArrayEquals(secret, cached.getSecret());
+            assertSame(key, cached.getKey());
+
+            // a token that is changed in place is changed in the store as well
+            token.setTokenType("other-type");
+            assertEquals("other-type", store.getToken("token1").getTokenType());
+        }
+    }
+
+    @Test
+    public void testReplayCache() throws Exception {
+        try (ShardedMemoryReplayCache replayCache = new ShardedMemoryReplayCache()) {
+            assertFalse(replayCache.contains("id1"));
+            replayCache.add("id1");
+            replayCache.add("id2", Instant.now().plusSeconds(30));
+            assertTrue(replayCache.contains("id1"));
+            assertTrue(replayCache.contains("id2"));
+            assertFalse(replayCache.contains("id3"));
+        }
+    }
+
+    @Test
+    public void testReplayCacheUnderPressure() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        ShardedMemoryReplayCache replayCache = new ShardedMemoryReplayCache(1, 10, 0, clock);
+        for (int i = 0; i < 10; i++) {
+            replayCache.add("id" + i, clock.instant().plusSeconds(60));
+        }
+        try {
+            replayCache.add("id10", clock.instant().plusSeconds(60));
+            fail("Failure expected on a full replay cache");
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+        // the identifiers that have not expired yet are all still detected as replays
+        for (int i = 0; i < 10; i++) {
+            assertTrue(replayCache.contains("id" + i));
+        }
+        assertFalse(replayCache.contains("id10"));
+
+        clock.advance(61);
+        replayCache.add("id10", clock.instant().plusSeconds(60));
+        assertTrue(replayCache.contains("id10"));
+        assertFalse(replayCache.contains("id0"));
+    }
+
+    @Test
+    public void testReplayCacheSpillsOffHeap() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        ShardedMemoryReplayCache replayCache = new ShardedMemoryReplayCache(1, 10, 20, clock);
+        for (int i = 0; i < 30; i++) {
+            replayCache.add("id" + i, clock.instant().plusSeconds(60));
+        }
+        try {
+            replayCache.add("id30", clock.instant().plusSeconds(60));
+            fail("Failure expected on a full replay cache");
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+        for (int i = 0; i < 30; i++) {
+            assertTrue(replayCache.contains("id" + i));
+        }
+        assertFalse(replayCache.contains("id30"));
+
+        // the slots of expired identifiers are reused in both tiers
+        clock.advance(61);
+        for (int i = 30; i < 60; i++) {
+            replayCache.add("id" + i, clock.instant().plusSeconds(60));
+        }
+        for (int i = 0; i < 30; i++) {
+            assertFalse(replayCache.contains("id" + i));
+            assertTrue(replayCache.contains("id" + (i + 30)));
+        }
+        replayCache.close();
+        assertFalse(replayCache.contains("id30"));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(long seconds) {
+            instant = instant.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -53,7 +53,8 @@ public class TokenStoreTest {
         message.setExchange(new ExchangeImpl());
         return Arrays.asList(
                 new MemoryTokenStoreFactory().newTokenStore(SecurityConstants.TOKEN_STORE_CACHE_INSTANCE, message),
-                new EHCacheTokenStoreFactory().newTokenStore(SecurityConstants.TOKEN_STORE_CACHE_INSTANCE, message)
+                new EHCacheTokenStoreFactory().newTokenStore(SecurityConstants.TOKEN_STORE_CACHE_INSTANCE, message),
+                new ShardedMemoryTokenStore()
         );
     }
 
@@ -19,16 +19,31 @@
 package org.apache.cxf.ws.security.wss4j;
 
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import javax.security.auth.callback.Callback;
 
 import jakarta.activation.CommandMap;
 import jakarta.activation.DataHandler;
 import org.apache.cxf.attachment.AttachmentImpl;
+import org.apache.cxf.helpers.IOUtils;
 import org.apache.cxf.message.Attachment;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
 import org.apache.wss4j.common.ext.AttachmentRequestCallback;
+import org.apache.wss4j.common.ext.AttachmentResultCallback;
 import org.apache.wss4j.common.util.AttachmentUtils;
 import org.apache.wss4j.dom.engine.WSSConfig;
 
@@ -36,6 +51,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.mock;
@@ -59,6 +75,110 @@ public class AttachmentCallbackHandlerTest {
         parseAttachment(attachmentId);
     }
 
+    @Test
+    public void testParallelAttachmentResults() throws Exception {
+        Message message = new MessageImpl();
+        message.setAttachments(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            AttachmentCallbackHandler callbackHandler = new AttachmentCallbackHandler(message, executor);
+
+            List<Callback> callbacks = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                org.apache.wss4j.common.ext.Attachment result = new org.apache.wss4j.common.ext.Attachment();
+                result.setId("attachment-" + i);
+                result.setMimeType("text/plain");
+                byte[] content = ("content-" + i).getBytes(StandardCharsets.UTF_8);
+                result.setSourceStream(new ByteArrayInputStream(content));
+                AttachmentResultCallback attachmentResultCallback = new AttachmentResultCallback();
+                attachmentResultCallback.setAttachmentId(result.getId());
+                attachmentResultCallback.setAttachment(result);
+                callbacks.add(attachmentResultCallback);
+            }
+            callbackHandler.handle(callbacks.toArray(new Callback[0]));
+            assertTrue(message.getAttachments().isEmpty());
+
+            callbackHandler.awaitPendingResults();
+
+            List<Attachment> attachments = new ArrayList<>(message.getAttachments());
+            assertEquals(3, attachments.size());
+            for (int i = 0; i < 3; i++) {
+                assertEquals("attachment-" + i, attachments.get(i).getId());
+                assertEquals("content-" + i,
+                             IOUtils.toString(attachments.get(i).getDataHandler().getInputStream()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testReadAttachmentWhileAnotherIsDecrypted() throws Exception {
+        Message message = new MessageImpl();
+        message.setAttachments(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        try {
+            AttachmentCallbackHandler callbackHandler = new AttachmentCallbackHandler(message, executor);
+
+            InputStream slow = new FilterInputStream(new ByteArrayInputStream(
+                "slow".getBytes(StandardCharsets.UTF_8))) {
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    slowStarted.countDown();
+                    try {
+                        if (!releaseSlow.await(10, TimeUnit.SECONDS)) {
+                            throw new IOException("Timed out");
+                        }
+                    } catch (InterruptedException ex) {
+                        throw new InterruptedIOException();
+                    }
+                    return super.read(b, off, len);
+                }
+            };
+            callbackHandler.handle(new Callback[] {
+                createResultCallback("slow", slow),
+                createResultCallback("fast", new ByteArrayInputStream("fast".getBytes(StandardCharsets.UTF_8)))
+            });
+            assertTrue(slowStarted.await(10, TimeUnit.SECONDS));
+
+            // the fast attachment is read while the slow one is still being decrypted
+            AttachmentRequestCallback fastRequest = new AttachmentRequestCallback();
+            fastRequest.setAttachmentId("fast");
+            fastRequest.setRemoveAttachments(false);
+            callbackHandler.handle(new Callback[] {fastRequest});
+            assertEquals(1, fastRequest.getAttachments().size());
+            assertEquals("fast", IOUtils.toString(fastRequest.getAttachments().get(0).getSourceStream()));
+            assertEquals(1, releaseSlow.getCount());
+
+            releaseSlow.countDown();
+            AttachmentRequestCallback slowRequest = new AttachmentRequestCallback();
+            slowRequest.setAttachmentId("slow");
+            slowRequest.setRemoveAttachments(false);
+            callbackHandler.handle(new Callback[] {slowRequest});
+            assertEquals(1, slowRequest.getAttachments().size());
+            assertEquals("slow", IOUtils.toString(slowRequest.getAttachments().get(0).getSourceStream()));
+
+            callbackHandler.awaitPendingResults();
+            assertEquals(2, message.getAttachments().size());
+        } finally {
+            releaseSlow.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static AttachmentResultCallback createResultCallback(String id, InputStream content) {
+        org.apache.wss4j.common.ext.Attachment result = new org.apache.wss4j.common.ext.Attachment();
+        result.setId(id);
+        result.setMimeType("text/plain");
+        result.setSourceStream(content);
+        AttachmentResultCallback attachmentResultCallback = new AttachmentResultCallback();
+        attachmentResultCallback.setAttachmentId(id);
+        attachmentResultCallback.setAttachment(result);
+        return attachmentResultCallback;
+    }
+
     private void parseAttachment(String attachmentId) throws Exception {
         Attachment attachment = new AttachmentImpl(attachmentId);
 
@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.ws.security.wss4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.wss4j.common.crypto.Crypto;
+import org.apache.wss4j.common.crypto.CryptoFactory;
+import org.apache.wss4j.common.crypto.CryptoType;
+import org.apache.wss4j.common.ext.WSSecurityException;
+import org.apache.wss4j.common.saml.SAMLKeyInfo;
+import org.apache.wss4j.common.saml.SamlAssertionWrapper;
+import org.apache.wss4j.dom.engine.WSSConfig;
+import org.apache.wss4j.dom.handler.RequestData;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CachingSamlTrustValidatorTest {
+
+    static {
+        WSSConfig.init();
+    }
+
+    @Test
+    public void testTrustedAssertionIsCached() throws Exception {
+        Crypto crypto = CryptoFactory.getInstance("outsecurity.properties");
+        SamlAssertionWrapper assertion = mockAssertion(getCertificates(crypto, "myalias"));
+        CountingValidator validator = new CountingValidator();
+
+        validator.verifySignedAssertion(assertion, newRequestData(crypto));
+        validator.verifySignedAssertion(assertion, newRequestData(crypto));
+        assertEquals(1, validator.verifications.get());
+        assertEquals(1, validator.getCacheSize());
+    }
+
+    @Test
+    public void testUntrustedAssertionIsNotCached() throws Exception {
+        SamlAssertionWrapper assertion =
+            mockAssertion(getCertificates(CryptoFactory.getInstance("outsecurity.properties"), "myalias"));
+        Crypto crypto = CryptoFactory.getInstance("cxfca.properties");
+        CountingValidator validator = new CountingValidator();
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                validator.verifySignedAssertion(assertion, newRequestData(crypto));
+                fail("Failure expected on an assertion signed by an untrusted key");
+            } catch (WSSecurityException ex) {
+                // expected
+            }
+        }
+        assertEquals(2, validator.verifications.get());
+        assertEquals(0, validator.getCacheSize());
+    }
+
+    @Test
+    public void testVerdictIsSpecificToCrypto() throws Exception {
+        Crypto crypto = CryptoFactory.getInstance("outsecurity.properties");
+        SamlAssertionWrapper assertion = mockAssertion(getCertificates(crypto, "myalias"));
+        CountingValidator validator = new CountingValidator();
+
+        validator.verifySignedAssertion(assertion, newRequestData(crypto));
+        assertEquals(1, validator.verifications.get());
+
+        // a verdict reached with one Crypto must not be used for another one
+        Crypto untrustingCrypto = CryptoFactory.getInstance("cxfca.properties");
+        try {
+            validator.verifySignedAssertion(assertion, newRequestData(untrustingCrypto));
+            fail("Failure expected on an assertion signed by an untrusted key");
+        } catch (WSSecurityException ex) {
+            // expected
+        }
+        assertEquals(2, validator.verifications.get());
+
+        Crypto otherCrypto = CryptoFactory.getInstance("outsecurity.properties");
+        validator.verifySignedAssertion(assertion, newRequestData(otherCrypto));
+        validator.verifySignedAssertion(assertion, newRequestData(otherCrypto));
+        assertEquals(3, validator.verifications.get());
+    }
+
+    @Test
+    public void testMaxEntries() throws Exception {
+        Crypto crypto = CryptoFactory.getInstance("outsecurity.properties");
+        X509Certificate[] certs = getCertificates(crypto, "myalias");
+        CountingValidator validator = new CountingValidator(2);
+
+        for (int i = 0; i < 4; i++) {
+            SamlAssertionWrapper assertion = mockAssertion(certs);
+            when(assertion.getId()).thenReturn("_assertion" + i);
+            validator.verifySignedAssertion(assertion, newRequestData(crypto));
+        }
+        assertEquals(4, validator.verifications.get());
+        assertTrue(validator.getCacheSize() <= 2);
+    }
+
+    private static SamlAssertionWrapper mockAssertion(X509Certificate[] certs) throws WSSecurityException {
+        SamlAssertionWrapper assertion = mock(SamlAssertionWrapper.class);
+        when(assertion.getId()).thenReturn("_assertion");
+        when(assertion.getSignatureValue()).thenReturn("signature".getBytes(StandardCharsets.UTF_8));
+        when(assertion.getSignatureKeyInfo()).thenReturn(new SAMLKeyInfo(certs));
+        return assertion;
+    }
+
+    private static RequestData newRequestData(Crypto crypto) {
+        RequestData data = new RequestData();
+        data.setSigVerCrypto(crypto);
+        return data;
+    }
+
+    private static X509Certificate[] getCertificates(Crypto crypto, String alias) throws WSSecurityException {
+        CryptoType cryptoType = new CryptoType(CryptoType.TYPE.ALIAS);
+        cryptoType.setAlias(alias);
+        return crypto.getX509Certificates(cryptoType);
+    }
+
+    private static final class CountingValidator extends CachingSamlTrustValidator {
+        private final AtomicInteger verifications = new AtomicInteger();
+
+        CountingValidator() {
+        }
+
+        CountingValidator(int maxEntries) {
+            super(maxEntries);
+        }
+
+        @Override
+        protected void verifyTrustInCerts(
+            X509Certificate[] certificates,
+            Crypto crypto,
+            RequestData data,
+            boolean enableRevocation
+        ) throws WSSecurityException {
+            verifications.incrementAndGet();
+            super.verifyTrustInCerts(certificates, crypto, data, enableRevocation);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.ws.security.wss4j;
+
+import java.security.cert.X509Certificate;
+
+import org.apache.cxf.common.security.CertificateTrustCache;
+import org.apache.wss4j.common.crypto.Crypto;
+import org.apache.wss4j.common.crypto.CryptoFactory;
+import org.apache.wss4j.common.crypto.CryptoType;
+import org.apache.wss4j.common.ext.WSSecurityException;
+import org.apache.wss4j.dom.engine.WSSConfig;
+import org.apache.wss4j.dom.handler.RequestData;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class CachingSignatureTrustValidatorTest {
+
+    static {
+        WSSConfig.init();
+    }
+
+    @Test
+    public void testTrustedChainIsCached() throws Exception {
+        Crypto crypto = CryptoFactory.getInstance("outsecurity.properties");
+        X509Certificate[] certs = getCertificates(crypto, "myalias");
+        CachingSignatureTrustValidator validator = new CachingSignatureTrustValidator();
+        CertificateTrustCache cache = validator.getCache();
+
+        validator.verifyTrustInCerts(certs, crypto, new RequestData(), false);
+        assertEquals(0, cache.getStatistics().getHitCount());
+        assertEquals(1, cache.size());
+
+        validator.verifyTrustInCerts(certs, crypto, new RequestData(), false);
+        assertEquals(1, cache.getStatistics().getHitCount());
+
+        // the verdict is specific to the Crypto the chain was verified against
+        Crypto otherCrypto = CryptoFactory.getInstance("outsecurity.properties");
+        validator.verifyTrustInCerts(certs, otherCrypto, new RequestData(), false);
+        assertEquals(1, cache.getStatistics().getHitCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testVerdictExpires() throws Exception {
+        Crypto crypto = CryptoFactory.getInstance("outsecurity.properties");
+        X509Certificate[] certs = getCertificates(crypto, "myalias");
+        CertificateTrustCache cache = new CertificateTrustCache(10, 1L);
+        CachingSignatureTrustValidator validator = new CachingSignatureTrustValidator(cache);
+
+        validator.verifyTrustInCerts(certs, crypto, new RequestData(), false);
+        validator.verifyTrustInCerts(certs, crypto, new RequestData(), false);
+        assertEquals(1, cache.getStatistics().getHitCount());
+
+        Thread.sleep(1100L);
+        validator.verifyTrustInCerts(certs, crypto, new RequestData(), false);
+        assertEquals(1, cache.getStatistics().getHitCount());
+        assertEquals(2, cache.getStatistics().getMissCount());
+    }
+
+    @Test
+    public void testUntrustedChainIsNotCached() throws Exception {
+        X509Certificate[] certs =
+            getCertificates(CryptoFactory.getInstance("outsecurity.properties"), "myalias");
+        Crypto crypto = CryptoFactory.getInstance("cxfca.properties");
+        CachingSignatureTrustValidator validator = new CachingSignatureTrustValidator();
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                validator.verifyTrustInCerts(certs, crypto, new RequestData(), false);
+                fail("Failure expected on an untrusted certificate");
+            } catch (WSSecurityException ex) {
+                assertEquals(WSSecurityException.ErrorCode.FAILURE, ex.getErrorCode());
+            }
+        }
+        assertEquals(0, validator.getCache().size());
+        assertEquals(0, validator.getCache().getStatistics().getHitCount());
+    }
+
+    private static X509Certificate[] getCertificates(Crypto crypto, String alias) throws WSSecurityException {
+        CryptoType cryptoType = new CryptoType(CryptoType.TYPE.ALIAS);
+        cryptoType.setAlias(alias);
+        return crypto.getX509Certificates(cryptoType);
+    }
+}
@@ -37,6 +37,8 @@ import org.w3c.dom.Document;
 import jakarta.activation.DataHandler;
 import jakarta.xml.soap.SOAPConstants;
 import jakarta.xml.soap.SOAPMessage;
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
 import org.apache.cxf.attachment.AttachmentImpl;
 import org.apache.cxf.binding.soap.SoapMessage;
 import org.apache.cxf.binding.soap.saaj.SAAJInInterceptor;
@@ -53,6 +55,7 @@ import org.apache.cxf.message.ExchangeImpl;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.message.MessageImpl;
 import org.apache.cxf.phase.PhaseInterceptorChain;
+import org.apache.cxf.ws.security.SecurityConstants;
 import org.apache.wss4j.common.ConfigurationConstants;
 import org.apache.wss4j.common.WSS4JConstants;
 import org.apache.wss4j.stax.ext.WSSConstants;
@@ -96,6 +99,20 @@ public class WSS4JInOutWithAttachmentsTest extends AbstractSecurityTest {
         testEncryptWithAgreementMethod("secp256r1", "secp256r1");
     }
 
+    /**
+     * The attachments are signed and then encrypted, so the signature references can only be resolved
+     * once the attachments, decrypted on the work queue, are back in the message.
+     */
+    @Test
+    public void testSignedAndEncryptedAttachmentsDecryptedInParallel() throws Exception {
+        Bus bus = BusFactory.newInstance().createBus();
+        try {
+            testEncryptWithAgreementMethod("secp256r1", "secp256r1", bus);
+        } finally {
+            bus.shutdown(true);
+        }
+    }
+
     /**
      * Generic method for testing security headers of the SOAP with Attachment for signing and encryption with
      * agreement method using various key types configured in the keystore: wss-ecdh.properties.
@@ -105,6 +122,11 @@ public class WSS4JInOutWithAttachmentsTest extends AbstractSecurityTest {
      * @throws Exception if something goes wrong.
      */
     public void testEncryptWithAgreementMethod(String signAlias, String encAlias) throws Exception {
+        testEncryptWithAgreementMethod(signAlias, encAlias, null);
+    }
+
+    private void testEncryptWithAgreementMethod(String signAlias, String encAlias, Bus parallelProcessingBus)
+        throws Exception {
 
         Map<String, Object> outProperties = new HashMap<>();
         // Signature configuration (sign before encrypt)
@@ -149,7 +171,8 @@ public class WSS4JInOutWithAttachmentsTest extends AbstractSecurityTest {
         xpaths.add("//xenc11:ConcatKDFParams");
         xpaths.add("//wsse:Security/ds:Signature");
 
-        SoapMessage inSoapMessage = makeInvocationWithAttachment(outProperties, xpaths, inProperties);
+        SoapMessage inSoapMessage =
+            makeInvocationWithAttachment(outProperties, xpaths, inProperties, parallelProcessingBus);
         assertNotNull(inSoapMessage);
     }
 
@@ -169,6 +192,19 @@ public class WSS4JInOutWithAttachmentsTest extends AbstractSecurityTest {
             Map<String, Object> outProperties,
             List<String> xpaths,
             Map<String, Object> inProperties
+    ) throws Exception {
+        return makeInvocationWithAttachment(outProperties, xpaths, inProperties, null);
+    }
+
+    /**
+     * As {@link #makeInvocationWithAttachment(Map, List, Map)}, decrypting the attachments in parallel on
+     * the work queues of the given bus if it is not null.
+     */
+    protected SoapMessage makeInvocationWithAttachment(
+            Map<String, Object> outProperties,
+            List<String> xpaths,
+            Map<String, Object> inProperties,
+            Bus parallelProcessingBus
     ) throws Exception {
         String attachmentContent1 = "Hello message: " + UUID.randomUUID();
         String attachmentContent2 = "The second Hello message:" + UUID.randomUUID();
@@ -223,6 +259,10 @@ public class WSS4JInOutWithAttachmentsTest extends AbstractSecurityTest {
         // set input multipart stream
         inMsg.setContent(InputStream.class, new ByteArrayInputStream(mimeMessageBytes));
         inMsg.setExchange(ex);
+        if (parallelProcessingBus != null) {
+            ex.put(Bus.class, parallelProcessingBus);
+            inMsg.put(SecurityConstants.ENABLE_PARALLEL_PROCESSING, "true");
+        }
 
         // Configure IN message bus
         PhaseInterceptorChain inPhaseInterceptorChain = buildSimpleInInterceptorChain(inProperties);
@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.ws.security.wss4j;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.cxf.binding.soap.SoapMessage;
+import org.apache.cxf.bus.managers.PhaseManagerImpl;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+import org.apache.cxf.ws.policy.AssertionInfoMap;
+import org.apache.cxf.ws.security.SecurityConstants;
+import org.apache.neethi.Policy;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class WSS4JUtilsTest extends AbstractPolicySecurityTest {
+
+    private static final String SIGNATURE_CONFIRMATION_POLICY =
+        "<wsp:Policy xmlns:wsp=\"http://schemas.xmlsoap.org/ws/2004/09/policy\""
+        + " xmlns:sp=\"http://docs.oasis-open.org/ws-sx/ws-securitypolicy/200702\">"
+        + "<sp:Wss11><wsp:Policy><sp:RequireSignatureConfirmation/></wsp:Policy></sp:Wss11>"
+        + "</wsp:Policy>";
+
+    @Test
+    public void testStreamingDisabledByDefault() {
+        assertFalse(WSS4JUtils.isStreamingSecurityEnabled(createMessage(true, true)));
+        assertFalse(WSS4JUtils.isStreamingSecurityEnabled(createMessage(false, false)));
+    }
+
+    @Test
+    public void testStreamingEnabled() {
+        for (boolean requestor : new boolean[] {true, false}) {
+            for (boolean outbound : new boolean[] {true, false}) {
+                SoapMessage message = createMessage(requestor, outbound);
+                message.put(SecurityConstants.ENABLE_STREAMING_SECURITY, "true");
+                assertTrue(WSS4JUtils.isStreamingSecurityEnabled(message));
+            }
+        }
+    }
+
+    @Test
+    public void testStreamingOutboundOnlyAppliesToClientRequests() {
+        SoapMessage request = createMessage(true, true);
+        request.put(SecurityConstants.ENABLE_STREAMING_SECURITY_OUTBOUND, "true");
+        assertTrue(WSS4JUtils.isStreamingSecurityEnabled(request));
+
+        SoapMessage response = createMessage(true, false);
+        response.put(SecurityConstants.ENABLE_STREAMING_SECURITY_OUTBOUND, "true");
+        assertFalse(WSS4JUtils.isStreamingSecurityEnabled(response));
+
+        SoapMessage serverResponse = createMessage(false, true);
+        serverResponse.put(SecurityConstants.ENABLE_STREAMING_SECURITY_OUTBOUND, "true");
+        assertFalse(WSS4JUtils.isStreamingSecurityEnabled(serverResponse));
+    }
+
+    @Test
+    public void testStreamingOutboundDisabledOnMessage() {
+        SoapMessage request = createMessage(true, true);
+        request.put(SecurityConstants.ENABLE_STREAMING_SECURITY_OUTBOUND, "true");
+        request.put(SecurityConstants.ENABLE_STREAMING_SECURITY, "false");
+        assertFalse(WSS4JUtils.isStreamingSecurityEnabled(request));
+    }
+
+    @Test
+    public void testStreamingOutboundWithAsymmetricBinding() throws Exception {
+        SoapMessage request = createMessage(true, true);
+        request.put(SecurityConstants.ENABLE_STREAMING_SECURITY_OUTBOUND, "true");
+        request.put(AssertionInfoMap.class, getAssertionInfoMap("protect_token_policy_asym_x509_direct_ref.xml"));
+        assertTrue(WSS4JUtils.isStreamingSecurityEnabled(request));
+    }
+
+    @Test
+    public void testStreamingOutboundWithSymmetricBinding() throws Exception {
+        SoapMessage request = createMessage(true, true);
+        request.put(SecurityConstants.ENABLE_STREAMING_SECURITY_OUTBOUND, "true");
+        request.put(AssertionInfoMap.class, getAssertionInfoMap("content_encrypted_elements_policy.xml"));
+        assertFalse(WSS4JUtils.isStreamingSecurityEnabled(request));
+    }
+
+    @Test
+    public void testStreamingOutboundWithSignatureConfirmation() throws Exception {
+        Policy policy = policyBuilder.getPolicy(
+            new ByteArrayInputStream(SIGNATURE_CONFIRMATION_POLICY.getBytes(StandardCharsets.UTF_8)));
+        SoapMessage request = createMessage(true, true);
+        request.put(SecurityConstants.ENABLE_STREAMING_SECURITY_OUTBOUND, "true");
+        request.put(AssertionInfoMap.class, new AssertionInfoMap(policy));
+        assertFalse(WSS4JUtils.isStreamingSecurityEnabled(request));
+    }
+
+    @Test
+    public void testDomFallback() throws Exception {
+        PolicyBasedWSS4JOutInterceptor interceptor = new PolicyBasedWSS4JOutInterceptor();
+
+        // the symmetric binding is secured with the DOM implementation
+        SoapMessage request = getOutSoapMessageForDom(readDocument("wsse-request-clean.xml"),
+                                                      getAssertionInfoMap("content_encrypted_elements_policy.xml"));
+        makeOutbound(request);
+        request.put(SecurityConstants.ENABLE_STREAMING_SECURITY_OUTBOUND, "true");
+        interceptor.handleMessage(request);
+        assertEquals(Boolean.TRUE, request.get(PolicyBasedWSS4JOutInterceptor.SECURITY_PROCESSED));
+
+        // while the asymmetric binding is left to the streaming implementation
+        request = getOutSoapMessageForDom(readDocument("wsse-request-clean.xml"),
+                                          getAssertionInfoMap("protect_token_policy_asym_x509_direct_ref.xml"));
+        makeOutbound(request);
+        request.put(SecurityConstants.ENABLE_STREAMING_SECURITY_OUTBOUND, "true");
+        interceptor.handleMessage(request);
+        assertNull(request.get(PolicyBasedWSS4JOutInterceptor.SECURITY_PROCESSED));
+    }
+
+    private AssertionInfoMap getAssertionInfoMap(String policyName) throws Exception {
+        return new AssertionInfoMap(policyBuilder.getPolicy(getResourceAsStream(policyName)));
+    }
+
+    private static SoapMessage createMessage(boolean requestor, boolean outbound) {
+        SoapMessage message = new SoapMessage(new MessageImpl());
+        Exchange exchange = new ExchangeImpl();
+        if (outbound) {
+            exchange.setOutMessage(message);
+        } else {
+            exchange.setInMessage(message);
+        }
+        message.put(Message.REQUESTOR_ROLE, requestor);
+        return message;
+    }
+
+    private static void makeOutbound(SoapMessage message) {
+        message.getExchange().setOutMessage(message);
+        message.setInterceptorChain(new PhaseInterceptorChain(new PhaseManagerImpl().getOutPhases()));
+    }
+}
@@ -149,17 +149,15 @@ public class DocLiteralInInterceptor extends AbstractInDatabindingInterceptor {
                     setMessage(message, bop, client, si, msgInfo.getMessageInfo());
                 }
 
-                final Collection<OperationInfo> operations = new ArrayList<>(
-                    si.getInterface().getOperations());
-
                 if (xmlReader == null || !StaxUtils.toNextElement(xmlReader)) {
                     // empty input
-                    getBindingOperationForEmptyBody(operations, ep, exchange);
+                    getBindingOperationForEmptyBody(si.getInterface().getOperations(), ep, exchange);
                     return;
                 }
 
                 setDataReaderValidation(service, message, dr);
 
+                Collection<OperationInfo> operations = null;
                 int paramNum = 0;
 
                 do {
@@ -180,6 +178,9 @@ public class DocLiteralInInterceptor extends AbstractInDatabindingInterceptor {
                             p = null;
                         }
                     } else {
+                        if (operations == null) {
+                            operations = getCandidateOperations(ep, si, elName, client);
+                        }
                         p = findMessagePart(exchange, operations, elName, client, paramNum, message);
                     }
 
@@ -214,6 +215,15 @@ public class DocLiteralInInterceptor extends AbstractInDatabindingInterceptor {
         }
     }
 
+    private static Collection<OperationInfo> getCandidateOperations(Endpoint ep, ServiceInfo si,
+                                                                   QName firstElName, boolean client) {
+        if (firstElName.getNamespaceURI() == null || firstElName.getNamespaceURI().isEmpty()) {
+            // an unqualified element is matched against the namespace of each message
+            return new ArrayList<>(si.getInterface().getOperations());
+        }
+        return ep.getEndpointInfo().getBinding().getOperationsForFirstPart(firstElName, client);
+    }
+
     private void getBindingOperationForEmptyBody(Collection<OperationInfo> operations, Endpoint ep, Exchange exchange) {
         // TO DO : check duplicate operation with no input and also check if the action matches
         for (OperationInfo op : operations) {
@@ -21,10 +21,12 @@ package org.apache.cxf.wsdl11;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.StringReader;
 import java.net.URI;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
 import java.util.logging.Logger;
@@ -46,6 +48,7 @@ import org.w3c.dom.Node;
 import org.apache.cxf.Bus;
 import org.apache.cxf.binding.BindingFactoryManager;
 import org.apache.cxf.common.logging.LogUtils;
+import org.apache.cxf.common.xmlschema.CompiledSchemaCache;
 import org.apache.cxf.common.xmlschema.SchemaCollection;
 import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.helpers.DOMUtils;
@@ -73,6 +76,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.atLeastOnce;
@@ -418,6 +422,48 @@ public class WSDLServiceBuilderTest {
             .getDestinationFactory("http://schemas.xmlsoap.org/wsdl/soap/");
     }
 
+    @Test
+    public void testSchemaSharedBetweenServices() throws Exception {
+        CompiledSchemaCache cache = new CompiledSchemaCache();
+        setUpBasic();
+        when(bus.getExtension(CompiledSchemaCache.class)).thenReturn(cache);
+        Schema schema = EndpointReferenceUtils.getSchema(serviceInfo, bus);
+        assertNotNull(schema);
+
+        setUpBasic();
+        when(bus.getExtension(CompiledSchemaCache.class)).thenReturn(cache);
+        assertSame(schema, EndpointReferenceUtils.getSchema(serviceInfo, bus));
+        assertEquals(1, cache.size());
+        assertEquals(1L, cache.getStatistics().getHitCount());
+    }
+
+    @Test
+    public void testSchemaWithExternalImportIsNotShared() throws Exception {
+        File imported = File.createTempFile("imported", ".xsd");
+        imported.deleteOnExit();
+        try (FileOutputStream out = new FileOutputStream(imported)) {
+            out.write(("<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\" targetNamespace=\"urn:imported\">"
+                + "<xs:element name=\"value\" type=\"xs:string\"/></xs:schema>").getBytes(StandardCharsets.UTF_8));
+        }
+        String importing = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\" targetNamespace=\"urn:importing\">"
+            + "<xs:import namespace=\"urn:imported\" schemaLocation=\"" + imported.toURI() + "\"/></xs:schema>";
+        CompiledSchemaCache cache = new CompiledSchemaCache();
+        Bus b = mock(Bus.class);
+        when(b.getExtension(CompiledSchemaCache.class)).thenReturn(cache);
+
+        for (int i = 0; i < 2; i++) {
+            ServiceInfo si = new ServiceInfo();
+            SchemaInfo schemaInfo = new SchemaInfo("urn:importing");
+            schemaInfo.setSystemId("urn:importing.xsd");
+            schemaInfo.setElement(StaxUtils.read(new StringReader(importing)).getDocumentElement());
+            si.addSchema(schemaInfo);
+            assertNotNull(EndpointReferenceUtils.getSchema(si, b));
+        }
+        // the imported schema may change without the digest changing
+        assertEquals(0, cache.size());
+        assertEquals(0L, cache.getStatistics().getHitCount());
+    }
+
     @Test
     public void testNoBodyParts() throws Exception {
         setUpWSDL(NO_BODY_PARTS_WSDL_PATH, 0);
@@ -132,6 +132,9 @@ public final class ToolConstants {
     public static final String CFG_SOURCEDIR = "sourcedir";
     public static final String CFG_WSDL = "wsdl";
     public static final String CFG_WRAPPERBEAN = "wrapperbean";
+    public static final String CFG_JAXB_HELPERS = "jaxbhelpers";
+    public static final String CFG_JAXB_HELPERS_DIR = "jaxbhelpersdir";
+    public static final String CFG_JAXB_HELPERS_CLASSDIR = "jaxbhelpersclassdir";
 
     // WSDL2Service Constants
     public static final String CFG_ADDRESS = "address";
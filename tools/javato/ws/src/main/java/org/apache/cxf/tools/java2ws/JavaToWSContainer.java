@@ -159,6 +159,16 @@ public class JavaToWSContainer extends AbstractCXFToolContainer {
             }
         }
 
+        if (doc.hasParameter(ToolConstants.CFG_JAXB_HELPERS)) {
+            String ft = doc.getParameter(ToolConstants.CFG_FRONTEND);
+            String db = doc.getParameter(ToolConstants.CFG_DATABINDING);
+            if (ft != null && !ToolConstants.JAXWS_FRONTEND.equals(ft)
+                || db != null && !ToolConstants.JAXB_DATABINDING.equals(db)) {
+                Message msg = new Message("JAXBHELPERS_WITHOUT_JAXB", LOG);
+                errs.add(new ErrorVisitor.UserError(msg.toString()));
+            }
+        }
+
 
         if (errs.getErrors().size() > 0) {
             Message msg = new Message("PARAMETER_MISSING", LOG);
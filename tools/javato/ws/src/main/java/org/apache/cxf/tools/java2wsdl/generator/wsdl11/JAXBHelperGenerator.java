@@ -0,0 +1,209 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.tools.java2wsdl.generator.wsdl11;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.namespace.QName;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.common.spi.GeneratedClassClassLoader;
+import org.apache.cxf.common.util.Compiler;
+import org.apache.cxf.jaxb.JAXBDataBinding;
+import org.apache.cxf.jaxb.JAXBHelperRegistry;
+import org.apache.cxf.jaxb.JAXBHelperSourceGenerator;
+import org.apache.cxf.jaxb.WrapperHelperCreator;
+import org.apache.cxf.service.model.MessageInfo;
+import org.apache.cxf.service.model.MessagePartInfo;
+import org.apache.cxf.service.model.OperationInfo;
+import org.apache.cxf.service.model.ServiceInfo;
+import org.apache.cxf.tools.common.ToolConstants;
+import org.apache.cxf.tools.common.ToolException;
+import org.apache.cxf.tools.java2wsdl.generator.AbstractGenerator;
+import org.apache.cxf.tools.util.FileWriterUtil;
+import org.apache.cxf.wsdl.service.factory.ReflectionServiceFactoryBean;
+
+/**
+ * Generates the sources of the JAXB wrapper helpers (and of the factory classes captured while the
+ * service model was built) so they do not have to be generated with ASM when the service starts,
+ * along with the index the runtime discovers them through.
+ */
+public final class JAXBHelperGenerator extends AbstractGenerator<File> {
+    private final JAXBHelperSourceGenerator sourceGenerator;
+    private File compileToDir;
+
+    public JAXBHelperGenerator(JAXBHelperSourceGenerator sourceGenerator) {
+        this.sourceGenerator = sourceGenerator;
+    }
+
+    public void setCompileToDir(File f) {
+        compileToDir = f;
+    }
+
+    public File generate(final File resourcedir) {
+        captureWrapperHelpers(getServiceModel());
+        Map<String, String> sources = sourceGenerator.getSources();
+        if (sources.isEmpty()) {
+            return null;
+        }
+
+        File dir = getOutputBase();
+        if (dir == null) {
+            dir = resourcedir;
+        }
+        if (dir == null) {
+            dir = new File("./");
+        }
+        dir.mkdirs();
+        String encoding = (String)getToolContext().get(ToolConstants.CFG_ENCODING);
+        List<String> generatedFiles = new ArrayList<>(sources.size());
+        try {
+            FileWriterUtil fw = new FileWriterUtil(dir.getPath(), getOutputStreamCreator());
+            for (Map.Entry<String, String> entry : sources.entrySet()) {
+                String className = entry.getKey();
+                int idx = className.lastIndexOf('.');
+                File file = fw.getFileToWrite(idx == -1 ? null : className.substring(0, idx),
+                                              className.substring(idx + 1) + ".java");
+                try (Writer writer = fw.getWriter(file, encoding)) {
+                    writer.write(entry.getValue());
+                }
+                generatedFiles.add(file.getAbsolutePath());
+            }
+
+            File indexDir = compileToDir != null ? compileToDir : resourcedir;
+            if (indexDir == null) {
+                indexDir = dir;
+            }
+            writeIndex(new File(indexDir, JAXBHelperRegistry.INDEX_LOCATION));
+        } catch (IOException ex) {
+            throw new ToolException(ex);
+        }
+
+        if (compileToDir != null) {
+            Compiler compiler = (Compiler)getToolContext().get(ToolConstants.COMPILER);
+            if (compiler == null) {
+                compiler = new Compiler();
+            }
+            compiler.setOutputDir(compileToDir);
+            compiler.compileFiles(generatedFiles.toArray(new String[0]));
+        }
+        return dir;
+    }
+
+    /**
+     * Write the index, keeping the entries of the other services already listed in it, as the
+     * helpers of several services are usually generated into the same classes directory.
+     */
+    private void writeIndex(File index) throws IOException {
+        String entries = sourceGenerator.getIndex();
+        Set<String> targets = new HashSet<>();
+        for (String line : entries.split("\n")) {
+            targets.add(getTarget(line));
+        }
+        StringBuilder merged = new StringBuilder();
+        if (index.exists()) {
+            for (String line : Files.readAllLines(index.toPath(), StandardCharsets.UTF_8)) {
+                // the helpers of the types generated now replace the previous ones
+                if (!line.trim().isEmpty() && !targets.contains(getTarget(line))) {
+                    merged.append(line).append('\n');
+                }
+            }
+        } else {
+            index.getParentFile().mkdirs();
+        }
+        merged.append(entries);
+        Files.write(index.toPath(), merged.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String getTarget(String entry) {
+        int idx = entry.indexOf(':');
+        return idx == -1 ? entry.trim() : entry.substring(0, idx).trim();
+    }
+
+    private void captureWrapperHelpers(ServiceInfo serviceInfo) {
+        Bus bus = getBus();
+        WrapperHelperCreator creator = bus.getExtension(WrapperHelperCreator.class);
+        bus.setExtension(sourceGenerator, WrapperHelperCreator.class);
+        try {
+            JAXBDataBinding databinding = new JAXBDataBinding();
+            databinding.setBus(bus);
+            for (OperationInfo op : serviceInfo.getInterface().getOperations()) {
+                if (!op.isUnwrappedCapable()) {
+                    continue;
+                }
+                OperationInfo unwrapped = op.getUnwrappedOperation();
+                // the in and out interceptors (which handle the input on the server and
+                // the output on the client and vice versa) treat header parts differently
+                for (boolean inbound : new boolean[] {true, false}) {
+                    if (op.hasInput()) {
+                        createWrapperHelper(databinding, unwrapped.getInput(), op.getInput(), inbound);
+                    }
+                    if (op.hasOutput()) {
+                        createWrapperHelper(databinding, unwrapped.getOutput(), op.getOutput(), inbound);
+                    }
+                }
+            }
+        } finally {
+            bus.setExtension(creator, WrapperHelperCreator.class);
+        }
+    }
+
+    private static void createWrapperHelper(JAXBDataBinding databinding, MessageInfo messageInfo,
+                                            MessageInfo wrappedMessageInfo, boolean inbound) {
+        MessagePartInfo wrapperPart = wrappedMessageInfo.getFirstMessagePart();
+        Class<?> wrapperClass = wrapperPart == null ? null : wrapperPart.getTypeClass();
+        if (wrapperClass == null
+            || wrapperClass.getClassLoader() instanceof GeneratedClassClassLoader.TypeHelperClassLoader) {
+            // the wrapper class itself is generated at runtime
+            return;
+        }
+        QName wrapperName = wrapperPart.getElementQName();
+        List<String> partNames = new ArrayList<>();
+        List<String> elTypeNames = new ArrayList<>();
+        List<Class<?>> partClasses = new ArrayList<>();
+        for (MessagePartInfo p : messageInfo.getMessageParts()) {
+            boolean header = Boolean.TRUE.equals(p.getProperty(ReflectionServiceFactoryBean.HEADER));
+            if (p.getTypeClass() == null && (header || !inbound)) {
+                continue;
+            }
+            int idx = p.getIndex();
+            while (idx >= partNames.size()) {
+                partNames.add(null);
+                elTypeNames.add(null);
+                partClasses.add(null);
+            }
+            if (!(inbound && header)) {
+                partNames.set(idx, p.getName().getLocalPart());
+                elTypeNames.set(idx, p.getTypeQName() == null ? null : p.getTypeQName().getLocalPart());
+                partClasses.set(idx, p.getTypeClass());
+            }
+        }
+        databinding.createWrapperHelper(wrapperClass, wrapperName, partNames, elTypeNames, partClasses);
+    }
+}
@@ -35,6 +35,8 @@ import org.apache.cxf.BusFactory;
 import org.apache.cxf.common.i18n.Message;
 import org.apache.cxf.common.logging.LogUtils;
 import org.apache.cxf.common.util.StringUtils;
+import org.apache.cxf.jaxb.FactoryClassCreator;
+import org.apache.cxf.jaxb.JAXBHelperSourceGenerator;
 import org.apache.cxf.service.ServiceBuilder;
 import org.apache.cxf.service.model.EndpointInfo;
 import org.apache.cxf.service.model.ServiceInfo;
@@ -45,6 +47,7 @@ import org.apache.cxf.tools.common.ToolException;
 import org.apache.cxf.tools.java2wsdl.generator.AbstractGenerator;
 import org.apache.cxf.tools.java2wsdl.generator.WSDLGeneratorFactory;
 import org.apache.cxf.tools.java2wsdl.generator.wsdl11.FaultBeanGenerator;
+import org.apache.cxf.tools.java2wsdl.generator.wsdl11.JAXBHelperGenerator;
 import org.apache.cxf.tools.java2wsdl.generator.wsdl11.WrapperBeanGenerator;
 import org.apache.cxf.tools.java2wsdl.processor.internal.ServiceBuilderFactory;
 import org.apache.cxf.tools.util.AnnotationUtil;
@@ -99,7 +102,21 @@ public class JavaToWSDLProcessor implements Processor {
 
 
         ServiceBuilder builder = getServiceBuilder();
-        ServiceInfo service = builder.createService();
+        JAXBHelperSourceGenerator helperGenerator = null;
+        if (context.containsKey(ToolConstants.CFG_JAXB_HELPERS)) {
+            // capture the factory classes the JAXB context needs while the service is built
+            FactoryClassCreator creator = getBus().getExtension(FactoryClassCreator.class);
+            helperGenerator = new JAXBHelperSourceGenerator(creator);
+            getBus().setExtension(helperGenerator, FactoryClassCreator.class);
+        }
+        ServiceInfo service;
+        try {
+            service = builder.createService();
+        } finally {
+            if (helperGenerator != null) {
+                getBus().setExtension(helperGenerator.getFactoryClassCreator(), FactoryClassCreator.class);
+            }
+        }
 
         customize(service);
 
@@ -116,6 +133,9 @@ public class JavaToWSDLProcessor implements Processor {
             generators.add(getFaultBeanGenerator());
 
         }
+        if (helperGenerator != null) {
+            generators.add(getJAXBHelperGenerator(helperGenerator));
+        }
         generate(service, outputDir);
         List<ServiceInfo> serviceList = new ArrayList<>();
         serviceList.add(service);
@@ -138,6 +158,15 @@ public class JavaToWSDLProcessor implements Processor {
         return generator;
     }
 
+    private AbstractGenerator<?> getJAXBHelperGenerator(JAXBHelperSourceGenerator helperGenerator) {
+        JAXBHelperGenerator generator = new JAXBHelperGenerator(helperGenerator);
+        File sourceDir = getDir(ToolConstants.CFG_JAXB_HELPERS_DIR);
+        File classesDir = getDir(ToolConstants.CFG_JAXB_HELPERS_CLASSDIR);
+        generator.setOutputBase(sourceDir != null ? sourceDir : getSourceDir());
+        generator.setCompileToDir(classesDir != null ? classesDir : getClassesDir());
+        return generator;
+    }
+
     private AbstractGenerator<?> getWSDLGenerator(final File wsdlFile) {
         WSDLGeneratorFactory factory = new WSDLGeneratorFactory();
         factory.setWSDLVersion(getWSDLVersion());
@@ -295,14 +324,13 @@ public class JavaToWSDLProcessor implements Processor {
     }
 
     File getSourceDir() {
-        String dir = (String) this.context.get(ToolConstants.CFG_SOURCEDIR);
-        if (StringUtils.isEmpty(dir)) {
-            return null;
-        }
-        return new File(dir);
+        return getDir(ToolConstants.CFG_SOURCEDIR);
     }
     File getClassesDir() {
-        String dir = (String) this.context.get(ToolConstants.CFG_CLASSDIR);
+        return getDir(ToolConstants.CFG_CLASSDIR);
+    }
+    private File getDir(String key) {
+        String dir = (String) this.context.get(key);
         if (StringUtils.isEmpty(dir)) {
             return null;
         }
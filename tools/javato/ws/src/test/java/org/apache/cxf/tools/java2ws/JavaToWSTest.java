@@ -380,6 +380,49 @@ public class JavaToWSTest extends ToolTestBase {
         //checkStdErr(); will see java9 warning message here
     }
 
+    @Test
+    public void testGenJaxbHelpers() throws Exception {
+        // the helpers are compiled against the types, so the real class path is needed
+        System.setProperty("java.class.path", cp);
+        String[] args = new String[] {"-jaxbhelpers", "-s", output.getPath(), "-classdir", classDir.getPath(),
+                                      "org.apache.hello_world_soap12_http.Greeter"};
+        CommandInterfaceUtils.commandCommonMain();
+        JavaToWS j2w = new JavaToWS(args);
+        j2w.run();
+
+        String helper = "org/apache/hello_world_soap12_http/types/SayHi_WrapperTypeHelper1";
+        assertTrue("SayHi_WrapperTypeHelper1.java was not generated",
+                   new File(output, helper + ".java").exists());
+        assertTrue("SayHi_WrapperTypeHelper1.java was not compiled",
+                   new File(classDir, helper + ".class").exists());
+        File index = new File(classDir, "META-INF/cxf/jaxb-helpers.txt");
+        assertTrue("The helper index was not generated", index.exists());
+        assertTrue(TestFileUtils.getStringFromFile(index).contains(
+            "org.apache.hello_world_soap12_http.types.SayHi:"
+            + "org.apache.hello_world_soap12_http.types.SayHi_WrapperTypeHelper1"));
+    }
+
+    @Test
+    public void testGenJaxbHelpersForSeveralServices() throws Exception {
+        System.setProperty("java.class.path", cp);
+        File helperDir = new File(output, "jaxb-helpers");
+        for (String sei : new String[] {"org.apache.hello_world_soap12_http.Greeter",
+                                        "org.apache.hello_world_doc_lit.Greeter"}) {
+            String[] args = new String[] {"-jaxbhelpers", "-jaxbhelpersdir", helperDir.getPath(),
+                                          "-jaxbhelpersclassdir", classDir.getPath(), sei};
+            CommandInterfaceUtils.commandCommonMain();
+            new JavaToWS(args).run();
+        }
+
+        assertTrue(new File(helperDir, "org/apache/hello_world_doc_lit/types/SayHi_WrapperTypeHelper1.java")
+                   .exists());
+        String index = TestFileUtils.getStringFromFile(new File(classDir, "META-INF/cxf/jaxb-helpers.txt"));
+        assertTrue(index.contains("org.apache.hello_world_soap12_http.types.SayHi:"
+            + "org.apache.hello_world_soap12_http.types.SayHi_WrapperTypeHelper1"));
+        assertTrue(index.contains("org.apache.hello_world_doc_lit.types.SayHi:"
+            + "org.apache.hello_world_doc_lit.types.SayHi_WrapperTypeHelper1"));
+    }
+
     @Test
     public void testInvalidFlag() throws Exception {
         String[] args = new String[] {"-frontend", "tmp", "-wsdl", "-o", output.getPath() + "/tmp.wsdl",